@@ -0,0 +1,127 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.frizzlenpop.rPGSkillsPlugin.skills.SkillRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-player skill lookups of a block break: read the XP, level and
+ * highest level of a skill, then write the XP back. {@code nestedMaps} uses the
+ * previous {@code Map<UUID, Map<String, PlayerSkillData>>} cache with its
+ * containsKey/get pairs; {@code ordinalArrays} uses {@link PlayerSkills}.
+ * Add {@code -prof gc} to {@code jmh.args} for allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillLookupBenchmark {
+    private static final List<String> SKILLS = SkillRegistry.defaultSkills();
+
+    @Param("200")
+    private int players;
+
+    // The cache layout before skills were indexed by ordinal
+    private static final class PlayerSkillData {
+        int level;
+        int xp;
+        int totalEarned;
+        int highestLevel;
+
+        PlayerSkillData(int level, int xp, int totalEarned, int highestLevel) {
+            this.level = level;
+            this.xp = xp;
+            this.totalEarned = totalEarned;
+            this.highestLevel = highestLevel;
+        }
+    }
+
+    private final Map<UUID, Map<String, PlayerSkillData>> nestedCache = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerSkills> skillCache = new ConcurrentHashMap<>();
+    private UUID[] uuids;
+    private int next;
+
+    @Setup
+    public void setup() {
+        uuids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids[i] = uuid;
+
+            Map<String, PlayerSkillData> nested = new ConcurrentHashMap<>();
+            PlayerSkills skills = new PlayerSkills();
+            for (int skill = 0; skill < SKILLS.size(); skill++) {
+                nested.put(SKILLS.get(skill), new PlayerSkillData(skill + 1, skill * 10, skill * 100, skill + 1));
+                skills.set(skill, skill + 1, skill * 10, skill * 100, skill + 1);
+            }
+            nestedCache.put(uuid, nested);
+            skillCache.put(uuid, skills);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next++;
+        if (next == players * SKILLS.size()) {
+            next = 0;
+        }
+        return index;
+    }
+
+    @Benchmark
+    public int nestedMaps() {
+        int index = nextIndex();
+        UUID uuid = uuids[index / SKILLS.size()];
+        String skill = SKILLS.get(index % SKILLS.size());
+
+        int xp = 0;
+        if (nestedCache.containsKey(uuid) && nestedCache.get(uuid).containsKey(skill)) {
+            xp = nestedCache.get(uuid).get(skill).xp;
+        }
+        int level = 1;
+        if (nestedCache.containsKey(uuid) && nestedCache.get(uuid).containsKey(skill)) {
+            level = nestedCache.get(uuid).get(skill).level;
+        }
+        int highest = 1;
+        if (nestedCache.containsKey(uuid) && nestedCache.get(uuid).containsKey(skill)) {
+            highest = nestedCache.get(uuid).get(skill).highestLevel;
+        }
+
+        PlayerSkillData data = nestedCache.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(skill, k -> new PlayerSkillData(1, 0, 0, 1));
+        data.xp = xp + 1;
+        data.totalEarned++;
+        return level + highest;
+    }
+
+    @Benchmark
+    public int ordinalArrays() {
+        int index = nextIndex();
+        int skill = index % SKILLS.size();
+
+        PlayerSkills skills = skillCache.get(uuids[index / SKILLS.size()]);
+        int xp = skills.getXp(skill);
+        int level = skills.getLevel(skill);
+        int highest = skills.getHighestLevel(skill);
+
+        skills.setXp(skill, xp + 1);
+        skills.setTotalEarned(skill, skills.getTotalEarned(skill) + 1);
+        return level + highest;
+    }
+}
@@ -0,0 +1,197 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.frizzlenpop.rPGSkillsPlugin.data.PlayerSkills;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.SkillRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a model of the skill data side of an XP award: read the skill,
+ * check for a level-up, write the new XP and queue the row for storage.
+ * The steps are copied into this class rather than run through XPManager,
+ * PlayerDataManager or SkillWriteQueue, which need a running server, so the
+ * numbers compare the two data layouts and not the plugin's real award path.
+ * Rows are flushed every {@code flushEvery} awards, like the write queue's timer.
+ * {@code before} models the previous steps: nested map reads, a
+ * String.format action bar label and a new key and row per award.
+ * {@code after} uses {@link PlayerSkills}, {@link XpCurve} and dirty flags,
+ * with the label built once per tick by the notifier rather than per award.
+ * Multipliers, events and sending the action bar are not covered.
+ * Add {@code -prof gc} to {@code jmh.args} for allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AwardPathModelBenchmark {
+    private static final List<String> SKILLS = SkillRegistry.defaultSkills();
+
+    @Param("200")
+    private int players;
+
+    @Param("1000")
+    private int flushEvery;
+
+    // The cache layout and write queue key before the award path was reworked
+    private static final class PlayerSkillData {
+        int level;
+        int xp;
+        int totalEarned;
+        int highestLevel;
+
+        PlayerSkillData(int level, int xp, int totalEarned, int highestLevel) {
+            this.level = level;
+            this.xp = xp;
+            this.totalEarned = totalEarned;
+            this.highestLevel = highestLevel;
+        }
+    }
+
+    private static final class SkillKey {
+        private final UUID playerUUID;
+        private final String skill;
+
+        SkillKey(UUID playerUUID, String skill) {
+            this.playerUUID = playerUUID;
+            this.skill = skill;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SkillKey)) return false;
+            SkillKey other = (SkillKey) o;
+            return playerUUID.equals(other.playerUUID) && skill.equals(other.skill);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerUUID, skill);
+        }
+    }
+
+    private final Map<UUID, Map<String, PlayerSkillData>> nestedCache = new ConcurrentHashMap<>();
+    private final Map<SkillKey, SkillRecord> pending = new ConcurrentHashMap<>();
+
+    private final Map<UUID, PlayerSkills> skillCache = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerSkills> dirtyPlayers = new ConcurrentHashMap<>();
+    private final List<SkillRecord> batch = new ArrayList<>();
+    private final XpCurve curve = XpCurve.linear(100, 100);
+
+    private UUID[] uuids;
+    private int next;
+    private int awards;
+
+    @Setup
+    public void setup() {
+        uuids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids[i] = uuid;
+
+            Map<String, PlayerSkillData> nested = new ConcurrentHashMap<>();
+            PlayerSkills skills = new PlayerSkills();
+            for (int skill = 0; skill < SKILLS.size(); skill++) {
+                nested.put(SKILLS.get(skill), new PlayerSkillData(50, 0, 0, 50));
+                skills.set(skill, 50, 0, 0, 50);
+            }
+            nestedCache.put(uuid, nested);
+            skillCache.put(uuid, skills);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next++;
+        if (next == players * SKILLS.size()) {
+            next = 0;
+        }
+        return index;
+    }
+
+    private boolean flushDue() {
+        if (++awards < flushEvery) {
+            return false;
+        }
+        awards = 0;
+        return true;
+    }
+
+    @Benchmark
+    public String before() {
+        int index = nextIndex();
+        UUID uuid = uuids[index / SKILLS.size()];
+        String skill = SKILLS.get(index % SKILLS.size());
+        int xpGained = 10;
+
+        Map<String, PlayerSkillData> skills = nestedCache.get(uuid);
+        int level = skills.containsKey(skill) ? skills.get(skill).level : 1;
+        int highest = skills.containsKey(skill) ? skills.get(skill).highestLevel : 1;
+        int xp = skills.containsKey(skill) ? skills.get(skill).xp : 0;
+        int newXP = xp + xpGained;
+        if (newXP >= curve.getRequiredXP(Math.max(level, highest))) {
+            newXP = 0;
+        }
+
+        PlayerSkillData data = nestedCache.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(skill, k -> new PlayerSkillData(1, 0, 0, 1));
+        data.xp = newXP;
+        data.totalEarned += xpGained;
+        pending.put(new SkillKey(uuid, skill),
+                new SkillRecord(uuid, skill, data.level, data.xp, data.totalEarned, data.highestLevel));
+
+        String formattedSkill = skill.substring(0, 1).toUpperCase() + skill.substring(1).toLowerCase();
+        String message = String.format("%s+%d %s XP", "\u00a7a", xpGained, formattedSkill);
+
+        if (flushDue()) {
+            pending.clear();
+        }
+        return message;
+    }
+
+    @Benchmark
+    public int after() {
+        int index = nextIndex();
+        UUID uuid = uuids[index / SKILLS.size()];
+        int skill = index % SKILLS.size();
+        int xpGained = 10;
+
+        PlayerSkills skills = skillCache.get(uuid);
+        int level = Math.max(skills.getLevel(skill), skills.getHighestLevel(skill));
+        int newXP = skills.getXp(skill) + xpGained;
+        if (newXP >= curve.getRequiredXP(level)) {
+            newXP = 0;
+        }
+
+        skills.setTotalEarned(skill, skills.getTotalEarned(skill) + xpGained);
+        skills.setXp(skill, newXP);
+        if (skills.markDirty(skill)) {
+            dirtyPlayers.putIfAbsent(uuid, skills);
+        }
+
+        if (flushDue()) {
+            dirtyPlayers.forEach((playerUUID, dirty) -> dirty.drainDirty(playerUUID, batch));
+            dirtyPlayers.clear();
+            batch.clear();
+        }
+        return newXP;
+    }
+}
@@ -5,6 +5,7 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.frizzlenpop.rPGSkillsPlugin.commands.*;
+import org.frizzlenpop.rPGSkillsPlugin.data.AutosaveScheduler;
 import org.frizzlenpop.rPGSkillsPlugin.data.DatabaseManager;
 import org.frizzlenpop.rPGSkillsPlugin.data.PlayerDataManager;
 import org.frizzlenpop.rPGSkillsPlugin.gui.InventoryManager;
@@ -18,6 +19,7 @@ import org.frizzlenpop.rPGSkillsPlugin.skills.SkillAbilityManager;
 import org.frizzlenpop.rPGSkillsPlugin.skilltree.SkillTreeManager;
 import org.frizzlenpop.rPGSkillsPlugin.skilltree.SkillTreeGUI;
 import org.frizzlenpop.rPGSkillsPlugin.skilltree.SkillXPListener;
+import org.frizzlenpop.rPGSkillsPlugin.utils.DebugTracer;
 import org.frizzlenpop.rPGSkillsPlugin.listeners.ExcavationListener;
 import org.frizzlenpop.rPGSkillsPlugin.listeners.RepairListener;
 import org.frizzlenpop.rPGSkillsPlugin.data.PartyManager;
@@ -77,6 +79,8 @@ public class RPGSkillsPlugin extends JavaPlugin {
     private RPGHubGUI rpgHubGUI;
     private InventoryManager inventoryManager;
     private DatabaseManager databaseManager;
+    private AutosaveScheduler autosaveScheduler;
+    private DebugTracer debugTracer;
     private boolean databaseEnabled = false;
     private RPGSkillsAPI api;
 
@@ -98,6 +102,9 @@ public class RPGSkillsPlugin extends JavaPlugin {
         addDefaultPassiveConfig();
         saveConfig();
         
+        // Start debug tracing before anything that traces
+        this.debugTracer = new DebugTracer(this);
+        
         // Initialize database manager if enabled
         initializeDatabase();
 
@@ -111,6 +118,7 @@ public class RPGSkillsPlugin extends JavaPlugin {
         if (databaseEnabled) {
             playerDataManager.setDatabaseManager(databaseManager);
         }
+        this.autosaveScheduler = new AutosaveScheduler(this);
         
         this.xpBoosterManager = new XPBoosterManager(this);
         this.xpManager = new XPManager(playerDataManager, this);
@@ -142,6 +150,7 @@ public class RPGSkillsPlugin extends JavaPlugin {
         this.skillTreeManager = new SkillTreeManager(this, playerDataManager, xpManager);
         this.skillTreeGUI = new SkillTreeGUI(this, skillTreeManager);
         this.skillXPListener = new SkillXPListener(this, skillTreeManager);
+        this.xpManager.setSkillXPListener(skillXPListener);
         
         // Initialize scoreboard manager
         this.scoreboardManager = new RPGScoreboardManager(this);
@@ -181,6 +190,13 @@ public class RPGSkillsPlugin extends JavaPlugin {
         
         // Initialize the centralized hub GUI AFTER all other systems
         rpgHubGUI = new RPGHubGUI(this);
+        
+        // Periodically save changed player, party and key data, spread across ticks
+        autosaveScheduler.register(playerDataManager::collectAutosave);
+        autosaveScheduler.register(partyManager::collectAutosave);
+        autosaveScheduler.register(xpManager.getOfflineXPQueue()::collectAutosave);
+        autosaveScheduler.register(mountKeyManager::collectAutosave);
+        autosaveScheduler.start();
 
         // Register commands
         registerCommands();
@@ -233,10 +249,20 @@ public class RPGSkillsPlugin extends JavaPlugin {
         DatabaseCommand databaseCommand = new DatabaseCommand(this);
         getCommand("rpgdb").setExecutor(databaseCommand);
         getCommand("rpgdb").setTabCompleter(databaseCommand);
+        
+        // Register the plugin admin command
+        RPGSkillsCommand rpgSkillsCommand = new RPGSkillsCommand(this);
+        getCommand("rpgskills").setExecutor(rpgSkillsCommand);
+        getCommand("rpgskills").setTabCompleter(rpgSkillsCommand);
     }
 
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(new PlayerDataListener(playerDataManager), this);
+        getServer().getPluginManager().registerEvents(xpManager.getMultiplierEngine(), this);
+        getServer().getPluginManager().registerEvents(xpManager.getNotifier(), this);
+        getServer().getPluginManager().registerEvents(xpManager.getOfflineXPQueue(), this);
+        getServer().getPluginManager().registerEvents(xpManager.getLedger(), this);
+        getServer().getPluginManager().registerEvents(partyManager, this);
         getServer().getPluginManager().registerEvents(new MiningListener(xpManager), this);
         getServer().getPluginManager().registerEvents(new FishingListener(xpManager, this, passiveSkillManager), this);
         getServer().getPluginManager().registerEvents(new EnchantingListener(xpManager, this), this);
@@ -351,20 +377,45 @@ public class RPGSkillsPlugin extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        // Save mount data
+        if (mountManager != null) {
+            mountManager.saveAllMountData();
+        }
+        
+        // Apply XP still waiting for the end of the tick
+        if (xpManager != null) {
+            xpManager.getLedger().flush();
+        }
+        
+        // Journal party XP accrued for offline members while storage is still open
+        if (xpManager != null) {
+            xpManager.getOfflineXPQueue().shutdown(config.getLong("storage.autosave.shutdown_timeout_seconds", 10L));
+        }
+        
+        // Write player-placed blocks and the crop and sapling indexes into the chunks that are still loaded
+        if (passiveSkillManager != null) {
+            passiveSkillManager.saveChunkData();
+        }
+        
+        // Shared XP totals are normally written at a slower interval
+        if (partyManager != null) {
+            partyManager.flushSharedXp();
+        }
+        
+        // Drain the autosave, then flush resident player data; both before the database closes
+        if (autosaveScheduler != null) {
+            autosaveScheduler.shutdown();
+        }
+        if (playerDataManager != null) {
+            playerDataManager.shutdown();
+        }
+        
         // Close database connection if it's open
         if (databaseEnabled && databaseManager != null) {
             databaseManager.close();
             getLogger().info("Database connection closed.");
         }
         
-        // Save player data
-        if (playerDataManager != null) {
-            for (Player player : getServer().getOnlinePlayers()) {
-                FileConfiguration playerData = playerDataManager.getPlayerData(player.getUniqueId());
-                playerDataManager.savePlayerData(player.getUniqueId(), playerData);
-            }
-        }
-        
         // Save party perks
         if (partyPerksGUI != null) {
             partyPerksGUI.savePurchasedPerks();
@@ -375,11 +426,6 @@ public class RPGSkillsPlugin extends JavaPlugin {
             scoreboardManager.cleanup();
         }
 
-        // Save mount data
-        if (mountManager != null) {
-            mountManager.saveAllMountData();
-        }
-        
         // Clean up mount visual effects
         if (mountVisualManager != null) {
             mountVisualManager.cleanup();
@@ -393,6 +439,11 @@ public class RPGSkillsPlugin extends JavaPlugin {
         // Save configuration
         saveConfig();
 
+        // Write out the remaining debug traces
+        if (debugTracer != null) {
+            debugTracer.shutdown();
+        }
+
         getLogger().info("RPGSkills plugin has been disabled!");
     }
 
@@ -401,6 +452,13 @@ public class RPGSkillsPlugin extends JavaPlugin {
         return playerDataManager;
     }
 
+    /**
+     * Get the autosave scheduler
+     */
+    public AutosaveScheduler getAutosaveScheduler() {
+        return autosaveScheduler;
+    }
+
     public XPManager getXpManager() {
         return xpManager;
     }
@@ -519,6 +577,24 @@ public class RPGSkillsPlugin extends JavaPlugin {
         super.reloadConfig();
         this.config = getConfig();
         
+        // Re-read the trace settings
+        if (debugTracer != null) {
+            debugTracer.reload();
+        }
+        
+        // Rebuild the XP curves and block, mob and catch XP values
+        if (xpManager != null) {
+            xpManager.reloadCurves();
+            xpManager.reloadXPTables();
+        }
+        
+        // Recompile the level unlocks for passives and re-read the placed block and boost settings
+        if (passiveSkillManager != null) {
+            passiveSkillManager.reloadUnlockTable();
+            passiveSkillManager.getPlacedBlockTracker().reload();
+            passiveSkillManager.getBlockBooster().reload();
+        }
+        
         // Reinitialize skill tree with new config
         if (skillTreeManager != null) {
             // Refresh skill tree nodes
@@ -622,11 +698,15 @@ public class RPGSkillsPlugin extends JavaPlugin {
      */
     private void initializePassiveSkillManager() {
         this.passiveSkillManager = new PassiveSkillManager(xpManager, this);
-        
-        // Connect PassiveSkillManager to database if enabled
-        if (databaseEnabled) {
-            passiveSkillManager.setDatabaseManager(databaseManager);
-        }
+    }
+
+    /**
+     * Gets the debug tracer
+     * 
+     * @return The debug tracer
+     */
+    public DebugTracer getDebugTracer() {
+        return debugTracer;
     }
 
     /**
@@ -83,7 +83,7 @@ public class RPGSkillsAPI {
      * @param level The new skill level
      */
     public void setSkillLevel(Player player, String skill, int level) {
-        playerDataManager.setSkillLevel(player.getUniqueId(), skill, level);
+        setSkillLevel(player.getUniqueId(), skill, level);
     }
 
     /**
@@ -94,7 +94,7 @@ public class RPGSkillsAPI {
      * @param level The new skill level
      */
     public void setSkillLevel(UUID playerUUID, String skill, int level) {
-        playerDataManager.setSkillLevel(playerUUID, skill, level);
+        xpManager.applyDirectChange(playerUUID, () -> playerDataManager.setSkillLevel(playerUUID, skill, level));
     }
 
     /**
@@ -127,7 +127,7 @@ public class RPGSkillsAPI {
      * @param xp The new skill XP
      */
     public void setSkillXP(Player player, String skill, int xp) {
-        playerDataManager.setSkillXP(player.getUniqueId(), skill, xp);
+        setSkillXP(player.getUniqueId(), skill, xp);
     }
 
     /**
@@ -138,11 +138,11 @@ public class RPGSkillsAPI {
      * @param xp The new skill XP
      */
     public void setSkillXP(UUID playerUUID, String skill, int xp) {
-        playerDataManager.setSkillXP(playerUUID, skill, xp);
+        xpManager.applyDirectChange(playerUUID, () -> playerDataManager.setSkillXP(playerUUID, skill, xp));
     }
 
     /**
-     * Adds XP to a player's skill.
+     * Adds XP to a player's skill immediately.
      * This method handles level ups and passive ability unlocks.
      * 
      * @param player The player
@@ -153,6 +153,28 @@ public class RPGSkillsAPI {
         xpManager.addXP(player, skill, xp);
     }
 
+    /**
+     * Adds XP to a player's skill at the end of the current tick.
+     * Awards for the same player and skill within a tick are summed and applied
+     * once, which is much cheaper when awarding XP for many blocks at a time.
+     * 
+     * @param player The player
+     * @param skill The skill name (mining, logging, farming, fighting, fishing, enchanting, excavation, repair)
+     * @param xp The amount of XP to add
+     */
+    public void queueXP(Player player, String skill, int xp) {
+        xpManager.queueXP(player, skill, xp);
+    }
+
+    /**
+     * Applies XP queued with {@link #queueXP(Player, String, int)} right away.
+     * 
+     * @param player The player
+     */
+    public void flushQueuedXP(Player player) {
+        xpManager.getLedger().flush(player.getUniqueId());
+    }
+
     /**
      * Gets the total XP earned for a skill.
      * 
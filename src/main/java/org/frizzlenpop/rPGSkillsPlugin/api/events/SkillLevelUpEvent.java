@@ -6,6 +6,7 @@ import org.bukkit.event.HandlerList;
 
 /**
  * Event that is called when a player levels up a skill.
+ * Gaining several levels at once fires one event per level, in order.
  */
 public class SkillLevelUpEvent extends Event {
     private static final HandlerList handlers = new HandlerList();
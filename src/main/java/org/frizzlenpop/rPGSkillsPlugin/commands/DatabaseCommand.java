@@ -1,17 +1,31 @@
 package org.frizzlenpop.rPGSkillsPlugin.commands;
 
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.DatabaseManager;
+import org.frizzlenpop.rPGSkillsPlugin.data.ProfileStore;
+import org.frizzlenpop.rPGSkillsPlugin.data.SkillWriteQueue;
+import org.frizzlenpop.rPGSkillsPlugin.data.YamlMigrationEngine;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.InMemoryStorageBackend;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.JdbcStorageBackend;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.StorageBackend;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.StorageBenchmark;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.YamlStorageBackend;
 
-import java.sql.SQLException;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -19,6 +33,7 @@ import java.util.stream.Collectors;
  */
 public class DatabaseCommand implements CommandExecutor, TabCompleter {
     private final RPGSkillsPlugin plugin;
+    private final AtomicBoolean benchmarkRunning = new AtomicBoolean();
     
     public DatabaseCommand(RPGSkillsPlugin plugin) {
         this.plugin = plugin;
@@ -41,7 +56,10 @@ public class DatabaseCommand implements CommandExecutor, TabCompleter {
                 showDatabaseStatus(sender);
                 break;
             case "migrate":
-                migrateData(sender);
+                migrateData(sender, args.length > 1 ? args[1].toLowerCase() : "start");
+                break;
+            case "benchmark":
+                runBenchmark(sender, args);
                 break;
             case "help":
                 sendHelpMessage(sender);
@@ -67,61 +85,241 @@ public class DatabaseCommand implements CommandExecutor, TabCompleter {
         }
         
         sender.sendMessage(ChatColor.GREEN + "Database storage is currently enabled.");
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
         sender.sendMessage(ChatColor.YELLOW + "Type: " + 
-                (plugin.getConfig().getBoolean("database.mysql.enabled") ? "MySQL" : "SQLite"));
+                (databaseManager.isMySQL() ? "MySQL" : "SQLite"));
+        
+        // Show connection pool stats
+        sender.sendMessage(ChatColor.YELLOW + "Connections: " + ChatColor.GREEN + databaseManager.getActiveConnections() +
+                ChatColor.YELLOW + " active, " + ChatColor.GREEN + databaseManager.getIdleConnections() +
+                ChatColor.YELLOW + " idle, " + ChatColor.GREEN + databaseManager.getThreadsAwaitingConnection() +
+                ChatColor.YELLOW + " waiting");
+        sender.sendMessage(ChatColor.YELLOW + "Connection wait: " + ChatColor.GREEN +
+                String.format("%.2f", databaseManager.getAverageConnectionWaitMillis()) + "ms" +
+                ChatColor.YELLOW + " avg, " + ChatColor.GREEN +
+                String.format("%.2f", databaseManager.getMaxConnectionWaitMillis()) + "ms" +
+                ChatColor.YELLOW + " max");
+        
+        // Show skill write queue stats
+        SkillWriteQueue writeQueue = plugin.getPlayerDataManager().getSkillWriteQueue();
+        if (writeQueue != null) {
+            sender.sendMessage(ChatColor.YELLOW + "Skill writes: " + ChatColor.GREEN + writeQueue.getPendingCount() +
+                    ChatColor.YELLOW + " pending, " + ChatColor.GREEN + writeQueue.getFlushCount() +
+                    ChatColor.YELLOW + " batches");
+            sender.sendMessage(ChatColor.YELLOW + "Batch size: " + ChatColor.GREEN +
+                    String.format("%.1f", writeQueue.getAverageBatchSize()) +
+                    ChatColor.YELLOW + " avg, " + ChatColor.GREEN + writeQueue.getMaxBatchSize() +
+                    ChatColor.YELLOW + " max");
+            sender.sendMessage(ChatColor.YELLOW + "Flush latency: " + ChatColor.GREEN +
+                    String.format("%.2f", writeQueue.getAverageFlushMillis()) + "ms" +
+                    ChatColor.YELLOW + " avg, " + ChatColor.GREEN +
+                    String.format("%.2f", writeQueue.getMaxFlushMillis()) + "ms" +
+                    ChatColor.YELLOW + " max");
+        }
         
-        // Show player data stats
-        int playersInDatabase = countPlayersInDatabase();
-        sender.sendMessage(ChatColor.YELLOW + "Players in database: " + ChatColor.GREEN + playersInDatabase);
+        // Show player data stats once the count comes back from the database
+        countPlayersInDatabase().thenAccept(playersInDatabase -> Bukkit.getScheduler().runTask(plugin, () ->
+                sender.sendMessage(ChatColor.YELLOW + "Players in database: " + ChatColor.GREEN + playersInDatabase)));
     }
     
     /**
      * Counts the number of players in the database
      * 
-     * @return The number of players
+     * @return A future completed with the number of players
      */
-    private int countPlayersInDatabase() {
+    private CompletableFuture<Integer> countPlayersInDatabase() {
         if (!plugin.isDatabaseEnabled()) {
-            return 0;
+            return CompletableFuture.completedFuture(0);
         }
         
-        try {
-            return plugin.getDatabaseManager().executeAsync(conn -> {
-                try (var stmt = conn.prepareStatement("SELECT COUNT(DISTINCT player_uuid) FROM player_skills");
-                     var rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        return rs.getInt(1);
-                    }
-                    return 0;
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error counting players: " + e.getMessage());
-                    return 0;
-                }
-            }).get();
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to count players in database: " + e.getMessage());
-            return 0;
-        }
+        return plugin.getPlayerDataManager().getStorage().countPlayers().exceptionally(error -> 0);
     }
     
     /**
-     * Migrates data from YAML to database
+     * Handles the migrate subcommands
      * 
      * @param sender The command sender
+     * @param action start, status, verify or cancel
      */
-    private void migrateData(CommandSender sender) {
+    private void migrateData(CommandSender sender, String action) {
         if (!plugin.isDatabaseEnabled()) {
             sender.sendMessage(ChatColor.RED + "Database storage is currently disabled. Cannot migrate data.");
             return;
         }
         
-        sender.sendMessage(ChatColor.YELLOW + "Starting data migration from YAML to database...");
-        sender.sendMessage(ChatColor.YELLOW + "This may take a while depending on the amount of data.");
+        YamlMigrationEngine engine = plugin.getDatabaseManager().getMigrationEngine();
+        switch (action) {
+            case "start":
+            case "verify":
+                boolean verify = action.equals("verify");
+                if (!engine.start(verify)) {
+                    sender.sendMessage(ChatColor.RED + "A migration is already running. Use /rpgdb migrate status to follow it.");
+                    return;
+                }
+                sender.sendMessage(ChatColor.YELLOW + (verify
+                        ? "Comparing YAML player data against the database (no changes will be made)..."
+                        : "Starting data migration from YAML to database..."));
+                sender.sendMessage(ChatColor.GREEN + "Use /rpgdb migrate status to follow progress.");
+                break;
+            case "status":
+                showMigrationStatus(sender, engine);
+                break;
+            case "cancel":
+                if (!engine.isRunning()) {
+                    sender.sendMessage(ChatColor.RED + "No migration is running.");
+                    return;
+                }
+                engine.cancel();
+                sender.sendMessage(ChatColor.YELLOW + "Migration will stop after the current batch. Run it again to resume.");
+                break;
+            default:
+                sender.sendMessage(ChatColor.RED + "Usage: /rpgdb migrate [start|status|verify|cancel]");
+                break;
+        }
+    }
+    
+    /**
+     * Shows the progress of the current or last migration run
+     * 
+     * @param sender The command sender
+     * @param engine The migration engine
+     */
+    private void showMigrationStatus(CommandSender sender, YamlMigrationEngine engine) {
+        if (engine.getFilesTotal() == 0 && !engine.isRunning()) {
+            sender.sendMessage(ChatColor.YELLOW + "No migration has been run since the server started.");
+            return;
+        }
+        
+        String mode = engine.isVerifyMode() ? "Verification" : "Migration";
+        sender.sendMessage(ChatColor.GOLD + "=== " + mode + (engine.isRunning() ? " in progress" : " finished") + " ===");
+        sender.sendMessage(ChatColor.YELLOW + "Files: " + ChatColor.GREEN + engine.getFilesDone() +
+                ChatColor.YELLOW + "/" + ChatColor.GREEN + engine.getFilesTotal() +
+                ChatColor.YELLOW + " done, " + ChatColor.RED + engine.getFilesFailed() +
+                ChatColor.YELLOW + " failed, " + ChatColor.GREEN + engine.getFilesSkipped() +
+                ChatColor.YELLOW + " skipped (already migrated)");
+        sender.sendMessage(ChatColor.YELLOW + "Rows: " + ChatColor.GREEN + engine.getRowsProcessed() +
+                ChatColor.YELLOW + " at " + ChatColor.GREEN + String.format("%.0f", engine.getRowsPerSecond()) +
+                ChatColor.YELLOW + " rows/s");
         
-        // Start migration asynchronously
-        plugin.getDatabaseManager().migrateFromYAML();
+        long eta = engine.getEtaSeconds();
+        sender.sendMessage(ChatColor.YELLOW + "Elapsed: " + ChatColor.GREEN + formatDuration(Math.round(engine.getElapsedSeconds())) +
+                (eta >= 0 ? ChatColor.YELLOW + ", ETA: " + ChatColor.GREEN + formatDuration(eta) : ""));
         
-        sender.sendMessage(ChatColor.GREEN + "Migration process started. Check console for progress.");
+        if (engine.isVerifyMode()) {
+            sender.sendMessage(ChatColor.YELLOW + "Mismatched players: " +
+                    (engine.getMismatches() == 0 ? ChatColor.GREEN : ChatColor.RED) + engine.getMismatches());
+        }
+    }
+    
+    private String formatDuration(long seconds) {
+        return String.format("%d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+    
+    /**
+     * Measures storage throughput against a backend, after a quick sanity check of it
+     * 
+     * @param sender The command sender
+     * @param args memory, yaml or database, followed by an optional player count
+     */
+    private void runBenchmark(CommandSender sender, String[] args) {
+        String target = args.length > 1 ? args[1].toLowerCase() : (plugin.isDatabaseEnabled() ? "database" : "yaml");
+        int players;
+        try {
+            players = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatColor.RED + "Player count must be a number.");
+            return;
+        }
+        players = Math.max(1, Math.min(players, 10000));
+        
+        if (benchmarkRunning.get()) {
+            sender.sendMessage(ChatColor.RED + "A storage benchmark is already running.");
+            return;
+        }
+        
+        StorageBackend backend;
+        ProfileStore scratch = null;
+        Runnable settle = null;
+        switch (target) {
+            case "memory":
+                backend = new InMemoryStorageBackend();
+                break;
+            case "yaml":
+                // A scratch store of its own, used only by the benchmark thread, so the
+                // run never touches the live profiles the main thread works on
+                ProfileStore store = new ProfileStore(plugin.getLogger(), new File(plugin.getDataFolder(), "storage-benchmark"), YamlConfiguration::new);
+                backend = new YamlStorageBackend(store);
+                settle = () -> {
+                    store.flushDirty();
+                    store.awaitWrites().join();
+                    store.evictSettled();
+                };
+                scratch = store;
+                break;
+            case "database":
+                if (!plugin.isDatabaseEnabled()) {
+                    sender.sendMessage(ChatColor.RED + "Database storage is currently disabled.");
+                    return;
+                }
+                backend = new JdbcStorageBackend(plugin, plugin.getDatabaseManager());
+                break;
+            default:
+                sender.sendMessage(ChatColor.RED + "Usage: /rpgdb benchmark [memory|yaml|database] [players]");
+                return;
+        }
+        
+        benchmarkRunning.set(true);
+        sender.sendMessage(ChatColor.YELLOW + "Running storage benchmark against " + backend.getName() +
+                " with " + players + " players...");
+        StorageBenchmark benchmark = new StorageBenchmark(backend, players, settle);
+        ProfileStore cleanup = scratch;
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return benchmark.run();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((result, error) -> {
+            if (cleanup != null) {
+                cleanup.shutdown(10L);
+                deleteFolder(cleanup.getFolder());
+            }
+            benchmarkRunning.set(false);
+            Bukkit.getScheduler().runTask(plugin, () -> showBenchmarkResult(sender, result, error));
+        });
+    }
+    
+    private void showBenchmarkResult(CommandSender sender, StorageBenchmark.Result result, Throwable error) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            sender.sendMessage(ChatColor.RED + "Storage benchmark failed: " + cause.getMessage());
+            return;
+        }
+        
+        sender.sendMessage(ChatColor.GOLD + "=== Storage benchmark: " + result.getBackend() + " ===");
+        if (result.getFailures().isEmpty()) {
+            sender.sendMessage(ChatColor.GREEN + "All sanity checks passed.");
+        } else {
+            for (String failure : result.getFailures()) {
+                sender.sendMessage(ChatColor.RED + "Failed: " + failure);
+            }
+        }
+        sender.sendMessage(ChatColor.YELLOW + "Skill writes: " + ChatColor.GREEN +
+                String.format("%.0f", result.getWriteRowsPerSecond()) + ChatColor.YELLOW + " rows/s (" +
+                String.format("%.0f", result.getWriteMillis()) + "ms)");
+        sender.sendMessage(ChatColor.YELLOW + "Player loads: " + ChatColor.GREEN +
+                String.format("%.0f", result.getReadPlayersPerSecond()) + ChatColor.YELLOW + " players/s (" +
+                String.format("%.0f", result.getReadMillis()) + "ms for " + result.getPlayers() + " players)");
+    }
+    
+    private void deleteFolder(File folder) {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
     }
     
     /**
@@ -133,6 +331,10 @@ public class DatabaseCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ChatColor.GOLD + "=== RPG Skills Database Commands ===");
         sender.sendMessage(ChatColor.YELLOW + "/rpgdb status " + ChatColor.WHITE + "- Shows the current database status");
         sender.sendMessage(ChatColor.YELLOW + "/rpgdb migrate " + ChatColor.WHITE + "- Migrates data from YAML to database");
+        sender.sendMessage(ChatColor.YELLOW + "/rpgdb migrate status " + ChatColor.WHITE + "- Shows migration progress, rows/s and ETA");
+        sender.sendMessage(ChatColor.YELLOW + "/rpgdb migrate verify " + ChatColor.WHITE + "- Compares YAML data with the database without writing");
+        sender.sendMessage(ChatColor.YELLOW + "/rpgdb migrate cancel " + ChatColor.WHITE + "- Stops a running migration (it resumes on the next run)");
+        sender.sendMessage(ChatColor.YELLOW + "/rpgdb benchmark [memory|yaml|database] [players] " + ChatColor.WHITE + "- Checks and measures a storage backend");
         sender.sendMessage(ChatColor.YELLOW + "/rpgdb help " + ChatColor.WHITE + "- Shows this help message");
     }
     
@@ -143,11 +345,23 @@ public class DatabaseCommand implements CommandExecutor, TabCompleter {
         }
         
         if (args.length == 1) {
-            return Arrays.asList("status", "migrate", "help").stream()
+            return Arrays.asList("status", "migrate", "benchmark", "help").stream()
                     .filter(s -> s.startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
         }
         
+        if (args.length == 2 && args[0].equalsIgnoreCase("migrate")) {
+            return Arrays.asList("start", "status", "verify", "cancel").stream()
+                    .filter(s -> s.startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        
+        if (args.length == 2 && args[0].equalsIgnoreCase("benchmark")) {
+            return Arrays.asList("memory", "yaml", "database").stream()
+                    .filter(s -> s.startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        
         return new ArrayList<>();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,123 @@
+package org.frizzlenpop.rPGSkillsPlugin.commands;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.utils.DebugTracer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Admin commands for the plugin itself
+ */
+public class RPGSkillsCommand implements CommandExecutor, TabCompleter {
+    private final RPGSkillsPlugin plugin;
+    
+    public RPGSkillsCommand(RPGSkillsPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("rpgskills.admin")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+        
+        if (args.length == 0) {
+            sendUsage(sender);
+            return true;
+        }
+        
+        switch (args[0].toLowerCase()) {
+            case "reload":
+                long start = System.currentTimeMillis();
+                plugin.reloadConfig();
+                sender.sendMessage(ChatColor.GREEN + "RPGSkills configuration reloaded in "
+                        + (System.currentTimeMillis() - start) + "ms.");
+                break;
+            case "trace":
+                handleTrace(sender, args);
+                break;
+            default:
+                sendUsage(sender);
+                break;
+        }
+        return true;
+    }
+    
+    private void sendUsage(CommandSender sender) {
+        sender.sendMessage(ChatColor.YELLOW + "Usage: /rpgskills reload");
+        sender.sendMessage(ChatColor.YELLOW + "       /rpgskills trace [<category|all> <on|off>]");
+        sender.sendMessage(ChatColor.YELLOW + "       /rpgskills trace rate <0.0-1.0>");
+    }
+    
+    /**
+     * Shows or changes the debug trace settings until the next reload
+     */
+    private void handleTrace(CommandSender sender, String[] args) {
+        DebugTracer tracer = plugin.getDebugTracer();
+        
+        if (args.length >= 3 && args[1].equalsIgnoreCase("rate")) {
+            try {
+                tracer.setSampleRate(Double.parseDouble(args[2]));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Invalid sample rate: " + args[2]);
+                return;
+            }
+        } else if (args.length >= 3) {
+            boolean enabled = args[2].equalsIgnoreCase("on");
+            if (args[1].equalsIgnoreCase("all")) {
+                for (DebugTracer.Category category : DebugTracer.Category.values()) {
+                    tracer.setEnabled(category, enabled);
+                }
+            } else {
+                DebugTracer.Category category = DebugTracer.parse(args[1]);
+                if (category == null) {
+                    sender.sendMessage(ChatColor.RED + "Unknown trace category: " + args[1]);
+                    return;
+                }
+                tracer.setEnabled(category, enabled);
+            }
+        }
+        
+        StringBuilder status = new StringBuilder(ChatColor.GOLD + "Tracing:");
+        for (DebugTracer.Category category : DebugTracer.Category.values()) {
+            status.append(' ').append(tracer.isEnabled(category) ? ChatColor.GREEN : ChatColor.GRAY)
+                    .append(category.key());
+        }
+        status.append(ChatColor.GOLD).append(" sample rate ").append(tracer.getSampleRate());
+        sender.sendMessage(status.toString());
+    }
+    
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (!sender.hasPermission("rpgskills.admin")) {
+            return Collections.emptyList();
+        }
+        
+        List<String> options = new ArrayList<>();
+        if (args.length == 1) {
+            options.add("reload");
+            options.add("trace");
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("trace")) {
+            for (DebugTracer.Category category : DebugTracer.Category.values()) {
+                options.add(category.key());
+            }
+            options.add("all");
+            options.add("rate");
+        } else if (args.length == 3 && args[0].equalsIgnoreCase("trace") && !args[1].equalsIgnoreCase("rate")) {
+            options.add("on");
+            options.add("off");
+        }
+        
+        String prefix = args[args.length - 1].toLowerCase();
+        options.removeIf(option -> !option.startsWith(prefix));
+        return options;
+    }
+}
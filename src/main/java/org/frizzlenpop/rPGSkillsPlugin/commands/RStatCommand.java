@@ -6,26 +6,20 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
-import org.frizzlenpop.rPGSkillsPlugin.skills.PassiveSkillManager;
+import org.frizzlenpop.rPGSkillsPlugin.data.PlayerSkills;
+import org.frizzlenpop.rPGSkillsPlugin.skills.MultiplierEngine;
+import org.frizzlenpop.rPGSkillsPlugin.skills.SkillRegistry;
 import org.frizzlenpop.rPGSkillsPlugin.skills.XPManager;
-import org.frizzlenpop.rPGSkillsPlugin.skilltree.SkillTreeManager;
-import org.frizzlenpop.rPGSkillsPlugin.skilltree.SkillTreeNode;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
 
 /**
- * Command to display all XP boosts from both skills and skill tree systems
+ * Command to display the XP boosts applied to each skill by passives, the skill tree and boosters
  */
 public class RStatCommand implements CommandExecutor {
     private final RPGSkillsPlugin plugin;
     private final XPManager xpManager;
-    private final PassiveSkillManager passiveSkillManager;
-    private final SkillTreeManager skillTreeManager;
-    
-    private static final String[] SKILL_TYPES = {"mining", "logging", "farming", "fighting", "fishing", "enchanting"};
     
     /**
      * Constructor for the RStatCommand
@@ -33,8 +27,6 @@ public class RStatCommand implements CommandExecutor {
     public RStatCommand(RPGSkillsPlugin plugin) {
         this.plugin = plugin;
         this.xpManager = plugin.getXpManager();
-        this.passiveSkillManager = plugin.getPassiveSkillManager();
-        this.skillTreeManager = plugin.getSkillTreeManager();
     }
     
     @Override
@@ -46,7 +38,7 @@ public class RStatCommand implements CommandExecutor {
         
         Player player = (Player) sender;
         
-        // Calculate and display XP boosts from both systems
+        // Calculate and display the XP boosts awards currently use
         Map<String, Double> totalBoosts = calculateTotalXPBoosts(player);
         
         // Display results to player
@@ -56,177 +48,21 @@ public class RStatCommand implements CommandExecutor {
     }
     
     /**
-     * Calculate the total XP boosts from both skill system and skill tree system
+     * Get each skill's total XP boost from the multiplier engine, the same values awards use
      */
     private Map<String, Double> calculateTotalXPBoosts(Player player) {
-        Map<String, Double> totalBoosts = new HashMap<>();
+        Map<String, Double> totalBoosts = new LinkedHashMap<>();
+        MultiplierEngine engine = xpManager.getMultiplierEngine();
+        PlayerSkills skills = plugin.getPlayerDataManager().getPlayerSkills(player.getUniqueId());
         
-        // Initialize boost values for all skills
-        for (String skill : SKILL_TYPES) {
-            totalBoosts.put(skill, 0.0);
+        for (int skill = 0; skill < SkillRegistry.size(); skill++) {
+            double multiplier = engine.getMultiplier(player, skill, skills != null ? skills.getLevel(skill) : 1);
+            totalBoosts.put(SkillRegistry.name(skill), multiplier - 1.0);
         }
         
-        // Add boosts from passive skill system
-        calculatePassiveSkillBoosts(player, totalBoosts);
-        
-        // Add boosts from skill tree system
-        calculateSkillTreeBoosts(player, totalBoosts);
-        
         return totalBoosts;
     }
     
-    /**
-     * Calculate XP boosts from passive skill system
-     */
-    private void calculatePassiveSkillBoosts(Player player, Map<String, Double> totalBoosts) {
-        UUID playerId = player.getUniqueId();
-        
-        // Mining XP boosts
-        int miningLevel = plugin.getPlayerDataManager().getSkillLevel(playerId, "mining");
-        if (passiveSkillManager.hasPassive(playerId, "miningXpBoost")) {
-            if (miningLevel >= 82) { // XP Boost V
-                totalBoosts.put("mining", totalBoosts.get("mining") + 0.30); // +30%
-            } else if (miningLevel >= 64) { // XP Boost IV
-                totalBoosts.put("mining", totalBoosts.get("mining") + 0.25); // +25%
-            } else if (miningLevel >= 45) { // XP Boost III
-                totalBoosts.put("mining", totalBoosts.get("mining") + 0.20); // +20%
-            } else if (miningLevel >= 24) { // XP Boost II
-                totalBoosts.put("mining", totalBoosts.get("mining") + 0.15); // +15%
-            } else if (miningLevel >= 7) { // XP Boost I
-                totalBoosts.put("mining", totalBoosts.get("mining") + 0.10); // +10%
-            }
-        }
-        
-        if (passiveSkillManager.hasPassive(playerId, "masterMiner")) {
-            totalBoosts.put("mining", totalBoosts.get("mining") + 0.25); // +25% Master Miner
-        }
-        
-        // Logging XP boosts
-        int loggingLevel = plugin.getPlayerDataManager().getSkillLevel(playerId, "logging");
-        if (passiveSkillManager.hasPassive(playerId, "xpBoost5")) {
-            totalBoosts.put("logging", totalBoosts.get("logging") + 0.30); // +30%
-        } else if (passiveSkillManager.hasPassive(playerId, "xpBoost4")) {
-            totalBoosts.put("logging", totalBoosts.get("logging") + 0.25); // +25%
-        } else if (passiveSkillManager.hasPassive(playerId, "xpBoost3")) {
-            totalBoosts.put("logging", totalBoosts.get("logging") + 0.20); // +20%
-        } else if (passiveSkillManager.hasPassive(playerId, "xpBoost2")) {
-            totalBoosts.put("logging", totalBoosts.get("logging") + 0.15); // +15%
-        } else if (passiveSkillManager.hasPassive(playerId, "xpBoost1")) {
-            totalBoosts.put("logging", totalBoosts.get("logging") + 0.10); // +10%
-        }
-        
-        // Farming XP boosts
-        // Add farming XP boosts based on the implementation
-        
-        // Fighting XP boosts
-        if (passiveSkillManager.hasPassive(playerId, "combatXpBoost5")) {
-            totalBoosts.put("fighting", totalBoosts.get("fighting") + 0.30); // +30%
-        } else if (passiveSkillManager.hasPassive(playerId, "combatXpBoost4")) {
-            totalBoosts.put("fighting", totalBoosts.get("fighting") + 0.25); // +25%
-        } else if (passiveSkillManager.hasPassive(playerId, "combatXpBoost3")) {
-            totalBoosts.put("fighting", totalBoosts.get("fighting") + 0.20); // +20%
-        } else if (passiveSkillManager.hasPassive(playerId, "combatXpBoost2")) {
-            totalBoosts.put("fighting", totalBoosts.get("fighting") + 0.15); // +15%
-        } else if (passiveSkillManager.hasPassive(playerId, "combatXpBoost1")) {
-            totalBoosts.put("fighting", totalBoosts.get("fighting") + 0.10); // +10%
-        }
-        
-        // Fishing XP boosts
-        if (passiveSkillManager.hasPassive(player, "fishing", "XP Boost VI")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.40); // +40%
-        } else if (passiveSkillManager.hasPassive(player, "fishing", "XP Boost V")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.30); // +30%
-        } else if (passiveSkillManager.hasPassive(player, "fishing", "XP Boost IV")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.25); // +25%
-        } else if (passiveSkillManager.hasPassive(player, "fishing", "XP Boost III")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.20); // +20%
-        } else if (passiveSkillManager.hasPassive(player, "fishing", "XP Boost II")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.15); // +15%
-        } else if (passiveSkillManager.hasPassive(player, "fishing", "XP Boost I")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.10); // +10%
-        }
-        
-        if (passiveSkillManager.hasPassive(player, "fishing", "Master Angler")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.10); // +10%
-        }
-        
-        if (passiveSkillManager.hasPassive(player, "fishing", "Legendary Fisher")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.25); // +25%
-        }
-        
-        if (passiveSkillManager.hasPassive(player, "fishing", "Master Fisher")) {
-            totalBoosts.put("fishing", totalBoosts.get("fishing") + 0.50); // +50%
-        }
-        
-        // Enchanting XP boosts
-        
-        // Research Master passives
-        if (passiveSkillManager.hasPassive(player, "enchanting", "Research Master V")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.45); // +45%
-        } else if (passiveSkillManager.hasPassive(player, "enchanting", "Research Master IV")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.40); // +40%
-        } else if (passiveSkillManager.hasPassive(player, "enchanting", "Research Master III")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.35); // +35%
-        } else if (passiveSkillManager.hasPassive(player, "enchanting", "Research Master II")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.30); // +30%
-        } else if (passiveSkillManager.hasPassive(player, "enchanting", "Research Master I")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.25); // +25%
-        }
-        
-        // Enchanting XP Boost passives
-        if (passiveSkillManager.hasPassive(player, "enchanting", "Enchanting XP Boost V")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.25); // +25%
-        } else if (passiveSkillManager.hasPassive(player, "enchanting", "Enchanting XP Boost IV")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.20); // +20%
-        } else if (passiveSkillManager.hasPassive(player, "enchanting", "Enchanting XP Boost III")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.15); // +15%
-        } else if (passiveSkillManager.hasPassive(player, "enchanting", "Enchanting XP Boost II")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.10); // +10%
-        } else if (passiveSkillManager.hasPassive(player, "enchanting", "Enchanting XP Boost I")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.05); // +5%
-        }
-        
-        // Master Enchanter
-        if (passiveSkillManager.hasPassive(player, "enchanting", "Master Enchanter")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.30); // +30%
-        }
-        
-        // Legendary Enchanter
-        if (passiveSkillManager.hasPassive(player, "enchanting", "Legendary Enchanter")) {
-            totalBoosts.put("enchanting", totalBoosts.get("enchanting") + 0.25); // +25%
-        }
-    }
-    
-    /**
-     * Calculate XP boosts from skill tree system
-     */
-    private void calculateSkillTreeBoosts(Player player, Map<String, Double> totalBoosts) {
-        // Get player's unlocked nodes
-        Set<String> unlockedNodes = skillTreeManager.getPlayerUnlockedNodes(player);
-        
-        // Map of all nodes
-        Map<String, SkillTreeNode> allNodes = skillTreeManager.getAllNodes();
-        
-        // Check each unlocked node for XP boosts
-        for (String nodeId : unlockedNodes) {
-            SkillTreeNode node = allNodes.get(nodeId);
-            if (node != null) {
-                // Check each effect on the node
-                for (SkillTreeNode.NodeEffect effect : node.getEffects()) {
-                    if (effect.getType() == SkillTreeNode.EffectType.SKILL_XP_BOOST) {
-                        String targetSkill = effect.getTarget();
-                        double boostValue = effect.getValue();
-                        
-                        // Add to total boost for this skill
-                        if (totalBoosts.containsKey(targetSkill)) {
-                            totalBoosts.put(targetSkill, totalBoosts.get(targetSkill) + boostValue);
-                        }
-                    }
-                }
-            }
-        }
-    }
-    
     /**
      * Display XP boosts to the player
      */
@@ -238,8 +74,9 @@ public class RStatCommand implements CommandExecutor {
         player.sendMessage(border);
         
         // Display each skill's total boost with a formatted bar representation
-        for (String skill : SKILL_TYPES) {
-            double boost = totalBoosts.getOrDefault(skill, 0.0);
+        for (Map.Entry<String, Double> entry : totalBoosts.entrySet()) {
+            String skill = entry.getKey();
+            double boost = entry.getValue();
             int boostPercent = (int)(boost * 100);
             
             // Skill name formatting (capitalized and right-padded)
@@ -265,7 +102,7 @@ public class RStatCommand implements CommandExecutor {
         
         // Add total combined boost
         double totalBoostValue = totalBoosts.values().stream().mapToDouble(Double::doubleValue).sum();
-        double averageBoost = totalBoostValue / SKILL_TYPES.length;
+        double averageBoost = totalBoostValue / totalBoosts.size();
         int avgBoostPercent = (int)(averageBoost * 100);
         
         // Format average boost
@@ -280,6 +117,13 @@ public class RStatCommand implements CommandExecutor {
                 ChatColor.YELLOW + String.format("%.2fx", totalMultiplier) + 
                 ChatColor.GOLD + "  |");
         
+        // Party bonus applies to the XP shared with party members
+        double partyBonus = xpManager.getMultiplierEngine().getPartyBonus(player);
+        if (partyBonus > 0) {
+            player.sendMessage(ChatColor.GOLD + "| " + ChatColor.WHITE + "Party Share Bonus: " + 
+                    ChatColor.YELLOW + "+" + (int)(partyBonus * 100) + "%" + ChatColor.GOLD + "  |");
+        }
+        
         player.sendMessage(border);
     }
     
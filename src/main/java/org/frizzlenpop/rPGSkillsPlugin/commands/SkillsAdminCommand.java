@@ -69,10 +69,12 @@ public class SkillsAdminCommand implements CommandExecutor, TabCompleter {
             switch (action) {
                 case "set":
                     if (type.equals("level")) {
-                        playerDataManager.setSkillLevel(target.getUniqueId(), skill, amount);
+                        xpManager.applyDirectChange(target.getUniqueId(),
+                                () -> playerDataManager.setSkillLevel(target.getUniqueId(), skill, amount));
                         sender.sendMessage(ChatColor.GREEN + "Set " + target.getName() + "'s " + skill + " level to " + amount);
                     } else if (type.equals("xp")) {
-                        playerDataManager.setSkillXP(target.getUniqueId(), skill, amount);
+                        xpManager.applyDirectChange(target.getUniqueId(),
+                                () -> playerDataManager.setSkillXP(target.getUniqueId(), skill, amount));
                         sender.sendMessage(ChatColor.GREEN + "Set " + target.getName() + "'s " + skill + " XP to " + amount);
                     } else {
                         sender.sendMessage(ChatColor.RED + "Invalid type! Use 'level' or 'xp'");
@@ -89,7 +91,8 @@ public class SkillsAdminCommand implements CommandExecutor, TabCompleter {
                         // Add the specified number of levels
                         int newLevel = currentLevel + amount;
                         // Set the new level
-                        playerDataManager.setSkillLevel(target.getUniqueId(), skill, newLevel);
+                        xpManager.applyDirectChange(target.getUniqueId(),
+                                () -> playerDataManager.setSkillLevel(target.getUniqueId(), skill, newLevel));
                         sender.sendMessage(ChatColor.GREEN + "Added " + amount + " levels to " + target.getName() + "'s " + skill + 
                                            " (now level " + newLevel + ")");
                     } else {
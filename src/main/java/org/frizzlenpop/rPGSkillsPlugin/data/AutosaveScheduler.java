@@ -0,0 +1,180 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic autosave that spreads work across ticks.
+ * Every cycle each registered source adds one unit of work per dirty item. Units
+ * run on the main thread within a per-tick time budget; each one only snapshots
+ * its data and hands the I/O to a background thread, so a cycle never causes a
+ * save spike no matter how many players are online.
+ */
+public class AutosaveScheduler {
+    private final RPGSkillsPlugin plugin;
+    private final List<Source> sources = new ArrayList<>();
+    private final Queue<Runnable> work = new ArrayDeque<>();
+    private final long intervalTicks;
+    private final long tickBudgetNanos;
+    private final long shutdownTimeoutSeconds;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "RPGSkills-Autosave");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private BukkitTask task;
+    private long ticksSinceCycle;
+
+    /**
+     * Something with state that has to be persisted periodically
+     */
+    public interface Source {
+        /**
+         * Adds one unit of work per dirty item. Called on the main thread at the
+         * start of each cycle; the units also run on the main thread.
+         *
+         * @param work The queue to add units to
+         */
+        void collect(Queue<Runnable> work);
+    }
+
+    public AutosaveScheduler(RPGSkillsPlugin plugin) {
+        this.plugin = plugin;
+
+        FileConfiguration config = plugin.getConfig();
+        this.intervalTicks = Math.max(1L, config.getLong("storage.autosave.interval_ticks", 100L));
+        this.tickBudgetNanos = (long) (Math.max(0.1, config.getDouble("storage.autosave.tick_budget_ms", 2.0)) * 1_000_000L);
+        this.shutdownTimeoutSeconds = Math.max(1L, config.getLong("storage.autosave.shutdown_timeout_seconds", 10L));
+    }
+
+    /**
+     * Registers a source; sources are collected in registration order
+     *
+     * @param source The source
+     */
+    public void register(Source source) {
+        sources.add(source);
+    }
+
+    /**
+     * Starts the per-tick autosave task
+     */
+    public void start() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    private void tick() {
+        // A new cycle only starts once the previous one has fully drained
+        if (++ticksSinceCycle >= intervalTicks && work.isEmpty()) {
+            ticksSinceCycle = 0;
+            collect();
+        }
+
+        long start = System.nanoTime();
+        Runnable unit;
+        while ((unit = work.poll()) != null) {
+            run(unit);
+            if (System.nanoTime() - start >= tickBudgetNanos) {
+                break;
+            }
+        }
+    }
+
+    private void collect() {
+        for (Source source : sources) {
+            try {
+                source.collect(work);
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Failed to collect autosave work: " + e.getMessage());
+            }
+        }
+    }
+
+    private void run(Runnable unit) {
+        try {
+            unit.run();
+        } catch (RuntimeException e) {
+            plugin.getLogger().severe("Autosave failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a file on the autosave thread, replacing it atomically
+     *
+     * @param file The file to write
+     * @param contents The file contents, snapshotted by the caller
+     */
+    public void writeAsync(File file, String contents) {
+        try {
+            writer.execute(() -> write(file, contents));
+        } catch (RejectedExecutionException e) {
+            // Already shut down, write on the calling thread instead
+            write(file, contents);
+        }
+    }
+
+    private void write(File file, String contents) {
+        Path target = file.toPath();
+        Path temp = new File(file.getParentFile(), file.getName() + ".tmp").toPath();
+        try {
+            Files.writeString(temp, contents, StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The number of units waiting for a later tick
+     */
+    public int getPendingUnits() {
+        return work.size();
+    }
+
+    /**
+     * Stops the task, runs the rest of the current cycle plus a final one without
+     * a time budget and waits a bounded time for the background writes
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        collect();
+        Runnable unit;
+        while ((unit = work.poll()) != null) {
+            run(unit);
+        }
+
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for autosave writes to finish.");
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,36 +1,60 @@
 package org.frizzlenpop.rPGSkillsPlugin.data;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.utils.DebugTracer;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 
 /**
  * Manages database connections and operations for the RPG Skills Plugin.
  * Supports both MySQL and SQLite databases.
+ * <p>
+ * MySQL uses a single HikariCP pool shared by reads and writes. SQLite uses a
+ * dedicated single-connection writer pool plus a pool of read connections, with
+ * WAL journaling so readers are not blocked by the writer.
  */
 public class DatabaseManager {
     private final RPGSkillsPlugin plugin;
-    private Connection connection;
+    private HikariDataSource writeDataSource;
+    private HikariDataSource readDataSource;
     private String host, database, username, password;
     private int port;
     private boolean useMySQL;
-    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ExecutorService executor;
+    private YamlMigrationEngine migrationEngine;
+    private final LookupTable skillIds = new LookupTable("skill_ids", this::isMySQL);
+    private final LookupTable settingIds = new LookupTable("setting_ids", this::isMySQL);
+    
+    // Pool metrics
+    private final LongAdder connectionAcquisitions = new LongAdder();
+    private final LongAdder connectionWaitNanos = new LongAdder();
+    private final AtomicLong maxConnectionWaitNanos = new AtomicLong();
+    
+    // Debug guard against blocking database calls on the server thread
+    private volatile boolean mainThreadGuard = false;
+    private boolean failOnMainThreadAccess = false;
     
     /**
      * Creates a new DatabaseManager
@@ -40,6 +64,8 @@ public class DatabaseManager {
     public DatabaseManager(RPGSkillsPlugin plugin) {
         this.plugin = plugin;
         loadConfig();
+        this.executor = Executors.newFixedThreadPool(
+                Math.max(1, plugin.getConfig().getInt("database.pool.worker_threads", 4)));
         
         if (useMySQL) {
             connectToMySQL();
@@ -48,6 +74,12 @@ public class DatabaseManager {
         }
         
         createTables();
+        this.migrationEngine = new YamlMigrationEngine(plugin, this);
+        
+        // Startup work above is allowed to block; everything after this is checked
+        FileConfiguration config = plugin.getConfig();
+        this.mainThreadGuard = config.getBoolean("debug.enabled", false);
+        this.failOnMainThreadAccess = config.getBoolean("debug.fail_on_main_thread_db", false);
     }
     
     /**
@@ -66,18 +98,50 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Applies the shared pool settings from config.yml
+     * 
+     * @param hikari The pool configuration to fill in
+     * @param poolName The name of the pool
+     * @param maxSize The maximum number of connections
+     */
+    private void applyPoolSettings(HikariConfig hikari, String poolName, int maxSize) {
+        FileConfiguration config = plugin.getConfig();
+        hikari.setPoolName(poolName);
+        hikari.setMaximumPoolSize(maxSize);
+        hikari.setMinimumIdle(Math.min(maxSize, config.getInt("database.pool.min_idle", 2)));
+        hikari.setConnectionTimeout(config.getLong("database.pool.connection_timeout_ms", 10000L));
+        hikari.setValidationTimeout(config.getLong("database.pool.validation_timeout_ms", 5000L));
+        hikari.setIdleTimeout(config.getLong("database.pool.idle_timeout_ms", 600000L));
+        hikari.setMaxLifetime(config.getLong("database.pool.max_lifetime_ms", 1800000L));
+        hikari.setKeepaliveTime(config.getLong("database.pool.keepalive_ms", 300000L));
+    }
+    
     /**
      * Connects to a MySQL database
      */
     private void connectToMySQL() {
         try {
-            Class.forName("com.mysql.jdbc.Driver");
-            connection = DriverManager.getConnection(
-                "jdbc:mysql://" + host + ":" + port + "/" + database + 
-                "?useSSL=false&autoReconnect=true", 
-                username, password);
+            Class.forName("com.mysql.cj.jdbc.Driver");
+            
+            HikariConfig hikari = new HikariConfig();
+            hikari.setDriverClassName("com.mysql.cj.jdbc.Driver");
+            hikari.setJdbcUrl("jdbc:mysql://" + host + ":" + port + "/" + database + "?useSSL=false");
+            hikari.setUsername(username);
+            hikari.setPassword(password);
+            applyPoolSettings(hikari, "RPGSkills-MySQL", plugin.getConfig().getInt("database.pool.size", 8));
+            
+            // Statement caching and batching on the driver side
+            hikari.addDataSourceProperty("cachePrepStmts", "true");
+            hikari.addDataSourceProperty("prepStmtCacheSize", "250");
+            hikari.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            hikari.addDataSourceProperty("useServerPrepStmts", "true");
+            hikari.addDataSourceProperty("rewriteBatchedStatements", "true");
+            
+            writeDataSource = new HikariDataSource(hikari);
+            readDataSource = writeDataSource;
             plugin.getLogger().info("Connected to MySQL database!");
-        } catch (SQLException | ClassNotFoundException e) {
+        } catch (RuntimeException | ClassNotFoundException e) {
             plugin.getLogger().severe("Failed to connect to MySQL database: " + e.getMessage());
             plugin.getLogger().info("Falling back to SQLite...");
             useMySQL = false;
@@ -91,63 +155,40 @@ public class DatabaseManager {
     private void connectToSQLite() {
         try {
             Class.forName("org.sqlite.JDBC");
-            connection = DriverManager.getConnection(
-                "jdbc:sqlite:" + new File(plugin.getDataFolder(), "database.db").getAbsolutePath());
+            String url = "jdbc:sqlite:" + new File(plugin.getDataFolder(), "database.db").getAbsolutePath();
+            
+            // SQLite allows a single writer, so writes get one dedicated connection
+            HikariConfig writer = new HikariConfig();
+            writer.setDriverClassName("org.sqlite.JDBC");
+            writer.setJdbcUrl(url);
+            writer.addDataSourceProperty("journal_mode", "WAL");
+            writer.addDataSourceProperty("busy_timeout", "5000");
+            applyPoolSettings(writer, "RPGSkills-SQLite-Writer", 1);
+            writeDataSource = new HikariDataSource(writer);
+            
+            HikariConfig reader = new HikariConfig();
+            reader.setDriverClassName("org.sqlite.JDBC");
+            reader.setJdbcUrl(url);
+            reader.addDataSourceProperty("journal_mode", "WAL");
+            reader.addDataSourceProperty("busy_timeout", "5000");
+            applyPoolSettings(reader, "RPGSkills-SQLite-Reader",
+                    Math.max(1, plugin.getConfig().getInt("database.sqlite.read_connections", 3)));
+            readDataSource = new HikariDataSource(reader);
+            
             plugin.getLogger().info("Connected to SQLite database!");
-        } catch (SQLException | ClassNotFoundException e) {
+        } catch (RuntimeException | ClassNotFoundException e) {
             plugin.getLogger().severe("Failed to connect to SQLite database: " + e.getMessage());
         }
     }
     
     /**
-     * Creates necessary database tables if they don't exist
+     * Creates or upgrades the database tables and loads the id lookup tables
      */
     private void createTables() {
-        try (Statement statement = connection.createStatement()) {
-            // Player skills table
-            statement.execute("CREATE TABLE IF NOT EXISTS player_skills (" +
-                "player_uuid VARCHAR(36) NOT NULL, " +
-                "skill_name VARCHAR(32) NOT NULL, " +
-                "level INT NOT NULL DEFAULT 1, " +
-                "xp INT NOT NULL DEFAULT 0, " +
-                "PRIMARY KEY (player_uuid, skill_name)" +
-                ")");
-            
-            // Player passives table
-            statement.execute("CREATE TABLE IF NOT EXISTS player_passives (" +
-                "player_uuid VARCHAR(36) NOT NULL, " +
-                "skill_name VARCHAR(32) NOT NULL, " +
-                "passive_name VARCHAR(64) NOT NULL, " +
-                "PRIMARY KEY (player_uuid, skill_name, passive_name)" +
-                ")");
-            
-            // Player placed blocks table
-            statement.execute("CREATE TABLE IF NOT EXISTS player_placed_blocks (" +
-                "world VARCHAR(64) NOT NULL, " +
-                "x INT NOT NULL, " +
-                "y INT NOT NULL, " +
-                "z INT NOT NULL, " +
-                "placed_time BIGINT NOT NULL, " +
-                "PRIMARY KEY (world, x, y, z)" +
-                ")");
-            
-            // Player settings table
-            statement.execute("CREATE TABLE IF NOT EXISTS player_settings (" +
-                "player_uuid VARCHAR(36) NOT NULL, " +
-                "setting_name VARCHAR(32) NOT NULL, " +
-                "setting_value VARCHAR(255) NOT NULL, " +
-                "PRIMARY KEY (player_uuid, setting_name)" +
-                ")");
-            
-            // Skill tree progress table
-            statement.execute("CREATE TABLE IF NOT EXISTS skill_tree_progress (" +
-                "player_uuid VARCHAR(36) NOT NULL, " +
-                "tree_id VARCHAR(32) NOT NULL, " +
-                "node_id VARCHAR(32) NOT NULL, " +
-                "unlocked BOOLEAN NOT NULL DEFAULT 0, " +
-                "PRIMARY KEY (player_uuid, tree_id, node_id)" +
-                ")");
-            
+        try (Connection connection = getConnection()) {
+            new SchemaMigrator(plugin, this).migrate(connection);
+            skillIds.load(connection);
+            settingIds.load(connection);
             plugin.getLogger().info("Database tables created successfully!");
         } catch (SQLException e) {
             plugin.getLogger().severe("Failed to create database tables: " + e.getMessage());
@@ -155,20 +196,160 @@ public class DatabaseManager {
     }
     
     /**
-     * Gets a connection to the database
+     * Gets the skill name to id mapping used by the player_skills and player_passives tables
      * 
-     * @return The database connection
-     * @throws SQLException If the connection is closed or invalid
+     * @return The skill id lookup table
+     */
+    public LookupTable getSkillIds() {
+        return skillIds;
+    }
+    
+    /**
+     * Gets the setting name to id mapping used by the player_settings table
+     * 
+     * @return The setting id lookup table
+     */
+    public LookupTable getSettingIds() {
+        return settingIds;
+    }
+    
+    /**
+     * Converts a UUID to the 16 bytes stored in player_uuid columns
+     * 
+     * @param uuid The UUID
+     * @return The big-endian bytes of the UUID
+     */
+    public static byte[] uuidToBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+    
+    /**
+     * Converts a stored player_uuid value back to a UUID
+     * 
+     * @param bytes The 16 stored bytes
+     * @return The UUID
+     */
+    public static UUID uuidFromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+    
+    /**
+     * Borrows a connection from the write pool. Closing the connection returns it to the pool.
+     * 
+     * @return A pooled database connection
+     * @throws SQLException If no connection could be obtained
      */
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            if (useMySQL) {
-                connectToMySQL();
-            } else {
-                connectToSQLite();
-            }
+        return borrow(writeDataSource);
+    }
+    
+    /**
+     * Borrows a connection from the read pool. On MySQL this is the same pool as
+     * {@link #getConnection()}; on SQLite it avoids queueing behind the writer.
+     * 
+     * @return A pooled database connection
+     * @throws SQLException If no connection could be obtained
+     */
+    public Connection getReadConnection() throws SQLException {
+        return borrow(readDataSource);
+    }
+    
+    private Connection borrow(HikariDataSource dataSource) throws SQLException {
+        checkNotPrimaryThread("Borrowing a database connection");
+        if (dataSource == null || dataSource.isClosed()) {
+            throw new SQLException("Database connection pool is not available");
+        }
+        
+        long start = System.nanoTime();
+        Connection conn = dataSource.getConnection();
+        long waited = System.nanoTime() - start;
+        
+        connectionAcquisitions.increment();
+        connectionWaitNanos.add(waited);
+        maxConnectionWaitNanos.accumulateAndGet(waited, Math::max);
+        return conn;
+    }
+    
+    /**
+     * Flags a blocking database call made on the server thread while debug mode is on.
+     * Logs the offending stack trace, or throws if debug.fail_on_main_thread_db is set.
+     * 
+     * @param operation A description of the blocking call
+     */
+    void checkNotPrimaryThread(String operation) {
+        if (!mainThreadGuard || !plugin.isEnabled() || !Bukkit.isPrimaryThread()) {
+            return;
+        }
+        
+        IllegalStateException violation = new IllegalStateException(operation + " on the main server thread");
+        if (failOnMainThreadAccess) {
+            throw violation;
+        }
+        plugin.getLogger().log(Level.WARNING, "Blocking database call detected", violation);
+    }
+    
+    /**
+     * Future returned by the execute methods. Waiting on it from the server
+     * thread is reported by the debug main-thread guard.
+     */
+    private final class GuardedFuture<T> extends CompletableFuture<T> {
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            checkNotPrimaryThread("Waiting on a database operation");
+            return super.get();
+        }
+        
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            checkNotPrimaryThread("Waiting on a database operation");
+            return super.get(timeout, unit);
+        }
+        
+        @Override
+        public T join() {
+            checkNotPrimaryThread("Waiting on a database operation");
+            return super.join();
+        }
+        
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new GuardedFuture<>();
         }
-        return connection;
+    }
+    
+    /**
+     * Runs an operation on the database executor with a pooled connection
+     */
+    private <T> CompletableFuture<T> submit(boolean readOnly, Function<Connection, T> operation) {
+        GuardedFuture<T> future = new GuardedFuture<>();
+        DebugTracer tracer = plugin.getDebugTracer();
+        long queuedAt = tracer != null && tracer.sample(DebugTracer.Category.DB) ? System.nanoTime() : 0L;
+        try {
+            executor.execute(() -> {
+                long startedAt = queuedAt != 0L ? System.nanoTime() : 0L;
+                try (Connection conn = readOnly ? getReadConnection() : getConnection()) {
+                    future.complete(operation.apply(conn));
+                    if (queuedAt != 0L) {
+                        long now = System.nanoTime();
+                        tracer.trace(DebugTracer.Category.DB, "operation", "read_only", readOnly,
+                                "queued_us", (startedAt - queuedAt) / 1000, "run_us", (now - startedAt) / 1000);
+                    }
+                } catch (SQLException e) {
+                    plugin.getLogger().severe("Database operation failed: " + e.getMessage());
+                    future.completeExceptionally(new RuntimeException(e));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Executor is shut down, e.g. a save submitted while the plugin disables
+            future.completeExceptionally(e);
+        }
+        return future;
     }
     
     /**
@@ -179,14 +360,18 @@ public class DatabaseManager {
      * @return A CompletableFuture that will be completed with the result of the operation
      */
     public <T> CompletableFuture<T> executeAsync(Function<Connection, T> operation) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = getConnection()) {
-                return operation.apply(conn);
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Database operation failed: " + e.getMessage());
-                throw new RuntimeException(e);
-            }
-        }, executor);
+        return submit(false, operation);
+    }
+    
+    /**
+     * Executes a read-only database operation asynchronously on the read pool
+     * 
+     * @param operation The operation to execute
+     * @param <T> The return type of the operation
+     * @return A CompletableFuture that will be completed with the result of the operation
+     */
+    public <T> CompletableFuture<T> executeReadAsync(Function<Connection, T> operation) {
+        return submit(true, operation);
     }
     
     /**
@@ -196,183 +381,158 @@ public class DatabaseManager {
      * @return A CompletableFuture that will be completed when the operation is done
      */
     public CompletableFuture<Void> executeAsyncVoid(Consumer<Connection> operation) {
-        return CompletableFuture.runAsync(() -> {
-            try (Connection conn = getConnection()) {
-                operation.accept(conn);
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Database operation failed: " + e.getMessage());
-                throw new RuntimeException(e);
-            }
-        }, executor);
+        return submit(false, conn -> {
+            operation.accept(conn);
+            return null;
+        });
     }
     
     /**
-     * Closes the database connection and executor service
+     * Builds an insert-or-update statement in the dialect of the connected database
+     * 
+     * @param table The table name
+     * @param keyColumns The primary key columns
+     * @param valueColumns The columns updated when the row already exists
+     * @return The upsert SQL with one placeholder per key and value column, keys first
      */
-    public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-            executor.shutdown();
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Error closing database connection: " + e.getMessage());
+    public String buildUpsert(String table, String[] keyColumns, String... valueColumns) {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        StringBuilder updates = new StringBuilder();
+        
+        for (String column : keyColumns) {
+            columns.append(columns.length() == 0 ? "" : ", ").append(column);
+            placeholders.append(placeholders.length() == 0 ? "?" : ", ?");
+        }
+        for (String column : valueColumns) {
+            columns.append(", ").append(column);
+            placeholders.append(", ?");
+            updates.append(updates.length() == 0 ? "" : ", ").append(column)
+                    .append(useMySQL ? " = VALUES(" + column + ")" : " = excluded." + column);
         }
+        
+        String insert = "INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")";
+        return useMySQL
+                ? insert + " ON DUPLICATE KEY UPDATE " + updates
+                : insert + " ON CONFLICT(" + String.join(", ", keyColumns) + ") DO UPDATE SET " + updates;
     }
     
     /**
-     * Migrates data from YAML files to the database
+     * Checks whether the plugin is connected to MySQL rather than SQLite
+     * 
+     * @return True if MySQL is in use
      */
-    public void migrateFromYAML() {
-        plugin.getLogger().info("Starting data migration from YAML to database...");
-        
-        // Get all player data files
-        File playerDataFolder = new File(plugin.getDataFolder(), "playerdata");
-        if (!playerDataFolder.exists() || !playerDataFolder.isDirectory()) {
-            plugin.getLogger().info("No player data to migrate.");
-            return;
+    public boolean isMySQL() {
+        return useMySQL;
+    }
+    
+    /**
+     * Gets the number of connections currently borrowed from the pools
+     * 
+     * @return The number of active connections
+     */
+    public int getActiveConnections() {
+        int active = poolBean(writeDataSource) != null ? poolBean(writeDataSource).getActiveConnections() : 0;
+        if (readDataSource != writeDataSource && poolBean(readDataSource) != null) {
+            active += poolBean(readDataSource).getActiveConnections();
         }
-        
-        File[] playerFiles = playerDataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (playerFiles == null || playerFiles.length == 0) {
-            plugin.getLogger().info("No player data files found.");
-            return;
+        return active;
+    }
+    
+    /**
+     * Gets the number of idle connections held by the pools
+     * 
+     * @return The number of idle connections
+     */
+    public int getIdleConnections() {
+        int idle = poolBean(writeDataSource) != null ? poolBean(writeDataSource).getIdleConnections() : 0;
+        if (readDataSource != writeDataSource && poolBean(readDataSource) != null) {
+            idle += poolBean(readDataSource).getIdleConnections();
         }
-        
-        plugin.getLogger().info("Found " + playerFiles.length + " player data files to migrate.");
-        
-        // Schedule migration to run asynchronously
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            int migratedPlayers = 0;
-            
-            for (File file : playerFiles) {
-                String fileName = file.getName();
-                String uuidStr = fileName.substring(0, fileName.length() - 4); // Remove .yml
-                
-                try {
-                    UUID playerUUID = UUID.fromString(uuidStr);
-                    
-                    // Load player data from file
-                    FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-                    
-                    // Migrate skill data
-                    boolean success = migratePlayerData(playerUUID, config);
-                    
-                    if (success) {
-                        migratedPlayers++;
-                        
-                        // Rename the file to indicate it's been migrated
-                        File backupFile = new File(playerDataFolder, fileName + ".migrated");
-                        if (!file.renameTo(backupFile)) {
-                            plugin.getLogger().warning("Could not rename migrated file: " + fileName);
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Invalid player data file name: " + fileName);
-                }
-            }
-            
-            plugin.getLogger().info("Migration complete! Migrated " + migratedPlayers + " player data files.");
-        });
+        return idle;
+    }
+    
+    /**
+     * Gets the number of threads currently waiting for a connection
+     * 
+     * @return The number of waiting threads
+     */
+    public int getThreadsAwaitingConnection() {
+        int waiting = poolBean(writeDataSource) != null ? poolBean(writeDataSource).getThreadsAwaitingConnection() : 0;
+        if (readDataSource != writeDataSource && poolBean(readDataSource) != null) {
+            waiting += poolBean(readDataSource).getThreadsAwaitingConnection();
+        }
+        return waiting;
     }
     
     /**
-     * Migrates a single player's data from a YAML configuration to the database
+     * Gets the average time spent waiting for a pooled connection
      * 
-     * @param playerUUID The player's UUID
-     * @param config The player's configuration
-     * @return True if migration was successful, false otherwise
+     * @return The average wait in milliseconds
      */
-    private boolean migratePlayerData(UUID playerUUID, FileConfiguration config) {
+    public double getAverageConnectionWaitMillis() {
+        long count = connectionAcquisitions.sum();
+        return count == 0 ? 0.0 : connectionWaitNanos.sum() / (double) count / 1_000_000.0;
+    }
+    
+    /**
+     * Gets the longest time spent waiting for a pooled connection
+     * 
+     * @return The maximum wait in milliseconds
+     */
+    public double getMaxConnectionWaitMillis() {
+        return maxConnectionWaitNanos.get() / 1_000_000.0;
+    }
+    
+    private HikariPoolMXBean poolBean(HikariDataSource dataSource) {
+        if (dataSource == null || dataSource.isClosed()) {
+            return null;
+        }
+        return dataSource.getHikariPoolMXBean();
+    }
+    
+    /**
+     * Closes the executor service and the connection pools
+     */
+    public void close() {
+        if (migrationEngine != null) {
+            migrationEngine.shutdown();
+        }
+        
+        executor.shutdown();
         try {
-            // Migrate skill data
-            for (String skill : new String[]{"mining", "logging", "farming", "fighting", "fishing", "enchanting", "excavation", "repair"}) {
-                int level = config.getInt("skills." + skill + ".level", 1);
-                int xp = config.getInt("skills." + skill + ".xp", 0);
-                int totalEarned = config.getInt("skills." + skill + ".total_earned", 0);
-                int highestLevel = config.getInt("skills." + skill + ".highest_level", level);
-                
-                // Insert into database
-                final String skillName = skill;
-                final int finalLevel = level;
-                final int finalXp = xp;
-                
-                executeAsyncVoid(conn -> {
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "INSERT INTO player_skills (player_uuid, skill_name, level, xp) VALUES (?, ?, ?, ?) " +
-                            "ON DUPLICATE KEY UPDATE level = ?, xp = ?")) {
-                        stmt.setString(1, playerUUID.toString());
-                        stmt.setString(2, skillName);
-                        stmt.setInt(3, finalLevel);
-                        stmt.setInt(4, finalXp);
-                        stmt.setInt(5, finalLevel);
-                        stmt.setInt(6, finalXp);
-                        stmt.executeUpdate();
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Failed to migrate skill data: " + e.getMessage());
-                    }
-                }).get(); // Wait for completion
-            }
-            
-            // Migrate preferences
-            boolean scoreboardEnabled = config.getBoolean("preferences.scoreboard", true);
-            boolean showRpgHubOnLogin = config.getBoolean("preferences.show_rpg_hub_on_login", true);
-            
-            executeAsyncVoid(conn -> {
-                try {
-                    // Scoreboard setting
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "INSERT INTO player_settings (player_uuid, setting_name, setting_value) VALUES (?, ?, ?) " +
-                            "ON DUPLICATE KEY UPDATE setting_value = ?")) {
-                        stmt.setString(1, playerUUID.toString());
-                        stmt.setString(2, "scoreboard");
-                        stmt.setString(3, String.valueOf(scoreboardEnabled));
-                        stmt.setString(4, String.valueOf(scoreboardEnabled));
-                        stmt.executeUpdate();
-                    }
-                    
-                    // RPG hub setting
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "INSERT INTO player_settings (player_uuid, setting_name, setting_value) VALUES (?, ?, ?) " +
-                            "ON DUPLICATE KEY UPDATE setting_value = ?")) {
-                        stmt.setString(1, playerUUID.toString());
-                        stmt.setString(2, "show_rpg_hub_on_login");
-                        stmt.setString(3, String.valueOf(showRpgHubOnLogin));
-                        stmt.setString(4, String.valueOf(showRpgHubOnLogin));
-                        stmt.executeUpdate();
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Failed to migrate player settings: " + e.getMessage());
-                }
-            }).get(); // Wait for completion
-            
-            // Migrate passive abilities
-            if (config.contains("passiveAbilities")) {
-                for (String skill : config.getConfigurationSection("passiveAbilities").getKeys(false)) {
-                    for (String passive : config.getStringList("passiveAbilities." + skill)) {
-                        final String skillName = skill;
-                        final String passiveName = passive;
-                        
-                        executeAsyncVoid(conn -> {
-                            try (PreparedStatement stmt = conn.prepareStatement(
-                                    "INSERT INTO player_passives (player_uuid, skill_name, passive_name) VALUES (?, ?, ?) " +
-                                    "ON DUPLICATE KEY UPDATE passive_name = VALUES(passive_name)")) {
-                                stmt.setString(1, playerUUID.toString());
-                                stmt.setString(2, skillName);
-                                stmt.setString(3, passiveName);
-                                stmt.executeUpdate();
-                            } catch (SQLException e) {
-                                plugin.getLogger().severe("Failed to migrate passive ability: " + e.getMessage());
-                            }
-                        }).get(); // Wait for completion
-                    }
-                }
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for database operations to finish.");
+                executor.shutdownNow();
             }
-            
-            return true;
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to migrate player data: " + e.getMessage());
-            return false;
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        
+        if (readDataSource != null && readDataSource != writeDataSource) {
+            readDataSource.close();
+        }
+        if (writeDataSource != null) {
+            writeDataSource.close();
         }
     }
+    
+    /**
+     * Starts migrating data from YAML files to the database in the background
+     * 
+     * @return False if a migration or verification is already running
+     */
+    public boolean migrateFromYAML() {
+        return migrationEngine.start(false);
+    }
+    
+    /**
+     * Gets the engine that migrates and verifies YAML player data
+     * 
+     * @return The migration engine
+     */
+    public YamlMigrationEngine getMigrationEngine() {
+        return migrationEngine;
+    }
 } 
\ No newline at end of file
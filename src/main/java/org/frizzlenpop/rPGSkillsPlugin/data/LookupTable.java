@@ -0,0 +1,108 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * In-memory copy of a small id/name table such as skill_ids or setting_ids.
+ * Rows in the player tables store the integer id; names are resolved here
+ * without touching the database.
+ */
+public class LookupTable {
+    private static final int MAX_REGISTER_ATTEMPTS = 5;
+
+    private final String table;
+    private final BooleanSupplier mysql;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * @param table The table name
+     * @param mysql Whether the connected database is MySQL rather than SQLite
+     */
+    public LookupTable(String table, BooleanSupplier mysql) {
+        this.table = table;
+        this.mysql = mysql;
+    }
+
+    /**
+     * Replaces the cached entries with the contents of the table
+     *
+     * @param conn The connection to read with
+     * @throws SQLException If the table could not be read
+     */
+    public void load(Connection conn) throws SQLException {
+        ids.clear();
+        names.clear();
+        try (Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, name FROM " + table)) {
+            while (rs.next()) {
+                ids.put(rs.getString("name"), rs.getInt("id"));
+                names.put(rs.getInt("id"), rs.getString("name"));
+            }
+        }
+    }
+
+    /**
+     * Gets the id of a name, registering it if it has not been seen before.
+     * Registration commits immediately, so call this outside of a transaction.
+     *
+     * @param conn The connection to register new names with
+     * @param name The name
+     * @return The id
+     * @throws SQLException If a new name could not be registered
+     */
+    public int idFor(Connection conn, String name) throws SQLException {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (this) {
+            id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+
+            // The id is picked by the database and the insert skipped if the name or the id
+            // is already taken, so servers sharing a database never get two ids for one name
+            String insert = (mysql.getAsBoolean() ? "INSERT IGNORE" : "INSERT OR IGNORE") + " INTO " + table +
+                    " (id, name) SELECT COALESCE(MAX(id), 0) + 1, ? FROM " + table;
+            for (int attempt = 0; attempt < MAX_REGISTER_ATTEMPTS; attempt++) {
+                try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+                    stmt.setString(1, name);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM " + table + " WHERE name = ?")) {
+                    stmt.setString(1, name);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            id = rs.getInt("id");
+                            ids.put(name, id);
+                            names.put(id, name);
+                            return id;
+                        }
+                    }
+                }
+                // Another server took the id for a different name; try again with the next one
+            }
+            throw new SQLException("Could not register " + name + " in " + table);
+        }
+    }
+
+    /**
+     * Gets the name of an id
+     *
+     * @param id The id
+     * @return The name, or null if the id is unknown
+     */
+    public String nameFor(int id) {
+        return names.get(id);
+    }
+}
@@ -6,6 +6,11 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
 import org.frizzlenpop.rPGSkillsPlugin.gui.PartyPerksGUI;
 import org.frizzlenpop.rPGSkillsPlugin.api.events.PartyCreateEvent;
@@ -20,9 +25,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
- * Manages player parties for XP sharing functionality
+ * Manages player parties for XP sharing functionality.
+ * Each party keeps a roster of its online members, updated when members join,
+ * quit or the party changes, so sharing XP never looks players up. Shared XP
+ * totals are kept in memory and written by the autosave at a slower interval.
  */
-public class PartyManager {
+public class PartyManager implements Listener {
     private final RPGSkillsPlugin plugin;
     
     // Map of party leader UUID to list of member UUIDs (including the leader)
@@ -43,9 +51,17 @@ public class PartyManager {
     // Party levels - key is party leader UUID
     private final Map<UUID, Integer> partyLevels = new ConcurrentHashMap<>();
     
+    // Online members of each party, replaced whole on change - key is party leader UUID
+    private final Map<UUID, List<Player>> onlineRosters = new ConcurrentHashMap<>();
+    
     // Party configuration file
     private File partyConfigFile;
     private FileConfiguration partyConfig;
+    private volatile boolean dirty;
+    // Shared XP totals changed since the last write; written once sharedXpSaveMillis have passed
+    private volatile boolean sharedXpDirty;
+    private long sharedXpDirtySince;
+    private final long sharedXpSaveMillis;
     
     // Default XP share percentage (30%)
     private static final double DEFAULT_XP_SHARE_PERCENT = 0.30;
@@ -67,8 +83,12 @@ public class PartyManager {
     
     private PartyPerksGUI partyPerksGUI;
     
+    // Bumped whenever membership, party level or perks change, so cached party bonuses can be dropped
+    private volatile int partyVersion;
+    
     public PartyManager(RPGSkillsPlugin plugin) {
         this.plugin = plugin;
+        this.sharedXpSaveMillis = Math.max(0L, plugin.getConfig().getLong("party.xp_sharing.save_interval_seconds", 60L)) * 1000L;
         loadPartyData();
     }
     
@@ -82,6 +102,7 @@ public class PartyManager {
         partyXpSharePercent.clear();
         partyTotalSharedXp.clear();
         partyLevels.clear();
+        onlineRosters.clear();
         
         partyConfigFile = new File(plugin.getDataFolder(), "party_data.yml");
         
@@ -130,6 +151,7 @@ public class PartyManager {
                 
                 // Add the party to the parties map
                 parties.put(leaderUUID, memberUUIDs);
+                refreshRoster(leaderUUID, null);
                 
                 // Load XP sharing percentage
                 double xpSharePercent = partySection.getDouble("xp_share_percent", DEFAULT_XP_SHARE_PERCENT);
@@ -152,9 +174,41 @@ public class PartyManager {
     }
     
     /**
-     * Saves party data to configuration file
+     * Marks party data as changed; the autosave writes it to the configuration file
      */
     public void savePartyData() {
+        dirty = true;
+    }
+    
+    /**
+     * Adds a write of the party file to the autosave if anything changed
+     * 
+     * @param work The autosave queue
+     */
+    public void collectAutosave(Queue<Runnable> work) {
+        if (dirty || (sharedXpDirty && System.currentTimeMillis() - sharedXpDirtySince >= sharedXpSaveMillis)) {
+            work.add(this::writePartyData);
+        }
+    }
+    
+    /**
+     * Makes the next autosave write shared XP totals without waiting for the save interval
+     */
+    public void flushSharedXp() {
+        if (sharedXpDirty) {
+            dirty = true;
+        }
+    }
+    
+    /**
+     * Snapshots all parties into the configuration and hands the file write to the autosave thread
+     */
+    private void writePartyData() {
+        if (partyConfig == null) {
+            return;
+        }
+        dirty = false;
+        sharedXpDirty = false;
         partyConfig.set("parties", null);
         
         ConfigurationSection partiesSection = partyConfig.createSection("parties");
@@ -183,11 +237,7 @@ public class PartyManager {
             partySection.set("total_shared_xp", partyTotalSharedXp.getOrDefault(leaderUUID, 0L));
         }
         
-        try {
-            partyConfig.save(partyConfigFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save party data: " + e.getMessage());
-        }
+        plugin.getAutosaveScheduler().writeAsync(partyConfigFile, partyConfig.saveToString());
     }
     
     /**
@@ -229,6 +279,7 @@ public class PartyManager {
         
         // Initialize party level
         partyLevels.put(leaderUUID, 1);
+        membershipChanged(leaderUUID);
         
         // Save party data
         savePartyData();
@@ -347,6 +398,7 @@ public class PartyManager {
         
         // Remove the invitation
         pendingInvites.remove(playerUUID);
+        membershipChanged(inviterUUID);
         
         // Save party data
         savePartyData();
@@ -412,6 +464,7 @@ public class PartyManager {
                 // Remove the old leader from the party
                 parties.get(newLeaderUUID).remove(playerUUID);
                 playerParties.remove(playerUUID);
+                membershipChanged(newLeaderUUID);
                 
                 // Save party data
                 savePartyData();
@@ -440,6 +493,7 @@ public class PartyManager {
             // If a regular member is leaving, just remove them from the party
             parties.get(leaderUUID).remove(playerUUID);
             playerParties.remove(playerUUID);
+            membershipChanged(leaderUUID);
             
             // Save party data
             savePartyData();
@@ -508,6 +562,7 @@ public class PartyManager {
         partyXpSharePercent.remove(oldLeaderUUID);
         partyTotalSharedXp.remove(oldLeaderUUID);
         partyLevels.remove(oldLeaderUUID);
+        onlineRosters.remove(oldLeaderUUID);
     }
     
     /**
@@ -545,6 +600,7 @@ public class PartyManager {
         partyXpSharePercent.remove(leaderUUID);
         partyTotalSharedXp.remove(leaderUUID);
         partyLevels.remove(leaderUUID);
+        membershipChanged(leaderUUID);
         
         // Save party data
         savePartyData();
@@ -600,6 +656,7 @@ public class PartyManager {
         // Remove target from the party
         parties.get(leaderUUID).remove(targetUUID);
         playerParties.remove(targetUUID);
+        membershipChanged(leaderUUID);
         
         // Save party data
         savePartyData();
@@ -676,8 +733,11 @@ public class PartyManager {
         // Check for level up
         checkPartyLevelUp(partyLeaderUUID, currentXp, newXp);
         
-        // Save party data
-        savePartyData();
+        // Written by the autosave once the save interval has passed
+        if (!sharedXpDirty) {
+            sharedXpDirty = true;
+            sharedXpDirtySince = System.currentTimeMillis();
+        }
         
         return true;
     }
@@ -707,6 +767,7 @@ public class PartyManager {
             
             // Update party level
             partyLevels.put(partyLeaderUUID, newLevel);
+            partyVersion++;
             
             // Fire the PartyLevelUpEvent
             PartyLevelUpEvent event = new PartyLevelUpEvent(partyLeaderUUID, oldLevel, newLevel);
@@ -798,6 +859,34 @@ public class PartyManager {
         return level * PARTY_BONUS_PER_LEVEL;
     }
     
+    /**
+     * Get the bonus applied to XP shared in a party: the party level bonus plus the XP boost perk
+     * @param partyLeaderUUID The party leader's UUID
+     * @return The bonus XP percentage (0-1)
+     */
+    public double getSharedXpBonusPercent(UUID partyLeaderUUID) {
+        double bonusPercent = getPartyBonusPercent(partyLeaderUUID);
+        if (partyPerksGUI != null) {
+            bonusPercent += partyPerksGUI.getXpBoostPercent(partyLeaderUUID);
+        }
+        return bonusPercent;
+    }
+    
+    /**
+     * Marks party state as changed so cached party bonuses are recomputed
+     */
+    public void markPartyChanged() {
+        partyVersion++;
+    }
+    
+    /**
+     * Gets a counter that changes whenever membership, party level or perks change
+     * @return The party version
+     */
+    public int getPartyVersion() {
+        return partyVersion;
+    }
+    
     /**
      * Check if player is in a party
      * @param playerUUID The player's UUID
@@ -840,10 +929,64 @@ public class PartyManager {
      * @return List of online party members
      */
     public List<Player> getOnlinePartyMembers(UUID partyLeaderUUID) {
-        return getPartyMembers(partyLeaderUUID).stream()
-                .map(Bukkit::getPlayer)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        return onlineRosters.getOrDefault(partyLeaderUUID, Collections.emptyList());
+    }
+    
+    /**
+     * Get the online members of a player's party, including the player if online
+     * @param playerUUID The player's UUID
+     * @return An unmodifiable list, empty if the player is not in a party
+     */
+    public List<Player> getOnlineRoster(UUID playerUUID) {
+        UUID leaderUUID = playerParties.get(playerUUID);
+        return leaderUUID == null ? Collections.emptyList() : getOnlinePartyMembers(leaderUUID);
+    }
+    
+    /**
+     * Rebuilds a party's online roster and invalidates cached party bonuses
+     */
+    private void membershipChanged(UUID leaderUUID) {
+        refreshRoster(leaderUUID, null);
+        partyVersion++;
+    }
+    
+    /**
+     * Rebuilds a party's online roster
+     * @param leaderUUID The party leader's UUID
+     * @param leaving A member who is quitting and must be left out, or null
+     */
+    private void refreshRoster(UUID leaderUUID, UUID leaving) {
+        Set<UUID> members = parties.get(leaderUUID);
+        if (members == null) {
+            onlineRosters.remove(leaderUUID);
+            return;
+        }
+        
+        List<Player> online = new ArrayList<>(members.size());
+        for (UUID memberUUID : members) {
+            Player member = Bukkit.getPlayer(memberUUID);
+            if (member != null && !memberUUID.equals(leaving)) {
+                online.add(member);
+            }
+        }
+        onlineRosters.put(leaderUUID, List.copyOf(online));
+    }
+    
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        UUID leaderUUID = playerParties.get(event.getPlayer().getUniqueId());
+        if (leaderUUID != null) {
+            refreshRoster(leaderUUID, null);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerUUID = event.getPlayer().getUniqueId();
+        UUID leaderUUID = playerParties.get(playerUUID);
+        if (leaderUUID != null) {
+            refreshRoster(leaderUUID, playerUUID);
+        }
     }
     
     /**
@@ -854,59 +997,69 @@ public class PartyManager {
      */
     public Map<UUID, Integer> calculateSharedXp(UUID sourcePlayerUUID, int xpToShare) {
         Map<UUID, Integer> sharedXp = new HashMap<>();
-        
-        // Check if player is in a party
-        if (!isInParty(sourcePlayerUUID)) {
-            return sharedXp;
-        }
-        
-        // Get party leader
         UUID leaderUUID = getPartyLeader(sourcePlayerUUID);
-        
-        // Get all party members
-        Set<UUID> members = getPartyMembers(leaderUUID);
-        
-        // Apply party level bonus to the XP to share
-        double bonusPercent = getPartyBonusPercent(leaderUUID);
-        
-        // Apply XP bonus from party perks if available
-        if (partyPerksGUI != null) {
-            bonusPercent += partyPerksGUI.getXpBoostPercent(leaderUUID);
+        if (leaderUUID == null) {
+            return sharedXp;
         }
         
-        int bonusXp = (int) Math.ceil(xpToShare * bonusPercent);
-        int totalXpToShare = xpToShare + bonusXp;
-        
-        // Get party members (excluding the source player)
-        List<UUID> otherMembers = new ArrayList<>();
-        
-        boolean includeOffline = partyPerksGUI != null && partyPerksGUI.hasPerk(leaderUUID, "offline_xp");
-        
-        for (UUID memberUUID : members) {
-            if (!memberUUID.equals(sourcePlayerUUID)) {
-                Player member = Bukkit.getPlayer(memberUUID);
-                
-                // Add the member if they're online, or if the offline_xp perk is active
-                if (member != null || includeOffline) {
-                    otherMembers.add(memberUUID);
+        int xpPerMember = shareXp(sourcePlayerUUID, xpToShare, getSharedXpBonusPercent(leaderUUID));
+        if (xpPerMember > 0) {
+            for (UUID memberUUID : sharesWithOfflineMembers(leaderUUID) ? getPartyMembers(leaderUUID) : onlineUUIDs(leaderUUID)) {
+                if (!memberUUID.equals(sourcePlayerUUID)) {
+                    sharedXp.put(memberUUID, xpPerMember);
                 }
             }
         }
-        
-        // If no eligible members, return empty map
-        if (otherMembers.isEmpty()) {
-            return sharedXp;
+        return sharedXp;
+    }
+    
+    private List<UUID> onlineUUIDs(UUID leaderUUID) {
+        List<UUID> uuids = new ArrayList<>();
+        for (Player member : getOnlinePartyMembers(leaderUUID)) {
+            uuids.add(member.getUniqueId());
+        }
+        return uuids;
+    }
+    
+    /**
+     * Checks if offline members of a party receive shared XP (the offline_xp perk)
+     * @param partyLeaderUUID The party leader's UUID
+     * @return True if offline members receive shared XP
+     */
+    public boolean sharesWithOfflineMembers(UUID partyLeaderUUID) {
+        return partyLeaderUUID != null && partyPerksGUI != null && partyPerksGUI.hasPerk(partyLeaderUUID, "offline_xp");
+    }
+    
+    /**
+     * Records XP shared by an online party member and works out what each other member receives.
+     * Online members are counted from the roster; with the offline_xp perk every member counts
+     * towards the party's shared XP total. Nothing is looked up per member.
+     * @param sourcePlayerUUID The online player who earned the XP
+     * @param xpToShare The XP taken from the source player to share
+     * @param bonusPercent The shared XP bonus, see {@link #getSharedXpBonusPercent(UUID)}
+     * @return The XP each other member receives, 0 if nobody receives any
+     */
+    public int shareXp(UUID sourcePlayerUUID, int xpToShare, double bonusPercent) {
+        UUID leaderUUID = playerParties.get(sourcePlayerUUID);
+        if (leaderUUID == null || xpToShare <= 0) {
+            return 0;
         }
         
-        // Distribute XP to each member - each gets the full share amount
-        for (UUID memberUUID : otherMembers) {
-            sharedXp.put(memberUUID, totalXpToShare);
+        // The source player is online, so the roster includes them
+        int recipients = getOnlinePartyMembers(leaderUUID).size() - 1;
+        if (sharesWithOfflineMembers(leaderUUID)) {
+            recipients = getPartyMembers(leaderUUID).size() - 1;
         }
+        if (recipients <= 0) {
+            return 0;
+        }
+        
+        int xpPerMember = xpToShare + (int) Math.ceil(xpToShare * bonusPercent);
         
         // Track the total XP shared for party levels
-        addSharedXp(leaderUUID, totalXpToShare * otherMembers.size());
+        addSharedXp(leaderUUID, xpPerMember * recipients);
         
-        return sharedXp;
+        return xpPerMember;
     }
     
     /**
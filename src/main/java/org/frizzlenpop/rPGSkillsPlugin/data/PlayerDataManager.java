@@ -4,43 +4,53 @@ import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.JdbcStorageBackend;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.SkillRecord;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.StorageBackend;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.StoredPlayer;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.YamlStorageBackend;
+import org.frizzlenpop.rPGSkillsPlugin.skills.SkillRegistry;
 
 import java.io.File;
-import java.io.IOException;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class PlayerDataManager {
-    private final File playerDataFolder;
     private final RPGSkillsPlugin plugin;
+    private final ProfileStore profileStore;
+    private volatile StorageBackend storage;
     private DatabaseManager databaseManager;
+    private final SkillWriteQueue skillWriteQueue;
     private boolean useDatabase = false;
     
-    // Cache for player skill data to reduce database queries
-    private final Map<UUID, Map<String, PlayerSkillData>> skillCache = new ConcurrentHashMap<>();
+    // Skill data of online players (and recently looked up offline ones), written through the write queue
+    private final Map<UUID, PlayerSkills> skillCache = new ConcurrentHashMap<>();
+    private static final PlayerSkills DEFAULT_SKILLS = new PlayerSkills();
     
-    // Class to hold skill data in memory
-    private static class PlayerSkillData {
-        int level;
-        int xp;
-        int totalEarned;
-        int highestLevel;
-        
-        PlayerSkillData(int level, int xp, int totalEarned, int highestLevel) {
-            this.level = level;
-            this.xp = xp;
-            this.totalEarned = totalEarned;
-            this.highestLevel = highestLevel;
-        }
-    }
+    // Players whose skill data is being fetched from storage after a cache miss, with the writes waiting on it
+    private final Map<UUID, List<Runnable>> loadingSkills = new ConcurrentHashMap<>();
+    
+    // Players whose skill data can be dropped once it has been written
+    private final Set<UUID> departed = ConcurrentHashMap.newKeySet();
+    
+    // Typed per-player settings, never read from storage on the main thread
+    private final PlayerSettingsStore settingsStore;
+    
+    // Data fetched during AsyncPlayerPreLoginEvent, handed over on join
+    private final Map<UUID, Map<String, Set<String>>> preloadedPassives = new ConcurrentHashMap<>();
+    private final Set<UUID> preloadedNewPlayers = ConcurrentHashMap.newKeySet();
+    
+    // Players preloaded but not joined yet, with the time of the preload
+    private final Map<UUID, Long> pendingJoins = new ConcurrentHashMap<>();
 
     public PlayerDataManager(RPGSkillsPlugin plugin) {
         this.plugin = plugin;
@@ -49,22 +59,54 @@ public class PlayerDataManager {
             pluginFolder.mkdirs();
         }
 
-        this.playerDataFolder = new File(pluginFolder, "playerdata");
-        if (!playerDataFolder.exists()) {
-            playerDataFolder.mkdirs();
-        }
+        this.profileStore = new ProfileStore(plugin.getLogger(), new File(pluginFolder, "playerdata"), this::createDefaultConfig);
+        this.storage = new YamlStorageBackend(profileStore);
+        this.settingsStore = new PlayerSettingsStore(plugin, this);
+        this.skillWriteQueue = new SkillWriteQueue(plugin, this);
     }
     
     /**
-     * Sets the database manager and enables database storage
+     * Sets the database manager and switches skill, passive and setting storage to it
      * 
      * @param databaseManager The database manager to use
      */
     public void setDatabaseManager(DatabaseManager databaseManager) {
         this.databaseManager = databaseManager;
+        this.storage = new JdbcStorageBackend(plugin, databaseManager);
         this.useDatabase = true;
     }
     
+    /**
+     * Gets the backend that skills, passives and settings are stored in
+     * 
+     * @return The active storage backend
+     */
+    public StorageBackend getStorage() {
+        return storage;
+    }
+    
+    /**
+     * Gets the batched write queue for skill data
+     * 
+     * @return The skill write queue
+     */
+    public SkillWriteQueue getSkillWriteQueue() {
+        return skillWriteQueue;
+    }
+    
+    public DatabaseManager getDatabaseManager() {
+        return databaseManager;
+    }
+    
+    /**
+     * Gets the in-memory store for per-player settings
+     * 
+     * @return The settings store
+     */
+    public PlayerSettingsStore getSettingsStore() {
+        return settingsStore;
+    }
+    
     /**
      * Checks if database storage is enabled
      * 
@@ -75,47 +117,26 @@ public class PlayerDataManager {
     }
 
     public File getPlayerDataFolder() {
-        return playerDataFolder;
+        return profileStore.getFolder();
     }
     
     /**
-     * Checks if a player has existing data
+     * Checks if a player has existing data without blocking the calling thread.
+     * The future is already complete when the answer is known from memory or disk.
      * 
      * @param playerUUID The player's UUID
-     * @return True if the player has data, false otherwise
-     */
-    public boolean hasPlayerData(UUID playerUUID) {
-        if (isDatabaseEnabled()) {
-            try {
-                CompletableFuture<Boolean> future = databaseManager.executeAsync(conn -> {
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "SELECT COUNT(*) FROM player_skills WHERE player_uuid = ?")) {
-                        stmt.setString(1, playerUUID.toString());
-                        try (ResultSet rs = stmt.executeQuery()) {
-                            if (rs.next()) {
-                                return rs.getInt(1) > 0;
-                            }
-                            return false;
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error executing query: " + e.getMessage());
-                            return false;
-                        }
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error preparing statement: " + e.getMessage());
-                        return false;
-                    }
-                });
-                return future.get();
-            } catch (Exception e) {
-                plugin.getLogger().severe("Failed to check player data in database: " + e.getMessage());
-                // Fall back to file check
-                File playerFile = new File(playerDataFolder, playerUUID + ".yml");
-                return playerFile.exists();
-            }
-        } else {
-            File playerFile = new File(playerDataFolder, playerUUID + ".yml");
-            return playerFile.exists();
+     * @return A future completed with true if the player has data, false otherwise
+     */
+    public CompletableFuture<Boolean> hasPlayerData(UUID playerUUID) {
+        // Answer from the preloaded profile when possible
+        if (skillCache.containsKey(playerUUID)) {
+            return CompletableFuture.completedFuture(true);
         }
+        if (preloadedNewPlayers.remove(playerUUID)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        return storage.hasPlayer(playerUUID).exceptionally(error -> profileStore.exists(playerUUID));
     }
     
     /**
@@ -124,431 +145,484 @@ public class PlayerDataManager {
      * @param playerUUID The player's UUID
      */
     public void createDefaultPlayerData(UUID playerUUID) {
-        if (isDatabaseEnabled()) {
-            String[] skills = {"mining", "logging", "farming", "fighting", "fishing", "enchanting", "excavation", "repair"};
-            
-            databaseManager.executeAsyncVoid(conn -> {
-                try {
-                    // Insert default skill data
-                    for (String skill : skills) {
-                        try (PreparedStatement stmt = conn.prepareStatement(
-                                "INSERT INTO player_skills (player_uuid, skill_name, level, xp) VALUES (?, ?, 1, 0) " +
-                                "ON DUPLICATE KEY UPDATE level = 1, xp = 0")) {
-                            try {
-                                stmt.setString(1, playerUUID.toString());
-                                stmt.setString(2, skill);
-                                stmt.executeUpdate();
-                            } catch (SQLException e) {
-                                plugin.getLogger().severe("Error inserting default skill data: " + e.getMessage());
-                            }
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error preparing statement for default skill data: " + e.getMessage());
-                        }
-                    }
-                    
-                    // Insert default settings
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "INSERT INTO player_settings (player_uuid, setting_name, setting_value) VALUES (?, ?, ?) " +
-                            "ON DUPLICATE KEY UPDATE setting_value = VALUES(setting_value)")) {
-                        try {
-                            // Scoreboard enabled by default
-                            stmt.setString(1, playerUUID.toString());
-                            stmt.setString(2, "scoreboard");
-                            stmt.setString(3, "true");
-                            stmt.executeUpdate();
-                            
-                            // Show RPG hub on login enabled by default
-                            stmt.setString(1, playerUUID.toString());
-                            stmt.setString(2, "show_rpg_hub_on_login");
-                            stmt.setString(3, "true");
-                            stmt.executeUpdate();
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error inserting default settings: " + e.getMessage());
-                        }
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error preparing statement for default settings: " + e.getMessage());
-                    }
-                    
-                    // Update cache
-                    Map<String, PlayerSkillData> playerSkills = new HashMap<>();
-                    for (String skill : skills) {
-                        playerSkills.put(skill, new PlayerSkillData(1, 0, 0, 1));
-                    }
-                    skillCache.put(playerUUID, playerSkills);
-                    
-                } catch (Exception e) {
-                    plugin.getLogger().severe("Failed to create default player data in database: " + e.getMessage());
-                    // Fall back to file-based storage
-                    createNewPlayerFile(playerUUID);
-                }
-            });
-        } else {
-            createNewPlayerFile(playerUUID);
+        // Insert default skill data through the write queue, which flags the resident entry
+        skillCache.put(playerUUID, new PlayerSkills());
+        for (String skill : SkillRegistry.defaultSkills()) {
+            skillWriteQueue.queue(playerUUID, skill, 1, 0, 0, 1);
         }
+        
+        settingsStore.writeDefaults(playerUUID, PlayerSetting.SCOREBOARD, PlayerSetting.SHOW_RPG_HUB_ON_LOGIN);
     }
 
+    /**
+     * Gets the resident data for a player, loading it from disk on first access.
+     * The returned configuration is shared; call {@link #savePlayerData(UUID, FileConfiguration)}
+     * after changing it so the autosave picks it up.
+     * 
+     * @param playerUUID The player's UUID
+     * @return The player's data
+     */
     public FileConfiguration getPlayerData(UUID playerUUID) {
-        File playerFile = new File(playerDataFolder, playerUUID + ".yml");
-        if (!playerFile.exists()) {
-            createNewPlayerFile(playerUUID);
-        }
-        return YamlConfiguration.loadConfiguration(playerFile);
+        return profileStore.get(playerUUID);
     }
 
     /**
-     * Saves player data to file
+     * Marks player data as changed. The data is written to disk by the autosave.
      * 
      * @param playerUUID The player's UUID
      */
     public void savePlayerData(UUID playerUUID) {
-        if (!isDatabaseEnabled()) {
-            FileConfiguration config = getPlayerData(playerUUID);
-            savePlayerData(playerUUID, config);
-        }
-        // When using database, data is saved immediately on each operation
+        profileStore.markDirty(playerUUID);
     }
 
+    /**
+     * Stores the given configuration as the player's data and marks it as changed.
+     * The data is written to disk by the autosave.
+     * 
+     * @param playerUUID The player's UUID
+     * @param config The player's data
+     */
     public void savePlayerData(UUID playerUUID, FileConfiguration config) {
-        File playerFile = new File(playerDataFolder, playerUUID + ".yml");
-        try {
-            config.save(playerFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save data for " + playerUUID);
-        }
+        profileStore.put(playerUUID, config);
     }
+    
+    /**
+     * Builds the default data for a new player
+     * 
+     * @return The default player data
+     */
+    private FileConfiguration createDefaultConfig() {
+        FileConfiguration config = new YamlConfiguration();
 
-    private void createNewPlayerFile(UUID playerUUID) {
-        File playerFile = new File(playerDataFolder, playerUUID + ".yml");
-        try {
-            if (playerFile.createNewFile()) {
-                plugin.getLogger().info("✅ Created new player data file: " + playerFile.getAbsolutePath());
-            }
-            FileConfiguration config = YamlConfiguration.loadConfiguration(playerFile);
-
-            // Initialize all skills to level 1 with 0 XP
-            String[] skills = {"mining", "logging", "farming", "fighting", "fishing", "enchanting", "excavation", "repair"};
-            for (String skill : skills) {
-                config.set("skills." + skill + ".level", 1);
-                config.set("skills." + skill + ".xp", 0);
-                config.set("skills." + skill + ".total_earned", 0);
-                config.set("skills." + skill + ".highest_level", 1);
-            }
-
-            // Create milestones section
-            config.createSection("milestones");
+        // Initialize all skills to level 1 with 0 XP
+        for (String skill : SkillRegistry.defaultSkills()) {
+            config.set("skills." + skill + ".level", 1);
+            config.set("skills." + skill + ".xp", 0);
+            config.set("skills." + skill + ".total_earned", 0);
+            config.set("skills." + skill + ".highest_level", 1);
+        }
 
-            // Create an empty section for passive abilities
-            config.createSection("passiveAbilities");
-            
-            // Set default preferences
-            config.set("preferences.scoreboard", true);
-            config.set("preferences.show_rpg_hub_on_login", true);
+        // Create milestones section
+        config.createSection("milestones");
 
-            config.save(playerFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Failed to create new data file for " + playerUUID);
-        }
+        // Create an empty section for passive abilities
+        config.createSection("passiveAbilities");
+        
+        // Set default preferences
+        config.set("preferences.scoreboard", true);
+        config.set("preferences.show_rpg_hub_on_login", true);
+        
+        return config;
+    }
+    
+    /**
+     * Adds this manager's autosave work: pending skill rows, one flush per dirty
+     * profile and finally the eviction of data that offline players no longer need
+     * 
+     * @param work The autosave queue
+     */
+    public void collectAutosave(Queue<Runnable> work) {
+        // Skill rows first; the YAML backend writes them into the profiles flushed below
+        work.add(skillWriteQueue::flush);
+        profileStore.collectDirty(work);
+        work.add(() -> {
+            expirePendingJoins();
+            profileStore.evictOffline(pendingJoins::containsKey);
+            evictDepartedSkillData();
+        });
+    }
+    
+    /**
+     * Serializes every dirty profile on the calling thread and queues the file writes
+     */
+    public void flushDirtyProfiles() {
+        profileStore.flushDirty();
     }
     
     /**
-     * Loads player skill data into cache
+     * Queues a write for a single player's profile if it has unsaved changes
      * 
      * @param playerUUID The player's UUID
      */
-    private void loadPlayerSkillData(UUID playerUUID) {
-        if (!isDatabaseEnabled() || skillCache.containsKey(playerUUID)) {
+    public void flushPlayerData(UUID playerUUID) {
+        profileStore.flush(playerUUID);
+    }
+    
+    /**
+     * Releases preloads whose player never joined, e.g. because a later login check refused them
+     */
+    private void expirePendingJoins() {
+        if (pendingJoins.isEmpty()) {
+            return;
+        }
+        
+        long cutoff = System.currentTimeMillis() - plugin.getConfig().getLong("storage.preload_expire_ms", 60000L);
+        pendingJoins.forEach((playerUUID, preloadedAt) -> {
+            if (preloadedAt < cutoff && Bukkit.getPlayer(playerUUID) == null) {
+                releasePreload(playerUUID);
+            }
+        });
+    }
+    
+    /**
+     * Drops cached skill data of players who left, once none of it is waiting to be written
+     */
+    private void evictDepartedSkillData() {
+        if (departed.isEmpty()) {
             return;
         }
         
+        Set<UUID> unwritten = skillWriteQueue.getUnwrittenPlayers();
+        departed.removeIf(playerUUID -> {
+            if (Bukkit.getPlayer(playerUUID) != null) {
+                return true;
+            }
+            if (unwritten.contains(playerUUID)) {
+                return false;
+            }
+            skillCache.remove(playerUUID);
+            return true;
+        });
+    }
+    
+    /**
+     * Flushes a player's data when they leave. The profile stays resident until
+     * the write has completed so a quick rejoin never reads a stale file.
+     * 
+     * @param playerUUID The player's UUID
+     */
+    public void unloadPlayerData(UUID playerUUID) {
+        // Hand pending skill rows to storage first; the YAML backend writes them into the profile
+        skillWriteQueue.flush();
+        flushPlayerData(playerUUID);
+        releasePreload(playerUUID);
+    }
+    
+    /**
+     * Marks a preloaded player as joined, so their data is kept for the session
+     * 
+     * @param playerUUID The player's UUID
+     */
+    public void markJoined(UUID playerUUID) {
+        pendingJoins.remove(playerUUID);
+    }
+    
+    /**
+     * Drops what was loaded for a player who is not online, e.g. whose login was
+     * refused after the preload. Their profile and skill data go with the next autosave.
+     * 
+     * @param playerUUID The player's UUID
+     */
+    public void releasePreload(UUID playerUUID) {
+        pendingJoins.remove(playerUUID);
+        settingsStore.unload(playerUUID);
+        preloadedPassives.remove(playerUUID);
+        preloadedNewPlayers.remove(playerUUID);
+        departed.add(playerUUID);
+    }
+    
+    /**
+     * Writes all pending skill rows and dirty profiles and waits a bounded time
+     * for the queued writes to finish. Must run before the database is closed.
+     */
+    public void shutdown() {
+        long timeoutSeconds = plugin.getConfig().getLong("storage.yaml.shutdown_timeout_seconds", 10L);
+        skillWriteQueue.shutdown(timeoutSeconds);
+        profileStore.shutdown(timeoutSeconds);
+    }
+    
+    /**
+     * Fetches everything a joining player needs in one pass: the YAML profile
+     * (skill tree, mounts and other manager data) and the skills, passives and
+     * settings from the storage backend.
+     * Must be called off the main thread, e.g. from AsyncPlayerPreLoginEvent.
+     * 
+     * @param playerUUID The player's UUID
+     * @param timeoutMillis How long to wait for storage before giving up
+     * @return True if the profile was fully preloaded, false if it will be loaded lazily
+     */
+    public boolean preloadPlayer(UUID playerUUID, long timeoutMillis) {
+        // A rejoining player keeps their resident skill data
+        departed.remove(playerUUID);
+        pendingJoins.put(playerUUID, System.currentTimeMillis());
+        
+        // A resident profile belongs to the main thread, so the YAML backend
+        // must not read it from here; it is already in memory anyway
+        if (storage instanceof YamlStorageBackend && profileStore.isResident(playerUUID)) {
+            return false;
+        }
+        
+        // New players are created on join so they still get the first-join flow
+        if (profileStore.exists(playerUUID)) {
+            profileStore.get(playerUUID);
+        }
+        
         try {
-            Map<String, PlayerSkillData> playerSkills = databaseManager.executeAsync(conn -> {
-                Map<String, PlayerSkillData> skills = new HashMap<>();
-                try (PreparedStatement stmt = conn.prepareStatement(
-                        "SELECT skill_name, level, xp FROM player_skills WHERE player_uuid = ?")) {
-                    stmt.setString(1, playerUUID.toString());
-                    try (ResultSet rs = stmt.executeQuery()) {
-                        while (rs.next()) {
-                            String skillName = rs.getString("skill_name");
-                            int level = rs.getInt("level");
-                            int xp = rs.getInt("xp");
-                            // Default values for total_earned and highest_level if not in database
-                            int totalEarned = xp;
-                            int highestLevel = level;
-                            
-                            skills.put(skillName, new PlayerSkillData(level, xp, totalEarned, highestLevel));
-                        }
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error executing query: " + e.getMessage());
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing statement: " + e.getMessage());
-                }
-                return skills;
-            }).get();
+            StoredPlayer stored = storage.loadPlayer(playerUUID).get(timeoutMillis, TimeUnit.MILLISECONDS);
             
-            skillCache.put(playerUUID, playerSkills);
+            if (stored == null || stored.getSkills().isEmpty()) {
+                // Skill data still in memory from a recent session is newer than storage
+                if (!skillCache.containsKey(playerUUID)) {
+                    preloadedNewPlayers.add(playerUUID);
+                }
+            } else {
+                skillCache.putIfAbsent(playerUUID, toSkillData(stored));
+            }
+            preloadedPassives.put(playerUUID, stored == null ? new HashMap<>() : stored.getPassives());
+            settingsStore.load(playerUUID, stored == null ? Map.of() : stored.getSettings());
+            return true;
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Preloading data for " + playerUUID + " timed out, loading on demand instead.");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         } catch (Exception e) {
-            plugin.getLogger().severe("Failed to load player skill data from database: " + e.getMessage());
+            plugin.getLogger().severe("Failed to preload player data: " + e.getMessage());
+            return false;
         }
     }
-
-    public int getSkillLevel(UUID playerUUID, String skill) {
-        if (isDatabaseEnabled()) {
-            // Check cache first
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                return skillCache.get(playerUUID).get(skill).level;
-            }
+    
+    /**
+     * Takes the passives fetched during preload, if any
+     * 
+     * @param playerUUID The player's UUID
+     * @return The preloaded passives by skill, or null if they were not preloaded
+     */
+    public Map<String, Set<String>> consumePreloadedPassives(UUID playerUUID) {
+        return preloadedPassives.remove(playerUUID);
+    }
+    
+    private PlayerSkills toSkillData(StoredPlayer stored) {
+        PlayerSkills skills = new PlayerSkills();
+        for (SkillRecord record : stored.getSkills().values()) {
+            skills.set(SkillRegistry.ordinal(record.getSkill()), record.getLevel(), record.getXp(),
+                    record.getTotalEarned(), record.getHighestLevel());
+        }
+        return skills;
+    }
+    
+    /**
+     * Loads player skill data into cache without waiting on storage. The YAML
+     * backend answers right away; a database answer is cached a tick later on
+     * the main thread.
+     * 
+     * @param playerUUID The player's UUID
+     */
+    private void loadPlayerSkillData(UUID playerUUID) {
+        if (skillCache.containsKey(playerUUID) || loadingSkills.putIfAbsent(playerUUID, new ArrayList<>()) != null) {
+            return;
+        }
+        
+        CompletableFuture<StoredPlayer> load = storage.loadPlayer(playerUUID);
+        if (load.isDone()) {
+            load.whenComplete((stored, error) -> cacheLoadedSkills(playerUUID, stored, error));
+            return;
+        }
+        
+        load.whenComplete((stored, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            cacheLoadedSkills(playerUUID, stored, error);
             
-            // Load from database if not in cache
+            // Passives were applied from default levels while the data was missing
+            if (error == null && Bukkit.getPlayer(playerUUID) != null && plugin.getPassiveSkillManager() != null) {
+                plugin.getPassiveSkillManager().loadPlayerPassives(playerUUID);
+            }
+        }));
+    }
+    
+    private void cacheLoadedSkills(UUID playerUUID, StoredPlayer stored, Throwable error) {
+        if (error != null) {
+            List<Runnable> dropped = loadingSkills.remove(playerUUID);
+            plugin.getLogger().severe("Failed to load player skill data: " + error.getMessage()
+                    + (dropped == null || dropped.isEmpty() ? "" : " (" + dropped.size() + " pending changes dropped)"));
+            return;
+        }
+        skillCache.putIfAbsent(playerUUID, stored == null ? new PlayerSkills() : toSkillData(stored));
+        
+        // Offline lookups, e.g. from commands, are dropped again by the autosave
+        if (Bukkit.getPlayer(playerUUID) == null) {
+            departed.add(playerUUID);
+        }
+        
+        // Cached first, so a write arriving now runs directly instead of joining the list
+        List<Runnable> waiting = loadingSkills.remove(playerUUID);
+        if (waiting != null) {
+            waiting.forEach(Runnable::run);
+        }
+    }
+    
+    /**
+     * Runs an action once a player's skill data is cached, right away if it already is.
+     * Writes for a player whose data is still loading wait here, so they apply to the
+     * stored values rather than to defaults.
+     * 
+     * @param playerUUID The player's UUID
+     * @param action The action, run on the thread that caches the data
+     */
+    public void whenSkillsLoaded(UUID playerUUID, Runnable action) {
+        if (!skillCache.containsKey(playerUUID)) {
             loadPlayerSkillData(playerUUID);
-            
-            // Check cache again
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                return skillCache.get(playerUUID).get(skill).level;
+            if (loadingSkills.computeIfPresent(playerUUID, (key, waiting) -> {
+                waiting.add(action);
+                return waiting;
+            }) != null) {
+                return;
+            }
+            if (!skillCache.containsKey(playerUUID)) {
+                // The load failed and has been logged
+                return;
             }
-            
-            // If still not found, return default
-            return 1;
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            return config.getInt("skills." + skill + ".level", 1);
         }
+        action.run();
+    }
+    
+    /**
+     * Gets the skill data of a player, loading it from storage first if needed.
+     * Callers on hot paths can keep the result and index it by {@link SkillRegistry} ordinal.
+     * While a database load is still running there is no data yet; writers should
+     * retry through {@link #whenSkillsLoaded(UUID, Runnable)}.
+     * 
+     * @param playerUUID The player's UUID
+     * @return The player's skill data, or null while it is being loaded
+     */
+    public PlayerSkills getPlayerSkills(UUID playerUUID) {
+        PlayerSkills skills = skillCache.get(playerUUID);
+        if (skills == null) {
+            loadPlayerSkillData(playerUUID);
+            skills = skillCache.get(playerUUID);
+        }
+        return skills;
+    }
+    
+    /**
+     * Gets the skill data of a player if it is already in memory, without loading it
+     *
+     * @param playerUUID The player's UUID
+     * @return The player's skill data, or null if it is not resident
+     */
+    PlayerSkills getResidentSkills(UUID playerUUID) {
+        return skillCache.get(playerUUID);
+    }
+    
+    /**
+     * Gets the skill data of a player for reading. Until storage has answered
+     * the defaults are returned without caching them, so a later read retries.
+     */
+    private PlayerSkills readPlayerSkills(UUID playerUUID) {
+        PlayerSkills skills = skillCache.get(playerUUID);
+        if (skills == null) {
+            loadPlayerSkillData(playerUUID);
+            skills = skillCache.get(playerUUID);
+        }
+        return skills != null ? skills : DEFAULT_SKILLS;
+    }
+    
+    /**
+     * Flags a skill row as changed so the next batched write picks up its current state
+     */
+    private void queueSkillWrite(UUID playerUUID, int skill, PlayerSkills skills) {
+        skillWriteQueue.markDirty(playerUUID, skills, skill);
+    }
+
+    public int getSkillLevel(UUID playerUUID, String skill) {
+        return readPlayerSkills(playerUUID).getLevel(SkillRegistry.ordinal(skill));
     }
 
     public void setSkillLevel(UUID playerUUID, String skill, int level) {
-        if (isDatabaseEnabled()) {
-            // Update database
-            databaseManager.executeAsyncVoid(conn -> {
-                try (PreparedStatement stmt = conn.prepareStatement(
-                        "INSERT INTO player_skills (player_uuid, skill_name, level) VALUES (?, ?, ?) " +
-                        "ON DUPLICATE KEY UPDATE level = ?")) {
-                    try {
-                        stmt.setString(1, playerUUID.toString());
-                        stmt.setString(2, skill);
-                        stmt.setInt(3, level);
-                        stmt.setInt(4, level);
-                        stmt.executeUpdate();
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error setting skill level: " + e.getMessage());
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing statement: " + e.getMessage());
-                }
-            });
-            
-            // Update cache
-            skillCache.computeIfAbsent(playerUUID, k -> new ConcurrentHashMap<>())
-                     .computeIfAbsent(skill, k -> new PlayerSkillData(1, 0, 0, 1))
-                     .level = level;
-            
-            // Update highest level if needed
-            int currentHighest = getHighestSkillLevel(playerUUID, skill);
-            if (level > currentHighest) {
-                setHighestSkillLevel(playerUUID, skill, level);
-            }
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            config.set("skills." + skill + ".level", level);
-            savePlayerData(playerUUID, config);
+        setSkillLevel(playerUUID, SkillRegistry.ordinal(skill), level);
+    }
+
+    /**
+     * Sets a skill level by {@link SkillRegistry} ordinal, raising the highest level if needed
+     */
+    public void setSkillLevel(UUID playerUUID, int skill, int level) {
+        PlayerSkills skills = getPlayerSkills(playerUUID);
+        if (skills == null) {
+            whenSkillsLoaded(playerUUID, () -> setSkillLevel(playerUUID, skill, level));
+            return;
+        }
+        skills.setLevel(skill, level);
+        
+        // Update highest level if needed
+        if (level > skills.getHighestLevel(skill)) {
+            skills.setHighestLevel(skill, level);
         }
+        queueSkillWrite(playerUUID, skill, skills);
     }
 
     public int getSkillXP(UUID playerUUID, String skill) {
-        if (isDatabaseEnabled()) {
-            // Check cache first
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                return skillCache.get(playerUUID).get(skill).xp;
-            }
-            
-            // Load from database if not in cache
-            loadPlayerSkillData(playerUUID);
-            
-            // Check cache again
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                return skillCache.get(playerUUID).get(skill).xp;
-            }
-            
-            // If still not found, return default
-            return 0;
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            return config.getInt("skills." + skill + ".xp", 0);
-        }
+        return readPlayerSkills(playerUUID).getXp(SkillRegistry.ordinal(skill));
     }
 
     public void setSkillXP(UUID playerUUID, String skill, int xp) {
-        if (isDatabaseEnabled()) {
-            // Get current XP for calculating total earned
-            int currentXP = getSkillXP(playerUUID, skill);
-            int totalEarned = getTotalSkillXPEarned(playerUUID, skill);
-            
-            // Only add positive XP gains to total earned
-            if (xp > currentXP) {
-                totalEarned += (xp - currentXP);
-            }
-            
-            // Update database
-            final int finalTotalEarned = totalEarned;
-            databaseManager.executeAsyncVoid(conn -> {
-                try (PreparedStatement stmt = conn.prepareStatement(
-                        "INSERT INTO player_skills (player_uuid, skill_name, xp) VALUES (?, ?, ?) " +
-                        "ON DUPLICATE KEY UPDATE xp = ?")) {
-                    try {
-                        stmt.setString(1, playerUUID.toString());
-                        stmt.setString(2, skill);
-                        stmt.setInt(3, xp);
-                        stmt.setInt(4, xp);
-                        stmt.executeUpdate();
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error setting skill XP: " + e.getMessage());
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing statement: " + e.getMessage());
-                }
-            });
-            
-            // Update cache
-            skillCache.computeIfAbsent(playerUUID, k -> new ConcurrentHashMap<>())
-                     .computeIfAbsent(skill, k -> new PlayerSkillData(1, 0, 0, 1))
-                     .xp = xp;
-            
-            // Update total earned in cache
-            skillCache.get(playerUUID).get(skill).totalEarned = finalTotalEarned;
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            // Store current XP to calculate total earned
-            int currentXP = config.getInt("skills." + skill + ".xp", 0);
-            
-            // Set new XP
-            config.set("skills." + skill + ".xp", xp);
-            
-            // Update total XP earned for tracking purposes
-            int totalEarned = config.getInt("skills." + skill + ".total_earned", 0);
-            // Only add positive XP gains to total earned
-            if (xp > currentXP) {
-                totalEarned += (xp - currentXP);
-                config.set("skills." + skill + ".total_earned", totalEarned);
-            }
-            
-            savePlayerData(playerUUID, config);
+        setSkillXP(playerUUID, SkillRegistry.ordinal(skill), xp);
+    }
+
+    /**
+     * Sets the current XP of a skill by {@link SkillRegistry} ordinal
+     */
+    public void setSkillXP(UUID playerUUID, int skill, int xp) {
+        PlayerSkills skills = getPlayerSkills(playerUUID);
+        if (skills == null) {
+            whenSkillsLoaded(playerUUID, () -> setSkillXP(playerUUID, skill, xp));
+            return;
         }
+        
+        // Only add positive XP gains to total earned
+        int currentXP = skills.getXp(skill);
+        if (xp > currentXP) {
+            skills.setTotalEarned(skill, skills.getTotalEarned(skill) + (xp - currentXP));
+        }
+        skills.setXp(skill, xp);
+        queueSkillWrite(playerUUID, skill, skills);
     }
     
     /**
      * Gets the total XP earned for a skill (lifetime)
      */
     public int getTotalSkillXPEarned(UUID playerUUID, String skill) {
-        if (isDatabaseEnabled()) {
-            // Check cache first
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                return skillCache.get(playerUUID).get(skill).totalEarned;
-            }
-            
-            // Load from database if not in cache
-            loadPlayerSkillData(playerUUID);
-            
-            // Check cache again
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                return skillCache.get(playerUUID).get(skill).totalEarned;
-            }
-            
-            // If still not found, return default
-            return 0;
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            return config.getInt("skills." + skill + ".total_earned", 0);
-        }
+        return readPlayerSkills(playerUUID).getTotalEarned(SkillRegistry.ordinal(skill));
     }
     
     /**
      * Sets the total XP earned for a skill (lifetime)
      */
     public void setTotalSkillXPEarned(UUID playerUUID, String skill, int totalEarned) {
-        if (isDatabaseEnabled()) {
-            databaseManager.executeAsyncVoid(conn -> {
-                try (PreparedStatement stmt = conn.prepareStatement(
-                        "UPDATE player_skills SET total_earned = ? WHERE player_uuid = ? AND skill_name = ?")) {
-                    try {
-                        stmt.setInt(1, totalEarned);
-                        stmt.setString(2, playerUUID.toString());
-                        stmt.setString(3, skill);
-                        stmt.executeUpdate();
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error setting total skill XP earned: " + e.getMessage());
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing statement: " + e.getMessage());
-                }
-            });
-            
-            // Update cache
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                skillCache.get(playerUUID).get(skill).totalEarned = totalEarned;
-            }
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            config.set("skills." + skill + ".total_earned", totalEarned);
-            savePlayerData(playerUUID, config);
+        int ordinal = SkillRegistry.ordinal(skill);
+        PlayerSkills skills = getPlayerSkills(playerUUID);
+        if (skills == null) {
+            whenSkillsLoaded(playerUUID, () -> setTotalSkillXPEarned(playerUUID, skill, totalEarned));
+            return;
         }
+        skills.setTotalEarned(ordinal, totalEarned);
+        queueSkillWrite(playerUUID, ordinal, skills);
     }
     
     /**
      * Sets the highest level achieved for a skill
      */
     public void setHighestSkillLevel(UUID playerUUID, String skill, int level) {
-        if (isDatabaseEnabled()) {
-            // Update database
-            databaseManager.executeAsyncVoid(conn -> {
-                try (PreparedStatement stmt = conn.prepareStatement(
-                        "UPDATE player_skills SET highest_level = ? WHERE player_uuid = ? AND skill_name = ?")) {
-                    try {
-                        stmt.setInt(1, level);
-                        stmt.setString(2, playerUUID.toString());
-                        stmt.setString(3, skill);
-                        stmt.executeUpdate();
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error setting highest skill level: " + e.getMessage());
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing statement: " + e.getMessage());
-                }
-            });
-            
-            // Update cache
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                skillCache.get(playerUUID).get(skill).highestLevel = level;
-            }
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            config.set("skills." + skill + ".highest_level", level);
-            savePlayerData(playerUUID, config);
+        setHighestSkillLevel(playerUUID, SkillRegistry.ordinal(skill), level);
+    }
+    
+    /**
+     * Sets the highest level achieved for a skill by {@link SkillRegistry} ordinal
+     */
+    public void setHighestSkillLevel(UUID playerUUID, int skill, int level) {
+        PlayerSkills skills = getPlayerSkills(playerUUID);
+        if (skills == null) {
+            whenSkillsLoaded(playerUUID, () -> setHighestSkillLevel(playerUUID, skill, level));
+            return;
         }
+        skills.setHighestLevel(skill, level);
+        queueSkillWrite(playerUUID, skill, skills);
     }
     
     /**
      * Gets the highest level achieved for a skill
      */
     public int getHighestSkillLevel(UUID playerUUID, String skill) {
-        if (isDatabaseEnabled()) {
-            // Check cache first
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                return skillCache.get(playerUUID).get(skill).highestLevel;
-            }
-            
-            // Load from database if not in cache
-            loadPlayerSkillData(playerUUID);
-            
-            // Check cache again
-            if (skillCache.containsKey(playerUUID) && skillCache.get(playerUUID).containsKey(skill)) {
-                return skillCache.get(playerUUID).get(skill).highestLevel;
-            }
-            
-            // If still not found, return default
-            return 1;
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            return config.getInt("skills." + skill + ".highest_level", 1);
-        }
+        return readPlayerSkills(playerUUID).getHighestLevel(SkillRegistry.ordinal(skill));
     }
 
     public boolean hasUnlockedActiveSkill(UUID playerUUID, String skill) {
@@ -562,42 +636,7 @@ public class PlayerDataManager {
      * @return true if the scoreboard is enabled, false otherwise
      */
     public boolean getScoreboardEnabled(UUID playerUUID) {
-        if (isDatabaseEnabled()) {
-            try {
-                return databaseManager.executeAsync(conn -> {
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "SELECT setting_value FROM player_settings WHERE player_uuid = ? AND setting_name = ?")) {
-                        try {
-                            stmt.setString(1, playerUUID.toString());
-                            stmt.setString(2, "scoreboard");
-                            try (ResultSet rs = stmt.executeQuery()) {
-                                if (rs.next()) {
-                                    return Boolean.parseBoolean(rs.getString("setting_value"));
-                                }
-                                return true; // Default to enabled
-                            } catch (SQLException e) {
-                                plugin.getLogger().severe("Error executing query for scoreboard setting: " + e.getMessage());
-                                return true; // Default to enabled on error
-                            }
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error setting parameters for scoreboard query: " + e.getMessage());
-                            return true; // Default to enabled on error
-                        }
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error preparing statement for scoreboard query: " + e.getMessage());
-                        return true; // Default to enabled on error
-                    }
-                }).get();
-            } catch (Exception e) {
-                plugin.getLogger().severe("Failed to get scoreboard setting from database: " + e.getMessage());
-                // Fall back to file
-                FileConfiguration config = getPlayerData(playerUUID);
-                return config.getBoolean("preferences.scoreboard", true);
-            }
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            return config.getBoolean("preferences.scoreboard", true); // Default to enabled
-        }
+        return settingsStore.get(playerUUID, PlayerSetting.SCOREBOARD);
     }
 
     /**
@@ -606,29 +645,7 @@ public class PlayerDataManager {
      * @param enabled Whether the scoreboard should be enabled
      */
     public void setScoreboardEnabled(UUID playerUUID, boolean enabled) {
-        if (isDatabaseEnabled()) {
-            databaseManager.executeAsyncVoid(conn -> {
-                try (PreparedStatement stmt = conn.prepareStatement(
-                        "INSERT INTO player_settings (player_uuid, setting_name, setting_value) VALUES (?, ?, ?) " +
-                        "ON DUPLICATE KEY UPDATE setting_value = ?")) {
-                    try {
-                        stmt.setString(1, playerUUID.toString());
-                        stmt.setString(2, "scoreboard");
-                        stmt.setString(3, String.valueOf(enabled));
-                        stmt.setString(4, String.valueOf(enabled));
-                        stmt.executeUpdate();
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error setting scoreboard setting: " + e.getMessage());
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing statement for scoreboard setting: " + e.getMessage());
-                }
-            });
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            config.set("preferences.scoreboard", enabled);
-            savePlayerData(playerUUID, config);
-        }
+        settingsStore.set(playerUUID, PlayerSetting.SCOREBOARD, enabled);
     }
     
     /**
@@ -651,7 +668,6 @@ public class PlayerDataManager {
      * Migrates player data from a YAML file to the database
      * 
      * @param playerUUID The player's UUID
-     * @param file The YAML file to migrate from
      * @return True if migration was successful, false otherwise
      */
     public boolean migratePlayerData(UUID playerUUID) {
@@ -666,127 +682,7 @@ public class PlayerDataManager {
             return false;
         }
         
-        try {
-            FileConfiguration config = YamlConfiguration.loadConfiguration(playerFile);
-            
-            // Migrate skills
-            if (config.contains("skills")) {
-                for (String skill : config.getConfigurationSection("skills").getKeys(false)) {
-                    int level = config.getInt("skills." + skill + ".level", 1);
-                    int xp = config.getInt("skills." + skill + ".xp", 0);
-                    int totalEarned = config.getInt("skills." + skill + ".total_earned", xp);
-                    int highestLevel = config.getInt("skills." + skill + ".highest_level", level);
-                    
-                    final String skillName = skill;
-                    final int finalLevel = level;
-                    final int finalXp = xp;
-                    final int finalTotalEarned = totalEarned;
-                    final int finalHighestLevel = highestLevel;
-                    
-                    databaseManager.executeAsyncVoid(conn -> {
-                        try (PreparedStatement stmt = conn.prepareStatement(
-                                "INSERT INTO player_skills (player_uuid, skill_name, level, xp, total_earned, highest_level) VALUES (?, ?, ?, ?, ?, ?) " +
-                                "ON DUPLICATE KEY UPDATE level = ?, xp = ?, total_earned = ?, highest_level = ?")) {
-                            try {
-                                stmt.setString(1, playerUUID.toString());
-                                stmt.setString(2, skillName);
-                                stmt.setInt(3, finalLevel);
-                                stmt.setInt(4, finalXp);
-                                stmt.setInt(5, finalTotalEarned);
-                                stmt.setInt(6, finalHighestLevel);
-                                stmt.setInt(7, finalLevel);
-                                stmt.setInt(8, finalXp);
-                                stmt.setInt(9, finalTotalEarned);
-                                stmt.setInt(10, finalHighestLevel);
-                                stmt.executeUpdate();
-                            } catch (SQLException e) {
-                                plugin.getLogger().severe("Error migrating player skill data: " + e.getMessage());
-                            }
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error preparing statement for skill migration: " + e.getMessage());
-                        }
-                    }).get(); // Wait for completion
-                }
-                
-                // Migrate preferences
-                boolean scoreboardEnabled = config.getBoolean("preferences.scoreboard", true);
-                boolean showRpgHubOnLogin = config.getBoolean("preferences.show_rpg_hub_on_login", true);
-                
-                databaseManager.executeAsyncVoid(conn -> {
-                    try {
-                        // Scoreboard setting
-                        try (PreparedStatement stmt = conn.prepareStatement(
-                                "INSERT INTO player_settings (player_uuid, setting_name, setting_value) VALUES (?, ?, ?) " +
-                                "ON DUPLICATE KEY UPDATE setting_value = ?")) {
-                            try {
-                                stmt.setString(1, playerUUID.toString());
-                                stmt.setString(2, "scoreboard");
-                                stmt.setString(3, String.valueOf(scoreboardEnabled));
-                                stmt.setString(4, String.valueOf(scoreboardEnabled));
-                                stmt.executeUpdate();
-                            } catch (SQLException e) {
-                                plugin.getLogger().severe("Error migrating scoreboard setting: " + e.getMessage());
-                            }
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error preparing statement for scoreboard setting: " + e.getMessage());
-                        }
-                        
-                        // RPG hub setting
-                        try (PreparedStatement stmt = conn.prepareStatement(
-                                "INSERT INTO player_settings (player_uuid, setting_name, setting_value) VALUES (?, ?, ?) " +
-                                "ON DUPLICATE KEY UPDATE setting_value = ?")) {
-                            try {
-                                stmt.setString(1, playerUUID.toString());
-                                stmt.setString(2, "show_rpg_hub_on_login");
-                                stmt.setString(3, String.valueOf(showRpgHubOnLogin));
-                                stmt.setString(4, String.valueOf(showRpgHubOnLogin));
-                                stmt.executeUpdate();
-                            } catch (SQLException e) {
-                                plugin.getLogger().severe("Error migrating RPG hub setting: " + e.getMessage());
-                            }
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error preparing statement for RPG hub setting: " + e.getMessage());
-                        }
-                    } catch (Exception e) {
-                        plugin.getLogger().severe("Failed to migrate player settings: " + e.getMessage());
-                    }
-                }).get(); // Wait for completion
-                
-                // Migrate passive abilities
-                if (config.contains("passiveAbilities")) {
-                    for (String skill : config.getConfigurationSection("passiveAbilities").getKeys(false)) {
-                        for (String passive : config.getStringList("passiveAbilities." + skill)) {
-                            final String skillName = skill;
-                            final String passiveName = passive;
-                            
-                            databaseManager.executeAsyncVoid(conn -> {
-                                try (PreparedStatement stmt = conn.prepareStatement(
-                                        "INSERT INTO player_passives (player_uuid, skill_name, passive_name) VALUES (?, ?, ?) " +
-                                        "ON DUPLICATE KEY UPDATE passive_name = VALUES(passive_name)")) {
-                                    try {
-                                        stmt.setString(1, playerUUID.toString());
-                                        stmt.setString(2, skillName);
-                                        stmt.setString(3, passiveName);
-                                        stmt.executeUpdate();
-                                    } catch (SQLException e) {
-                                        plugin.getLogger().severe("Error migrating passive ability: " + e.getMessage());
-                                    }
-                                } catch (SQLException e) {
-                                    plugin.getLogger().severe("Error preparing statement for passive ability: " + e.getMessage());
-                                }
-                            }).get(); // Wait for completion
-                        }
-                    }
-                }
-                
-                return true;
-            }
-            
-            return false;
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to migrate player data: " + e.getMessage());
-            return false;
-        }
+        return databaseManager.getMigrationEngine().migrateFile(playerFile);
     }
 
     /**
@@ -795,42 +691,7 @@ public class PlayerDataManager {
      * @return true if the RPG hub should be shown on login, false otherwise
      */
     public boolean getShowRpgHubOnLogin(UUID playerUUID) {
-        if (isDatabaseEnabled()) {
-            try {
-                return databaseManager.executeAsync(conn -> {
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "SELECT setting_value FROM player_settings WHERE player_uuid = ? AND setting_name = ?")) {
-                        try {
-                            stmt.setString(1, playerUUID.toString());
-                            stmt.setString(2, "show_rpg_hub_on_login");
-                            try (ResultSet rs = stmt.executeQuery()) {
-                                if (rs.next()) {
-                                    return Boolean.parseBoolean(rs.getString("setting_value"));
-                                }
-                                return true; // Default to enabled
-                            } catch (SQLException e) {
-                                plugin.getLogger().severe("Error executing query for RPG hub setting: " + e.getMessage());
-                                return true; // Default to enabled on error
-                            }
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error setting parameters for RPG hub query: " + e.getMessage());
-                            return true; // Default to enabled on error
-                        }
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error preparing statement for RPG hub query: " + e.getMessage());
-                        return true; // Default to enabled on error
-                    }
-                }).get();
-            } catch (Exception e) {
-                plugin.getLogger().severe("Failed to get RPG hub setting from database: " + e.getMessage());
-                // Fall back to file
-                FileConfiguration config = getPlayerData(playerUUID);
-                return config.getBoolean("preferences.show_rpg_hub_on_login", true);
-            }
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            return config.getBoolean("preferences.show_rpg_hub_on_login", true); // Default to enabled
-        }
+        return settingsStore.get(playerUUID, PlayerSetting.SHOW_RPG_HUB_ON_LOGIN);
     }
 
     /**
@@ -839,29 +700,7 @@ public class PlayerDataManager {
      * @param enabled Whether the RPG hub should be shown on login
      */
     public void setShowRpgHubOnLogin(UUID playerUUID, boolean enabled) {
-        if (isDatabaseEnabled()) {
-            databaseManager.executeAsyncVoid(conn -> {
-                try (PreparedStatement stmt = conn.prepareStatement(
-                        "INSERT INTO player_settings (player_uuid, setting_name, setting_value) VALUES (?, ?, ?) " +
-                        "ON DUPLICATE KEY UPDATE setting_value = ?")) {
-                    try {
-                        stmt.setString(1, playerUUID.toString());
-                        stmt.setString(2, "show_rpg_hub_on_login");
-                        stmt.setString(3, String.valueOf(enabled));
-                        stmt.setString(4, String.valueOf(enabled));
-                        stmt.executeUpdate();
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error setting RPG hub setting: " + e.getMessage());
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing statement for RPG hub setting: " + e.getMessage());
-                }
-            });
-        } else {
-            FileConfiguration config = getPlayerData(playerUUID);
-            config.set("preferences.show_rpg_hub_on_login", enabled);
-            savePlayerData(playerUUID, config);
-        }
+        settingsStore.set(playerUUID, PlayerSetting.SHOW_RPG_HUB_ON_LOGIN, enabled);
     }
 
     public RPGSkillsPlugin getPlugin() {
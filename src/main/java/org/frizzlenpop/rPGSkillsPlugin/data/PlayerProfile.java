@@ -0,0 +1,66 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resident in-memory copy of a player's YAML data file.
+ * The configuration is loaded once and mutated in place; the write-behind
+ * flusher in {@link ProfileStore} persists it when it is marked dirty.
+ */
+public class PlayerProfile {
+    private final UUID playerUUID;
+    private volatile FileConfiguration config;
+    private volatile boolean dirty;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    public PlayerProfile(UUID playerUUID, FileConfiguration config) {
+        this.playerUUID = playerUUID;
+        this.config = config;
+    }
+
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    public FileConfiguration getConfig() {
+        return config;
+    }
+
+    /**
+     * Replaces the backing configuration, e.g. when a caller saves a config
+     * object it loaded itself instead of the resident one.
+     *
+     * @param config The new configuration
+     */
+    public void setConfig(FileConfiguration config) {
+        this.config = config;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    public void clearDirty() {
+        this.dirty = false;
+    }
+
+    public AtomicInteger getPendingWrites() {
+        return pendingWrites;
+    }
+
+    /**
+     * Checks whether this profile can be dropped from memory without losing data
+     *
+     * @return True if there are no unsaved changes and no writes in flight
+     */
+    public boolean isSettled() {
+        return !dirty && pendingWrites.get() == 0;
+    }
+}
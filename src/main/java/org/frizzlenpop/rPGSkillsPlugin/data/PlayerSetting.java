@@ -0,0 +1,94 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Typed key for a per-player setting. Values are stored as strings in the
+ * player_settings table and under {@link #getYamlPath()} in YAML profiles.
+ *
+ * @param <T> The value type of the setting
+ */
+public final class PlayerSetting<T> {
+    private static final Map<String, PlayerSetting<?>> BY_NAME = new LinkedHashMap<>();
+
+    public static final PlayerSetting<Boolean> SCOREBOARD =
+            bool("scoreboard", "preferences.scoreboard", true);
+    public static final PlayerSetting<Boolean> SHOW_RPG_HUB_ON_LOGIN =
+            bool("show_rpg_hub_on_login", "preferences.show_rpg_hub_on_login", true);
+
+    private final String name;
+    private final String yamlPath;
+    private final T defaultValue;
+    private final Function<String, T> parser;
+
+    private PlayerSetting(String name, String yamlPath, T defaultValue, Function<String, T> parser) {
+        this.name = name;
+        this.yamlPath = yamlPath;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+        BY_NAME.put(name, this);
+    }
+
+    /**
+     * Looks up a setting by its database name
+     *
+     * @param name The setting_name
+     * @return The setting, or null if it is unknown
+     */
+    public static PlayerSetting<?> byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * @return Every known setting
+     */
+    public static Collection<PlayerSetting<?>> values() {
+        return Collections.unmodifiableCollection(BY_NAME.values());
+    }
+
+    private static PlayerSetting<Boolean> bool(String name, String yamlPath, boolean defaultValue) {
+        return new PlayerSetting<>(name, yamlPath, defaultValue, Boolean::parseBoolean);
+    }
+
+    /**
+     * @return The setting_name used in the database
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The path of the setting in a YAML player file
+     */
+    public String getYamlPath() {
+        return yamlPath;
+    }
+
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Parses a stored value, falling back to the default if it is missing
+     *
+     * @param raw The stored string value, may be null
+     * @return The typed value
+     */
+    public T parse(String raw) {
+        return raw == null ? defaultValue : parser.apply(raw);
+    }
+
+    /**
+     * Converts a value to its stored string form
+     *
+     * @param value The typed value
+     * @return The string stored in the database
+     */
+    public String serialize(T value) {
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,211 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.bukkit.Bukkit;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.StoredPlayer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Per-player settings held in memory. Reads never wait on storage: values are
+ * loaded with the player's profile (or lazily in the background) and writes go
+ * through to the storage backend asynchronously. Listeners are notified on the main thread
+ * whenever a value changes.
+ */
+public class PlayerSettingsStore {
+    private final RPGSkillsPlugin plugin;
+    private final PlayerDataManager dataManager;
+    private final Map<UUID, Map<String, String>> values = new ConcurrentHashMap<>();
+    private final Set<UUID> loading = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<SettingChangeListener<?>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Callback for setting changes
+     *
+     * @param <T> The value type of the setting
+     */
+    public interface SettingChangeListener<T> {
+        void onChange(UUID playerUUID, T oldValue, T newValue);
+    }
+
+    public PlayerSettingsStore(RPGSkillsPlugin plugin, PlayerDataManager dataManager) {
+        this.plugin = plugin;
+        this.dataManager = dataManager;
+    }
+
+    /**
+     * Registers a listener for changes to a setting
+     *
+     * @param setting The setting to watch
+     * @param listener The listener to call on the main thread
+     */
+    public <T> void addListener(PlayerSetting<T> setting, SettingChangeListener<T> listener) {
+        listeners.computeIfAbsent(setting.getName(), k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Gets a setting without blocking. A player whose settings are not resident yet
+     * gets the default unless storage can answer immediately, and the stored values
+     * are loaded in the background; listeners fire if they differ.
+     *
+     * @param playerUUID The player's UUID
+     * @param setting The setting to read
+     * @return The current value
+     */
+    public <T> T get(UUID playerUUID, PlayerSetting<T> setting) {
+        Map<String, String> settings = values.get(playerUUID);
+        if (settings == null) {
+            settings = requestLoad(playerUUID);
+            if (settings == null) {
+                return setting.getDefaultValue();
+            }
+        }
+        return setting.parse(settings.get(setting.getName()));
+    }
+
+    /**
+     * Updates a setting in memory and writes it through to storage asynchronously
+     *
+     * @param playerUUID The player's UUID
+     * @param setting The setting to change
+     * @param value The new value
+     */
+    public <T> void set(UUID playerUUID, PlayerSetting<T> setting, T value) {
+        T oldValue = get(playerUUID, setting);
+        String serialized = setting.serialize(value);
+
+        Map<String, String> resident = values.get(playerUUID);
+        if (resident != null) {
+            resident.put(setting.getName(), serialized);
+        } else if (Bukkit.getPlayer(playerUUID) != null) {
+            values.computeIfAbsent(playerUUID, k -> new ConcurrentHashMap<>()).put(setting.getName(), serialized);
+        }
+        write(playerUUID, Map.of(setting.getName(), serialized));
+
+        if (!oldValue.equals(value)) {
+            fireChange(playerUUID, setting, oldValue, value);
+        }
+    }
+
+    /**
+     * Stores the default value of every given setting for a new player
+     *
+     * @param playerUUID The player's UUID
+     * @param settings The settings to initialise
+     */
+    public void writeDefaults(UUID playerUUID, PlayerSetting<?>... settings) {
+        Map<String, String> defaults = new HashMap<>();
+        for (PlayerSetting<?> setting : settings) {
+            defaults.put(setting.getName(), String.valueOf(setting.getDefaultValue()));
+        }
+
+        Map<String, String> resident = values.computeIfAbsent(playerUUID, k -> new ConcurrentHashMap<>());
+        defaults.forEach(resident::putIfAbsent);
+        write(playerUUID, defaults);
+    }
+
+    /**
+     * Makes settings fetched elsewhere (e.g. during pre-login) resident
+     *
+     * @param playerUUID The player's UUID
+     * @param settings The raw setting values by name
+     */
+    public void load(UUID playerUUID, Map<String, String> settings) {
+        values.put(playerUUID, new ConcurrentHashMap<>(settings));
+    }
+
+    /**
+     * Drops a player's settings from memory
+     *
+     * @param playerUUID The player's UUID
+     */
+    public void unload(UUID playerUUID) {
+        values.remove(playerUUID);
+    }
+
+    /**
+     * Starts loading a player's settings
+     *
+     * @return The settings if storage answered immediately, otherwise null
+     */
+    private Map<String, String> requestLoad(UUID playerUUID) {
+        if (!loading.add(playerUUID)) {
+            return null;
+        }
+
+        CompletableFuture<StoredPlayer> load = dataManager.getStorage().loadPlayer(playerUUID);
+        if (load.isDone() && !load.isCompletedExceptionally()) {
+            // Storage answered from memory; only online players stay resident
+            loading.remove(playerUUID);
+            StoredPlayer stored = load.join();
+            Map<String, String> loaded = new ConcurrentHashMap<>(stored == null ? Map.of() : stored.getSettings());
+            if (Bukkit.getPlayer(playerUUID) != null) {
+                Map<String, String> resident = values.putIfAbsent(playerUUID, loaded);
+                return resident != null ? resident : loaded;
+            }
+            return loaded;
+        }
+
+        load.whenComplete((stored, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            loading.remove(playerUUID);
+            if (error != null) {
+                plugin.getLogger().severe("Error loading player settings: " + error.getMessage());
+                return;
+            }
+            if (stored == null || Bukkit.getPlayer(playerUUID) == null) {
+                return;
+            }
+
+            // Values set while the load was in flight are newer than the stored ones
+            Map<String, String> resident = values.computeIfAbsent(playerUUID, k -> new ConcurrentHashMap<>());
+            for (Map.Entry<String, String> entry : stored.getSettings().entrySet()) {
+                if (resident.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                    fireLoaded(playerUUID, entry.getKey(), entry.getValue());
+                }
+            }
+        }));
+        return null;
+    }
+
+    private void write(UUID playerUUID, Map<String, String> settings) {
+        dataManager.getStorage().saveSettings(playerUUID, settings).exceptionally(error -> {
+            plugin.getLogger().severe("Error saving player settings: " + error.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Notifies listeners of a stored value that replaced the default returned before the load finished
+     */
+    private void fireLoaded(UUID playerUUID, String name, String raw) {
+        PlayerSetting<?> setting = PlayerSetting.byName(name);
+        if (setting != null) {
+            fireLoaded(playerUUID, setting, raw);
+        }
+    }
+
+    private <T> void fireLoaded(UUID playerUUID, PlayerSetting<T> setting, String raw) {
+        T newValue = setting.parse(raw);
+        if (!newValue.equals(setting.getDefaultValue())) {
+            fireChange(playerUUID, setting, setting.getDefaultValue(), newValue);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void fireChange(UUID playerUUID, PlayerSetting<T> setting, T oldValue, T newValue) {
+        List<SettingChangeListener<?>> watchers = listeners.get(setting.getName());
+        if (watchers == null) {
+            return;
+        }
+        for (SettingChangeListener<?> watcher : watchers) {
+            ((SettingChangeListener<T>) watcher).onChange(playerUUID, oldValue, newValue);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.SkillRecord;
+import org.frizzlenpop.rPGSkillsPlugin.skills.SkillRegistry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Skill state of one player as flat arrays indexed by {@link SkillRegistry} ordinal.
+ * Skills without stored data read as level 1 with no XP. Mutated on the main thread only.
+ */
+public final class PlayerSkills {
+    private int[] level;
+    private int[] xp;
+    private int[] totalEarned;
+    private int[] highestLevel;
+    private boolean[] dirty;
+
+    public PlayerSkills() {
+        int size = SkillRegistry.size();
+        this.level = new int[size];
+        this.xp = new int[size];
+        this.totalEarned = new int[size];
+        this.highestLevel = new int[size];
+        this.dirty = new boolean[size];
+        Arrays.fill(level, 1);
+        Arrays.fill(highestLevel, 1);
+    }
+
+    /**
+     * Grows the arrays when a skill was registered after this player was loaded
+     */
+    private void ensureCapacity(int ordinal) {
+        if (ordinal < level.length) {
+            return;
+        }
+
+        int oldSize = level.length;
+        int newSize = Math.max(ordinal + 1, SkillRegistry.size());
+        level = Arrays.copyOf(level, newSize);
+        xp = Arrays.copyOf(xp, newSize);
+        totalEarned = Arrays.copyOf(totalEarned, newSize);
+        highestLevel = Arrays.copyOf(highestLevel, newSize);
+        dirty = Arrays.copyOf(dirty, newSize);
+        Arrays.fill(level, oldSize, newSize, 1);
+        Arrays.fill(highestLevel, oldSize, newSize, 1);
+    }
+
+    public int getLevel(int ordinal) {
+        return ordinal < level.length ? level[ordinal] : 1;
+    }
+
+    public int getXp(int ordinal) {
+        return ordinal < xp.length ? xp[ordinal] : 0;
+    }
+
+    public int getTotalEarned(int ordinal) {
+        return ordinal < totalEarned.length ? totalEarned[ordinal] : 0;
+    }
+
+    public int getHighestLevel(int ordinal) {
+        return ordinal < highestLevel.length ? highestLevel[ordinal] : 1;
+    }
+
+    public void setLevel(int ordinal, int value) {
+        ensureCapacity(ordinal);
+        level[ordinal] = value;
+    }
+
+    public void setXp(int ordinal, int value) {
+        ensureCapacity(ordinal);
+        xp[ordinal] = value;
+    }
+
+    public void setTotalEarned(int ordinal, int value) {
+        ensureCapacity(ordinal);
+        totalEarned[ordinal] = value;
+    }
+
+    public void setHighestLevel(int ordinal, int value) {
+        ensureCapacity(ordinal);
+        highestLevel[ordinal] = value;
+    }
+
+    /**
+     * Sets all four values of a skill at once
+     *
+     * @param ordinal The skill ordinal
+     * @param level The skill level
+     * @param xp The current XP
+     * @param totalEarned The lifetime XP earned
+     * @param highestLevel The highest level reached
+     */
+    public void set(int ordinal, int level, int xp, int totalEarned, int highestLevel) {
+        ensureCapacity(ordinal);
+        this.level[ordinal] = level;
+        this.xp[ordinal] = xp;
+        this.totalEarned[ordinal] = totalEarned;
+        this.highestLevel[ordinal] = highestLevel;
+    }
+
+    /**
+     * Flags a skill as changed since it was last handed to storage
+     *
+     * @param ordinal The skill ordinal
+     * @return True if the skill was not flagged yet
+     */
+    public boolean markDirty(int ordinal) {
+        ensureCapacity(ordinal);
+        if (dirty[ordinal]) {
+            return false;
+        }
+        dirty[ordinal] = true;
+        return true;
+    }
+
+    /**
+     * Adds a record for every flagged skill and clears the flags
+     *
+     * @param playerUUID The player these skills belong to
+     * @param out The collection to add the records to
+     * @return The number of records added
+     */
+    public int drainDirty(UUID playerUUID, Collection<SkillRecord> out) {
+        int count = 0;
+        for (int i = 0; i < dirty.length; i++) {
+            if (dirty[i]) {
+                dirty[i] = false;
+                out.add(new SkillRecord(playerUUID, SkillRegistry.name(i), level[i], xp[i], totalEarned[i], highestLevel[i]));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The lifetime XP earned across all skills
+     */
+    public long getTotalEarnedAllSkills() {
+        long sum = 0;
+        for (int earned : totalEarned) {
+            sum += earned;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,304 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Folder of YAML player files with resident, write-behind profiles.
+ * Profiles are loaded once, mutated in place and written by a single
+ * background thread when flushed, so writes to one file never overlap.
+ */
+public class ProfileStore {
+    private final Logger logger;
+    private final File folder;
+    private final Supplier<FileConfiguration> defaults;
+    private final Map<UUID, PlayerProfile> profiles = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "RPGSkills-ProfileWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param logger Receives write failures
+     * @param folder The folder holding one {@code <uuid>.yml} per player
+     * @param defaults Builds the data for a player without a file
+     */
+    public ProfileStore(Logger logger, File folder, Supplier<FileConfiguration> defaults) {
+        this.logger = logger;
+        this.folder = folder;
+        this.defaults = defaults;
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * Gets the resident data for a player, loading it from disk on first access
+     *
+     * @param playerUUID The player's UUID
+     * @return The player's data
+     */
+    public FileConfiguration get(UUID playerUUID) {
+        return profiles.computeIfAbsent(playerUUID, this::load).getConfig();
+    }
+
+    /**
+     * Checks whether a player's profile is already in memory
+     *
+     * @param playerUUID The player's UUID
+     * @return True if the profile is resident
+     */
+    public boolean isResident(UUID playerUUID) {
+        return profiles.containsKey(playerUUID);
+    }
+
+    /**
+     * Checks whether a player has data without loading it
+     *
+     * @param playerUUID The player's UUID
+     * @return True if the profile is resident or a file exists
+     */
+    public boolean exists(UUID playerUUID) {
+        return profiles.containsKey(playerUUID) || fileOf(playerUUID).exists();
+    }
+
+    private PlayerProfile load(UUID playerUUID) {
+        File playerFile = fileOf(playerUUID);
+        if (playerFile.exists()) {
+            return new PlayerProfile(playerUUID, YamlConfiguration.loadConfiguration(playerFile));
+        }
+
+        PlayerProfile profile = new PlayerProfile(playerUUID, defaults.get());
+        profile.markDirty();
+        return profile;
+    }
+
+    /**
+     * Marks a resident profile as changed
+     *
+     * @param playerUUID The player's UUID
+     */
+    public void markDirty(UUID playerUUID) {
+        PlayerProfile profile = profiles.get(playerUUID);
+        if (profile != null) {
+            profile.markDirty();
+        }
+    }
+
+    /**
+     * Stores the given configuration as the player's data and marks it as changed
+     *
+     * @param playerUUID The player's UUID
+     * @param config The player's data
+     */
+    public void put(UUID playerUUID, FileConfiguration config) {
+        PlayerProfile profile = profiles.computeIfAbsent(playerUUID, uuid -> new PlayerProfile(uuid, config));
+        if (profile.getConfig() != config) {
+            profile.setConfig(config);
+        }
+        profile.markDirty();
+    }
+
+    /**
+     * Serializes every dirty profile on the calling thread and queues the file writes
+     */
+    public void flushDirty() {
+        for (PlayerProfile profile : profiles.values()) {
+            flush(profile);
+        }
+    }
+
+    /**
+     * Adds one flush per dirty profile so the autosave can spread them over several ticks
+     *
+     * @param work The queue to add the flushes to
+     */
+    public void collectDirty(Queue<Runnable> work) {
+        for (PlayerProfile profile : profiles.values()) {
+            if (profile.isDirty()) {
+                work.add(() -> flush(profile));
+            }
+        }
+    }
+
+    /**
+     * Queues a write for a single player's profile if it has unsaved changes
+     *
+     * @param playerUUID The player's UUID
+     */
+    public void flush(UUID playerUUID) {
+        PlayerProfile profile = profiles.get(playerUUID);
+        if (profile != null) {
+            flush(profile);
+        }
+    }
+
+    private void flush(PlayerProfile profile) {
+        if (!profile.isDirty()) {
+            return;
+        }
+
+        // Snapshot on the calling thread so the writer never touches a live configuration
+        profile.clearDirty();
+        String snapshot = profile.getConfig().saveToString();
+        profile.getPendingWrites().incrementAndGet();
+
+        try {
+            writer.execute(() -> {
+                try {
+                    write(profile.getPlayerUUID(), snapshot);
+                } finally {
+                    profile.getPendingWrites().decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Writer is shut down, fall back to a synchronous write
+            try {
+                write(profile.getPlayerUUID(), snapshot);
+            } finally {
+                profile.getPendingWrites().decrementAndGet();
+            }
+        }
+    }
+
+    private void write(UUID playerUUID, String snapshot) {
+        Path target = fileOf(playerUUID).toPath();
+        Path temp = new File(folder, playerUUID + ".yml.tmp").toPath();
+        try {
+            Files.writeString(temp, snapshot, StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.severe("Failed to save data for " + playerUUID + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops a player's profile and deletes their file once earlier writes have finished
+     *
+     * @param playerUUID The player's UUID
+     * @return A future completed once the file is gone
+     */
+    public CompletableFuture<Void> delete(UUID playerUUID) {
+        profiles.remove(playerUUID);
+        return onWriter(() -> {
+            try {
+                Files.deleteIfExists(fileOf(playerUUID).toPath());
+            } catch (IOException e) {
+                logger.severe("Failed to delete data for " + playerUUID + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @return A future completed once every write queued so far has reached disk
+     */
+    public CompletableFuture<Void> awaitWrites() {
+        return onWriter(() -> { });
+    }
+
+    /**
+     * Runs a task on the writer thread after the writes queued so far, for other
+     * files that belong with the profiles but must not be written on the main thread
+     *
+     * @param task The task
+     * @param <T> The result type
+     * @return A future completed with the task's result
+     */
+    public <T> CompletableFuture<T> supplyOnWriter(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, writer);
+        } catch (RejectedExecutionException e) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException error) {
+                return CompletableFuture.failedFuture(error);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> onWriter(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, writer);
+        } catch (RejectedExecutionException e) {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Counts the player files on disk
+     *
+     * @return The number of player files
+     */
+    public int countFiles() {
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+        return files == null ? 0 : files.length;
+    }
+
+    /**
+     * Drops every profile that is fully written to disk, online or not. Only for
+     * stores that never hold online players, such as a scratch store.
+     */
+    public void evictSettled() {
+        profiles.values().removeIf(PlayerProfile::isSettled);
+    }
+
+    /**
+     * Drops profiles of players that are offline and fully written to disk
+     *
+     * @param keep Offline players whose profile stays resident anyway, e.g. players still logging in
+     */
+    public void evictOffline(Predicate<UUID> keep) {
+        profiles.entrySet().removeIf(entry -> Bukkit.getPlayer(entry.getKey()) == null
+                && entry.getValue().isSettled() && !keep.test(entry.getKey()));
+    }
+
+    /**
+     * Flushes every dirty profile and waits a bounded time for the writes to reach disk
+     *
+     * @param timeoutSeconds How long to wait for the writer
+     */
+    public void shutdown(long timeoutSeconds) {
+        flushDirty();
+        writer.shutdown();
+
+        try {
+            if (!writer.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for player data writes to finish.");
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private File fileOf(UUID playerUUID) {
+        return new File(folder, playerUUID + ".yml");
+    }
+}
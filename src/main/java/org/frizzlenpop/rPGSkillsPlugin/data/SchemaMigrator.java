@@ -0,0 +1,440 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Brings the database schema up to date. Each migration is applied once, in
+ * order, and recorded in the schema_version table, so existing databases are
+ * upgraded in place and new databases end up with the same layout.
+ */
+public class SchemaMigrator {
+    private static final String[] DEFAULT_SKILLS = {
+            "mining", "logging", "farming", "fighting", "fishing", "enchanting", "excavation", "repair"
+    };
+    private static final int COPY_BATCH_SIZE = 1000;
+
+    private final RPGSkillsPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final List<Migration> migrations = Arrays.asList(
+            new Migration(1, "Create base tables", this::createBaseTables),
+            new Migration(2, "Binary player UUIDs and integer skill/setting IDs", this::convertToCompactLayout),
+            new Migration(3, "Per-skill ranking indexes", this::createRankingIndexes),
+            new Migration(4, "Offline XP journal", this::createOfflineXPJournal)
+    );
+
+    /**
+     * A single schema change
+     */
+    private interface Step {
+        void apply(Connection conn, Statement statement) throws SQLException;
+    }
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    /**
+     * Copies one legacy row into the prepared insert for the new table
+     */
+    private interface RowCopier {
+        void copy(ResultSet rs, PreparedStatement insert) throws SQLException;
+    }
+
+    public SchemaMigrator(RPGSkillsPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Applies every migration newer than the recorded schema version
+     *
+     * @param conn A connection from the write pool
+     * @throws SQLException If a migration fails; later migrations are not attempted
+     */
+    public void migrate(Connection conn) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INT NOT NULL, " +
+                "description VARCHAR(128) NOT NULL, " +
+                "applied_at BIGINT NOT NULL, " +
+                "PRIMARY KEY (version)" +
+                ")");
+
+            int current = 0;
+            try (ResultSet rs = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+                if (rs.next()) {
+                    current = rs.getInt(1);
+                }
+            }
+
+            for (Migration migration : migrations) {
+                if (migration.version <= current) {
+                    continue;
+                }
+
+                plugin.getLogger().info("Applying database schema version " + migration.version + ": " + migration.description);
+                migration.step.apply(conn, statement);
+
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)")) {
+                    stmt.setInt(1, migration.version);
+                    stmt.setString(2, migration.description);
+                    stmt.setLong(3, System.currentTimeMillis());
+                    stmt.executeUpdate();
+                }
+            }
+        }
+    }
+
+    /**
+     * Version 1: the original string-keyed tables. Databases created before schema
+     * versioning already have these, possibly without the lifetime XP columns.
+     */
+    private void createBaseTables(Connection conn, Statement statement) throws SQLException {
+        // Player skills table
+        statement.execute("CREATE TABLE IF NOT EXISTS player_skills (" +
+            "player_uuid VARCHAR(36) NOT NULL, " +
+            "skill_name VARCHAR(32) NOT NULL, " +
+            "level INT NOT NULL DEFAULT 1, " +
+            "xp INT NOT NULL DEFAULT 0, " +
+            "total_earned INT NOT NULL DEFAULT 0, " +
+            "highest_level INT NOT NULL DEFAULT 1, " +
+            "PRIMARY KEY (player_uuid, skill_name)" +
+            ")");
+
+        // Tables created by older versions lack the lifetime tracking columns
+        addColumnIfMissing(conn, statement, "player_skills", "total_earned", "INT NOT NULL DEFAULT 0");
+        addColumnIfMissing(conn, statement, "player_skills", "highest_level", "INT NOT NULL DEFAULT 1");
+
+        // Player passives table
+        statement.execute("CREATE TABLE IF NOT EXISTS player_passives (" +
+            "player_uuid VARCHAR(36) NOT NULL, " +
+            "skill_name VARCHAR(32) NOT NULL, " +
+            "passive_name VARCHAR(64) NOT NULL, " +
+            "PRIMARY KEY (player_uuid, skill_name, passive_name)" +
+            ")");
+
+        // Player placed blocks table
+        statement.execute("CREATE TABLE IF NOT EXISTS player_placed_blocks (" +
+            "world VARCHAR(64) NOT NULL, " +
+            "x INT NOT NULL, " +
+            "y INT NOT NULL, " +
+            "z INT NOT NULL, " +
+            "placed_time BIGINT NOT NULL, " +
+            "PRIMARY KEY (world, x, y, z)" +
+            ")");
+
+        // Player settings table
+        statement.execute("CREATE TABLE IF NOT EXISTS player_settings (" +
+            "player_uuid VARCHAR(36) NOT NULL, " +
+            "setting_name VARCHAR(32) NOT NULL, " +
+            "setting_value VARCHAR(255) NOT NULL, " +
+            "PRIMARY KEY (player_uuid, setting_name)" +
+            ")");
+
+        // Skill tree progress table
+        statement.execute("CREATE TABLE IF NOT EXISTS skill_tree_progress (" +
+            "player_uuid VARCHAR(36) NOT NULL, " +
+            "tree_id VARCHAR(32) NOT NULL, " +
+            "node_id VARCHAR(32) NOT NULL, " +
+            "unlocked BOOLEAN NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY (player_uuid, tree_id, node_id)" +
+            ")");
+    }
+
+    /**
+     * Version 2: stores player UUIDs as 16 raw bytes and replaces skill and setting
+     * names with ids from the skill_ids and setting_ids lookup tables. Each table is
+     * copied into a new table and swapped in, so an interrupted upgrade can be rerun.
+     */
+    private void convertToCompactLayout(Connection conn, Statement statement) throws SQLException {
+        String uuidType = databaseManager.isMySQL() ? "BINARY(16)" : "BLOB";
+
+        statement.execute("CREATE TABLE IF NOT EXISTS skill_ids (" +
+            "id SMALLINT NOT NULL, " +
+            "name VARCHAR(32) NOT NULL, " +
+            "PRIMARY KEY (id), " +
+            "UNIQUE (name)" +
+            ")");
+        statement.execute("CREATE TABLE IF NOT EXISTS setting_ids (" +
+            "id SMALLINT NOT NULL, " +
+            "name VARCHAR(32) NOT NULL, " +
+            "PRIMARY KEY (id), " +
+            "UNIQUE (name)" +
+            ")");
+
+        // Seed the known names so their ids are stable across servers
+        LookupTable skillIds = databaseManager.getSkillIds();
+        LookupTable settingIds = databaseManager.getSettingIds();
+        skillIds.load(conn);
+        settingIds.load(conn);
+        for (String skill : DEFAULT_SKILLS) {
+            skillIds.idFor(conn, skill);
+        }
+        for (PlayerSetting<?> setting : PlayerSetting.values()) {
+            settingIds.idFor(conn, setting.getName());
+        }
+        registerNames(conn, statement, "player_skills", "skill_name", skillIds);
+        registerNames(conn, statement, "player_passives", "skill_name", skillIds);
+        registerNames(conn, statement, "player_settings", "setting_name", settingIds);
+
+        convertTable(conn, statement, "player_skills",
+            "CREATE TABLE player_skills_new (" +
+            "player_uuid " + uuidType + " NOT NULL, " +
+            "skill_id SMALLINT NOT NULL, " +
+            "level INT NOT NULL DEFAULT 1, " +
+            "xp INT NOT NULL DEFAULT 0, " +
+            "total_earned INT NOT NULL DEFAULT 0, " +
+            "highest_level INT NOT NULL DEFAULT 1, " +
+            "PRIMARY KEY (player_uuid, skill_id)" +
+            ")",
+            "SELECT player_uuid, skill_name, level, xp, total_earned, highest_level FROM player_skills",
+            "INSERT INTO player_skills_new (player_uuid, skill_id, level, xp, total_earned, highest_level) VALUES (?, ?, ?, ?, ?, ?)",
+            (rs, insert) -> {
+                insert.setInt(2, skillIds.idFor(conn, rs.getString("skill_name")));
+                insert.setInt(3, rs.getInt("level"));
+                insert.setInt(4, rs.getInt("xp"));
+                insert.setInt(5, rs.getInt("total_earned"));
+                insert.setInt(6, rs.getInt("highest_level"));
+            });
+
+        convertTable(conn, statement, "player_passives",
+            "CREATE TABLE player_passives_new (" +
+            "player_uuid " + uuidType + " NOT NULL, " +
+            "skill_id SMALLINT NOT NULL, " +
+            "passive_name VARCHAR(64) NOT NULL, " +
+            "PRIMARY KEY (player_uuid, skill_id, passive_name)" +
+            ")",
+            "SELECT player_uuid, skill_name, passive_name FROM player_passives",
+            "INSERT INTO player_passives_new (player_uuid, skill_id, passive_name) VALUES (?, ?, ?)",
+            (rs, insert) -> {
+                insert.setInt(2, skillIds.idFor(conn, rs.getString("skill_name")));
+                insert.setString(3, rs.getString("passive_name"));
+            });
+
+        convertTable(conn, statement, "player_settings",
+            "CREATE TABLE player_settings_new (" +
+            "player_uuid " + uuidType + " NOT NULL, " +
+            "setting_id SMALLINT NOT NULL, " +
+            "setting_value VARCHAR(255) NOT NULL, " +
+            "PRIMARY KEY (player_uuid, setting_id)" +
+            ")",
+            "SELECT player_uuid, setting_name, setting_value FROM player_settings",
+            "INSERT INTO player_settings_new (player_uuid, setting_id, setting_value) VALUES (?, ?, ?)",
+            (rs, insert) -> {
+                insert.setInt(2, settingIds.idFor(conn, rs.getString("setting_name")));
+                insert.setString(3, rs.getString("setting_value"));
+            });
+
+        convertTable(conn, statement, "skill_tree_progress",
+            "CREATE TABLE skill_tree_progress_new (" +
+            "player_uuid " + uuidType + " NOT NULL, " +
+            "tree_id VARCHAR(32) NOT NULL, " +
+            "node_id VARCHAR(32) NOT NULL, " +
+            "unlocked BOOLEAN NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY (player_uuid, tree_id, node_id)" +
+            ")",
+            "SELECT player_uuid, tree_id, node_id, unlocked FROM skill_tree_progress",
+            "INSERT INTO skill_tree_progress_new (player_uuid, tree_id, node_id, unlocked) VALUES (?, ?, ?, ?)",
+            (rs, insert) -> {
+                insert.setString(2, rs.getString("tree_id"));
+                insert.setString(3, rs.getString("node_id"));
+                insert.setBoolean(4, rs.getBoolean("unlocked"));
+            });
+    }
+
+    /**
+     * Version 3: indexes for leaderboards ordered by level or lifetime XP within a skill
+     */
+    private void createRankingIndexes(Connection conn, Statement statement) throws SQLException {
+        createIndexIfMissing(conn, statement, "idx_player_skills_level", "player_skills", "skill_id, level, xp");
+        createIndexIfMissing(conn, statement, "idx_player_skills_total", "player_skills", "skill_id, total_earned");
+    }
+
+    /**
+     * Version 4: XP earned while offline, appended per award batch and summed on login
+     */
+    private void createOfflineXPJournal(Connection conn, Statement statement) throws SQLException {
+        boolean mysql = databaseManager.isMySQL();
+        statement.execute("CREATE TABLE IF NOT EXISTS offline_xp (" +
+            "id " + (mysql ? "BIGINT NOT NULL AUTO_INCREMENT" : "INTEGER NOT NULL") + ", " +
+            "player_uuid " + (mysql ? "BINARY(16)" : "BLOB") + " NOT NULL, " +
+            "skill_id SMALLINT NOT NULL, " +
+            "amount INT NOT NULL, " +
+            "PRIMARY KEY (id)" +
+            ")");
+        createIndexIfMissing(conn, statement, "idx_offline_xp_player", "offline_xp", "player_uuid");
+    }
+
+    /**
+     * Registers every distinct name used by a legacy table before rows are copied,
+     * since registration cannot happen inside the copy transaction
+     */
+    private void registerNames(Connection conn, Statement statement, String table, String column,
+                               LookupTable lookup) throws SQLException {
+        if (!isLegacyTable(conn, table)) {
+            return;
+        }
+        try (ResultSet rs = statement.executeQuery("SELECT DISTINCT " + column + " FROM " + table)) {
+            while (rs.next()) {
+                lookup.idFor(conn, rs.getString(1));
+            }
+        }
+    }
+
+    /**
+     * Copies a legacy table into its compact replacement and swaps the two
+     */
+    private void convertTable(Connection conn, Statement statement, String table, String createSql,
+                              String selectSql, String insertSql, RowCopier copier) throws SQLException {
+        String newTable = table + "_new";
+
+        // Recover from an upgrade that stopped between dropping the old table and renaming the new one
+        if (!tableExists(conn, table) && tableExists(conn, newTable)) {
+            statement.execute("ALTER TABLE " + newTable + " RENAME TO " + table);
+            return;
+        }
+        if (!isLegacyTable(conn, table)) {
+            return;
+        }
+
+        statement.execute("DROP TABLE IF EXISTS " + newTable);
+        statement.execute(createSql);
+
+        long copied = 0;
+        long skipped = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        // Legacy rows are streamed from a second connection while batches are written on this one
+        try (Connection source = databaseManager.getReadConnection();
+             Statement select = source.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             PreparedStatement insert = conn.prepareStatement(insertSql)) {
+            select.setFetchSize(databaseManager.isMySQL() ? Integer.MIN_VALUE : COPY_BATCH_SIZE);
+            conn.setAutoCommit(false);
+
+            try (ResultSet rs = select.executeQuery(selectSql)) {
+                int pending = 0;
+                while (rs.next()) {
+                    UUID playerUUID;
+                    try {
+                        playerUUID = UUID.fromString(rs.getString("player_uuid"));
+                    } catch (IllegalArgumentException e) {
+                        skipped++;
+                        continue;
+                    }
+
+                    insert.setBytes(1, DatabaseManager.uuidToBytes(playerUUID));
+                    copier.copy(rs, insert);
+                    insert.addBatch();
+                    copied++;
+
+                    if (++pending >= COPY_BATCH_SIZE) {
+                        insert.executeBatch();
+                        conn.commit();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+                conn.commit();
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        statement.execute("DROP TABLE " + table);
+        statement.execute("ALTER TABLE " + newTable + " RENAME TO " + table);
+
+        plugin.getLogger().info("Converted " + copied + " rows in " + table +
+                (skipped > 0 ? " (" + skipped + " rows with invalid player UUIDs dropped)." : "."));
+    }
+
+    /**
+     * Checks whether a table still stores player UUIDs as text
+     */
+    private boolean isLegacyTable(Connection conn, String table) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, "player_uuid")) {
+            return rs.next() && rs.getString("TYPE_NAME").toUpperCase().contains("CHAR");
+        }
+    }
+
+    private boolean tableExists(Connection conn, String table) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, table, null)) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Adds a column to an existing table if it is not there yet
+     *
+     * @param conn The connection to inspect the schema with
+     * @param statement The statement to run the ALTER TABLE on
+     * @param table The table name
+     * @param column The column name
+     * @param definition The column type and constraints
+     * @throws SQLException If the schema could not be read or altered
+     */
+    private void addColumnIfMissing(Connection conn, Statement statement, String table,
+                                    String column, String definition) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column)) {
+            if (rs.next()) {
+                return;
+            }
+        }
+        statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        plugin.getLogger().info("Added missing column " + column + " to " + table + ".");
+    }
+
+    /**
+     * Creates an index if it is not there yet, so a migration that stopped after
+     * creating it can be rerun. MySQL has no CREATE INDEX IF NOT EXISTS, so the
+     * index is looked up in information_schema first.
+     *
+     * @param conn The connection to inspect the schema with
+     * @param statement The statement to run the CREATE INDEX on
+     * @param index The index name
+     * @param table The table name
+     * @param columns The indexed columns, comma separated
+     * @throws SQLException If the schema could not be read or the index created
+     */
+    private void createIndexIfMissing(Connection conn, Statement statement, String index,
+                                      String table, String columns) throws SQLException {
+        if (!databaseManager.isMySQL()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS " + index + " ON " + table + " (" + columns + ")");
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT 1 FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?")) {
+            stmt.setString(1, table);
+            stmt.setString(2, index);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        statement.execute("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+    }
+}
@@ -0,0 +1,271 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.SkillRecord;
+import org.frizzlenpop.rPGSkillsPlugin.skills.SkillRegistry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalescing write-behind queue for skill records.
+ * Only the latest row per (player, skill) is kept; pending rows are handed to the
+ * storage backend as a single batch on a short interval or once the queue grows
+ * past a threshold. Changes to resident {@link PlayerSkills} are only flagged and
+ * turned into rows when the batch is built, so queueing them allocates nothing.
+ */
+public class SkillWriteQueue {
+    private final RPGSkillsPlugin plugin;
+    private final PlayerDataManager dataManager;
+    private final Map<SkillKey, SkillRecord> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerSkills> dirtyPlayers = new ConcurrentHashMap<>();
+    private final AtomicInteger dirtyRows = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+    private volatile List<SkillRecord> inFlightRows = List.of();
+    private final int maxPending;
+    private BukkitTask flushTask;
+
+    // Metrics
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+
+    /**
+     * Identifies a single player_skills row
+     */
+    private static final class SkillKey {
+        private final UUID playerUUID;
+        private final String skill;
+
+        SkillKey(UUID playerUUID, String skill) {
+            this.playerUUID = playerUUID;
+            this.skill = skill;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SkillKey)) return false;
+            SkillKey other = (SkillKey) o;
+            return playerUUID.equals(other.playerUUID) && skill.equals(other.skill);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerUUID, skill);
+        }
+    }
+
+    public SkillWriteQueue(RPGSkillsPlugin plugin, PlayerDataManager dataManager) {
+        this.plugin = plugin;
+        this.dataManager = dataManager;
+
+        FileConfiguration config = plugin.getConfig();
+        this.maxPending = Math.max(1, config.getInt("database.write_queue.max_pending", 500));
+        long interval = Math.max(1L, config.getLong("database.write_queue.flush_interval_ticks", 20L));
+        this.flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, interval, interval);
+    }
+
+    /**
+     * Queues the latest state of a skill row, replacing any pending write for the same row.
+     * For a player with resident skill data the values are stored there and the skill
+     * is flagged, like {@link #markDirty(UUID, PlayerSkills, int)}.
+     *
+     * @param playerUUID The player's UUID
+     * @param skill The skill name
+     * @param level The skill level
+     * @param xp The current XP
+     * @param totalEarned The lifetime XP earned
+     * @param highestLevel The highest level reached
+     */
+    public void queue(UUID playerUUID, String skill, int level, int xp, int totalEarned, int highestLevel) {
+        PlayerSkills skills = dataManager.getResidentSkills(playerUUID);
+        if (skills != null) {
+            int ordinal = SkillRegistry.ordinal(skill);
+            skills.set(ordinal, level, xp, totalEarned, highestLevel);
+            markDirty(playerUUID, skills, ordinal);
+            return;
+        }
+
+        pending.put(new SkillKey(playerUUID, skill),
+                new SkillRecord(playerUUID, skill, level, xp, totalEarned, highestLevel));
+
+        if (pending.size() >= maxPending) {
+            flush();
+        }
+    }
+
+    /**
+     * Flags a skill of resident skill data as changed; the row is built at the next flush.
+     * Must be called on the main thread.
+     *
+     * @param playerUUID The player's UUID
+     * @param skills The player's skill data
+     * @param skill The skill ordinal
+     */
+    public void markDirty(UUID playerUUID, PlayerSkills skills, int skill) {
+        if (!skills.markDirty(skill)) {
+            return;
+        }
+
+        dirtyPlayers.putIfAbsent(playerUUID, skills);
+        if (dirtyRows.incrementAndGet() + pending.size() >= maxPending) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands all pending rows to the storage backend as one batch
+     *
+     * @return A future completed when the batch has been written
+     */
+    public CompletableFuture<Void> flush() {
+        // Flushes run one at a time so an older batch can never overwrite a newer one
+        if ((pending.isEmpty() && dirtyPlayers.isEmpty()) || !flushScheduled.compareAndSet(false, true)) {
+            return inFlight;
+        }
+
+        List<SkillRecord> rows = drain();
+        inFlightRows = rows;
+        long start = System.nanoTime();
+        CompletableFuture<Void> write;
+        try {
+            write = dataManager.getStorage().saveSkills(rows);
+        } catch (RuntimeException e) {
+            write = CompletableFuture.failedFuture(e);
+        }
+
+        inFlight = write.handle((result, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to write " + rows.size() + " skill rows: " + error.getMessage());
+                // Put the rows back unless a newer value was queued in the meantime
+                for (SkillRecord row : rows) {
+                    pending.putIfAbsent(new SkillKey(row.getPlayerUUID(), row.getSkill()), row);
+                }
+            } else {
+                long elapsed = System.nanoTime() - start;
+                flushCount.increment();
+                rowsWritten.add(rows.size());
+                flushNanos.add(elapsed);
+                maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+                maxBatchSize.accumulateAndGet(rows.size(), Math::max);
+            }
+            inFlightRows = List.of();
+            flushScheduled.set(false);
+            return null;
+        });
+        return inFlight;
+    }
+
+    /**
+     * Removes every pending row from the queue and builds rows for flagged skills
+     *
+     * @return The drained rows
+     */
+    private List<SkillRecord> drain() {
+        List<SkillRecord> rows = new ArrayList<>(pending.size() + dirtyRows.get());
+        for (SkillKey key : pending.keySet()) {
+            SkillRecord row = pending.remove(key);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+
+        // Flagged skills come last so they win over older rows for the same skill
+        // Entries are removed one by one so a skill flagged during the drain is kept for the next one
+        for (UUID playerUUID : dirtyPlayers.keySet()) {
+            PlayerSkills skills = dirtyPlayers.remove(playerUUID);
+            if (skills != null) {
+                dirtyRows.addAndGet(-skills.drainDirty(playerUUID, rows));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Collects the players that still have rows waiting to be written
+     *
+     * @return The UUIDs of those players
+     */
+    public Set<UUID> getUnwrittenPlayers() {
+        Set<UUID> players = new HashSet<>();
+        for (SkillKey key : pending.keySet()) {
+            players.add(key.playerUUID);
+        }
+        players.addAll(dirtyPlayers.keySet());
+        for (SkillRecord row : inFlightRows) {
+            players.add(row.getPlayerUUID());
+        }
+        return players;
+    }
+
+    /**
+     * Stops the flush timer and writes everything that is still pending
+     *
+     * @param timeoutSeconds How long to wait for each of the last two batches
+     */
+    public void shutdown(long timeoutSeconds) {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        try {
+            // Wait for an in-flight flush, then write whatever is left
+            inFlight.get(timeoutSeconds, TimeUnit.SECONDS);
+            flush().get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Timed out writing " + (getPendingCount() + inFlightRows.size())
+                    + " pending skill rows.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to flush pending skill data: " + e.getMessage());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size() + dirtyRows.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    public double getAverageBatchSize() {
+        long flushes = flushCount.sum();
+        return flushes == 0 ? 0.0 : rowsWritten.sum() / (double) flushes;
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    public double getAverageFlushMillis() {
+        long flushes = flushCount.sum();
+        return flushes == 0 ? 0.0 : flushNanos.sum() / (double) flushes / 1_000_000.0;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000.0;
+    }
+}
@@ -28,6 +28,9 @@ public class XPBoosterManager {
     private final NamespacedKey BOOSTER_EXPIRY_KEY;
     private final NamespacedKey BOOSTER_UUID_KEY;
     
+    // Bumped whenever a booster is applied or removed so cached multipliers are re-read
+    private volatile int boosterVersion;
+    
     /**
      * Creates a new XPBoosterManager
      * 
@@ -102,6 +105,7 @@ public class XPBoosterManager {
         
         // Apply the updated meta to the item
         item.setItemMeta(meta);
+        boosterVersion++;
         
         // Notify player
         String durationText = (duration > 0) 
@@ -180,6 +184,7 @@ public class XPBoosterManager {
         
         // Apply the updated meta to the item
         item.setItemMeta(meta);
+        boosterVersion++;
         
         // Notify player
         player.sendMessage(ChatColor.GREEN + "Removed the " + 
@@ -295,6 +300,51 @@ public class XPBoosterManager {
         return multiplier != null ? multiplier : 1.0;
     }
     
+    /**
+     * Gets the skill a booster on an item applies to
+     * 
+     * @param item The item to check
+     * @return The skill name, or null if the item has no booster
+     */
+    public String getBoosterSkill(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return null;
+        }
+        
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return null;
+        }
+        return meta.getPersistentDataContainer().get(BOOSTER_SKILL_KEY, PersistentDataType.STRING);
+    }
+    
+    /**
+     * Gets when a booster on an item expires
+     * 
+     * @param item The item to check
+     * @return The expiry time in epoch milliseconds, or Long.MAX_VALUE if permanent or no booster
+     */
+    public long getExpiryTime(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return Long.MAX_VALUE;
+        }
+        
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return Long.MAX_VALUE;
+        }
+        
+        Long expiryTime = meta.getPersistentDataContainer().get(BOOSTER_EXPIRY_KEY, PersistentDataType.LONG);
+        return expiryTime != null ? expiryTime : Long.MAX_VALUE;
+    }
+    
+    /**
+     * @return A counter that changes whenever a booster is applied or removed
+     */
+    public int getBoosterVersion() {
+        return boosterVersion;
+    }
+    
     /**
      * Get remaining time for a booster in seconds
      * 
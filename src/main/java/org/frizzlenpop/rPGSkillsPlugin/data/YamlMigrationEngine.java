@@ -0,0 +1,614 @@
+package org.frizzlenpop.rPGSkillsPlugin.data;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.skills.SkillRegistry;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Bulk migration of YAML player files into the database.
+ * <p>
+ * Files are parsed in parallel on a small worker pool while a single coordinator
+ * thread writes the parsed players in batches, one transaction per batch. Every
+ * committed batch is appended to a checkpoint log so an interrupted run resumes
+ * where it stopped; a run that finishes deletes the log. In verify mode nothing
+ * is written; each file is compared against the rows currently stored in the
+ * database instead. Both modes read the {@code .yml} files, which stay in place.
+ */
+public class YamlMigrationEngine {
+    private static final String CHECKPOINT_FILE = "migration-checkpoint.txt";
+
+    private final RPGSkillsPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile boolean verifyMode;
+    private volatile Thread coordinator;
+
+    // Progress of the current or last run
+    private final AtomicInteger filesTotal = new AtomicInteger();
+    private final AtomicInteger filesSkipped = new AtomicInteger();
+    private final AtomicInteger filesDone = new AtomicInteger();
+    private final AtomicInteger filesFailed = new AtomicInteger();
+    private final AtomicInteger mismatches = new AtomicInteger();
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    /**
+     * A parsed player file
+     */
+    private static final class PlayerRecord {
+        private final UUID playerUUID;
+        private final Map<String, int[]> skills = new HashMap<>();
+        private final Map<String, String> settings = new HashMap<>();
+        private final Map<String, Set<String>> passives = new HashMap<>();
+
+        PlayerRecord(UUID playerUUID) {
+            this.playerUUID = playerUUID;
+        }
+
+        int rowCount() {
+            int rows = skills.size() + settings.size();
+            for (Set<String> skillPassives : passives.values()) {
+                rows += skillPassives.size();
+            }
+            return rows;
+        }
+    }
+
+    public YamlMigrationEngine(RPGSkillsPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Starts a migration or verification run in the background
+     *
+     * @param verify True to compare YAML against the database without writing
+     * @return False if a run is already in progress
+     */
+    public boolean start(boolean verify) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        File playerDataFolder = new File(plugin.getDataFolder(), "playerdata");
+        File[] playerFiles = playerDataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+        List<File> files = playerFiles == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(playerFiles));
+
+        // Resume: skip players whose batch was already committed
+        Set<String> completed = verify ? Collections.emptySet() : readCheckpoint();
+        int listed = files.size();
+        if (!completed.isEmpty()) {
+            files.removeIf(file -> completed.contains(uuidPart(file.getName())));
+        }
+        int skipped = listed - files.size();
+
+        cancelled = false;
+        verifyMode = verify;
+        filesTotal.set(files.size());
+        filesSkipped.set(skipped);
+        filesDone.set(0);
+        filesFailed.set(0);
+        mismatches.set(0);
+        rowsProcessed.set(0);
+        startNanos = System.nanoTime();
+        endNanos = 0;
+
+        plugin.getLogger().info((verify ? "Verifying " : "Migrating ") + files.size() + " player data files" +
+                (skipped == 0 ? "." : " (" + skipped + " already migrated, resuming)."));
+
+        Thread thread = new Thread(() -> run(files, verify), "RPGSkills-Migration");
+        thread.setDaemon(true);
+        coordinator = thread;
+        thread.start();
+        return true;
+    }
+
+    private void run(List<File> files, boolean verify) {
+        FileConfiguration config = plugin.getConfig();
+        int batchSize = Math.max(1, config.getInt("database.migration.batch_size", 250));
+        int threads = Math.max(1, config.getInt("database.migration.parser_threads", 4));
+        int verifyLogLimit = config.getInt("database.migration.verify_log_limit", 20);
+
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "RPGSkills-MigrationParser-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long lastLog = System.nanoTime();
+        boolean finished = false;
+        try (BufferedWriter checkpoint = verify ? null : openCheckpoint()) {
+            CompletionService<PlayerRecord> completion = new ExecutorCompletionService<>(pool);
+            Iterator<File> pending = files.iterator();
+            int inFlight = 0;
+            int window = batchSize * 2;
+
+            // Only a bounded number of parsed files are held in memory at once
+            while (inFlight < window && pending.hasNext()) {
+                File file = pending.next();
+                completion.submit(() -> parse(file));
+                inFlight++;
+            }
+
+            List<PlayerRecord> batch = new ArrayList<>(batchSize);
+            while (inFlight > 0 && !cancelled) {
+                PlayerRecord record;
+                try {
+                    record = completion.take().get();
+                } catch (ExecutionException e) {
+                    plugin.getLogger().warning("Failed to read a player data file: " + e.getCause());
+                    record = null;
+                }
+                inFlight--;
+                if (pending.hasNext()) {
+                    File file = pending.next();
+                    completion.submit(() -> parse(file));
+                    inFlight++;
+                }
+
+                if (record == null) {
+                    filesFailed.incrementAndGet();
+                } else {
+                    batch.add(record);
+                }
+
+                if (batch.size() >= batchSize || (inFlight == 0 && !batch.isEmpty())) {
+                    if (verify) {
+                        verifyBatch(batch, verifyLogLimit);
+                    } else {
+                        writeBatch(batch, checkpoint);
+                    }
+                    batch.clear();
+                }
+
+                if (System.nanoTime() - lastLog > TimeUnit.SECONDS.toNanos(10)) {
+                    plugin.getLogger().info(getProgressLine());
+                    lastLog = System.nanoTime();
+                }
+            }
+            finished = !cancelled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Player data migration aborted", e);
+        } finally {
+            pool.shutdownNow();
+            if (!verify && finished) {
+                // The next run starts over rather than skipping everyone migrated now
+                deleteCheckpoint();
+            }
+            endNanos = System.nanoTime();
+            running.set(false);
+        }
+
+        if (cancelled) {
+            plugin.getLogger().warning("Migration cancelled. " + getProgressLine());
+        } else if (verify) {
+            plugin.getLogger().info("Verification complete! " + mismatches.get() + " of " + filesDone.get() +
+                    " players differ from the database. " + filesFailed.get() + " files could not be read.");
+        } else if (finished) {
+            plugin.getLogger().info("Migration complete! Migrated " + filesDone.get() + " player data files, " +
+                    filesFailed.get() + " failed. " + getProgressLine());
+        }
+    }
+
+    /**
+     * Reads a player file into a record
+     *
+     * @return The record, or null if the file is invalid
+     */
+    private PlayerRecord parse(File file) {
+        UUID playerUUID;
+        try {
+            playerUUID = UUID.fromString(uuidPart(file.getName()));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid player data file name: " + file.getName());
+            return null;
+        }
+
+        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
+        PlayerRecord record = new PlayerRecord(playerUUID);
+
+        Set<String> skills = new LinkedHashSet<>(SkillRegistry.defaultSkills());
+        ConfigurationSection skillSection = config.getConfigurationSection("skills");
+        if (skillSection != null) {
+            skills.addAll(skillSection.getKeys(false));
+        }
+        for (String skill : skills) {
+            int level = config.getInt("skills." + skill + ".level", 1);
+            record.skills.put(skill, new int[]{
+                    level,
+                    config.getInt("skills." + skill + ".xp", 0),
+                    config.getInt("skills." + skill + ".total_earned", 0),
+                    config.getInt("skills." + skill + ".highest_level", level)
+            });
+        }
+
+        for (PlayerSetting<?> setting : PlayerSetting.values()) {
+            record.settings.put(setting.getName(), normalize(setting, config.getString(setting.getYamlPath())));
+        }
+
+        ConfigurationSection passiveSection = config.getConfigurationSection("passiveAbilities");
+        if (passiveSection != null) {
+            for (String skill : passiveSection.getKeys(false)) {
+                List<String> passives = passiveSection.getStringList(skill);
+                if (!passives.isEmpty()) {
+                    record.passives.put(skill, new HashSet<>(passives));
+                }
+            }
+        }
+        return record;
+    }
+
+    private static <T> String normalize(PlayerSetting<T> setting, String raw) {
+        return setting.serialize(setting.parse(raw));
+    }
+
+    /**
+     * Writes a batch of players in one transaction and records them in the checkpoint
+     */
+    private void writeBatch(List<PlayerRecord> batch, BufferedWriter checkpoint) throws IOException {
+        try (Connection conn = databaseManager.getConnection()) {
+            writeRecords(conn, batch);
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to migrate a batch of " + batch.size() + " players: " + e.getMessage());
+            filesFailed.addAndGet(batch.size());
+            return;
+        }
+
+        for (PlayerRecord record : batch) {
+            checkpoint.write(record.playerUUID.toString());
+            checkpoint.newLine();
+            rowsProcessed.addAndGet(record.rowCount());
+        }
+        checkpoint.flush();
+        filesDone.addAndGet(batch.size());
+    }
+
+    private void writeRecords(Connection conn, List<PlayerRecord> batch) throws SQLException {
+        LookupTable skillIds = databaseManager.getSkillIds();
+        LookupTable settingIds = databaseManager.getSettingIds();
+
+        // Register any new skill or setting names before the transaction starts
+        for (PlayerRecord record : batch) {
+            for (String skill : record.skills.keySet()) {
+                skillIds.idFor(conn, skill);
+            }
+            for (String skill : record.passives.keySet()) {
+                skillIds.idFor(conn, skill);
+            }
+            for (String setting : record.settings.keySet()) {
+                settingIds.idFor(conn, setting);
+            }
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement skills = conn.prepareStatement(databaseManager.buildUpsert("player_skills",
+                     new String[]{"player_uuid", "skill_id"}, "level", "xp", "total_earned", "highest_level"));
+             PreparedStatement settings = conn.prepareStatement(databaseManager.buildUpsert("player_settings",
+                     new String[]{"player_uuid", "setting_id"}, "setting_value"));
+             PreparedStatement clearPassives = conn.prepareStatement(
+                     "DELETE FROM player_passives WHERE player_uuid = ?");
+             PreparedStatement passives = conn.prepareStatement(
+                     "INSERT INTO player_passives (player_uuid, skill_id, passive_name) VALUES (?, ?, ?)")) {
+
+            for (PlayerRecord record : batch) {
+                byte[] uuid = DatabaseManager.uuidToBytes(record.playerUUID);
+                for (Map.Entry<String, int[]> skill : record.skills.entrySet()) {
+                    int[] values = skill.getValue();
+                    skills.setBytes(1, uuid);
+                    skills.setInt(2, skillIds.idFor(conn, skill.getKey()));
+                    skills.setInt(3, values[0]);
+                    skills.setInt(4, values[1]);
+                    skills.setInt(5, values[2]);
+                    skills.setInt(6, values[3]);
+                    skills.addBatch();
+                }
+                for (Map.Entry<String, String> setting : record.settings.entrySet()) {
+                    settings.setBytes(1, uuid);
+                    settings.setInt(2, settingIds.idFor(conn, setting.getKey()));
+                    settings.setString(3, setting.getValue());
+                    settings.addBatch();
+                }
+
+                // Passives are replaced wholesale so a re-run leaves exactly the YAML set
+                clearPassives.setBytes(1, uuid);
+                clearPassives.addBatch();
+                for (Map.Entry<String, Set<String>> skill : record.passives.entrySet()) {
+                    for (String passive : skill.getValue()) {
+                        passives.setBytes(1, uuid);
+                        passives.setInt(2, skillIds.idFor(conn, skill.getKey()));
+                        passives.setString(3, passive);
+                        passives.addBatch();
+                    }
+                }
+            }
+
+            skills.executeBatch();
+            settings.executeBatch();
+            clearPassives.executeBatch();
+            passives.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Compares a batch of players against the database and logs any differences
+     */
+    private void verifyBatch(List<PlayerRecord> batch, int logLimit) {
+        Map<UUID, PlayerRecord> stored = new HashMap<>();
+        for (PlayerRecord record : batch) {
+            stored.put(record.playerUUID, new PlayerRecord(record.playerUUID));
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+        LookupTable skillIds = databaseManager.getSkillIds();
+        LookupTable settingIds = databaseManager.getSettingIds();
+        try (Connection conn = databaseManager.getReadConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT player_uuid, skill_id, level, xp, total_earned, highest_level FROM player_skills " +
+                    "WHERE player_uuid IN (" + placeholders + ")")) {
+                bindUUIDs(stmt, batch);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        stored.get(DatabaseManager.uuidFromBytes(rs.getBytes("player_uuid"))).skills.put(
+                                String.valueOf(skillIds.nameFor(rs.getInt("skill_id"))),
+                                new int[]{rs.getInt("level"), rs.getInt("xp"), rs.getInt("total_earned"), rs.getInt("highest_level")});
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT player_uuid, setting_id, setting_value FROM player_settings " +
+                    "WHERE player_uuid IN (" + placeholders + ")")) {
+                bindUUIDs(stmt, batch);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        stored.get(DatabaseManager.uuidFromBytes(rs.getBytes("player_uuid"))).settings
+                                .put(String.valueOf(settingIds.nameFor(rs.getInt("setting_id"))), rs.getString("setting_value"));
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT player_uuid, skill_id, passive_name FROM player_passives " +
+                    "WHERE player_uuid IN (" + placeholders + ")")) {
+                bindUUIDs(stmt, batch);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        stored.get(DatabaseManager.uuidFromBytes(rs.getBytes("player_uuid"))).passives
+                                .computeIfAbsent(String.valueOf(skillIds.nameFor(rs.getInt("skill_id"))), k -> new HashSet<>())
+                                .add(rs.getString("passive_name"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to verify a batch of " + batch.size() + " players: " + e.getMessage());
+            filesFailed.addAndGet(batch.size());
+            return;
+        }
+
+        for (PlayerRecord record : batch) {
+            String difference = describeDifference(record, stored.get(record.playerUUID));
+            if (difference != null && mismatches.incrementAndGet() <= logLimit) {
+                plugin.getLogger().warning("Mismatch for " + record.playerUUID + ": " + difference);
+            }
+            rowsProcessed.addAndGet(record.rowCount());
+        }
+        filesDone.addAndGet(batch.size());
+    }
+
+    private static void bindUUIDs(PreparedStatement stmt, List<PlayerRecord> batch) throws SQLException {
+        for (int i = 0; i < batch.size(); i++) {
+            stmt.setBytes(i + 1, DatabaseManager.uuidToBytes(batch.get(i).playerUUID));
+        }
+    }
+
+    /**
+     * @return A description of the first difference found, or null if both sides match
+     */
+    private static String describeDifference(PlayerRecord yaml, PlayerRecord db) {
+        for (Map.Entry<String, int[]> skill : yaml.skills.entrySet()) {
+            int[] stored = db.skills.get(skill.getKey());
+            if (stored == null) {
+                return "skill " + skill.getKey() + " missing from database";
+            }
+            if (!Arrays.equals(skill.getValue(), stored)) {
+                return "skill " + skill.getKey() + " yaml=" + Arrays.toString(skill.getValue()) +
+                        " db=" + Arrays.toString(stored);
+            }
+        }
+        for (Map.Entry<String, String> setting : yaml.settings.entrySet()) {
+            String stored = db.settings.get(setting.getKey());
+            if (!setting.getValue().equals(stored)) {
+                return "setting " + setting.getKey() + " yaml=" + setting.getValue() + " db=" + stored;
+            }
+        }
+        if (!yaml.passives.equals(db.passives)) {
+            return "passives yaml=" + yaml.passives + " db=" + db.passives;
+        }
+        return null;
+    }
+
+    /**
+     * Migrates a single player file immediately on the calling thread
+     *
+     * @param playerFile The player's YAML file
+     * @return True if the player was written
+     */
+    public boolean migrateFile(File playerFile) {
+        PlayerRecord record = parse(playerFile);
+        if (record == null) {
+            return false;
+        }
+
+        try (Connection conn = databaseManager.getConnection()) {
+            writeRecords(conn, Collections.singletonList(record));
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to migrate player data: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private Set<String> readCheckpoint() {
+        File file = new File(plugin.getDataFolder(), CHECKPOINT_FILE);
+        if (!file.exists()) {
+            return Collections.emptySet();
+        }
+        try {
+            return new HashSet<>(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not read migration checkpoint, starting over: " + e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    private BufferedWriter openCheckpoint() throws IOException {
+        return Files.newBufferedWriter(new File(plugin.getDataFolder(), CHECKPOINT_FILE).toPath(),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void deleteCheckpoint() {
+        try {
+            Files.deleteIfExists(new File(plugin.getDataFolder(), CHECKPOINT_FILE).toPath());
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not delete the migration checkpoint: " + e.getMessage());
+        }
+    }
+
+    private static String uuidPart(String fileName) {
+        return fileName.substring(0, fileName.indexOf('.'));
+    }
+
+    /**
+     * Stops the current run after the batch in progress
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Cancels any run in progress and waits briefly for it to stop
+     */
+    public void shutdown() {
+        if (!running.get()) {
+            return;
+        }
+        cancel();
+        Thread thread = coordinator;
+        try {
+            if (thread != null) {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public boolean isVerifyMode() {
+        return verifyMode;
+    }
+
+    public int getFilesTotal() {
+        return filesTotal.get();
+    }
+
+    public int getFilesDone() {
+        return filesDone.get();
+    }
+
+    public int getFilesFailed() {
+        return filesFailed.get();
+    }
+
+    public int getFilesSkipped() {
+        return filesSkipped.get();
+    }
+
+    public int getMismatches() {
+        return mismatches.get();
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    /**
+     * @return Seconds since the current run started, or the duration of the last run
+     */
+    public double getElapsedSeconds() {
+        if (startNanos == 0) {
+            return 0.0;
+        }
+        long end = running.get() ? System.nanoTime() : endNanos;
+        return (end - startNanos) / 1_000_000_000.0;
+    }
+
+    public double getRowsPerSecond() {
+        double elapsed = getElapsedSeconds();
+        return elapsed <= 0 ? 0.0 : rowsProcessed.get() / elapsed;
+    }
+
+    /**
+     * @return Estimated seconds until the current run finishes, or -1 if unknown
+     */
+    public long getEtaSeconds() {
+        int done = filesDone.get() + filesFailed.get();
+        if (!running.get() || done == 0) {
+            return -1;
+        }
+        int remaining = filesTotal.get() - done;
+        return Math.round(getElapsedSeconds() / done * remaining);
+    }
+
+    private String getProgressLine() {
+        return String.format("%d/%d files, %d failed, %.0f rows/s", filesDone.get() + filesFailed.get(),
+                filesTotal.get(), filesFailed.get(), getRowsPerSecond());
+    }
+}
@@ -0,0 +1,101 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps everything in memory and loses it on restart. Used as a reference
+ * implementation by the storage benchmark and for throwaway test servers.
+ */
+public class InMemoryStorageBackend implements StorageBackend {
+    private final Map<UUID, StoredPlayer> players = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, Integer>> offlineXP = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return "Memory";
+    }
+
+    @Override
+    public CompletableFuture<StoredPlayer> loadPlayer(UUID playerUUID) {
+        StoredPlayer stored = players.get(playerUUID);
+        if (stored == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        synchronized (stored) {
+            return CompletableFuture.completedFuture(stored.copy());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hasPlayer(UUID playerUUID) {
+        return CompletableFuture.completedFuture(players.containsKey(playerUUID));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSkills(Collection<SkillRecord> records) {
+        for (SkillRecord record : records) {
+            StoredPlayer stored = players.computeIfAbsent(record.getPlayerUUID(), StoredPlayer::new);
+            synchronized (stored) {
+                stored.getSkills().put(record.getSkill(), record);
+            }
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> savePassives(UUID playerUUID, Map<String, Set<String>> passives) {
+        StoredPlayer stored = players.computeIfAbsent(playerUUID, StoredPlayer::new);
+        synchronized (stored) {
+            stored.getPassives().clear();
+            passives.forEach((skill, names) -> stored.getPassives().put(skill, new HashSet<>(names)));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSettings(UUID playerUUID, Map<String, String> settings) {
+        StoredPlayer stored = players.computeIfAbsent(playerUUID, StoredPlayer::new);
+        synchronized (stored) {
+            stored.getSettings().putAll(settings);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePlayer(UUID playerUUID) {
+        players.remove(playerUUID);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Integer> countPlayers() {
+        return CompletableFuture.completedFuture(players.size());
+    }
+
+    @Override
+    public CompletableFuture<Void> appendOfflineXP(Collection<XPDelta> deltas) {
+        for (XPDelta delta : deltas) {
+            offlineXP.computeIfAbsent(delta.getPlayerUUID(), k -> new ConcurrentHashMap<>())
+                    .merge(delta.getSkill(), delta.getAmount(), Integer::sum);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<List<XPDelta>> takeOfflineXP(UUID playerUUID) {
+        List<XPDelta> deltas = new ArrayList<>();
+        Map<String, Integer> skills = offlineXP.remove(playerUUID);
+        if (skills != null) {
+            skills.forEach((skill, amount) -> deltas.add(new XPDelta(playerUUID, skill, amount)));
+        }
+        return CompletableFuture.completedFuture(deltas);
+    }
+}
@@ -0,0 +1,356 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.DatabaseManager;
+import org.frizzlenpop.rPGSkillsPlugin.data.LookupTable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores players in the SQLite or MySQL tables managed by {@link DatabaseManager}.
+ * Both databases share this implementation; dialect differences are limited to
+ * the upsert syntax, which the database manager builds.
+ */
+public class JdbcStorageBackend implements StorageBackend {
+    private final RPGSkillsPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final String skillUpsert;
+    private final String settingUpsert;
+
+    // Last pending passive/setting/delete write per player, so they apply in call order
+    private final Map<UUID, CompletableFuture<Void>> playerWrites = new ConcurrentHashMap<>();
+
+    /**
+     * A unit of JDBC work that runs inside a transaction
+     */
+    private interface SqlWork {
+        void run(Connection conn) throws SQLException;
+    }
+
+    public JdbcStorageBackend(RPGSkillsPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.skillUpsert = databaseManager.buildUpsert("player_skills",
+                new String[]{"player_uuid", "skill_id"}, "level", "xp", "total_earned", "highest_level");
+        this.settingUpsert = databaseManager.buildUpsert("player_settings",
+                new String[]{"player_uuid", "setting_id"}, "setting_value");
+    }
+
+    @Override
+    public String getName() {
+        return databaseManager.isMySQL() ? "MySQL" : "SQLite";
+    }
+
+    @Override
+    public CompletableFuture<StoredPlayer> loadPlayer(UUID playerUUID) {
+        return databaseManager.executeReadAsync(conn -> {
+            StoredPlayer stored = new StoredPlayer(playerUUID);
+            byte[] uuid = DatabaseManager.uuidToBytes(playerUUID);
+            LookupTable skillIds = databaseManager.getSkillIds();
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT skill_id, level, xp, total_earned, highest_level FROM player_skills WHERE player_uuid = ?")) {
+                    stmt.setBytes(1, uuid);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            String skill = skillIds.nameFor(rs.getInt("skill_id"));
+                            if (skill == null) {
+                                continue;
+                            }
+                            int level = rs.getInt("level");
+                            stored.getSkills().put(skill, new SkillRecord(playerUUID, skill, level, rs.getInt("xp"),
+                                    rs.getInt("total_earned"), Math.max(level, rs.getInt("highest_level"))));
+                        }
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT skill_id, passive_name FROM player_passives WHERE player_uuid = ?")) {
+                    stmt.setBytes(1, uuid);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            String skill = skillIds.nameFor(rs.getInt("skill_id"));
+                            if (skill != null) {
+                                stored.getPassives().computeIfAbsent(skill, k -> new HashSet<>())
+                                        .add(rs.getString("passive_name"));
+                            }
+                        }
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT setting_id, setting_value FROM player_settings WHERE player_uuid = ?")) {
+                    stmt.setBytes(1, uuid);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            String setting = databaseManager.getSettingIds().nameFor(rs.getInt("setting_id"));
+                            if (setting != null) {
+                                stored.getSettings().put(setting, rs.getString("setting_value"));
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Error loading player data: " + e.getMessage());
+                throw new RuntimeException(e);
+            }
+            return stored.isEmpty() ? null : stored;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hasPlayer(UUID playerUUID) {
+        return databaseManager.executeReadAsync(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT 1 FROM player_skills WHERE player_uuid = ? LIMIT 1")) {
+                stmt.setBytes(1, DatabaseManager.uuidToBytes(playerUUID));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next();
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to check player data in database: " + e.getMessage());
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSkills(Collection<SkillRecord> records) {
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<SkillRecord> rows = new ArrayList<>(records);
+        return databaseManager.executeAsyncVoid(conn -> {
+            try {
+                // Resolve skill ids first; registering a new skill cannot happen inside the transaction
+                int[] skillIds = new int[rows.size()];
+                for (int i = 0; i < skillIds.length; i++) {
+                    skillIds[i] = databaseManager.getSkillIds().idFor(conn, rows.get(i).getSkill());
+                }
+
+                inTransaction(conn, c -> {
+                    try (PreparedStatement stmt = c.prepareStatement(skillUpsert)) {
+                        for (int i = 0; i < skillIds.length; i++) {
+                            SkillRecord row = rows.get(i);
+                            stmt.setBytes(1, DatabaseManager.uuidToBytes(row.getPlayerUUID()));
+                            stmt.setInt(2, skillIds[i]);
+                            stmt.setInt(3, row.getLevel());
+                            stmt.setInt(4, row.getXp());
+                            stmt.setInt(5, row.getTotalEarned());
+                            stmt.setInt(6, row.getHighestLevel());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                });
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to write " + rows.size() + " skill rows: " + e.getMessage());
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> savePassives(UUID playerUUID, Map<String, Set<String>> passives) {
+        return afterPreviousWrite(playerUUID, conn -> {
+            Map<String, Integer> skillIds = new HashMap<>();
+            for (String skill : passives.keySet()) {
+                skillIds.put(skill, databaseManager.getSkillIds().idFor(conn, skill));
+            }
+
+            inTransaction(conn, c -> {
+                byte[] uuid = DatabaseManager.uuidToBytes(playerUUID);
+                try (PreparedStatement stmt = c.prepareStatement("DELETE FROM player_passives WHERE player_uuid = ?")) {
+                    stmt.setBytes(1, uuid);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = c.prepareStatement(
+                        "INSERT INTO player_passives (player_uuid, skill_id, passive_name) VALUES (?, ?, ?)")) {
+                    for (Map.Entry<String, Set<String>> entry : passives.entrySet()) {
+                        for (String passive : entry.getValue()) {
+                            stmt.setBytes(1, uuid);
+                            stmt.setInt(2, skillIds.get(entry.getKey()));
+                            stmt.setString(3, passive);
+                            stmt.addBatch();
+                        }
+                    }
+                    stmt.executeBatch();
+                }
+            });
+        }, "Error saving player passives");
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSettings(UUID playerUUID, Map<String, String> settings) {
+        return afterPreviousWrite(playerUUID, conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(settingUpsert)) {
+                for (Map.Entry<String, String> entry : settings.entrySet()) {
+                    stmt.setBytes(1, DatabaseManager.uuidToBytes(playerUUID));
+                    stmt.setInt(2, databaseManager.getSettingIds().idFor(conn, entry.getKey()));
+                    stmt.setString(3, entry.getValue());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }, "Error saving player settings");
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePlayer(UUID playerUUID) {
+        return afterPreviousWrite(playerUUID, conn -> inTransaction(conn, c -> {
+            byte[] uuid = DatabaseManager.uuidToBytes(playerUUID);
+            for (String table : new String[]{"player_skills", "player_passives", "player_settings"}) {
+                try (PreparedStatement stmt = c.prepareStatement("DELETE FROM " + table + " WHERE player_uuid = ?")) {
+                    stmt.setBytes(1, uuid);
+                    stmt.executeUpdate();
+                }
+            }
+        }), "Error deleting player data");
+    }
+
+    @Override
+    public CompletableFuture<Integer> countPlayers() {
+        return databaseManager.executeReadAsync(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(DISTINCT player_uuid) FROM player_skills");
+                 ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Error counting players: " + e.getMessage());
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> appendOfflineXP(Collection<XPDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<XPDelta> rows = new ArrayList<>(deltas);
+        return databaseManager.executeAsyncVoid(conn -> {
+            try {
+                int[] skillIds = new int[rows.size()];
+                for (int i = 0; i < skillIds.length; i++) {
+                    skillIds[i] = databaseManager.getSkillIds().idFor(conn, rows.get(i).getSkill());
+                }
+
+                inTransaction(conn, c -> {
+                    try (PreparedStatement stmt = c.prepareStatement(
+                            "INSERT INTO offline_xp (player_uuid, skill_id, amount) VALUES (?, ?, ?)")) {
+                        for (int i = 0; i < skillIds.length; i++) {
+                            XPDelta row = rows.get(i);
+                            stmt.setBytes(1, DatabaseManager.uuidToBytes(row.getPlayerUUID()));
+                            stmt.setInt(2, skillIds[i]);
+                            stmt.setInt(3, row.getAmount());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                });
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to journal " + rows.size() + " offline XP rows: " + e.getMessage());
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<XPDelta>> takeOfflineXP(UUID playerUUID) {
+        return databaseManager.executeAsync(conn -> {
+            Map<String, Integer> amounts = new HashMap<>();
+            try {
+                inTransaction(conn, c -> {
+                    byte[] uuid = DatabaseManager.uuidToBytes(playerUUID);
+                    // Only delete the rows that were read; rows appended meanwhile wait for the next login
+                    long lastId = -1L;
+                    try (PreparedStatement stmt = c.prepareStatement(
+                            "SELECT id, skill_id, amount FROM offline_xp WHERE player_uuid = ?")) {
+                        stmt.setBytes(1, uuid);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                lastId = Math.max(lastId, rs.getLong("id"));
+                                String skill = databaseManager.getSkillIds().nameFor(rs.getInt("skill_id"));
+                                if (skill != null) {
+                                    amounts.merge(skill, rs.getInt("amount"), Integer::sum);
+                                }
+                            }
+                        }
+                    }
+                    if (lastId >= 0) {
+                        try (PreparedStatement stmt = c.prepareStatement(
+                                "DELETE FROM offline_xp WHERE player_uuid = ? AND id <= ?")) {
+                            stmt.setBytes(1, uuid);
+                            stmt.setLong(2, lastId);
+                            stmt.executeUpdate();
+                        }
+                    }
+                });
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to read offline XP: " + e.getMessage());
+                throw new RuntimeException(e);
+            }
+
+            List<XPDelta> deltas = new ArrayList<>();
+            amounts.forEach((skill, amount) -> deltas.add(new XPDelta(playerUUID, skill, amount)));
+            return deltas;
+        });
+    }
+
+    /**
+     * Runs a write for a player once the previous write for that player has finished
+     */
+    private CompletableFuture<Void> afterPreviousWrite(UUID playerUUID, SqlWork work, String errorMessage) {
+        CompletableFuture<Void> next = playerWrites.compute(playerUUID, (uuid, previous) -> {
+            CompletableFuture<Void> start = previous == null
+                    ? CompletableFuture.completedFuture(null)
+                    : previous.exceptionally(error -> null);
+            return start.thenCompose(ignored -> databaseManager.executeAsyncVoid(conn -> {
+                try {
+                    work.run(conn);
+                } catch (SQLException e) {
+                    plugin.getLogger().severe(errorMessage + ": " + e.getMessage());
+                    throw new RuntimeException(e);
+                }
+            }));
+        });
+        next.whenComplete((result, error) -> playerWrites.remove(playerUUID, next));
+        return next;
+    }
+
+    private void inTransaction(Connection conn, SqlWork work) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            work.run(conn);
+            conn.commit();
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException ignored) {
+                // Connection is already broken
+            }
+            throw e;
+        } finally {
+            try {
+                conn.setAutoCommit(autoCommit);
+            } catch (SQLException ignored) {
+                // Connection is already broken
+            }
+        }
+    }
+}
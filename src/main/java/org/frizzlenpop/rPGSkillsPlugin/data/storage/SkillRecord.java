@@ -0,0 +1,69 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Stored state of one skill for one player
+ */
+public final class SkillRecord {
+    private final UUID playerUUID;
+    private final String skill;
+    private final int level;
+    private final int xp;
+    private final int totalEarned;
+    private final int highestLevel;
+
+    public SkillRecord(UUID playerUUID, String skill, int level, int xp, int totalEarned, int highestLevel) {
+        this.playerUUID = playerUUID;
+        this.skill = skill;
+        this.level = level;
+        this.xp = xp;
+        this.totalEarned = totalEarned;
+        this.highestLevel = highestLevel;
+    }
+
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    public String getSkill() {
+        return skill;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getXp() {
+        return xp;
+    }
+
+    public int getTotalEarned() {
+        return totalEarned;
+    }
+
+    public int getHighestLevel() {
+        return highestLevel;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SkillRecord)) return false;
+        SkillRecord other = (SkillRecord) o;
+        return level == other.level && xp == other.xp && totalEarned == other.totalEarned
+                && highestLevel == other.highestLevel
+                && playerUUID.equals(other.playerUUID) && skill.equals(other.skill);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(playerUUID, skill, level, xp, totalEarned, highestLevel);
+    }
+
+    @Override
+    public String toString() {
+        return skill + "[level=" + level + ", xp=" + xp + ", total=" + totalEarned + ", highest=" + highestLevel + "]";
+    }
+}
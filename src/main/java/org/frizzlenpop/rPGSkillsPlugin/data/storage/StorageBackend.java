@@ -0,0 +1,99 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persistence for per-player skill, passive and setting data.
+ * Every method is asynchronous; a backend that can answer from memory returns
+ * an already completed future. Passive, setting and delete calls for the same
+ * player are applied in the order they were made; skill batches are not ordered
+ * against each other, so callers wait for one batch before sending the next.
+ * Failed operations complete exceptionally.
+ * <p>
+ * Skill tree progress and owned mounts stay in the player's YAML profile, and
+ * mount keys and parties in their own files, whichever backend is active.
+ */
+public interface StorageBackend {
+
+    /**
+     * @return A short name for logs and commands, e.g. "SQLite"
+     */
+    String getName();
+
+    /**
+     * Loads everything stored for a player
+     *
+     * @param playerUUID The player's UUID
+     * @return A future completed with the stored data, or null if nothing is stored
+     */
+    CompletableFuture<StoredPlayer> loadPlayer(UUID playerUUID);
+
+    /**
+     * Checks whether anything is stored for a player
+     *
+     * @param playerUUID The player's UUID
+     * @return A future completed with true if the player has data
+     */
+    CompletableFuture<Boolean> hasPlayer(UUID playerUUID);
+
+    /**
+     * Inserts or replaces a batch of skill records, possibly for many players
+     *
+     * @param records The records to write
+     * @return A future completed once the whole batch is stored
+     */
+    CompletableFuture<Void> saveSkills(Collection<SkillRecord> records);
+
+    /**
+     * Replaces all passives of a player
+     *
+     * @param playerUUID The player's UUID
+     * @param passives Unlocked passive names by skill name
+     * @return A future completed once the passives are stored
+     */
+    CompletableFuture<Void> savePassives(UUID playerUUID, Map<String, Set<String>> passives);
+
+    /**
+     * Inserts or replaces the given settings of a player, leaving others untouched
+     *
+     * @param playerUUID The player's UUID
+     * @param settings Raw setting values by setting name
+     * @return A future completed once the settings are stored
+     */
+    CompletableFuture<Void> saveSettings(UUID playerUUID, Map<String, String> settings);
+
+    /**
+     * Removes everything stored for a player
+     *
+     * @param playerUUID The player's UUID
+     * @return A future completed once the data is gone
+     */
+    CompletableFuture<Void> deletePlayer(UUID playerUUID);
+
+    /**
+     * @return A future completed with the number of players that have stored data
+     */
+    CompletableFuture<Integer> countPlayers();
+
+    /**
+     * Appends XP earned by offline players to the offline XP journal. Does not
+     * load or touch the players' stored skills.
+     *
+     * @param deltas The XP to append, possibly for many players
+     * @return A future completed once the whole batch is stored
+     */
+    CompletableFuture<Void> appendOfflineXP(Collection<XPDelta> deltas);
+
+    /**
+     * Removes and returns a player's journaled offline XP
+     *
+     * @param playerUUID The player's UUID
+     * @return A future completed with one delta per skill, empty if there is none
+     */
+    CompletableFuture<List<XPDelta>> takeOfflineXP(UUID playerUUID);
+}
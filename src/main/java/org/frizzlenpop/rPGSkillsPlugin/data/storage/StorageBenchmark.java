@@ -0,0 +1,220 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import org.frizzlenpop.rPGSkillsPlugin.skills.SkillRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-game throughput measurement that runs the same scenario against any
+ * {@link StorageBackend}, preceded by a quick check of the basic save and load
+ * behaviour so the numbers are not taken from a broken backend. It is not a
+ * conformance suite. Only synthetic random UUIDs are used and everything
+ * written is deleted again, so it is safe to run against live storage.
+ * {@link #run()} blocks and must not be called on the main thread.
+ */
+public class StorageBenchmark {
+    private static final List<String> SKILLS = SkillRegistry.defaultSkills();
+    private static final int BATCH_SIZE = 500;
+    private static final long TIMEOUT_SECONDS = 60L;
+
+    private final StorageBackend backend;
+    private final int players;
+    private final Runnable settle;
+
+    /**
+     * Outcome of a benchmark run
+     */
+    public static final class Result {
+        private final String backend;
+        private final int players;
+        private final List<String> failures = new ArrayList<>();
+        private long skillRows;
+        private long writeNanos;
+        private long readNanos;
+
+        Result(String backend, int players) {
+            this.backend = backend;
+            this.players = players;
+        }
+
+        public String getBackend() {
+            return backend;
+        }
+
+        public int getPlayers() {
+            return players;
+        }
+
+        /**
+         * @return Descriptions of every sanity check that failed
+         */
+        public List<String> getFailures() {
+            return failures;
+        }
+
+        public double getWriteRowsPerSecond() {
+            return writeNanos == 0 ? 0.0 : skillRows / (writeNanos / 1_000_000_000.0);
+        }
+
+        public double getReadPlayersPerSecond() {
+            return readNanos == 0 ? 0.0 : players / (readNanos / 1_000_000_000.0);
+        }
+
+        public double getWriteMillis() {
+            return writeNanos / 1_000_000.0;
+        }
+
+        public double getReadMillis() {
+            return readNanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * @param backend The backend to test
+     * @param players How many synthetic players to write and read back
+     * @param settle Runs after the write phase and is timed with it, e.g. to wait for
+     *               write-behind data to reach disk; may be null
+     */
+    public StorageBenchmark(StorageBackend backend, int players, Runnable settle) {
+        this.backend = backend;
+        this.players = players;
+        this.settle = settle;
+    }
+
+    /**
+     * Runs the sanity checks and then the throughput measurement
+     *
+     * @return The result
+     * @throws Exception If the backend failed outright
+     */
+    public Result run() throws Exception {
+        Result result = new Result(backend.getName(), players);
+        checkBasics(result);
+
+        List<UUID> uuids = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        try {
+            measure(result, uuids);
+        } finally {
+            List<CompletableFuture<Void>> deletes = new ArrayList<>(uuids.size());
+            for (UUID uuid : uuids) {
+                deletes.add(backend.deletePlayer(uuid));
+            }
+            await(CompletableFuture.allOf(deletes.toArray(new CompletableFuture[0])));
+        }
+        return result;
+    }
+
+    private void checkBasics(Result result) throws Exception {
+        UUID uuid = UUID.randomUUID();
+        try {
+            check(result, await(backend.loadPlayer(uuid)) == null, "unknown player loads as null");
+            check(result, !await(backend.hasPlayer(uuid)), "unknown player does not exist");
+
+            SkillRecord mining = new SkillRecord(uuid, "mining", 12, 340, 5120, 12);
+            SkillRecord farming = new SkillRecord(uuid, "farming", 3, 20, 410, 4);
+            await(backend.saveSkills(Arrays.asList(mining, farming)));
+            check(result, await(backend.hasPlayer(uuid)), "player exists after saving skills");
+
+            SkillRecord miningUpdated = new SkillRecord(uuid, "mining", 13, 5, 5200, 13);
+            await(backend.saveSkills(List.of(miningUpdated)));
+
+            Map<String, Set<String>> passives = new HashMap<>();
+            passives.put("mining", new HashSet<>(Arrays.asList("doubleOre", "autoSmelt")));
+            await(backend.savePassives(uuid, passives));
+            Map<String, Set<String>> replaced = new HashMap<>();
+            replaced.put("farming", new HashSet<>(List.of("doubleCrops")));
+            await(backend.savePassives(uuid, replaced));
+
+            await(backend.saveSettings(uuid, Map.of("scoreboard", "false")));
+            await(backend.saveSettings(uuid, Map.of("show_rpg_hub_on_login", "true")));
+
+            StoredPlayer stored = await(backend.loadPlayer(uuid));
+            if (stored == null) {
+                result.failures.add("player loads after saving");
+            } else {
+                check(result, miningUpdated.equals(stored.getSkills().get("mining")),
+                        "skill update replaces the row (got " + stored.getSkills().get("mining") + ")");
+                check(result, farming.equals(stored.getSkills().get("farming")),
+                        "other skills are untouched (got " + stored.getSkills().get("farming") + ")");
+                check(result, stored.getSkills().size() == 2, "exactly the saved skills load back");
+                check(result, replaced.equals(stored.getPassives()),
+                        "saving passives replaces all passives (got " + stored.getPassives() + ")");
+                check(result, Objects.equals("false", stored.getSettings().get("scoreboard"))
+                                && Objects.equals("true", stored.getSettings().get("show_rpg_hub_on_login")),
+                        "saving settings merges with stored ones (got " + stored.getSettings() + ")");
+            }
+
+            check(result, await(backend.countPlayers()) >= 1, "stored player is counted");
+
+            await(backend.deletePlayer(uuid));
+            check(result, await(backend.loadPlayer(uuid)) == null, "deleted player loads as null");
+            check(result, !await(backend.hasPlayer(uuid)), "deleted player does not exist");
+        } finally {
+            await(backend.deletePlayer(uuid));
+        }
+    }
+
+    private void measure(Result result, List<UUID> uuids) throws Exception {
+        List<SkillRecord> batch = new ArrayList<>(BATCH_SIZE);
+        long start = System.nanoTime();
+        for (UUID uuid : uuids) {
+            for (int i = 0; i < SKILLS.size(); i++) {
+                batch.add(new SkillRecord(uuid, SKILLS.get(i), i + 1, i * 10, i * 100, i + 1));
+                if (batch.size() == BATCH_SIZE) {
+                    // One batch in flight at a time, like the skill write queue
+                    await(backend.saveSkills(batch));
+                    result.skillRows += batch.size();
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            await(backend.saveSkills(batch));
+            result.skillRows += batch.size();
+        }
+        if (settle != null) {
+            settle.run();
+        }
+        result.writeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<CompletableFuture<StoredPlayer>> loads = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            loads.add(backend.loadPlayer(uuid));
+        }
+        int incomplete = 0;
+        for (CompletableFuture<StoredPlayer> load : loads) {
+            StoredPlayer stored = await(load);
+            if (stored == null || stored.getSkills().size() != SKILLS.size()) {
+                incomplete++;
+            }
+        }
+        result.readNanos = System.nanoTime() - start;
+
+        check(result, incomplete == 0, incomplete + " players did not load back all skills");
+    }
+
+    private static void check(Result result, boolean passed, String description) {
+        if (!passed) {
+            result.failures.add(description);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
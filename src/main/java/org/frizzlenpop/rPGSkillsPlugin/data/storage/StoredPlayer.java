@@ -0,0 +1,66 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Everything a storage backend holds for one player
+ */
+public final class StoredPlayer {
+    private final UUID playerUUID;
+    private final Map<String, SkillRecord> skills = new HashMap<>();
+    private final Map<String, Set<String>> passives = new HashMap<>();
+    private final Map<String, String> settings = new HashMap<>();
+
+    public StoredPlayer(UUID playerUUID) {
+        this.playerUUID = playerUUID;
+    }
+
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    /**
+     * @return Skill records by skill name
+     */
+    public Map<String, SkillRecord> getSkills() {
+        return skills;
+    }
+
+    /**
+     * @return Unlocked passive names by skill name
+     */
+    public Map<String, Set<String>> getPassives() {
+        return passives;
+    }
+
+    /**
+     * @return Raw setting values by setting name
+     */
+    public Map<String, String> getSettings() {
+        return settings;
+    }
+
+    /**
+     * @return True if nothing is stored for the player
+     */
+    public boolean isEmpty() {
+        return skills.isEmpty() && passives.isEmpty() && settings.isEmpty();
+    }
+
+    /**
+     * Creates a deep copy, so callers can keep the result without sharing state with a backend
+     *
+     * @return The copy
+     */
+    public StoredPlayer copy() {
+        StoredPlayer copy = new StoredPlayer(playerUUID);
+        copy.skills.putAll(skills);
+        passives.forEach((skill, names) -> copy.passives.put(skill, new HashSet<>(names)));
+        copy.settings.putAll(settings);
+        return copy;
+    }
+}
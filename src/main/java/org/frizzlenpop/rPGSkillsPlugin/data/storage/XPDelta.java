@@ -0,0 +1,35 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import java.util.UUID;
+
+/**
+ * XP earned by a player while offline, waiting to be applied on their next login
+ */
+public final class XPDelta {
+    private final UUID playerUUID;
+    private final String skill;
+    private final int amount;
+
+    public XPDelta(UUID playerUUID, String skill, int amount) {
+        this.playerUUID = playerUUID;
+        this.skill = skill;
+        this.amount = amount;
+    }
+
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    public String getSkill() {
+        return skill;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return skill + "[player=" + playerUUID + ", amount=" + amount + "]";
+    }
+}
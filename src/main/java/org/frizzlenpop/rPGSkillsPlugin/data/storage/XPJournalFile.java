@@ -0,0 +1,140 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only text journal of offline XP for the YAML backend, so XP earned while
+ * offline never has to load a player's profile. Each line is either
+ * {@code <uuid> <skill> <amount>} or {@code <uuid> -}, which marks everything before
+ * it for that player as applied. The file is read once, kept summed in memory and
+ * rewritten without the applied entries once enough of them have piled up.
+ * Not thread safe; the YAML backend only uses it from the profile writer thread.
+ */
+final class XPJournalFile {
+    // Applied markers tolerated before the file is rewritten
+    private static final int COMPACT_AFTER = 256;
+
+    private final File file;
+    private Map<UUID, Map<String, Integer>> pending;
+    private int appliedMarkers;
+
+    XPJournalFile(File file) {
+        this.file = file;
+    }
+
+    void append(Collection<XPDelta> deltas) {
+        load();
+        StringBuilder lines = new StringBuilder(deltas.size() * 56);
+        for (XPDelta delta : deltas) {
+            lines.append(delta.getPlayerUUID()).append(' ').append(delta.getSkill())
+                    .append(' ').append(delta.getAmount()).append('\n');
+        }
+        write(lines.toString());
+
+        // Only count what reached the file
+        for (XPDelta delta : deltas) {
+            pending.computeIfAbsent(delta.getPlayerUUID(), k -> new HashMap<>())
+                    .merge(delta.getSkill(), delta.getAmount(), Integer::sum);
+        }
+    }
+
+    List<XPDelta> take(UUID playerUUID) {
+        load();
+        List<XPDelta> deltas = new ArrayList<>();
+        Map<String, Integer> skills = pending.remove(playerUUID);
+        if (skills == null) {
+            return deltas;
+        }
+
+        try {
+            if (appliedMarkers + 1 >= COMPACT_AFTER) {
+                compact();
+            } else {
+                write(playerUUID + " -\n");
+                appliedMarkers++;
+            }
+        } catch (UncheckedIOException e) {
+            // Still in the file, so keep it pending rather than applying it twice later
+            pending.put(playerUUID, skills);
+            throw e;
+        }
+
+        skills.forEach((skill, amount) -> deltas.add(new XPDelta(playerUUID, skill, amount)));
+        return deltas;
+    }
+
+    private void load() {
+        if (pending != null) {
+            return;
+        }
+
+        pending = new LinkedHashMap<>();
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                String[] parts = line.trim().split(" ");
+                try {
+                    UUID playerUUID = UUID.fromString(parts[0]);
+                    if (parts.length == 2 && parts[1].equals("-")) {
+                        pending.remove(playerUUID);
+                        appliedMarkers++;
+                    } else if (parts.length == 3) {
+                        pending.computeIfAbsent(playerUUID, k -> new HashMap<>())
+                                .merge(parts[1], Integer.parseInt(parts[2]), Integer::sum);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // A torn last line from a crash; the entries before it are still valid
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file.getName(), e);
+        }
+        if (appliedMarkers > 0) {
+            compact();
+        }
+    }
+
+    private void write(String lines) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Rewrites the file with only the entries that are still pending
+     */
+    private void compact() {
+        StringBuilder lines = new StringBuilder();
+        pending.forEach((playerUUID, skills) -> skills.forEach((skill, amount) ->
+                lines.append(playerUUID).append(' ').append(skill).append(' ').append(amount).append('\n')));
+
+        Path temp = new File(file.getParentFile(), file.getName() + ".tmp").toPath();
+        try {
+            Files.writeString(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appliedMarkers = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact " + file.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.frizzlenpop.rPGSkillsPlugin.data.PlayerSetting;
+import org.frizzlenpop.rPGSkillsPlugin.data.ProfileStore;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores players in their YAML profiles. Profiles are resident, so every call
+ * completes immediately; the {@link ProfileStore} writes changed files to disk
+ * in the background. Offline XP goes to a separate journal file, handled on the
+ * profile writer thread.
+ */
+public class YamlStorageBackend implements StorageBackend {
+    private final ProfileStore profiles;
+    private final XPJournalFile offlineXP;
+
+    public YamlStorageBackend(ProfileStore profiles) {
+        this.profiles = profiles;
+        this.offlineXP = new XPJournalFile(new File(profiles.getFolder(), "offline_xp.journal"));
+    }
+
+    @Override
+    public String getName() {
+        return "YAML";
+    }
+
+    @Override
+    public CompletableFuture<StoredPlayer> loadPlayer(UUID playerUUID) {
+        if (!profiles.exists(playerUUID)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        try {
+            return CompletableFuture.completedFuture(read(playerUUID, profiles.get(playerUUID)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private StoredPlayer read(UUID playerUUID, FileConfiguration config) {
+        StoredPlayer stored = new StoredPlayer(playerUUID);
+
+        ConfigurationSection skills = config.getConfigurationSection("skills");
+        if (skills != null) {
+            for (String skill : skills.getKeys(false)) {
+                int level = skills.getInt(skill + ".level", 1);
+                stored.getSkills().put(skill, new SkillRecord(playerUUID, skill, level,
+                        skills.getInt(skill + ".xp", 0),
+                        skills.getInt(skill + ".total_earned", 0),
+                        Math.max(level, skills.getInt(skill + ".highest_level", 1))));
+            }
+        }
+
+        ConfigurationSection passives = config.getConfigurationSection("passiveAbilities");
+        if (passives != null) {
+            for (String skill : passives.getKeys(false)) {
+                stored.getPassives().put(skill, new HashSet<>(passives.getStringList(skill)));
+            }
+        }
+
+        for (PlayerSetting<?> setting : PlayerSetting.values()) {
+            String value = config.getString(setting.getYamlPath());
+            if (value != null) {
+                stored.getSettings().put(setting.getName(), value);
+            }
+        }
+        ConfigurationSection preferences = config.getConfigurationSection("preferences");
+        if (preferences != null) {
+            for (String name : preferences.getKeys(false)) {
+                stored.getSettings().putIfAbsent(name, preferences.getString(name));
+            }
+        }
+        return stored;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hasPlayer(UUID playerUUID) {
+        return CompletableFuture.completedFuture(profiles.exists(playerUUID));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSkills(Collection<SkillRecord> records) {
+        try {
+            for (SkillRecord record : records) {
+                FileConfiguration config = profiles.get(record.getPlayerUUID());
+                String path = "skills." + record.getSkill();
+                config.set(path + ".level", record.getLevel());
+                config.set(path + ".xp", record.getXp());
+                config.set(path + ".total_earned", record.getTotalEarned());
+                config.set(path + ".highest_level", record.getHighestLevel());
+                profiles.markDirty(record.getPlayerUUID());
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> savePassives(UUID playerUUID, Map<String, Set<String>> passives) {
+        try {
+            FileConfiguration config = profiles.get(playerUUID);
+            config.set("passiveAbilities", null);
+            config.createSection("passiveAbilities");
+            for (Map.Entry<String, Set<String>> entry : passives.entrySet()) {
+                config.set("passiveAbilities." + entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+            profiles.markDirty(playerUUID);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSettings(UUID playerUUID, Map<String, String> settings) {
+        try {
+            FileConfiguration config = profiles.get(playerUUID);
+            for (Map.Entry<String, String> entry : settings.entrySet()) {
+                PlayerSetting<?> setting = PlayerSetting.byName(entry.getKey());
+                if (setting != null) {
+                    // Keep typed values in the file, e.g. booleans rather than "true"
+                    config.set(setting.getYamlPath(), setting.parse(entry.getValue()));
+                } else {
+                    config.set("preferences." + entry.getKey(), entry.getValue());
+                }
+            }
+            profiles.markDirty(playerUUID);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePlayer(UUID playerUUID) {
+        return profiles.delete(playerUUID);
+    }
+
+    @Override
+    public CompletableFuture<Integer> countPlayers() {
+        return CompletableFuture.completedFuture(profiles.countFiles());
+    }
+
+    @Override
+    public CompletableFuture<Void> appendOfflineXP(Collection<XPDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<XPDelta> rows = new ArrayList<>(deltas);
+        return profiles.supplyOnWriter(() -> {
+            offlineXP.append(rows);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<XPDelta>> takeOfflineXP(UUID playerUUID) {
+        return profiles.supplyOnWriter(() -> offlineXP.take(playerUUID));
+    }
+}
@@ -471,6 +471,7 @@ public class PartyPerksGUI implements Listener {
         Set<UUID> owners = purchasedPerks.getOrDefault(clickedPerkId, new HashSet<>());
         owners.add(leaderUUID);
         purchasedPerks.put(clickedPerkId, owners);
+        partyManager.markPartyChanged();
         
         // Save purchased perks
         savePurchasedPerks();
@@ -571,7 +572,7 @@ public class PartyPerksGUI implements Listener {
                 }
             }
         } else if (perkId.equals("offline_xp")) {
-            // Handle offline XP perk - this is handled by PartyManager.calculateSharedXp()
+            // Handle offline XP perk - offline members accrue shared XP in the OfflineXPQueue
             if (purchased) {
                 for (UUID memberUUID : members) {
                     Player member = Bukkit.getPlayer(memberUUID);
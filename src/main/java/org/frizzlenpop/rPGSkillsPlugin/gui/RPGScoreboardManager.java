@@ -29,12 +29,11 @@ import org.bukkit.scoreboard.Scoreboard;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
 import org.frizzlenpop.rPGSkillsPlugin.data.PartyManager;
 import org.frizzlenpop.rPGSkillsPlugin.data.PlayerDataManager;
+import org.frizzlenpop.rPGSkillsPlugin.data.PlayerSetting;
 import org.frizzlenpop.rPGSkillsPlugin.skills.XPManager;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -56,9 +55,6 @@ public class RPGScoreboardManager {
             "mining", "logging", "farming", "fishing", "fighting", "enchanting", "excavation", "repair"
     );
     
-    // Map to store players who want to see the scoreboard
-    private final Map<UUID, Boolean> scoreboardEnabled = new HashMap<>();
-    
     // Scoreboard update task ID
     private int taskId = -1;
     
@@ -71,6 +67,14 @@ public class RPGScoreboardManager {
         this.xpManager = plugin.getXpManager();
         this.partyManager = plugin.getPartyManager();
         
+        // Clear the sidebar whenever the setting is turned off, including when a
+        // stored preference arrives after the player joined
+        playerDataManager.getSettingsStore().addListener(PlayerSetting.SCOREBOARD, (playerUUID, oldValue, newValue) -> {
+            if (!newValue) {
+                clearScoreboard(playerUUID);
+            }
+        });
+        
         // Start the scoreboard update task
         startScoreboardTask();
     }
@@ -103,13 +107,8 @@ public class RPGScoreboardManager {
      * @return true if enabled, false otherwise
      */
     public boolean isScoreboardEnabled(UUID playerUUID) {
-        // Load preference from map or player data
-        if (!scoreboardEnabled.containsKey(playerUUID)) {
-            boolean enabled = playerDataManager.getScoreboardEnabled(playerUUID);
-            scoreboardEnabled.put(playerUUID, enabled);
-        }
-        
-        return scoreboardEnabled.getOrDefault(playerUUID, true);
+        // Served from the in-memory settings store
+        return playerDataManager.getScoreboardEnabled(playerUUID);
     }
     
     /**
@@ -120,23 +119,25 @@ public class RPGScoreboardManager {
     public boolean toggleScoreboard(UUID playerUUID) {
         boolean newState = !isScoreboardEnabled(playerUUID);
         
-        // Update map and player data
-        scoreboardEnabled.put(playerUUID, newState);
+        // Update player data; the settings listener removes the scoreboard if disabled
         playerDataManager.setScoreboardEnabled(playerUUID, newState);
         
-        // If disabled, remove the scoreboard
-        if (!newState) {
-            Player player = Bukkit.getPlayer(playerUUID);
-            if (player != null) {
-                // Using fully qualified name for consistency
-                org.bukkit.scoreboard.ScoreboardManager bukkitScoreboardManager = Bukkit.getScoreboardManager();
-                if (bukkitScoreboardManager != null) {
-                    player.setScoreboard(bukkitScoreboardManager.getNewScoreboard());
-                }
+        return newState;
+    }
+    
+    /**
+     * Remove the RPG scoreboard from a player
+     * @param playerUUID The player's UUID
+     */
+    private void clearScoreboard(UUID playerUUID) {
+        Player player = Bukkit.getPlayer(playerUUID);
+        if (player != null) {
+            // Using fully qualified name for consistency
+            org.bukkit.scoreboard.ScoreboardManager bukkitScoreboardManager = Bukkit.getScoreboardManager();
+            if (bukkitScoreboardManager != null) {
+                player.setScoreboard(bukkitScoreboardManager.getNewScoreboard());
             }
         }
-        
-        return newState;
     }
     
     /**
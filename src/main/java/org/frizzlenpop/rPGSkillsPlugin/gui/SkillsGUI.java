@@ -3,7 +3,6 @@ package org.frizzlenpop.rPGSkillsPlugin.gui;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -45,17 +44,16 @@ public class SkillsGUI implements Listener {
         Inventory gui = Bukkit.createInventory(null, 27, "§aYour Skills");
 
         UUID playerUUID = player.getUniqueId();
-        FileConfiguration config = dataManager.getPlayerData(playerUUID);
 
         // Add each skill to the menu
-        gui.setItem(10, createSkillIcon(Material.IRON_PICKAXE, "Mining", "mining", config));
-        gui.setItem(11, createSkillIcon(Material.IRON_AXE, "Logging", "logging", config));
-        gui.setItem(12, createSkillIcon(Material.WHEAT, "Farming", "farming", config));
-        gui.setItem(13, createSkillIcon(Material.IRON_SWORD, "Fighting", "fighting", config));
-        gui.setItem(14, createSkillIcon(Material.FISHING_ROD, "Fishing", "fishing", config));
-        gui.setItem(15, createSkillIcon(Material.ENCHANTING_TABLE, "Enchanting", "enchanting", config));
-        gui.setItem(16, createSkillIcon(Material.IRON_SHOVEL, "Excavation", "excavation", config));
-        gui.setItem(17, createSkillIcon(Material.ANVIL, "Repair", "repair", config));
+        gui.setItem(10, createSkillIcon(Material.IRON_PICKAXE, "Mining", "mining", playerUUID));
+        gui.setItem(11, createSkillIcon(Material.IRON_AXE, "Logging", "logging", playerUUID));
+        gui.setItem(12, createSkillIcon(Material.WHEAT, "Farming", "farming", playerUUID));
+        gui.setItem(13, createSkillIcon(Material.IRON_SWORD, "Fighting", "fighting", playerUUID));
+        gui.setItem(14, createSkillIcon(Material.FISHING_ROD, "Fishing", "fishing", playerUUID));
+        gui.setItem(15, createSkillIcon(Material.ENCHANTING_TABLE, "Enchanting", "enchanting", playerUUID));
+        gui.setItem(16, createSkillIcon(Material.IRON_SHOVEL, "Excavation", "excavation", playerUUID));
+        gui.setItem(17, createSkillIcon(Material.ANVIL, "Repair", "repair", playerUUID));
 
         // Add exit button
         gui.setItem(18, createExitButton());
@@ -64,7 +62,7 @@ public class SkillsGUI implements Listener {
     }
 
     // Original method used for the main menu icons (unchanged)
-    private ItemStack createSkillIcon(Material material, String skillName, String skillKey, FileConfiguration config) {
+    private ItemStack createSkillIcon(Material material, String skillName, String skillKey, UUID playerUUID) {
         ItemStack item = new ItemStack(material);
         ItemMeta meta = item.getItemMeta();
 
@@ -72,9 +70,9 @@ public class SkillsGUI implements Listener {
             meta.setDisplayName("§6" + skillName);
             List<String> lore = new ArrayList<>();
 
-            int level = config.getInt("skills." + skillKey + ".level", 1);
-            int xp = config.getInt("skills." + skillKey + ".xp", 0);
-            int xpRequired = (int) Math.pow(level, 1.5) * 100;
+            int level = dataManager.getSkillLevel(playerUUID, skillKey);
+            int xp = dataManager.getSkillXP(playerUUID, skillKey);
+            int xpRequired = xpManager.getRequiredXP(level);
 
             lore.add("§7Level: §a" + level);
             lore.add("§7XP: §e" + xp + "§7 / §b" + xpRequired);
@@ -129,10 +127,9 @@ public class SkillsGUI implements Listener {
         if (meta != null) {
             meta.setDisplayName("§6" + skillName);
             List<String> lore = new ArrayList<>();
-            FileConfiguration config = dataManager.getPlayerData(playerId);
-            int level = config.getInt("skills." + skillKey + ".level", 1);
-            int xp = config.getInt("skills." + skillKey + ".xp", 0);
-            int xpRequired = (int) Math.pow(level, 1.5) * 100;
+            int level = dataManager.getSkillLevel(playerId, skillKey);
+            int xp = dataManager.getSkillXP(playerId, skillKey);
+            int xpRequired = xpManager.getRequiredXP(level);
             
             // Add skill level and XP information
             lore.add("§7Current Level: §a" + level);
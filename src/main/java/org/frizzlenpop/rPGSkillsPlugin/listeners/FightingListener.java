@@ -18,6 +18,7 @@ import org.bukkit.potion.PotionEffectType;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
 import org.frizzlenpop.rPGSkillsPlugin.skills.PassiveSkillManager;
 import org.frizzlenpop.rPGSkillsPlugin.skills.XPManager;
+import org.frizzlenpop.rPGSkillsPlugin.utils.DebugTracer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -44,7 +45,6 @@ public class FightingListener implements Listener {
         this.xpManager = xpManager;
         this.plugin = plugin;
         this.passiveManager = passiveManager;
-        System.out.println("[RPGSkills] FightingListener initialized");
     }
     
     /**
@@ -60,44 +60,25 @@ public class FightingListener implements Listener {
         }
         
         UUID playerId = killer.getUniqueId();
-        String entityName = entity.getType().toString();
         
         // Get XP for the killed mob
-        int baseXP = xpManager.getXPForMob(entityName);
-        int bonusXP = 0;
-        int totalXP = baseXP;
-        
-        // Calculate XP multiplier
-        double multiplier = 1.0;
-        
-        // Apply Combat XP boosts
-        if (passiveManager.hasPassive(playerId, "combatXpBoost5")) {
-            multiplier = 1.3; // +30% XP
-        } else if (passiveManager.hasPassive(playerId, "combatXpBoost4")) {
-            multiplier = 1.25; // +25% XP
-        } else if (passiveManager.hasPassive(playerId, "combatXpBoost3")) {
-            multiplier = 1.2; // +20% XP
-        } else if (passiveManager.hasPassive(playerId, "combatXpBoost2")) {
-            multiplier = 1.15; // +15% XP
-        } else if (passiveManager.hasPassive(playerId, "combatXpBoost1")) {
-            multiplier = 1.1; // +10% XP
+        int baseXP = xpManager.getXPForMob(entity.getType());
+        DebugTracer tracer = plugin.getDebugTracer();
+        if (tracer.sample(DebugTracer.Category.XP)) {
+            tracer.trace(DebugTracer.Category.XP, "mob_xp", "player", killer.getName(), "mob", entity.getType(), "xp", baseXP);
         }
+        int bonusXP = 0;
         
-        // Apply Combat Basics passive - small chance for extra XP
+        // Combat XP Boost and the other steady multipliers are applied by the XPManager;
+        // Combat Basics is a chance per kill, so it stays here
         if (passiveManager.hasPassive(playerId, "combatBasics") && random.nextDouble() < 0.15) {
-            multiplier += 0.05; // Additional 5% from combat basics
+            bonusXP = (int)Math.round(baseXP * 0.05); // Additional 5% from combat basics
             killer.sendActionBar("§4Your combat basics gave you bonus XP!");
         }
         
-        // Apply multiplier to calculate bonus XP
-        if (multiplier > 1.0) {
-            bonusXP = (int)Math.round(baseXP * (multiplier - 1.0));
-            totalXP = baseXP + bonusXP;
-        }
-        
         if (baseXP > 0) {
             // Use the XPManager to add XP, which will also handle displaying a message in the action bar
-            xpManager.addXP(killer, "fighting", totalXP);
+            xpManager.addXP(killer, "fighting", baseXP + bonusXP);
             
             // Show detailed message in chat
             if (bonusXP > 0) {
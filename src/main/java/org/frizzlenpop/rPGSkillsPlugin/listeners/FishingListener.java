@@ -15,6 +15,7 @@ import org.bukkit.potion.PotionEffectType;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
 import org.frizzlenpop.rPGSkillsPlugin.skills.PassiveSkillManager;
 import org.frizzlenpop.rPGSkillsPlugin.skills.XPManager;
+import org.frizzlenpop.rPGSkillsPlugin.utils.DebugTracer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -42,7 +43,6 @@ public class FishingListener implements Listener {
         this.xpManager = xpManager;
         this.plugin = plugin;
         this.passiveManager = passiveManager;
-        System.out.println("[RPGSkills] FishingListener initialized");
     }
 
     @EventHandler
@@ -68,7 +68,6 @@ public class FishingListener implements Listener {
             if (caught instanceof Item) {
                 Item itemCaught = (Item) caught;
                 ItemStack itemStack = itemCaught.getItemStack();
-                String itemType = itemStack.getType().toString();
                 
                 // Handle fish type specializations (salmon, tropical fish)
                 handleFishTypeSpecialization(player, itemCaught);
@@ -80,7 +79,11 @@ public class FishingListener implements Listener {
                 handleJunkReducer(player, itemCaught);
                 
                 // Get XP for the caught fish
-                int xpGained = xpManager.getXPForFish(itemType);
+                int xpGained = xpManager.getXPForFish(itemStack.getType());
+                DebugTracer tracer = plugin.getDebugTracer();
+                if (tracer.sample(DebugTracer.Category.XP)) {
+                    tracer.trace(DebugTracer.Category.XP, "catch_xp", "player", player.getName(), "item", itemStack.getType(), "xp", xpGained);
+                }
                 
                 if (xpGained > 0) {
                     xpManager.addXP(player, "fishing", xpGained);
@@ -11,11 +11,9 @@ import org.bukkit.enchantments.Enchantment;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.Effect;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.Particle;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
 import org.frizzlenpop.rPGSkillsPlugin.skills.XPManager;
@@ -38,71 +36,11 @@ public class LoggingListener implements Listener {
     // Constants for tree felling
     private static final int MAX_TREE_HEIGHT = 30;
     private static final int MAX_LOGS_PER_TREE = 200;
-
+    
     public LoggingListener(XPManager xpManager, RPGSkillsPlugin plugin, PassiveSkillManager passiveManager) {
         this.xpManager = xpManager;
         this.plugin = plugin;
         this.passiveManager = passiveManager;
-        
-        // Start tree growth booster when the listener is created
-        startTreeGrowthBooster();
-    }
-
-    /**
-     * Starts a task that periodically boosts tree growth for players with the Tree Growth Boost passive
-     */
-    private void startTreeGrowthBooster() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Player player : plugin.getServer().getOnlinePlayers()) {
-                    UUID playerId = player.getUniqueId();
-                    if (passiveManager.hasPassive(playerId, "treeGrowthBoost")) {
-                        boostNearbySaplings(player);
-                    }
-                }
-            }
-        }.runTaskTimer(plugin, 100L, 400L); // Run every 20 seconds (400 ticks)
-    }
-    
-    /**
-     * Boosts growth of nearby saplings for a player with Tree Growth Boost
-     */
-    private void boostNearbySaplings(Player player) {
-        int radius = 15; // 15 block radius around player
-        Location playerLoc = player.getLocation();
-        World world = player.getWorld();
-        
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -5; y <= 5; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    Location checkLoc = playerLoc.clone().add(x, y, z);
-                    Block block = checkLoc.getBlock();
-                    
-                    if (isSapling(block.getType()) && random.nextDouble() < 0.3) { // 30% chance
-                        // Apply growth (similar to bone meal)
-                        block.applyBoneMeal(BlockFace.UP);
-                        world.spawnParticle(Particle.COMPOSTER, checkLoc.add(0.5, 0.5, 0.5), 5);
-                    }
-                }
-            }
-        }
-    }
-    
-    /**
-     * Checks if a material is a sapling
-     */
-    private boolean isSapling(Material material) {
-        return material == Material.OAK_SAPLING || 
-               material == Material.SPRUCE_SAPLING || 
-               material == Material.BIRCH_SAPLING || 
-               material == Material.JUNGLE_SAPLING || 
-               material == Material.ACACIA_SAPLING || 
-               material == Material.DARK_OAK_SAPLING ||
-               material == Material.MANGROVE_PROPAGULE ||
-               material == Material.CHERRY_SAPLING ||
-               material == Material.AZALEA || 
-               material == Material.FLOWERING_AZALEA;
     }
 
     @EventHandler
@@ -119,18 +57,7 @@ public class LoggingListener implements Listener {
         // Get XP for the chopped log
         int xpGained = xpManager.getXPForLog(blockType);
         
-        // Apply XP boosts if the player has them
-        if (passiveManager.hasPassive(playerId, "xpBoost5")) {
-            xpGained *= 1.3; // +30% XP
-        } else if (passiveManager.hasPassive(playerId, "xpBoost4")) {
-            xpGained *= 1.25; // +25% XP
-        } else if (passiveManager.hasPassive(playerId, "xpBoost3")) {
-            xpGained *= 1.2; // +20% XP
-        } else if (passiveManager.hasPassive(playerId, "xpBoost2")) {
-            xpGained *= 1.15; // +15% XP
-        } else if (passiveManager.hasPassive(playerId, "xpBoost1")) {
-            xpGained *= 1.1; // +10% XP
-        }
+        // The xpBoost1-5 passives are applied by the multiplier engine in addXP
         
         // Apply Logging Basics passive - slight chance for extra XP
         if (passiveManager.hasPassive(playerId, "loggingBasics") && random.nextDouble() < 0.15) {
@@ -347,10 +274,10 @@ public class LoggingListener implements Listener {
                     // Break the block and drop items
                     log.breakNaturally(player.getInventory().getItemInMainHand());
                     
-                    // Add XP for the log
+                    // Queue XP for the log; nearby logs are applied as one award
                     int logXP = xpManager.getXPForLog(log.getType());
                     if (logXP > 0) {
-                        xpManager.addXP(player, "logging", logXP);
+                        xpManager.queueXP(player, "logging", logXP);
                     }
                 }
                 
@@ -554,10 +481,11 @@ public class LoggingListener implements Listener {
         // If any Timber passive activated, break the entire tree
         if (timberActivated) {
             // Do this after event completes to prevent concurrent modification
+            // The block is air by then, so it goes with the type read before the break
             final int finalAmount = amount;
             final Block startBlock = event.getBlock();
             plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                fellTree(player, startBlock, finalAmount);
+                fellTree(player, startBlock, blockType, finalAmount);
             }, 1L);
             
             // Don't do normal drops, as the tree felling will handle it
@@ -642,18 +570,21 @@ public class LoggingListener implements Listener {
     /**
      * Recursively fells a tree, breaking all logs connected to it
      * @param player The player felling the tree
-     * @param startBlock The first block broken
+     * @param startBlock The first block broken, already air
+     * @param logType The type of the first block before it was broken
      * @param dropMultiplier How many logs to drop per block
      */
-    private void fellTree(Player player, Block startBlock, int dropMultiplier) {
-        Material logType = startBlock.getType();
+    private void fellTree(Player player, Block startBlock, Material logType, int dropMultiplier) {
         if (!isLog(logType)) return;
         
         World world = startBlock.getWorld();
         Set<Block> logsToBreak = new HashSet<>();
         
-        // Find all connected logs (BFS)
-        findConnectedLogs(startBlock, logsToBreak, logType);
+        // The first block's own drop was cancelled, so it drops here
+        world.dropItemNaturally(startBlock.getLocation(), new ItemStack(logType, dropMultiplier));
+        
+        // Find all connected logs, starting next to the broken block
+        findAdjacentLogs(startBlock, logsToBreak, logType);
         
         // Limit the size to prevent server lag from huge trees
         if (logsToBreak.size() > MAX_LOGS_PER_TREE) {
@@ -663,28 +594,15 @@ public class LoggingListener implements Listener {
             logsToBreak = new HashSet<>(limitedLogs);
         }
         
-        // Break all logs in the tree with a slight delay between each for visual effect and to reduce server strain
+        // Break the logs over a few ticks for visual effect and to reduce server strain,
+        // grouping the logs of each tick into a single task
+        List<List<Block>> waves = new ArrayList<>();
         int delay = 0;
         for (Block log : logsToBreak) {
-            final Block finalLog = log;
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                // Drop the items
-                world.dropItemNaturally(
-                    finalLog.getLocation(),
-                    new ItemStack(finalLog.getType(), dropMultiplier)
-                );
-                
-                // Break the block
-                finalLog.setType(Material.AIR);
-                world.playSound(finalLog.getLocation(), org.bukkit.Sound.BLOCK_WOOD_BREAK, 0.8f, 1.0f);
-                
-                // Add XP for the log
-                int logXP = xpManager.getXPForLog(logType);
-                if (logXP > 0) {
-                    xpManager.addXP(player, "logging", logXP);
-                }
-                
-            }, delay);
+            if (delay == waves.size()) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(delay).add(log);
             
             // Increase delay for next log
             delay++;
@@ -694,6 +612,36 @@ public class LoggingListener implements Listener {
                 delay = 2;
             }
         }
+        
+        int logXP = xpManager.getXPForLog(logType);
+        for (int wave = 0; wave < waves.size(); wave++) {
+            List<Block> logs = waves.get(wave);
+            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                int broken = 0;
+                for (Block log : logs) {
+                    // Skip logs that were broken or replaced since the tree was scanned
+                    if (log.getType() != logType) {
+                        continue;
+                    }
+                    
+                    // Drop the items
+                    world.dropItemNaturally(
+                        log.getLocation(),
+                        new ItemStack(logType, dropMultiplier)
+                    );
+                    
+                    // Break the block
+                    log.setType(Material.AIR);
+                    world.playSound(log.getLocation(), org.bukkit.Sound.BLOCK_WOOD_BREAK, 0.8f, 1.0f);
+                    broken++;
+                }
+                
+                // Queue XP for the whole wave; it is applied once at the end of the tick
+                if (logXP > 0 && broken > 0) {
+                    xpManager.queueXP(player, "logging", logXP * broken);
+                }
+            }, wave);
+        }
     }
     
     /**
@@ -715,7 +663,16 @@ public class LoggingListener implements Listener {
         
         // Add this log to found
         found.add(start);
-        
+        findAdjacentLogs(start, found, logType);
+    }
+    
+    /**
+     * Finds the logs connected to the blocks around a block, diagonals included
+     * @param block The block to search around
+     * @param found Set to store found logs
+     * @param logType The type of log we're looking for
+     */
+    private void findAdjacentLogs(Block block, Set<Block> found, Material logType) {
         // Check all adjacent blocks (including diagonals for larger trees)
         for (int x = -1; x <= 1; x++) {
             for (int y = -1; y <= 1; y++) {
@@ -724,7 +681,7 @@ public class LoggingListener implements Listener {
                     if (x == 0 && y == 0 && z == 0) continue;
                     
                     // Get the adjacent block
-                    Block adjacent = start.getRelative(x, y, z);
+                    Block adjacent = block.getRelative(x, y, z);
                     
                     // Recursively check this block
                     findConnectedLogs(adjacent, found, logType);
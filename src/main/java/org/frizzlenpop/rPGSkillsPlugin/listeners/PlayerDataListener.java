@@ -1,15 +1,21 @@
 package org.frizzlenpop.rPGSkillsPlugin.listeners;
 
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
 import org.frizzlenpop.rPGSkillsPlugin.data.PlayerDataManager;
 import org.frizzlenpop.rPGSkillsPlugin.gui.RPGHubGUI;
 
+import java.util.concurrent.CompletableFuture;
+
 public class PlayerDataListener implements Listener {
     private final PlayerDataManager dataManager;
     private final RPGSkillsPlugin plugin;
@@ -21,12 +27,46 @@ public class PlayerDataListener implements Listener {
         this.rpgHubGUI = plugin.getRpgHubGUI();
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        
+        // Fetch the whole profile off the main thread so joining doesn't hit storage
+        long timeout = plugin.getConfig().getLong("storage.preload_timeout_ms", 5000L);
+        dataManager.preloadPlayer(event.getUniqueId(), timeout);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        // A login can still be refused after the preload, e.g. by a whitelist or ban check
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            dataManager.releasePreload(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
+        dataManager.markJoined(player.getUniqueId());
         
-        // Load player data
-        if (!dataManager.hasPlayerData(player.getUniqueId())) {
+        // Load player data; a database lookup finishes on the main thread a tick later
+        CompletableFuture<Boolean> hasData = dataManager.hasPlayerData(player.getUniqueId());
+        Boolean known = hasData.getNow(null);
+        if (known != null) {
+            handleJoin(player, known);
+        } else {
+            hasData.thenAccept(exists -> Bukkit.getScheduler().runTask(plugin, () -> {
+                if (player.isOnline()) {
+                    handleJoin(player, exists);
+                }
+            }));
+        }
+    }
+    
+    private void handleJoin(Player player, boolean hasData) {
+        if (!hasData) {
             dataManager.createDefaultPlayerData(player.getUniqueId());
             
             // For new players, show the RPG Hub after a short delay
@@ -41,9 +81,9 @@ public class PlayerDataListener implements Listener {
         }
     }
 
-    @EventHandler
+    @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
-        // Save player data
-        dataManager.savePlayerData(event.getPlayer().getUniqueId());
+        // Flush player data after every other quit handler has written to it
+        dataManager.unloadPlayerData(event.getPlayer().getUniqueId());
     }
 }
@@ -31,6 +31,7 @@ import org.frizzlenpop.rPGSkillsPlugin.mounts.types.DireWolfMount;
 import org.frizzlenpop.rPGSkillsPlugin.mounts.types.WingedPigMount;
 import org.frizzlenpop.rPGSkillsPlugin.mounts.MountDismissedEvent;
 import org.frizzlenpop.rPGSkillsPlugin.mounts.MountSummonedEvent;
+import org.frizzlenpop.rPGSkillsPlugin.utils.DebugTracer;
 
 import java.io.File;
 import java.io.IOException;
@@ -422,6 +423,7 @@ public class MountManager implements Listener {
             
             // Store the mount instance
             activeMounts.put(player.getUniqueId(), mount);
+            savePlayerMounts(player.getUniqueId());
             
             // Set the player as passenger
             mountEntity.addPassenger(player);
@@ -1031,11 +1033,11 @@ public class MountManager implements Listener {
     }
     
     /**
-     * Saves mount data for all players
+     * Saves mount data for all online players. Offline players were saved when they quit.
      */
     public void saveAllMountData() {
-        for (UUID playerUUID : playerOwnedMounts.keySet()) {
-            savePlayerMounts(playerUUID);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            savePlayerMounts(player.getUniqueId());
         }
     }
     
@@ -1101,15 +1103,16 @@ public class MountManager implements Listener {
             List<Entity> currentPassengers = vehicle.getPassengers();
             boolean playerIsRiding = currentPassengers.contains(player);
             
-            // Debug logging to help diagnose the issue
-            plugin.getLogger().info("Mount exit check: Type=" + entityType + 
-                                   ", HasAutoRecovery=" + hasAutoRecovery + 
-                                   ", PlayerIsRiding=" + playerIsRiding);
+            // Trace the check to help diagnose dismount issues
+            DebugTracer tracer = plugin.getDebugTracer();
+            if (tracer.sample(DebugTracer.Category.MOUNTS)) {
+                tracer.trace(DebugTracer.Category.MOUNTS, "mount_exit_check", "type", entityType,
+                        "auto_recovery", hasAutoRecovery, "riding", playerIsRiding);
+            }
             
             // Always dismiss non-horse mounts unless player is still riding OR has auto-recovery
             if (!hasAutoRecovery && !playerIsRiding) {
                 // For non-horse entities, we need to make sure they're properly dismissed
-                plugin.getLogger().info("Dismissing mount of type: " + entityType);
                 dismissMount(playerUUID);
             }
         }, 100L); // 5-second delay
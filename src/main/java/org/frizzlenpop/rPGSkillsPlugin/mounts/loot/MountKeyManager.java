@@ -22,6 +22,7 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 
 /**
@@ -34,6 +35,7 @@ public class MountKeyManager {
     private final NamespacedKey keyTypeKey;
     private FileConfiguration keyConfig;
     private File keyFile;
+    private boolean dirty;
     
     /**
      * Enum representing key tiers with their drop rates
@@ -302,6 +304,38 @@ public class MountKeyManager {
      * Saves the key configuration
      */
     public void saveKeyConfig() {
+        snapshotKeyConfig();
+        
+        // Save to file
+        try {
+            keyConfig.save(keyFile);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not save mount keys config: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Adds a write of the key configuration to the autosave if keys or drop rates changed
+     * 
+     * @param work The autosave queue
+     */
+    public void collectAutosave(Queue<Runnable> work) {
+        if (dirty) {
+            work.add(() -> {
+                if (dirty) {
+                    snapshotKeyConfig();
+                    plugin.getAutosaveScheduler().writeAsync(keyFile, keyConfig.saveToString());
+                }
+            });
+        }
+    }
+    
+    /**
+     * Copies player keys and drop rates into the key configuration
+     */
+    private void snapshotKeyConfig() {
+        dirty = false;
+        
         // Save player keys
         ConfigurationSection keysSection = keyConfig.createSection("player_keys");
         
@@ -324,13 +358,6 @@ public class MountKeyManager {
                 tierSection.set(mountEntry.getKey(), mountEntry.getValue());
             }
         }
-        
-        // Save to file
-        try {
-            keyConfig.save(keyFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save mount keys config: " + e.getMessage());
-        }
     }
     
     /**
@@ -366,6 +393,7 @@ public class MountKeyManager {
         Map<KeyTier, Integer> keys = playerKeys.computeIfAbsent(playerUUID, k -> new HashMap<>());
         int currentAmount = keys.getOrDefault(tier, 0);
         keys.put(tier, currentAmount + amount);
+        dirty = true;
     }
     
     /**
@@ -386,6 +414,7 @@ public class MountKeyManager {
         
         keys.put(tier, currentAmount - amount);
         playerKeys.put(playerUUID, keys);
+        dirty = true;
         return true;
     }
     
@@ -526,6 +555,7 @@ public class MountKeyManager {
     public void setMountDropRate(KeyTier tier, String mountId, double rate) {
         Map<String, Double> tierRates = mountDropRates.computeIfAbsent(tier, k -> new HashMap<>());
         tierRates.put(mountId, rate);
+        dirty = true;
     }
     
     /**
@@ -13,6 +13,7 @@ import org.frizzlenpop.rPGSkillsPlugin.data.PlayerDataManager;
 import org.frizzlenpop.rPGSkillsPlugin.mounts.Mount;
 import org.frizzlenpop.rPGSkillsPlugin.mounts.MountManager;
 import org.frizzlenpop.rPGSkillsPlugin.mounts.MountSummonedEvent;
+import org.frizzlenpop.rPGSkillsPlugin.skills.XpCurve;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,6 +30,10 @@ public class MountXPManager implements Listener {
     private final Map<UUID, Map<String, Long>> lastPassiveXPGain = new ConcurrentHashMap<>();
     private final Map<String, Integer> levelCapCache = new HashMap<>();
     
+    // Rebuilt whenever the mount config is reloaded
+    private FileConfiguration curveConfig;
+    private XpCurve levelCurve;
+    
     /**
      * Creates a new Mount XP Manager
      * 
@@ -103,11 +108,12 @@ public class MountXPManager implements Listener {
         
         // Only process level ups if below cap
         if (currentLevel < levelCap) {
-            int requiredXP = getRequiredXP(currentLevel + 1);
+            // Mount XP is a running total, so the level comes straight from the curve
+            int newLevel = Math.min(levelCap, getLevelCurve().getLevel(newXP));
             
-            // Level up if XP is sufficient
-            while (newXP >= requiredXP && currentLevel < levelCap) {
-                currentLevel++;
+            if (newLevel > currentLevel) {
+                int oldLevel = currentLevel;
+                currentLevel = newLevel;
                 leveledUp = true;
                 
                 // Notify player if online
@@ -117,13 +123,10 @@ public class MountXPManager implements Listener {
                     String mountName = mountManager.getMountType(mountId).getDisplayName();
                     player.sendMessage(ChatColor.GREEN + "Your " + mountName + " has reached level " + currentLevel + "!");
                     
-                    // Check for milestone levels and notify of new abilities/perks
-                    checkMilestoneLevelRewards(player, mountId, currentLevel);
-                }
-                
-                // Check if we need another level
-                if (currentLevel < levelCap) {
-                    requiredXP = getRequiredXP(currentLevel + 1);
+                    // Check every level passed for milestones and notify of new abilities/perks
+                    for (int level = oldLevel + 1; level <= currentLevel; level++) {
+                        checkMilestoneLevelRewards(player, mountId, level);
+                    }
                 }
             }
         }
@@ -145,14 +148,28 @@ public class MountXPManager implements Listener {
     public int getRequiredXP(int level) {
         if (level <= 1) return 0;
         
-        // Get base formula values
-        int baseRequirement = mountManager.getMountConfig().getInt(
-                "mount_leveling.level_scaling.base_requirement", 100);
-        double scalingFactor = mountManager.getMountConfig().getDouble(
-                "mount_leveling.level_scaling.scaling_factor", 1.2);
-        
-        // Calculate required XP
-        return (int) (baseRequirement * Math.pow(scalingFactor, level - 2));
+        return (int) Math.min(Integer.MAX_VALUE, getLevelCurve().getTotalXP(level));
+    }
+    
+    /**
+     * Gets the mount level curve. Its totals are the XP a mount needs in all to
+     * reach a level; the curve is built from the level scaling settings, or from
+     * a {@code curve} section below them, and rebuilt after a config reload.
+     * 
+     * @return The level curve
+     */
+    private XpCurve getLevelCurve() {
+        FileConfiguration config = mountManager.getMountConfig();
+        if (levelCurve == null || curveConfig != config) {
+            int baseRequirement = config.getInt("mount_leveling.level_scaling.base_requirement", 100);
+            double scalingFactor = config.getDouble("mount_leveling.level_scaling.scaling_factor", 1.2);
+            XpCurve defaults = XpCurve.exponential(baseRequirement, scalingFactor).cumulative();
+            
+            levelCurve = XpCurve.fromConfig(
+                    config.getConfigurationSection("mount_leveling.level_scaling.curve"), defaults);
+            curveConfig = config;
+        }
+        return levelCurve;
     }
     
     /**
@@ -327,14 +344,10 @@ public class MountXPManager implements Listener {
             int newLevel = targetLevel;
             
             // Check for level ups
-            while (newLevel < levelCap) {
-                int requiredXP = getRequiredXP(newLevel + 1);
-                if (totalXP >= requiredXP) {
-                    newLevel++;
-                    leveledUp = true;
-                } else {
-                    break;
-                }
+            int curveLevel = Math.min(levelCap, getLevelCurve().getLevel(totalXP));
+            if (curveLevel > newLevel) {
+                newLevel = curveLevel;
+                leveledUp = true;
             }
             
             // Save new level if changed
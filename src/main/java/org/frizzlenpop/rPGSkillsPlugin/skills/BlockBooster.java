@@ -0,0 +1,92 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * Applies growth boosts to indexed blocks a few at a time, so a boost cycle for
+ * many players is spread over as many ticks as it needs rather than landing in
+ * one. Each tick visits at most {@code growth_boost.blocks_per_tick} blocks.
+ * Blocks in unloaded chunks are skipped, and blocks that no longer match their
+ * index are removed from it. Main thread only.
+ */
+public class BlockBooster {
+    private final RPGSkillsPlugin plugin;
+    private final Queue<Job> jobs = new ArrayDeque<>();
+    private int blocksPerTick;
+
+    private static final class Job {
+        final BlockIndex index;
+        final World world;
+        final long[] positions;
+        final Consumer<Block> boost;
+        int next;
+
+        Job(BlockIndex index, World world, long[] positions, Consumer<Block> boost) {
+            this.index = index;
+            this.world = world;
+            this.positions = positions;
+            this.boost = boost;
+        }
+    }
+
+    public BlockBooster(RPGSkillsPlugin plugin) {
+        this.plugin = plugin;
+        this.blocksPerTick = Math.max(1, plugin.getConfig().getInt("growth_boost.blocks_per_tick", 200));
+        Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Re-reads the per-tick budget
+     */
+    public void reload() {
+        blocksPerTick = Math.max(1, plugin.getConfig().getInt("growth_boost.blocks_per_tick", 200));
+    }
+
+    /**
+     * Queues a boost for blocks found in an index
+     *
+     * @param index The index the positions came from
+     * @param world The world
+     * @param positions The positions, see {@link BlockIndex#near}
+     * @param boost Applied to every block that still matches the index
+     */
+    public void submit(BlockIndex index, World world, long[] positions, Consumer<Block> boost) {
+        if (positions.length > 0) {
+            jobs.add(new Job(index, world, positions, boost));
+        }
+    }
+
+    private void tick() {
+        int budget = blocksPerTick;
+        while (budget > 0 && !jobs.isEmpty()) {
+            Job job = jobs.peek();
+            while (budget > 0 && job.next < job.positions.length) {
+                long packed = job.positions[job.next++];
+                budget--;
+
+                // Never load a chunk just to boost it
+                int x = (int) (packed >> 38);
+                int z = (int) (packed << 26 >> 38);
+                if (!job.world.isChunkLoaded(x >> 4, z >> 4)) {
+                    continue;
+                }
+                Block block = BlockIndex.blockAt(job.world, packed);
+                if (!job.index.tracks(block.getType())) {
+                    job.index.remove(block);
+                    continue;
+                }
+                job.boost.accept(block);
+            }
+            if (job.next == job.positions.length) {
+                jobs.poll();
+            }
+        }
+    }
+}
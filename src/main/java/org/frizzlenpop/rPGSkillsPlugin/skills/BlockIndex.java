@@ -0,0 +1,414 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.persistence.PersistentDataType;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Index of the blocks of some kind (crops, saplings), kept per chunk in primitive
+ * hash sets so boosts only visit blocks known to be there instead of scanning
+ * every block around a player. Maintained from place, grow, structure grow and
+ * break events, and stored in the chunk's persistent data so it survives chunk
+ * unloads and restarts. Blocks that were there before a chunk was indexed are
+ * found by {@link #ensureIndexed}, which scans a chunk once from a snapshot off
+ * the main thread. Entries can go stale (trampled crops, pistons), so users check
+ * the block type and call {@link #remove(Block)} when it no longer matches.
+ * Main thread only, apart from the scans.
+ */
+public class BlockIndex implements Listener {
+    private static final long[] NONE = new long[0];
+
+    private final RPGSkillsPlugin plugin;
+    private final NamespacedKey key;
+    private final Predicate<Material> tracked;
+    // Loaded chunks with indexed blocks or a finished scan, per world and chunk key
+    private final Map<UUID, Map<Long, ChunkBlocks>> worlds = new HashMap<>();
+
+    /**
+     * @param plugin The plugin
+     * @param name The key the index is stored under in chunk data
+     * @param tracked Whether a block type belongs in the index
+     */
+    public BlockIndex(RPGSkillsPlugin plugin, String name, Predicate<Material> tracked) {
+        this.plugin = plugin;
+        this.key = new NamespacedKey(plugin, name);
+        this.tracked = tracked;
+    }
+
+    /**
+     * Loads the index of the chunks that are already loaded
+     */
+    public void start() {
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                load(chunk);
+            }
+        }
+    }
+
+    /**
+     * @param material The block type
+     * @return True if blocks of the type belong in the index
+     */
+    public boolean tracks(Material material) {
+        return tracked.test(material);
+    }
+
+    public void add(Block block) {
+        chunkBlocks(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4)
+                .add(localPosition(block.getX(), block.getY(), block.getZ()));
+    }
+
+    public void remove(Block block) {
+        Map<Long, ChunkBlocks> chunks = worlds.get(block.getWorld().getUID());
+        ChunkBlocks blocks = chunks != null ? chunks.get(chunkKey(block.getX() >> 4, block.getZ() >> 4)) : null;
+        if (blocks != null) {
+            blocks.remove(localPosition(block.getX(), block.getY(), block.getZ()));
+        }
+    }
+
+    private ChunkBlocks chunkBlocks(UUID world, int chunkX, int chunkZ) {
+        return worlds.computeIfAbsent(world, k -> new HashMap<>())
+                .computeIfAbsent(chunkKey(chunkX, chunkZ), k -> new ChunkBlocks());
+    }
+
+    /**
+     * Scans the loaded chunks in a box that have not been fully indexed yet. Each
+     * chunk is scanned once; the result is stored with the chunk.
+     *
+     * @param world The world
+     * @param x The center x
+     * @param z The center z
+     * @param radius The horizontal distance from the center
+     */
+    public void ensureIndexed(World world, int x, int z, int radius) {
+        for (int chunkX = (x - radius) >> 4; chunkX <= (x + radius) >> 4; chunkX++) {
+            for (int chunkZ = (z - radius) >> 4; chunkZ <= (z + radius) >> 4; chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+                ChunkBlocks blocks = chunkBlocks(world.getUID(), chunkX, chunkZ);
+                if (!blocks.complete && !blocks.scanning) {
+                    scan(world, world.getChunkAt(chunkX, chunkZ), blocks);
+                }
+            }
+        }
+    }
+
+    private void scan(World world, Chunk chunk, ChunkBlocks blocks) {
+        blocks.scanning = true;
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
+        int minHeight = world.getMinHeight();
+        int maxHeight = world.getMaxHeight();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            int[] found = new int[16];
+            int count = 0;
+            for (int y = minHeight; y < maxHeight; y++) {
+                for (int localX = 0; localX < 16; localX++) {
+                    for (int localZ = 0; localZ < 16; localZ++) {
+                        if (tracked.test(snapshot.getBlockType(localX, y, localZ))) {
+                            if (count == found.length) {
+                                found = Arrays.copyOf(found, count * 2);
+                            }
+                            found[count++] = localPosition(localX, y, localZ);
+                        }
+                    }
+                }
+            }
+
+            int[] positions = Arrays.copyOf(found, count);
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // Dropped if the chunk unloaded in the meantime; it is scanned again when needed
+                Map<Long, ChunkBlocks> chunks = worlds.get(world.getUID());
+                if (chunks == null || chunks.get(chunkKey(chunk.getX(), chunk.getZ())) != blocks) {
+                    return;
+                }
+                for (int position : positions) {
+                    blocks.add(position);
+                }
+                blocks.scanning = false;
+                blocks.complete = true;
+                blocks.dirty = true;
+            });
+        });
+    }
+
+    /**
+     * Finds the indexed blocks in a box around a position
+     *
+     * @param world The world
+     * @param x The center x
+     * @param y The center y
+     * @param z The center z
+     * @param radius The horizontal distance from the center
+     * @param height The vertical distance from the center
+     * @return The positions, packed with {@link #pack(int, int, int)}
+     */
+    public long[] near(World world, int x, int y, int z, int radius, int height) {
+        Map<Long, ChunkBlocks> chunks = worlds.get(world.getUID());
+        if (chunks == null) {
+            return NONE;
+        }
+
+        long[] found = NONE;
+        int count = 0;
+        for (int chunkX = (x - radius) >> 4; chunkX <= (x + radius) >> 4; chunkX++) {
+            for (int chunkZ = (z - radius) >> 4; chunkZ <= (z + radius) >> 4; chunkZ++) {
+                ChunkBlocks blocks = chunks.get(chunkKey(chunkX, chunkZ));
+                if (blocks == null) {
+                    continue;
+                }
+                for (int stored : blocks.positions) {
+                    if (stored == 0) {
+                        continue;
+                    }
+                    int position = stored - 1;
+                    int blockX = (chunkX << 4) | ((position >> 4) & 15);
+                    int blockZ = (chunkZ << 4) | (position & 15);
+                    int blockY = position << 12 >> 20;
+                    if (Math.abs(blockX - x) <= radius && Math.abs(blockZ - z) <= radius
+                            && Math.abs(blockY - y) <= height) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, Math.max(16, count * 2));
+                        }
+                        found[count++] = pack(blockX, blockY, blockZ);
+                    }
+                }
+            }
+        }
+        return count == found.length ? found : Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Packs a block position into a long: 26 bits of x, 26 of z, 12 of y
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * @param world The world
+     * @param packed A position from {@link #pack(int, int, int)}
+     * @return The block at the position
+     */
+    public static Block blockAt(World world, long packed) {
+        return world.getBlockAt((int) (packed >> 38), (int) (packed << 52 >> 52), (int) (packed << 26 >> 38));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (tracked.test(event.getBlock().getType())) {
+            add(event.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(BlockGrowEvent event) {
+        if (tracked.test(event.getNewState().getType())) {
+            add(event.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        remove(event.getBlock());
+    }
+
+    /**
+     * A sapling or mushroom that grew into a tree is no longer the block it was
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStructureGrow(StructureGrowEvent event) {
+        remove(event.getLocation().getBlock());
+    }
+
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent event) {
+        load(event.getChunk());
+    }
+
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        Map<Long, ChunkBlocks> chunks = worlds.get(chunk.getWorld().getUID());
+        ChunkBlocks blocks = chunks != null ? chunks.remove(chunkKey(chunk.getX(), chunk.getZ())) : null;
+        if (blocks != null && blocks.dirty) {
+            save(chunk, blocks);
+        }
+    }
+
+    /**
+     * Writes changed chunks before the world saves
+     */
+    @EventHandler
+    public void onWorldSave(WorldSaveEvent event) {
+        saveWorld(event.getWorld());
+    }
+
+    /**
+     * Writes every changed chunk to its persistent data
+     */
+    public void shutdown() {
+        for (World world : Bukkit.getWorlds()) {
+            saveWorld(world);
+        }
+    }
+
+    private void saveWorld(World world) {
+        Map<Long, ChunkBlocks> chunks = worlds.get(world.getUID());
+        if (chunks == null) {
+            return;
+        }
+        for (Map.Entry<Long, ChunkBlocks> entry : chunks.entrySet()) {
+            int chunkX = (int) (entry.getKey() >> 32);
+            int chunkZ = (int) (long) entry.getKey();
+            if (entry.getValue().dirty && world.isChunkLoaded(chunkX, chunkZ)) {
+                save(world.getChunkAt(chunkX, chunkZ), entry.getValue());
+            }
+        }
+    }
+
+    private void load(Chunk chunk) {
+        int[] stored = chunk.getPersistentDataContainer().get(key, PersistentDataType.INTEGER_ARRAY);
+        if (stored == null || stored.length == 0) {
+            return;
+        }
+        ChunkBlocks blocks = chunkBlocks(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+        blocks.complete = stored[0] == 1;
+        for (int i = 1; i < stored.length; i++) {
+            blocks.add(stored[i]);
+        }
+        blocks.dirty = false;
+    }
+
+    private void save(Chunk chunk, ChunkBlocks blocks) {
+        if (blocks.size == 0 && !blocks.complete) {
+            chunk.getPersistentDataContainer().remove(key);
+        } else {
+            chunk.getPersistentDataContainer().set(key, PersistentDataType.INTEGER_ARRAY, blocks.toIntArray());
+        }
+        blocks.dirty = false;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs a block's position within its chunk: 12 bits of y, then 4 bits each of x and z
+     */
+    private static int localPosition(int x, int y, int z) {
+        return ((y & 0xFFF) << 8) | ((x & 15) << 4) | (z & 15);
+    }
+
+    /**
+     * Open-addressing set of local positions for one chunk.
+     * Slots hold the position plus one, so 0 marks an empty slot.
+     */
+    private static final class ChunkBlocks {
+        int[] positions = new int[16];
+        int size;
+        // Every matching block of the chunk is known, not just the ones seen in events
+        boolean complete;
+        boolean scanning;
+        boolean dirty;
+
+        private static int home(int stored, int mask) {
+            int hash = stored * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private int slotOf(int position) {
+            int mask = positions.length - 1;
+            int slot = home(position + 1, mask);
+            while (positions[slot] != 0 && positions[slot] != position + 1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        boolean add(int position) {
+            int slot = slotOf(position);
+            if (positions[slot] != 0) {
+                return false;
+            }
+            if ((size + 1) * 4 > positions.length * 3) {
+                grow();
+                slot = slotOf(position);
+            }
+            positions[slot] = position + 1;
+            size++;
+            dirty = true;
+            return true;
+        }
+
+        void remove(int position) {
+            int slot = slotOf(position);
+            if (positions[slot] == 0) {
+                return;
+            }
+            positions[slot] = 0;
+            size--;
+            dirty = true;
+
+            // Shift the rest of the run back so lookups never stop at the hole
+            int mask = positions.length - 1;
+            int hole = slot;
+            for (int next = (slot + 1) & mask; positions[next] != 0; next = (next + 1) & mask) {
+                int home = home(positions[next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    positions[hole] = positions[next];
+                    positions[next] = 0;
+                    hole = next;
+                }
+            }
+        }
+
+        /**
+         * @return The complete flag followed by every position
+         */
+        int[] toIntArray() {
+            int[] stored = new int[size + 1];
+            stored[0] = complete ? 1 : 0;
+            int index = 1;
+            for (int position : positions) {
+                if (position != 0) {
+                    stored[index++] = position - 1;
+                }
+            }
+            return stored;
+        }
+
+        private void grow() {
+            int[] old = positions;
+            positions = new int[old.length * 2];
+            for (int stored : old) {
+                if (stored != 0) {
+                    positions[slotOf(stored - 1)] = stored;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.ItemStack;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.PartyManager;
+import org.frizzlenpop.rPGSkillsPlugin.data.XPBoosterManager;
+import org.frizzlenpop.rPGSkillsPlugin.skilltree.SkillTreeManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Single source of the XP multipliers for every player and skill. Each player has
+ * a cached vector indexed by {@link SkillRegistry} ordinal combining passives, the
+ * skill level bonus and skill-tree XP boosts, plus the held-item booster and the
+ * party shared XP bonus. Parts are recomputed only when their source changes:
+ * passive unlocks and level changes, node unlocks and resets, held item changes,
+ * and party membership, level or perk changes. An award then costs a few array
+ * reads, and /rstat shows exactly what awards use. Main thread only.
+ */
+public class MultiplierEngine implements Listener {
+    // Items can also change in ways no event reports, e.g. other plugins editing the held item
+    private static final long BOOSTER_RECHECK_MILLIS = 1000L;
+
+    private final RPGSkillsPlugin plugin;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    private static final class Entry {
+        private boolean boosterValid;
+        private int boosterVersion;
+        private long boosterCheckedAt;
+        private long boosterExpiry;
+        private int boosterSkill = -1;
+        private double boosterMultiplier = 1.0;
+
+        private int passiveVersion = -1;
+        private int nodeVersion = -1;
+        // Skill level each slot was computed at; 0 marks a slot that must be recomputed
+        private int[] level = new int[0];
+        private double[] passiveBonus = new double[0];
+        private double[] skillTreeBonus = new double[0];
+        private double[] multiplier = new double[0];
+
+        private int partyVersion = -1;
+        private double partyBonus;
+    }
+
+    public MultiplierEngine(RPGSkillsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    private Entry entry(Player player) {
+        return entries.computeIfAbsent(player.getUniqueId(), k -> new Entry());
+    }
+
+    /**
+     * Gets the full XP multiplier for an award: passives, level bonus and skill-tree
+     * boosts added together, times the held-item booster
+     *
+     * @param player The player
+     * @param skill The skill ordinal
+     * @param level The player's current level in the skill
+     * @return The multiplier, 1.0 without any boosts
+     */
+    public double getMultiplier(Player player, int skill, int level) {
+        return skillEntry(player, skill, level).multiplier[skill] * getBoosterMultiplier(player, skill);
+    }
+
+    /**
+     * Gets the bonus from passives and the skill level bonus
+     *
+     * @param player The player
+     * @param skill The skill ordinal
+     * @param level The player's current level in the skill
+     * @return The bonus as a fraction, e.g. 0.25 for +25%
+     */
+    public double getPassiveBonus(Player player, int skill, int level) {
+        return skillEntry(player, skill, level).passiveBonus[skill];
+    }
+
+    /**
+     * Gets the bonus from the SKILL_XP_BOOST effects of unlocked skill-tree nodes
+     *
+     * @param player The player
+     * @param skill The skill ordinal
+     * @param level The player's current level in the skill
+     * @return The bonus as a fraction, e.g. 0.1 for +10%
+     */
+    public double getSkillTreeBonus(Player player, int skill, int level) {
+        return skillEntry(player, skill, level).skillTreeBonus[skill];
+    }
+
+    private Entry skillEntry(Player player, int skill, int level) {
+        Entry entry = entry(player);
+        PassiveSkillManager passiveSkillManager = plugin.getPassiveSkillManager();
+        SkillTreeManager skillTreeManager = plugin.getSkillTreeManager();
+        int passiveVersion = passiveSkillManager != null ? passiveSkillManager.getPassiveVersion(player.getUniqueId()) : 0;
+        int nodeVersion = skillTreeManager != null ? skillTreeManager.getNodeVersion() : 0;
+
+        if (entry.passiveVersion != passiveVersion || entry.nodeVersion != nodeVersion) {
+            entry.passiveVersion = passiveVersion;
+            entry.nodeVersion = nodeVersion;
+            Arrays.fill(entry.level, 0);
+        }
+        if (skill >= entry.level.length) {
+            int size = Math.max(skill + 1, SkillRegistry.size());
+            entry.level = Arrays.copyOf(entry.level, size);
+            entry.passiveBonus = Arrays.copyOf(entry.passiveBonus, size);
+            entry.skillTreeBonus = Arrays.copyOf(entry.skillTreeBonus, size);
+            entry.multiplier = Arrays.copyOf(entry.multiplier, size);
+        }
+
+        if (entry.level[skill] != level) {
+            String skillName = SkillRegistry.name(skill);
+            entry.passiveBonus[skill] = passiveSkillManager != null
+                    ? passiveSkillManager.getXPMultiplier(player, skillName) - 1.0 : 0.0;
+            entry.skillTreeBonus[skill] = skillTreeManager != null
+                    ? skillTreeManager.getSkillXPBoost(player.getUniqueId(), skillName) : 0.0;
+            entry.multiplier[skill] = 1.0 + entry.passiveBonus[skill] + entry.skillTreeBonus[skill];
+            entry.level[skill] = level;
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the multiplier of the XP booster on the player's held item
+     *
+     * @param player The player
+     * @param skill The skill ordinal
+     * @return The booster multiplier, 1.0 if the held item does not boost this skill
+     */
+    public double getBoosterMultiplier(Player player, int skill) {
+        XPBoosterManager boosterManager = plugin.getXPBoosterManager();
+        if (boosterManager == null) {
+            return 1.0;
+        }
+
+        Entry entry = entry(player);
+        long now = System.currentTimeMillis();
+        if (!entry.boosterValid || entry.boosterVersion != boosterManager.getBoosterVersion()
+                || now - entry.boosterCheckedAt >= BOOSTER_RECHECK_MILLIS || now > entry.boosterExpiry) {
+            refreshBooster(entry, player, boosterManager, now);
+        }
+        return entry.boosterSkill == skill ? entry.boosterMultiplier : 1.0;
+    }
+
+    private void refreshBooster(Entry entry, Player player, XPBoosterManager boosterManager, long now) {
+        entry.boosterValid = true;
+        entry.boosterVersion = boosterManager.getBoosterVersion();
+        entry.boosterCheckedAt = now;
+        entry.boosterSkill = -1;
+        entry.boosterMultiplier = 1.0;
+        entry.boosterExpiry = Long.MAX_VALUE;
+
+        try {
+            ItemStack heldItem = player.getInventory().getItemInMainHand();
+            String boosterSkill = boosterManager.getBoosterSkill(heldItem);
+            if (boosterSkill == null) {
+                return;
+            }
+
+            // getMultiplier also strips the booster once it has expired
+            entry.boosterMultiplier = boosterManager.getMultiplier(heldItem, boosterSkill);
+            entry.boosterSkill = SkillRegistry.find(boosterSkill.toLowerCase());
+            entry.boosterExpiry = boosterManager.getExpiryTime(heldItem);
+        } catch (Exception e) {
+            // A broken booster item should never stop XP from being awarded
+            entry.boosterSkill = -1;
+            entry.boosterMultiplier = 1.0;
+        }
+    }
+
+    /**
+     * Gets the bonus added to XP the player shares with their party: the party
+     * level bonus plus the party XP boost perk. It applies to the shared part only,
+     * since the perk is bought for the party rather than for one player's awards.
+     *
+     * @param player The player
+     * @return The bonus as a fraction, 0.0 outside a party
+     */
+    public double getPartyBonus(Player player) {
+        PartyManager partyManager = plugin.getPartyManager();
+        if (partyManager == null) {
+            return 0.0;
+        }
+
+        Entry entry = entry(player);
+        int version = partyManager.getPartyVersion();
+        if (entry.partyVersion != version) {
+            entry.partyVersion = version;
+            UUID leaderUUID = partyManager.getPartyLeader(player.getUniqueId());
+            entry.partyBonus = leaderUUID != null ? partyManager.getSharedXpBonusPercent(leaderUUID) : 0.0;
+        }
+        return entry.partyBonus;
+    }
+
+    private void invalidateBooster(UUID playerUUID) {
+        Entry entry = entries.get(playerUUID);
+        if (entry != null) {
+            entry.boosterValid = false;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        invalidateBooster(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        invalidateBooster(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        invalidateBooster(event.getWhoClicked().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        invalidateBooster(event.getWhoClicked().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        invalidateBooster(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player) {
+            invalidateBooster(event.getEntity().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        invalidateBooster(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        entries.remove(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,212 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.PlayerDataManager;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.XPDelta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Accrues party XP shared with offline members without loading their profiles.
+ * Awards are summed in memory per player and skill and appended to the storage
+ * backend's offline XP journal by the autosave. On the next login everything the
+ * player accrued is taken from the journal and applied in one batch, followed by
+ * a single summary message.
+ */
+public class OfflineXPQueue implements Listener {
+    private final RPGSkillsPlugin plugin;
+    private final PlayerDataManager dataManager;
+    private final XPManager xpManager;
+    // XP per skill ordinal; guarded by this, since failed writes are put back from other threads
+    private final Map<UUID, int[]> pending = new HashMap<>();
+    private volatile CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+
+    public OfflineXPQueue(RPGSkillsPlugin plugin, PlayerDataManager dataManager, XPManager xpManager) {
+        this.plugin = plugin;
+        this.dataManager = dataManager;
+        this.xpManager = xpManager;
+    }
+
+    /**
+     * Accrues XP for an offline player
+     *
+     * @param playerUUID The player's UUID
+     * @param skill The skill ordinal
+     * @param xp The XP, already including any party bonus
+     */
+    public synchronized void add(UUID playerUUID, int skill, int xp) {
+        if (xp <= 0) {
+            return;
+        }
+
+        int[] skills = pending.get(playerUUID);
+        if (skills == null || skill >= skills.length) {
+            skills = skills == null ? new int[Math.max(skill + 1, SkillRegistry.size())]
+                    : Arrays.copyOf(skills, skill + 1);
+            pending.put(playerUUID, skills);
+        }
+        skills[skill] += xp;
+    }
+
+    /**
+     * Adds a journal append to the autosave if any XP has accrued
+     *
+     * @param work The autosave queue
+     */
+    public void collectAutosave(Queue<Runnable> work) {
+        if (hasPending()) {
+            work.add(this::flush);
+        }
+    }
+
+    private synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Appends everything accrued so far to the journal as one batch
+     *
+     * @return A future completed when the batch has been written
+     */
+    public CompletableFuture<Void> flush() {
+        List<XPDelta> deltas = new ArrayList<>();
+        synchronized (this) {
+            pending.forEach((playerUUID, skills) -> toDeltas(playerUUID, skills, deltas));
+            pending.clear();
+        }
+        if (deltas.isEmpty()) {
+            return inFlight;
+        }
+
+        CompletableFuture<Void> write;
+        try {
+            write = dataManager.getStorage().appendOfflineXP(deltas);
+        } catch (RuntimeException e) {
+            write = CompletableFuture.failedFuture(e);
+        }
+
+        // Appends are chained so a login never takes the journal before an earlier batch reached it
+        CompletableFuture<Void> previous = inFlight;
+        inFlight = previous.thenCombine(write, (a, b) -> (Void) null).exceptionally(error -> {
+            plugin.getLogger().severe("Failed to journal offline XP for " + deltas.size() + " skills: " + error.getMessage());
+            putBack(deltas);
+            return null;
+        });
+        return inFlight;
+    }
+
+    private static void toDeltas(UUID playerUUID, int[] skills, List<XPDelta> deltas) {
+        for (int skill = 0; skill < skills.length; skill++) {
+            if (skills[skill] > 0) {
+                deltas.add(new XPDelta(playerUUID, SkillRegistry.name(skill), skills[skill]));
+            }
+        }
+    }
+
+    private void putBack(List<XPDelta> deltas) {
+        for (XPDelta delta : deltas) {
+            int skill = SkillRegistry.find(delta.getSkill());
+            if (skill >= 0) {
+                add(delta.getPlayerUUID(), skill, delta.getAmount());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        UUID playerUUID = event.getPlayer().getUniqueId();
+
+        // XP still in memory never has to go through the journal
+        List<XPDelta> accrued = new ArrayList<>();
+        synchronized (this) {
+            int[] skills = pending.remove(playerUUID);
+            if (skills != null) {
+                toDeltas(playerUUID, skills, accrued);
+            }
+        }
+
+        inFlight.thenCompose(v -> dataManager.getStorage().takeOfflineXP(playerUUID)).whenComplete((stored, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to load offline XP for " + playerUUID + ": " + error.getMessage());
+            } else {
+                accrued.addAll(stored);
+            }
+            if (!accrued.isEmpty()) {
+                Bukkit.getScheduler().runTask(plugin, () -> apply(playerUUID, accrued));
+            }
+        });
+    }
+
+    /**
+     * Applies accrued XP in one pass and sends one summary message. If the player
+     * already left again the XP goes back into the queue.
+     */
+    private void apply(UUID playerUUID, List<XPDelta> accrued) {
+        Player player = Bukkit.getPlayer(playerUUID);
+        if (player == null) {
+            putBack(accrued);
+            return;
+        }
+
+        int[] xp = new int[SkillRegistry.size()];
+        for (XPDelta delta : accrued) {
+            int skill = SkillRegistry.find(delta.getSkill());
+            if (skill >= 0 && skill < xp.length) {
+                xp[skill] += delta.getAmount();
+            }
+        }
+
+        long total = 0;
+        StringBuilder breakdown = new StringBuilder();
+        for (int skill = 0; skill < xp.length; skill++) {
+            if (xp[skill] <= 0) {
+                continue;
+            }
+            xpManager.addPartyXP(player, skill, xp[skill]);
+            total += xp[skill];
+
+            String name = SkillRegistry.name(skill);
+            breakdown.append(breakdown.length() == 0 ? "" : ChatColor.GRAY + ", ")
+                    .append(ChatColor.YELLOW).append(Character.toUpperCase(name.charAt(0))).append(name.substring(1))
+                    .append(ChatColor.GREEN).append(" +").append(xp[skill]);
+        }
+
+        if (total > 0) {
+            player.sendMessage(ChatColor.GOLD + "While you were offline your party shared "
+                    + ChatColor.GREEN + total + " XP" + ChatColor.GOLD + " with you: " + breakdown);
+        }
+    }
+
+    /**
+     * Journals everything still accrued and waits for it to be written
+     *
+     * @param timeoutSeconds How long to wait
+     */
+    public void shutdown(long timeoutSeconds) {
+        try {
+            flush().get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Timed out journaling offline party XP.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to journal offline party XP: " + e.getMessage());
+        }
+    }
+}
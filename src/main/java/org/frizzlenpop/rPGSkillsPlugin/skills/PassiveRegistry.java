@@ -0,0 +1,169 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every passive name a small int ordinal so per-player passives can be
+ * kept as bitmasks, see {@link PassiveSet}. Ordinals are handed out on first use
+ * and stay fixed until the server stops; passives are always stored by name.
+ * Tiered passives ({@code seedSaverIII}, {@code XP Boost IV}, {@code xpBoost3})
+ * also belong to a family named after the part before the tier, so the highest
+ * tier a player holds can be read without testing every tier.
+ */
+public final class PassiveRegistry {
+    private static final String[] ROMAN = {"", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X"};
+
+    private static final Map<String, Integer> ORDINALS = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> FAMILIES = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0];
+    // Family and tier per ordinal; -1 and 0 for passives without a tier
+    private static volatile int[] families = new int[0];
+    private static volatile int[] tiers = new int[0];
+    private static volatile int familyCount;
+
+    private PassiveRegistry() {
+    }
+
+    /**
+     * Gets the ordinal of a passive, registering the name if it has not been seen before
+     *
+     * @param passive The passive name
+     * @return The ordinal
+     */
+    public static int ordinal(String passive) {
+        Integer ordinal = ORDINALS.get(passive);
+        return ordinal != null ? ordinal : register(passive);
+    }
+
+    /**
+     * Gets the ordinal of a passive without registering it
+     *
+     * @param passive The passive name
+     * @return The ordinal, or -1 if the passive is unknown
+     */
+    public static int find(String passive) {
+        Integer ordinal = ORDINALS.get(passive);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Gets the family of tiered passives, registering it if it has not been seen before
+     *
+     * @param family The name without the tier, e.g. {@code seedSaver} for {@code seedSaverIII}
+     * @return The family index
+     */
+    public static int family(String family) {
+        Integer index = FAMILIES.get(family);
+        return index != null ? index : registerFamily(family);
+    }
+
+    private static synchronized int register(String passive) {
+        Integer existing = ORDINALS.get(passive);
+        if (existing != null) {
+            return existing;
+        }
+
+        int ordinal = names.length;
+        int tier = 0;
+        int family = -1;
+        int split = tierStart(passive);
+        if (split > 0) {
+            tier = parseTier(passive.substring(split));
+            family = registerFamily(passive.substring(0, passive.charAt(split - 1) == ' ' ? split - 1 : split));
+        }
+
+        // Publish the tier data before the name so a reader never sees a name without it
+        families = append(families, family);
+        tiers = append(tiers, tier);
+        String[] grown = Arrays.copyOf(names, ordinal + 1);
+        grown[ordinal] = passive;
+        names = grown;
+        ORDINALS.put(passive, ordinal);
+        return ordinal;
+    }
+
+    private static synchronized int registerFamily(String family) {
+        Integer existing = FAMILIES.get(family);
+        if (existing != null) {
+            return existing;
+        }
+        FAMILIES.put(family, familyCount);
+        return familyCount++;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] grown = Arrays.copyOf(array, array.length + 1);
+        grown[array.length] = value;
+        return grown;
+    }
+
+    /**
+     * Finds where a trailing tier starts: digits, or a roman numeral after a space or a lowercase letter
+     *
+     * @return The index of the tier, or -1 if the name has none
+     */
+    private static int tierStart(String passive) {
+        int end = passive.length();
+        int start = end;
+        while (start > 1 && Character.isDigit(passive.charAt(start - 1))) {
+            start--;
+        }
+        if (start < end) {
+            return end - start <= 2 && Character.isLetter(passive.charAt(start - 1)) ? start : -1;
+        }
+
+        while (start > 1 && "IVX".indexOf(passive.charAt(start - 1)) >= 0) {
+            start--;
+        }
+        if (start == end || parseTier(passive.substring(start)) == 0) {
+            return -1;
+        }
+        char before = passive.charAt(start - 1);
+        return before == ' ' || Character.isLowerCase(before) ? start : -1;
+    }
+
+    private static int parseTier(String tier) {
+        if (Character.isDigit(tier.charAt(0))) {
+            return Integer.parseInt(tier);
+        }
+        for (int i = 1; i < ROMAN.length; i++) {
+            if (ROMAN[i].equals(tier)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param ordinal The passive ordinal
+     * @return The passive name
+     */
+    public static String name(int ordinal) {
+        return names[ordinal];
+    }
+
+    /**
+     * @param ordinal The passive ordinal
+     * @return The family index, or -1 if the passive has no tier
+     */
+    public static int familyOf(int ordinal) {
+        return families[ordinal];
+    }
+
+    /**
+     * @param ordinal The passive ordinal
+     * @return The tier, starting at 1, or 0 if the passive has no tier
+     */
+    public static int tierOf(int ordinal) {
+        return tiers[ordinal];
+    }
+
+    /**
+     * @return The number of registered passives; every ordinal is below this
+     */
+    public static int size() {
+        return names.length;
+    }
+}
@@ -0,0 +1,112 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The passives one player holds, as a bitmask over {@link PassiveRegistry} ordinals.
+ * The highest tier held per passive family is kept alongside, so both lookups are
+ * a single array read. Mutated on the main thread only.
+ */
+public final class PassiveSet {
+    private long[] bits;
+    private byte[] highestTier = new byte[0];
+
+    public PassiveSet() {
+        this.bits = new long[Math.max(1, (PassiveRegistry.size() + 63) >>> 6)];
+    }
+
+    /**
+     * @param passive The passive ordinal
+     * @return True if the passive is held
+     */
+    public boolean has(int passive) {
+        int word = passive >>> 6;
+        return passive >= 0 && word < bits.length && (bits[word] & (1L << passive)) != 0;
+    }
+
+    /**
+     * Adds a passive
+     *
+     * @param passive The passive ordinal
+     * @return True if it was not held yet
+     */
+    public boolean add(int passive) {
+        int word = passive >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(word + 1, (PassiveRegistry.size() + 63) >>> 6));
+        }
+        long mask = 1L << passive;
+        if ((bits[word] & mask) != 0) {
+            return false;
+        }
+        bits[word] |= mask;
+
+        int family = PassiveRegistry.familyOf(passive);
+        if (family >= 0) {
+            if (family >= highestTier.length) {
+                highestTier = Arrays.copyOf(highestTier, family + 1);
+            }
+            highestTier[family] = (byte) Math.max(highestTier[family], PassiveRegistry.tierOf(passive));
+        }
+        return true;
+    }
+
+    /**
+     * Removes a passive
+     *
+     * @param passive The passive ordinal
+     * @return True if it was held
+     */
+    public boolean remove(int passive) {
+        if (!has(passive)) {
+            return false;
+        }
+        bits[passive >>> 6] &= ~(1L << passive);
+
+        // Another tier of the family may still be held
+        int family = PassiveRegistry.familyOf(passive);
+        if (family >= 0 && highestTier[family] == PassiveRegistry.tierOf(passive)) {
+            int[] highest = {0};
+            forEach(other -> {
+                if (PassiveRegistry.familyOf(other) == family) {
+                    highest[0] = Math.max(highest[0], PassiveRegistry.tierOf(other));
+                }
+            });
+            highestTier[family] = (byte) highest[0];
+        }
+        return true;
+    }
+
+    /**
+     * @param family The family index, see {@link PassiveRegistry#family(String)}
+     * @return The highest tier of the family held, or 0 if none is
+     */
+    public int highestTier(int family) {
+        return family < highestTier.length ? highestTier[family] : 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls the action with the ordinal of every passive held, in ordinal order
+     *
+     * @param action The action
+     */
+    public void forEach(IntConsumer action) {
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                action.accept((word << 6) + Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.bukkit.block.data.Ageable;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
@@ -31,6 +32,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.PlayerSkills;
 import org.jetbrains.annotations.Nullable;
 import org.bukkit.inventory.Inventory;
 import net.kyori.adventure.text.Component;
@@ -40,466 +42,326 @@ import org.bukkit.event.block.Action;
 import org.bukkit.Particle;
 import org.bukkit.GameMode;
 import org.bukkit.Sound;
+import org.bukkit.Tag;
 import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.AnvilInventory;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.meta.Damageable;
 
+import java.io.File;
 import java.util.*;
 
-import org.frizzlenpop.rPGSkillsPlugin.data.DatabaseManager;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import org.frizzlenpop.rPGSkillsPlugin.data.storage.StoredPlayer;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.frizzlenpop.rPGSkillsPlugin.api.events.PassiveAbilityUnlockEvent;
+import org.frizzlenpop.rPGSkillsPlugin.utils.DebugTracer;
 
 public class PassiveSkillManager implements Listener {
-    // New system: tracking passives unlocked via config
-    private final Map<UUID, Map<String, Set<String>>> playerPassives = new HashMap<>();
+    // New system: tracking passives unlocked via config, as "skill:passive" ordinals
+    private final Map<UUID, PassiveSet> playerPassives = new ConcurrentHashMap<>();
+    
+    // Bumped when a player's passives change so their cached XP multipliers are recomputed;
+    // the epoch covers changes to every player at once
+    private final Map<UUID, Integer> passiveVersions = new ConcurrentHashMap<>();
+    private volatile int passiveEpoch;
 
     // Old system: active passive effects loaded from player data
-    private final Map<UUID, Set<String>> activePassives;
-
-    // Sets for various passive effect implementations
+    private final Map<UUID, PassiveSet> activePassives;
+
+    // Passive effects each player has, by the ordinals below
+    private final Map<UUID, PassiveSet> passiveEffects = new ConcurrentHashMap<>();
+
+    // Which passives each skill level unlocks; replaced whole on reload
+    private volatile PassiveUnlockTable unlockTable;
+
+    // Tiered families used by the XP bonuses, with the bonus per tier
+    private static final int LOGGING_XP_BOOST = PassiveRegistry.family("xpBoost");
+    private static final double[] LOGGING_XP_BOOST_BONUS = {0.0, 0.1, 0.15, 0.2, 0.25, 0.3};
+    // Mining XP Boost I-V by mining level
+    private static final int[] MINING_XP_BOOST_LEVELS = {7, 24, 45, 64, 82};
+    private static final double[] MINING_XP_BOOST_BONUS = {0.0, 0.1, 0.15, 0.2, 0.25, 0.3};
+    private static final int FISHING_XP_BOOST = PassiveRegistry.family("fishing:XP Boost");
+    private static final double[] FISHING_XP_BOOST_BONUS = {0.0, 0.1, 0.15, 0.2, 0.25, 0.3, 0.4};
+
+    // Effect values per tier of the tiered passive effects
+    private static final double[] LAPIS_SAVER_BY_TIER = {0.0, 0.10, 0.20, 0.30, 0.40, 0.50};
+    private static final double[] RESEARCH_MASTER_BY_TIER = {0.0, 0.25, 0.30, 0.35, 0.40, 0.45};
+    private static final double[] ENCHANTING_XP_BOOST_BY_TIER = {0.0, 0.05, 0.10, 0.15, 0.20, 0.25};
+    private static final double[] BOOK_UPGRADE_BY_TIER = {0.0, 0.15, 0.20, 0.25, 0.30, 0.35};
+    private static final double[] CUSTOM_ENCHANTS_BY_TIER = {0.0, 0.10, 0.15, 0.20, 0.25, 0.30};
+    private static final double[] RARE_ENCHANT_BOOST_BY_TIER = {0.0, 0.20, 0.25, 0.30, 0.35};
+    private static final double[] RARE_CROP_MASTER_BY_TIER = {0.0, 0.15, 0.25};
+    private static final double[] SEED_SAVER_BY_TIER = {0.0, 0.10, 0.20, 0.30, 0.40, 0.50};
+    private static final double[] GROWTH_SPEED_BY_TIER = {0.0, 0.10, 0.20, 0.30, 0.40};
+
+    // Ordinals of the passive effects the listeners check, granted per passive_unlocks.yml
     // Mining passives
-    private final Set<UUID> miningBasicsPlayers = new HashSet<>();
-    private final Set<UUID> stoneEfficiencyPlayers = new HashSet<>();
-    private final Set<UUID> autoSmeltPlayers = new HashSet<>();
-    private final Set<UUID> doubleOreDropPlayers = new HashSet<>();
-    private final Set<UUID> fortuneBoostPlayers = new HashSet<>();
-    private final Set<UUID> autoSmeltUpgradePlayers = new HashSet<>();
-    private final Set<UUID> minersHastePlayers = new HashSet<>();
-    private final Set<UUID> minersNightVisionPlayers = new HashSet<>();
-    private final Set<UUID> tripleOreDropPlayers = new HashSet<>();
-    private final Set<UUID> miningXpBoostPlayers = new HashSet<>();
-    private final Set<UUID> advancedFortunePlayers = new HashSet<>();
-    private final Set<UUID> treasureHunterPlayers = new HashSet<>();
-    private final Set<UUID> minerEfficiencyPlayers = new HashSet<>();
-    private final Set<UUID> unbreakableToolsPlayers = new HashSet<>();
-    private final Set<UUID> masterSmelterPlayers = new HashSet<>();
-    private final Set<UUID> oreVeinSensorPlayers = new HashSet<>();
-    private final Set<UUID> quadrupleOreDropPlayers = new HashSet<>();
-    private final Set<UUID> excavationPlayers = new HashSet<>();
-    private final Set<UUID> netherMiningPlayers = new HashSet<>();
-    private final Set<UUID> advancedHastePlayers = new HashSet<>();
-    private final Set<UUID> masterFortunePlayers = new HashSet<>();
-    private final Set<UUID> obsidianSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> deepslateExpertPlayers = new HashSet<>();
-    private final Set<UUID> legendaryFortunePlayers = new HashSet<>();
-    private final Set<UUID> ultimateSmelterPlayers = new HashSet<>();
-    private final Set<UUID> excavationMasterPlayers = new HashSet<>();
-    private final Set<UUID> masterMinerPlayers = new HashSet<>();
-    
-    // Ore specialization passives
-    private final Set<UUID> coalSpecializationPlayers = new HashSet<>();
-    private final Set<UUID> ironSpecializationPlayers = new HashSet<>();
-    private final Set<UUID> goldSpecializationPlayers = new HashSet<>();
-    private final Set<UUID> redstoneSpecializationPlayers = new HashSet<>();
-    private final Set<UUID> lapisSpecializationPlayers = new HashSet<>();
-    private final Set<UUID> copperSpecializationPlayers = new HashSet<>();
-    private final Set<UUID> diamondSpecializationPlayers = new HashSet<>();
-    private final Set<UUID> emeraldSpecializationPlayers = new HashSet<>();
+    private static final int AUTO_SMELT = PassiveRegistry.ordinal("autoSmelt");
+    private static final int DOUBLE_ORE_DROP = PassiveRegistry.ordinal("doubleOreDrop");
+    private static final int FORTUNE_BOOST = PassiveRegistry.ordinal("fortuneBoost");
+    private static final int AUTO_SMELT_UPGRADE = PassiveRegistry.ordinal("autoSmeltUpgrade");
+    private static final int TREASURE_HUNTER = PassiveRegistry.ordinal("treasureHunter");
+    private static final int EXCAVATION = PassiveRegistry.ordinal("excavation");
     
     // Farming passives
-    private final Set<UUID> farmingBasicsPlayers = new HashSet<>();
-    private final Set<UUID> seedSaverIPlayers = new HashSet<>();
-    private final Set<UUID> farmingXpBoostIPlayers = new HashSet<>();
-    private final Set<UUID> harvestFinderPlayers = new HashSet<>();
-    private final Set<UUID> doubleCropYieldIPlayers = new HashSet<>();
-    private final Set<UUID> wheatSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> growthSpeedIPlayers = new HashSet<>();
-    private final Set<UUID> carrotSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> autoReplantIPlayers = new HashSet<>();
-    private final Set<UUID> farmingXpBoostIIPlayers = new HashSet<>();
-    private final Set<UUID> seedSaverIIPlayers = new HashSet<>();
-    private final Set<UUID> potatoSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> fertilizerMasterPlayers = new HashSet<>();
-    private final Set<UUID> doubleCropYieldIIPlayers = new HashSet<>();
-    private final Set<UUID> beetrootSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> growthSpeedIIPlayers = new HashSet<>();
-    private final Set<UUID> rareCropMasterIPlayers = new HashSet<>();
-    private final Set<UUID> farmingXpBoostIIIPlayers = new HashSet<>();
-    private final Set<UUID> seedSaverIIIPlayers = new HashSet<>();
-    private final Set<UUID> melonSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> autoReplantIIPlayers = new HashSet<>();
-    private final Set<UUID> doubleCropYieldIIIPlayers = new HashSet<>();
-    private final Set<UUID> pumpkinSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> growthSpeedIIIPlayers = new HashSet<>();
-    private final Set<UUID> rareCropMasterIIPlayers = new HashSet<>();
-    private final Set<UUID> farmingXpBoostIVPlayers = new HashSet<>();
-    private final Set<UUID> seedSaverIVPlayers = new HashSet<>();
-    private final Set<UUID> netherWartSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> soilEnrichmentPlayers = new HashSet<>();
-    private final Set<UUID> farmingXpBoostVPlayers = new HashSet<>();
-    private final Set<UUID> tripleCropYieldPlayers = new HashSet<>();
-    private final Set<UUID> cactusSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> autoReplantIIIPlayers = new HashSet<>();
-    private final Set<UUID> seedSaverVPlayers = new HashSet<>();
-    private final Set<UUID> growthSpeedIVPlayers = new HashSet<>();
-    private final Set<UUID> sugarCaneSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> instantGrowthMasterPlayers = new HashSet<>();
-    private final Set<UUID> farmingXpBoostVIPlayers = new HashSet<>();
-    private final Set<UUID> legendaryFarmerPlayers = new HashSet<>();
-    private final Set<UUID> quadrupleCropYieldPlayers = new HashSet<>();
-    private final Set<UUID> masterFarmerPlayers = new HashSet<>();
+    private static final int SEED_SAVER_I = PassiveRegistry.ordinal("seedSaverI");
+    private static final int DOUBLE_CROP_YIELD_I = PassiveRegistry.ordinal("doubleCropYieldI");
+    private static final int WHEAT_SPECIALIST = PassiveRegistry.ordinal("wheatSpecialist");
+    private static final int GROWTH_SPEED_I = PassiveRegistry.ordinal("growthSpeedI");
+    private static final int CARROT_SPECIALIST = PassiveRegistry.ordinal("carrotSpecialist");
+    private static final int AUTO_REPLANT_I = PassiveRegistry.ordinal("autoReplantI");
+    private static final int POTATO_SPECIALIST = PassiveRegistry.ordinal("potatoSpecialist");
+    private static final int FERTILIZER_MASTER = PassiveRegistry.ordinal("fertilizerMaster");
+    private static final int DOUBLE_CROP_YIELD_II = PassiveRegistry.ordinal("doubleCropYieldII");
+    private static final int BEETROOT_SPECIALIST = PassiveRegistry.ordinal("beetrootSpecialist");
+    private static final int RARE_CROP_MASTER_I = PassiveRegistry.ordinal("rareCropMasterI");
+    private static final int MELON_SPECIALIST = PassiveRegistry.ordinal("melonSpecialist");
+    private static final int AUTO_REPLANT_II = PassiveRegistry.ordinal("autoReplantII");
+    private static final int DOUBLE_CROP_YIELD_III = PassiveRegistry.ordinal("doubleCropYieldIII");
+    private static final int PUMPKIN_SPECIALIST = PassiveRegistry.ordinal("pumpkinSpecialist");
+    private static final int NETHER_WART_SPECIALIST = PassiveRegistry.ordinal("netherWartSpecialist");
+    private static final int SOIL_ENRICHMENT = PassiveRegistry.ordinal("soilEnrichment");
+    private static final int TRIPLE_CROP_YIELD = PassiveRegistry.ordinal("tripleCropYield");
+    private static final int CACTUS_SPECIALIST = PassiveRegistry.ordinal("cactusSpecialist");
+    private static final int AUTO_REPLANT_III = PassiveRegistry.ordinal("autoReplantIII");
+    private static final int SUGAR_CANE_SPECIALIST = PassiveRegistry.ordinal("sugarCaneSpecialist");
+    private static final int INSTANT_GROWTH_MASTER = PassiveRegistry.ordinal("instantGrowthMaster");
+    private static final int LEGENDARY_FARMER = PassiveRegistry.ordinal("legendaryFarmer");
+    private static final int QUADRUPLE_CROP_YIELD = PassiveRegistry.ordinal("quadrupleCropYield");
+    private static final int MASTER_FARMER = PassiveRegistry.ordinal("masterFarmer");
     
     // Existing fields for auto replant and double crop yield
-    private final Set<UUID> autoReplantPlayers = new HashSet<>();
-    private final Set<UUID> doubleCropYieldPlayers = new HashSet<>();
-    private final Set<UUID> instantGrowthPlayers = new HashSet<>();
+    private static final int AUTO_REPLANT = PassiveRegistry.ordinal("autoReplant");
+    private static final int DOUBLE_CROP_YIELD = PassiveRegistry.ordinal("doubleCropYield");
 
     // Logging passives
-    private final Set<UUID> doubleWoodDropPlayers = new HashSet<>();
-    private final Set<UUID> treeGrowthBoostPlayers = new HashSet<>();
-    private final Set<UUID> tripleLogDropPlayers = new HashSet<>();
+    private static final int DOUBLE_WOOD_DROP = PassiveRegistry.ordinal("doubleWoodDrop");
+    private static final int TREE_GROWTH_BOOST = PassiveRegistry.ordinal("treeGrowthBoost");
+    private static final int TRIPLE_LOG_DROP = PassiveRegistry.ordinal("tripleLogDrop");
     
     // Fighting passives
-    private final Set<UUID> healOnKillPlayers = new HashSet<>();
-    private final Set<UUID> lifestealPlayers = new HashSet<>();
-    private final Set<UUID> damageReductionPlayers = new HashSet<>();
+    private static final int HEAL_ON_KILL = PassiveRegistry.ordinal("healOnKill");
+    private static final int LIFESTEAL = PassiveRegistry.ordinal("lifesteal");
+    private static final int DAMAGE_REDUCTION = PassiveRegistry.ordinal("damageReduction");
 
-    // Fishing passives
-    private final Set<UUID> fishingBasicsPlayers = new HashSet<>();
-    private final Set<UUID> baitSaverPlayers = new HashSet<>();
-    private final Set<UUID> fishingXpBoostIPlayers = new HashSet<>();
-    private final Set<UUID> fishingXpBoostIIPlayers = new HashSet<>();
-    private final Set<UUID> fishingXpBoostIIIPlayers = new HashSet<>();
-    private final Set<UUID> fishingXpBoostIVPlayers = new HashSet<>();
-    private final Set<UUID> fishingXpBoostVPlayers = new HashSet<>();
-    private final Set<UUID> fishingXpBoostVIPlayers = new HashSet<>();
-    private final Set<UUID> fishFinderPlayers = new HashSet<>();
-    private final Set<UUID> treasureHunterIPlayers = new HashSet<>();
-    private final Set<UUID> treasureHunterIIPlayers = new HashSet<>();
-    private final Set<UUID> treasureHunterIIIPlayers = new HashSet<>();
-    private final Set<UUID> treasureHunterIVPlayers = new HashSet<>();
-    private final Set<UUID> treasureHunterVPlayers = new HashSet<>();
-    private final Set<UUID> salmonSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> rareFishMasterIPlayers = new HashSet<>();
-    private final Set<UUID> rareFishMasterIIPlayers = new HashSet<>();
-    private final Set<UUID> tropicalFishSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> quickHookIPlayers = new HashSet<>();
-    private final Set<UUID> quickHookIIPlayers = new HashSet<>();
-    private final Set<UUID> quickHookIIIPlayers = new HashSet<>();
-    private final Set<UUID> quickHookIVPlayers = new HashSet<>();
-    private final Set<UUID> junkReducerIPlayers = new HashSet<>();
-    private final Set<UUID> junkReducerIIPlayers = new HashSet<>();
-    private final Set<UUID> junkReducerIIIPlayers = new HashSet<>();
-    private final Set<UUID> junkReducerIVPlayers = new HashSet<>();
-    private final Set<UUID> waterBreathingPlayers = new HashSet<>();
-    private final Set<UUID> doubleCatchIPlayers = new HashSet<>();
-    private final Set<UUID> doubleCatchIIPlayers = new HashSet<>();
-    private final Set<UUID> doubleCatchIIIPlayers = new HashSet<>();
-    private final Set<UUID> enchantedBookFisherIPlayers = new HashSet<>();
-    private final Set<UUID> enchantedBookFisherIIPlayers = new HashSet<>();
-    private final Set<UUID> enchantedBookFisherIIIPlayers = new HashSet<>();
-    private final Set<UUID> nightFisherPlayers = new HashSet<>();
-    private final Set<UUID> rainFisherPlayers = new HashSet<>();
-    private final Set<UUID> masterAnglerPlayers = new HashSet<>();
-    private final Set<UUID> oceanExplorerPlayers = new HashSet<>();
-    private final Set<UUID> tripleCatchPlayers = new HashSet<>();
-    private final Set<UUID> legendaryFisherPlayers = new HashSet<>();
-    private final Set<UUID> ancientTreasuresPlayers = new HashSet<>();
-    private final Set<UUID> masterFisherPlayers = new HashSet<>();
-    
     // Enchanting passives
-    private final Set<UUID> enchantingBasicsPlayers = new HashSet<>();
-    private final Set<UUID> lapisSaverIPlayers = new HashSet<>();
-    private final Set<UUID> lapisSaverIIPlayers = new HashSet<>();
-    private final Set<UUID> lapisSaverIIIPlayers = new HashSet<>();
-    private final Set<UUID> lapisSaverIVPlayers = new HashSet<>();
-    private final Set<UUID> lapisSaverVPlayers = new HashSet<>();
-    private final Set<UUID> researchMasterIPlayers = new HashSet<>();
-    private final Set<UUID> researchMasterIIPlayers = new HashSet<>();
-    private final Set<UUID> researchMasterIIIPlayers = new HashSet<>();
-    private final Set<UUID> researchMasterIVPlayers = new HashSet<>();
-    private final Set<UUID> researchMasterVPlayers = new HashSet<>();
-    private final Set<UUID> enchantingXpBoostIPlayers = new HashSet<>();
-    private final Set<UUID> enchantingXpBoostIIPlayers = new HashSet<>();
-    private final Set<UUID> enchantingXpBoostIIIPlayers = new HashSet<>();
-    private final Set<UUID> enchantingXpBoostIVPlayers = new HashSet<>();
-    private final Set<UUID> enchantingXpBoostVPlayers = new HashSet<>();
-    private final Set<UUID> bookUpgradeIPlayers = new HashSet<>();
-    private final Set<UUID> bookUpgradeIIPlayers = new HashSet<>();
-    private final Set<UUID> bookUpgradeIIIPlayers = new HashSet<>();
-    private final Set<UUID> bookUpgradeIVPlayers = new HashSet<>();
-    private final Set<UUID> bookUpgradeVPlayers = new HashSet<>();
-    private final Set<UUID> efficiencySpecialistPlayers = new HashSet<>();
-    private final Set<UUID> customEnchantsIPlayers = new HashSet<>();
-    private final Set<UUID> customEnchantsIIPlayers = new HashSet<>();
-    private final Set<UUID> customEnchantsIIIPlayers = new HashSet<>();
-    private final Set<UUID> customEnchantsIVPlayers = new HashSet<>();
-    private final Set<UUID> customEnchantsVPlayers = new HashSet<>();
-    private final Set<UUID> protectionSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> rareEnchantBoostIPlayers = new HashSet<>();
-    private final Set<UUID> rareEnchantBoostIIPlayers = new HashSet<>();
-    private final Set<UUID> rareEnchantBoostIIIPlayers = new HashSet<>();
-    private final Set<UUID> rareEnchantBoostIVPlayers = new HashSet<>();
-    private final Set<UUID> sharpnessSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> fortuneSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> lootingSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> silkTouchSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> powerSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> mendingSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> unbreakingSpecialistPlayers = new HashSet<>();
-    private final Set<UUID> legendaryEnchanterPlayers = new HashSet<>();
-    private final Set<UUID> masterEnchanterPlayers = new HashSet<>();
+    private static final int ENCHANTING_BASICS = PassiveRegistry.ordinal("enchantingBasics");
+    private static final int LAPIS_SAVER_I = PassiveRegistry.ordinal("lapisSaverI");
+    private static final int RESEARCH_MASTER_I = PassiveRegistry.ordinal("researchMasterI");
+    private static final int ENCHANTING_XP_BOOST_I = PassiveRegistry.ordinal("enchantingXpBoostI");
+    private static final int BOOK_UPGRADE_I = PassiveRegistry.ordinal("bookUpgradeI");
+    private static final int EFFICIENCY_SPECIALIST = PassiveRegistry.ordinal("efficiencySpecialist");
+    private static final int CUSTOM_ENCHANTS_I = PassiveRegistry.ordinal("customEnchantsI");
+    private static final int PROTECTION_SPECIALIST = PassiveRegistry.ordinal("protectionSpecialist");
+    private static final int RARE_ENCHANT_BOOST_I = PassiveRegistry.ordinal("rareEnchantBoostI");
+    private static final int SHARPNESS_SPECIALIST = PassiveRegistry.ordinal("sharpnessSpecialist");
+    private static final int FORTUNE_SPECIALIST = PassiveRegistry.ordinal("fortuneSpecialist");
+    private static final int LOOTING_SPECIALIST = PassiveRegistry.ordinal("lootingSpecialist");
+    private static final int SILK_TOUCH_SPECIALIST = PassiveRegistry.ordinal("silkTouchSpecialist");
+    private static final int POWER_SPECIALIST = PassiveRegistry.ordinal("powerSpecialist");
+    private static final int MENDING_SPECIALIST = PassiveRegistry.ordinal("mendingSpecialist");
+    private static final int UNBREAKING_SPECIALIST = PassiveRegistry.ordinal("unbreakingSpecialist");
+    private static final int LEGENDARY_ENCHANTER = PassiveRegistry.ordinal("legendaryEnchanter");
+    private static final int MASTER_ENCHANTER = PassiveRegistry.ordinal("masterEnchanter");
 
     // Excavation passives
-    private final Set<UUID> excavationBasicsPlayers = new HashSet<>();
-    private final Set<UUID> doubleDropsPlayers = new HashSet<>();
-    private final Set<UUID> archaeologyBasicsPlayers = new HashSet<>();
-    private final Set<UUID> treasureFinderPlayers = new HashSet<>();
-    private final Set<UUID> shovelEfficiencyPlayers = new HashSet<>();
-    private final Set<UUID> excavationXpBoostPlayers = new HashSet<>();
-    private final Set<UUID> rareFindPlayers = new HashSet<>();
-    private final Set<UUID> multiBlockPlayers = new HashSet<>();
-    private final Set<UUID> ancientArtifactsPlayers = new HashSet<>();
-    private final Set<UUID> masterExcavatorPlayers = new HashSet<>();
+    private static final int DOUBLE_DROPS = PassiveRegistry.ordinal("doubleDrops");
+    private static final int ARCHAEOLOGY_BASICS = PassiveRegistry.ordinal("archaeologyBasics");
+    private static final int TREASURE_FINDER = PassiveRegistry.ordinal("treasureFinder");
+    private static final int RARE_FIND = PassiveRegistry.ordinal("rareFind");
+    private static final int MULTI_BLOCK = PassiveRegistry.ordinal("multiBlock");
+    private static final int ANCIENT_ARTIFACTS = PassiveRegistry.ordinal("ancientArtifacts");
     
     // Repair passives
-    private final Set<UUID> repairBasicsPlayers = new HashSet<>();
-    private final Set<UUID> materialSaverPlayers = new HashSet<>();
-    private final Set<UUID> experienceSaverPlayers = new HashSet<>();
-    private final Set<UUID> qualityRepairPlayers = new HashSet<>();
-    private final Set<UUID> toolExpertPlayers = new HashSet<>();
-    private final Set<UUID> weaponExpertPlayers = new HashSet<>();
-    private final Set<UUID> armorExpertPlayers = new HashSet<>();
-    private final Set<UUID> masterSmithPlayers = new HashSet<>();
+    private static final int MATERIAL_SAVER = PassiveRegistry.ordinal("materialSaver");
+    private static final int EXPERIENCE_SAVER = PassiveRegistry.ordinal("experienceSaver");
+    private static final int QUALITY_REPAIR = PassiveRegistry.ordinal("qualityRepair");
     
     private final XPManager xpManager;
     private final RPGSkillsPlugin plugin; // Needed for scheduling and config
     
-    // Add a set to track player-placed blocks
-    private final Set<String> playerPlacedBlocks = new HashSet<>();
+    // Blocks placed by players, which give no XP when broken
+    private final PlacedBlockTracker placedBlocks;
+
+    // Crops and saplings in loaded chunks, and the per-tick budget growth boosts run under
+    private final BlockIndex cropIndex;
+    private final BlockIndex saplingIndex;
+    private final BlockBooster blockBooster;
 
-    private DatabaseManager databaseManager;
-    private boolean useDatabase = false;
-    
     public PassiveSkillManager(XPManager xpManager, RPGSkillsPlugin plugin) {
         this.xpManager = xpManager;
         this.plugin = plugin;
-        this.activePassives = new HashMap<>();
+        this.activePassives = new ConcurrentHashMap<>();
+        reloadUnlockTable();
         
         // Register this class as a listener
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
         
-        // Load active passives for online players (old system)
+        // Load passives for players already online, e.g. after a reload
         for (Player player : plugin.getServer().getOnlinePlayers()) {
-            loadPlayerPassives(player);
+            loadPlayerPassives(player.getUniqueId());
         }
         
+        // Index crops and saplings so the growth boosts only visit known ones
+        this.blockBooster = new BlockBooster(plugin);
+        this.cropIndex = new BlockIndex(plugin, "crop_index", this::isFarmCrop);
+        plugin.getServer().getPluginManager().registerEvents(cropIndex, plugin);
+        cropIndex.start();
+        this.saplingIndex = new BlockIndex(plugin, "sapling_index", Tag.SAPLINGS::isTagged);
+        plugin.getServer().getPluginManager().registerEvents(saplingIndex, plugin);
+        saplingIndex.start();
+        
         // Start the growth speed task if needed
         startGrowthSpeedTask();
         
         // Start the tree growth booster task
         startTreeGrowthBooster();
         
-        // Start the player-placed blocks cleanup task
-        startPlacedBlocksCleanupTask();
+        // Track player-placed blocks per chunk
+        this.placedBlocks = new PlacedBlockTracker(plugin);
+        plugin.getServer().getPluginManager().registerEvents(placedBlocks, plugin);
+        placedBlocks.start();
         
         // Load passives from config
         loadPassives();
     }
     
     /**
-     * Sets the database manager and enables database storage
-     * 
-     * @param databaseManager The database manager to use
+     * Recompiles the level unlocks from passive_unlocks.yml. Players keep what they
+     * already unlocked; new entries apply on their next level-up or join.
      */
-    public void setDatabaseManager(DatabaseManager databaseManager) {
-        this.databaseManager = databaseManager;
-        this.useDatabase = true;
-    }
-    
-    /**
-     * Checks if database storage is enabled
-     * 
-     * @return True if database storage is enabled, false otherwise
-     */
-    public boolean isDatabaseEnabled() {
-        return useDatabase && databaseManager != null;
+    public void reloadUnlockTable() {
+        File file = new File(plugin.getDataFolder(), "passive_unlocks.yml");
+        if (!file.exists()) {
+            plugin.saveResource("passive_unlocks.yml", false);
+        }
+        unlockTable = PassiveUnlockTable.load(YamlConfiguration.loadConfiguration(file), plugin.getLogger());
     }
     
     /**
-     * Loads a player's passive abilities from the database or YAML file
+     * Loads a player's passive abilities from storage
      * 
      * @param playerUUID The player's UUID
      */
     public void loadPlayerPassives(UUID playerUUID) {
-        if (isDatabaseEnabled()) {
-            loadPlayerPassivesFromDatabase(playerUUID);
-        } else {
-            loadPlayerPassivesFromFile(playerUUID);
+        // Use the passives fetched during pre-login when available
+        Map<String, Set<String>> preloaded = plugin.getPlayerDataManager().consumePreloadedPassives(playerUUID);
+        if (preloaded != null) {
+            applyLoadedPassives(playerUUID, preloaded);
+            return;
         }
+        
+        CompletableFuture<StoredPlayer> load = plugin.getPlayerDataManager().getStorage().loadPlayer(playerUUID);
+        if (load.isDone() && !load.isCompletedExceptionally()) {
+            applyLoadedPassives(playerUUID, passivesOf(load.join()));
+            return;
+        }
+        
+        load.whenComplete((stored, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (error != null) {
+                plugin.getLogger().severe("Error loading player passives: " + error.getMessage());
+                return;
+            }
+            applyLoadedPassives(playerUUID, passivesOf(stored));
+        }));
     }
     
     /**
-     * Loads a player's passive abilities from the database
-     * 
-     * @param playerUUID The player's UUID
+     * @return The registry key of a passive unlocked for a skill
      */
-    private void loadPlayerPassivesFromDatabase(UUID playerUUID) {
-        // Clear existing passives for this player
-        playerPassives.remove(playerUUID);
-        
-        // Create a new map for this player's passives
-        Map<String, Set<String>> skillPassives = new HashMap<>();
-        playerPassives.put(playerUUID, skillPassives);
-        
-        // Load passives from database
-        databaseManager.executeAsyncVoid(conn -> {
-            try (PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT skill_name, passive_name FROM player_passives WHERE player_uuid = ?")) {
-                stmt.setString(1, playerUUID.toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next()) {
-                        String skillName = rs.getString("skill_name");
-                        String passiveName = rs.getString("passive_name");
-                        
-                        // Add to the player's passives map
-                        skillPassives.computeIfAbsent(skillName, k -> new HashSet<>()).add(passiveName);
-                        
-                        // Apply the passive effect
-                        applyPassiveEffect(playerUUID, skillName, passiveName);
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error executing query: " + e.getMessage());
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Error preparing statement: " + e.getMessage());
-            }
-        });
+    private static String unlockKey(String skillName, String passiveName) {
+        return skillName + ":" + passiveName;
     }
     
     /**
-     * Loads a player's passive abilities from YAML file
-     * 
-     * @param playerUUID The player's UUID
+     * Converts unlocked passives back to the by-skill form they are stored in
      */
-    private void loadPlayerPassivesFromFile(UUID playerUUID) {
-        // Clear existing passives for this player
-        playerPassives.remove(playerUUID);
-        
-        // Create a new map for this player's passives
+    private static Map<String, Set<String>> toSkillMap(PassiveSet passives) {
         Map<String, Set<String>> skillPassives = new HashMap<>();
-        playerPassives.put(playerUUID, skillPassives);
-        
-        // Load from file
-        FileConfiguration playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
-        ConfigurationSection passivesSection = playerData.getConfigurationSection("passiveAbilities");
-        
-        if (passivesSection != null) {
-            for (String skillName : passivesSection.getKeys(false)) {
-                List<String> passives = playerData.getStringList("passiveAbilities." + skillName);
-                
-                // Add to the player's passives map
-                Set<String> skillPassiveSet = new HashSet<>(passives);
-                skillPassives.put(skillName, skillPassiveSet);
-                
-                // Apply each passive effect
-                for (String passiveName : passives) {
-                    applyPassiveEffect(playerUUID, skillName, passiveName);
-                }
-            }
-        }
+        passives.forEach(ordinal -> {
+            String key = PassiveRegistry.name(ordinal);
+            int split = key.indexOf(':');
+            skillPassives.computeIfAbsent(key.substring(0, split), k -> new HashSet<>()).add(key.substring(split + 1));
+        });
+        return skillPassives;
     }
     
-    /**
-     * Saves a player's passive abilities to the database or YAML file
-     * 
-     * @param playerUUID The player's UUID
-     */
-    public void savePlayerPassives(UUID playerUUID) {
-        if (isDatabaseEnabled()) {
-            savePlayerPassivesToDatabase(playerUUID);
-        } else {
-            savePlayerPassivesToFile(playerUUID);
+    private Map<String, Set<String>> passivesOf(StoredPlayer stored) {
+        Map<String, Set<String>> skillPassives = new HashMap<>();
+        if (stored != null) {
+            stored.getPassives().forEach((skill, passives) -> skillPassives.put(skill, new HashSet<>(passives)));
         }
+        return skillPassives;
     }
     
     /**
-     * Saves a player's passive abilities to the database
+     * Applies passive abilities that were already loaded from storage
      * 
      * @param playerUUID The player's UUID
+     * @param skillPassives The passives by skill
      */
-    private void savePlayerPassivesToDatabase(UUID playerUUID) {
-        Map<String, Set<String>> skillPassives = playerPassives.get(playerUUID);
-        if (skillPassives == null) {
-            return;
+    private void applyLoadedPassives(UUID playerUUID, Map<String, Set<String>> skillPassives) {
+        PassiveSet passives = new PassiveSet();
+        for (Map.Entry<String, Set<String>> entry : skillPassives.entrySet()) {
+            for (String passiveName : entry.getValue()) {
+                passives.add(PassiveRegistry.ordinal(unlockKey(entry.getKey(), passiveName)));
+            }
         }
         
-        databaseManager.executeAsyncVoid(conn -> {
-            try {
-                // First, delete all existing passives for this player
-                try (PreparedStatement deleteStmt = conn.prepareStatement(
-                        "DELETE FROM player_passives WHERE player_uuid = ?")) {
-                    try {
-                        deleteStmt.setString(1, playerUUID.toString());
-                        deleteStmt.executeUpdate();
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error deleting player passives: " + e.getMessage());
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing delete statement: " + e.getMessage());
+        // Everything the current levels unlock, in one pass over the table
+        PassiveSet active = new PassiveSet();
+        PassiveSet effects = new PassiveSet();
+        PassiveUnlockTable table = unlockTable;
+        // Still loading: applied again with the real levels once the data is in
+        PlayerSkills skills = plugin.getPlayerDataManager().getPlayerSkills(playerUUID);
+        for (int skill = 0; skill < table.skills(); skill++) {
+            int unlocked = table.rungAbove(skill, skills != null ? skills.getLevel(skill) : 1);
+            for (int rung = 0; rung < unlocked; rung++) {
+                for (int passive : table.unlocks(skill, rung)) {
+                    passives.add(passive);
                 }
-                
-                // Then, insert all current passives
-                try (PreparedStatement insertStmt = conn.prepareStatement(
-                        "INSERT INTO player_passives (player_uuid, skill_name, passive_name) VALUES (?, ?, ?)")) {
-                    for (Map.Entry<String, Set<String>> entry : skillPassives.entrySet()) {
-                        String skillName = entry.getKey();
-                        Set<String> passives = entry.getValue();
-                        
-                        for (String passiveName : passives) {
-                            try {
-                                insertStmt.setString(1, playerUUID.toString());
-                                insertStmt.setString(2, skillName);
-                                insertStmt.setString(3, passiveName);
-                                insertStmt.executeUpdate();
-                            } catch (SQLException e) {
-                                plugin.getLogger().severe("Error inserting passive " + passiveName + " for skill " + skillName + ": " + e.getMessage());
-                            }
-                        }
-                    }
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error preparing insert statement: " + e.getMessage());
+                for (int effect : table.effects(skill, rung)) {
+                    effects.add(effect);
+                }
+                for (int passive : table.passives(skill, rung)) {
+                    active.add(passive);
+                    effects.add(passive);
                 }
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error saving player passives: " + e.getMessage());
             }
-        });
+        }
+        playerPassives.put(playerUUID, passives);
+        passiveEffects.put(playerUUID, effects);
+        activePassives.put(playerUUID, active);
+        passivesChanged(playerUUID);
+        
+        for (Map.Entry<String, Set<String>> entry : skillPassives.entrySet()) {
+            for (String passiveName : entry.getValue()) {
+                applyPassiveEffect(playerUUID, entry.getKey(), passiveName);
+            }
+        }
     }
     
     /**
-     * Saves a player's passive abilities to YAML file
+     * Saves a player's passive abilities to storage
      * 
      * @param playerUUID The player's UUID
      */
-    private void savePlayerPassivesToFile(UUID playerUUID) {
-        Map<String, Set<String>> skillPassives = playerPassives.get(playerUUID);
-        if (skillPassives == null) {
+    public void savePlayerPassives(UUID playerUUID) {
+        PassiveSet passives = playerPassives.get(playerUUID);
+        if (passives == null) {
             return;
         }
         
-        FileConfiguration playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
-        
-        // Clear existing passives section
-        playerData.set("passiveAbilities", null);
-        
-        // Create a new passives section
-        for (Map.Entry<String, Set<String>> entry : skillPassives.entrySet()) {
-            String skillName = entry.getKey();
-            Set<String> passives = entry.getValue();
-            
-            playerData.set("passiveAbilities." + skillName, new ArrayList<>(passives));
-        }
+        // Hand storage a copy so later unlocks cannot change a write in flight
+        Map<String, Set<String>> snapshot = toSkillMap(passives);
         
-        // Save the player data
-        plugin.getPlayerDataManager().savePlayerData(playerUUID, playerData);
+        plugin.getPlayerDataManager().getStorage().savePassives(playerUUID, snapshot).exceptionally(error -> {
+            plugin.getLogger().severe("Error saving player passives: " + error.getMessage());
+            return null;
+        });
     }
     
     /**
@@ -510,10 +372,11 @@ public class PassiveSkillManager implements Listener {
      * @param passiveName The passive ability name
      */
     public void addPassive(UUID playerUUID, String skillName, String passiveName) {
-        // Add to the player's passives map
-        playerPassives.computeIfAbsent(playerUUID, k -> new HashMap<>())
-                     .computeIfAbsent(skillName, k -> new HashSet<>())
-                     .add(passiveName);
+        // Add to the player's passives
+        if (playerPassives.computeIfAbsent(playerUUID, k -> new PassiveSet())
+                     .add(PassiveRegistry.ordinal(unlockKey(skillName, passiveName)))) {
+            passivesChanged(playerUUID);
+        }
         
         // Apply the passive effect
         applyPassiveEffect(playerUUID, skillName, passiveName);
@@ -537,23 +400,14 @@ public class PassiveSkillManager implements Listener {
      * @param passiveName The passive ability name
      */
     public void removePassive(UUID playerUUID, String skillName, String passiveName) {
-        // Remove from the player's passives map
-        Map<String, Set<String>> skillPassives = playerPassives.get(playerUUID);
-        if (skillPassives != null) {
-            Set<String> passives = skillPassives.get(skillName);
-            if (passives != null) {
-                passives.remove(passiveName);
-                
-                // Remove the skill entry if it's empty
-                if (passives.isEmpty()) {
-                    skillPassives.remove(skillName);
-                }
-                
-                // Remove the player entry if it's empty
-                if (skillPassives.isEmpty()) {
-                    playerPassives.remove(playerUUID);
-                }
+        // Remove from the player's passives
+        PassiveSet passives = playerPassives.get(playerUUID);
+        if (passives != null && passives.remove(PassiveRegistry.find(unlockKey(skillName, passiveName)))) {
+            // Remove the player entry if it's empty
+            if (passives.isEmpty()) {
+                playerPassives.remove(playerUUID);
             }
+            passivesChanged(playerUUID);
         }
         
         // Remove the passive effect
@@ -572,12 +426,8 @@ public class PassiveSkillManager implements Listener {
      * @return True if the player has the passive ability, false otherwise
      */
     public boolean hasPassive(UUID playerUUID, String skillName, String passiveName) {
-        Map<String, Set<String>> skillPassives = playerPassives.get(playerUUID);
-        if (skillPassives != null) {
-            Set<String> passives = skillPassives.get(skillName);
-            return passives != null && passives.contains(passiveName);
-        }
-        return false;
+        PassiveSet passives = playerPassives.get(playerUUID);
+        return passives != null && passives.has(PassiveRegistry.find(unlockKey(skillName, passiveName)));
     }
     
     /**
@@ -588,14 +438,18 @@ public class PassiveSkillManager implements Listener {
      * @return A set of passive ability names
      */
     public Set<String> getPassives(UUID playerUUID, String skillName) {
-        Map<String, Set<String>> skillPassives = playerPassives.get(playerUUID);
-        if (skillPassives != null) {
-            Set<String> passives = skillPassives.get(skillName);
-            if (passives != null) {
-                return new HashSet<>(passives); // Return a copy to prevent modification
-            }
+        Set<String> names = new HashSet<>();
+        PassiveSet passives = playerPassives.get(playerUUID);
+        if (passives != null) {
+            String prefix = skillName + ":";
+            passives.forEach(ordinal -> {
+                String key = PassiveRegistry.name(ordinal);
+                if (key.startsWith(prefix)) {
+                    names.add(key.substring(prefix.length()));
+                }
+            });
         }
-        return new HashSet<>();
+        return names;
     }
     
     /**
@@ -605,16 +459,8 @@ public class PassiveSkillManager implements Listener {
      * @return A map of skill names to sets of passive ability names
      */
     public Map<String, Set<String>> getAllPassives(UUID playerUUID) {
-        Map<String, Set<String>> skillPassives = playerPassives.get(playerUUID);
-        if (skillPassives != null) {
-            // Create a deep copy to prevent modification
-            Map<String, Set<String>> copy = new HashMap<>();
-            for (Map.Entry<String, Set<String>> entry : skillPassives.entrySet()) {
-                copy.put(entry.getKey(), new HashSet<>(entry.getValue()));
-            }
-            return copy;
-        }
-        return new HashMap<>();
+        PassiveSet passives = playerPassives.get(playerUUID);
+        return passives != null ? toSkillMap(passives) : new HashMap<>();
     }
     
     /**
@@ -640,865 +486,143 @@ public class PassiveSkillManager implements Listener {
     }
     
     /**
-     * Starts a task to periodically clean up the player-placed blocks set
-     * to prevent memory leaks from chunks that are unloaded
+     * @return The tracker of blocks placed by players
      */
-    private void startPlacedBlocksCleanupTask() {
-        Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            // Create a copy of the set to avoid ConcurrentModificationException
-            Set<String> toRemove = new HashSet<>();
-            
-            for (String blockKey : playerPlacedBlocks) {
-                String[] parts = blockKey.split(":");
-                if (parts.length != 4) continue;
-                
-                String worldName = parts[0];
-                int x = Integer.parseInt(parts[1]);
-                int y = Integer.parseInt(parts[2]);
-                int z = Integer.parseInt(parts[3]);
-                
-                World world = Bukkit.getWorld(worldName);
-                if (world == null) {
-                    // World is unloaded, remove the entry
-                    toRemove.add(blockKey);
-                    continue;
-                }
-                
-                // Check if the chunk is loaded
-                int chunkX = x >> 4;
-                int chunkZ = z >> 4;
-                if (!world.isChunkLoaded(chunkX, chunkZ)) {
-                    // Chunk is unloaded, remove the entry
-                    toRemove.add(blockKey);
-                    continue;
-                }
-                
-                // Check if the block is still there (might have been broken)
-                Block block = world.getBlockAt(x, y, z);
-                if (block.getType() == Material.AIR) {
-                    // Block is gone, remove the entry
-                    toRemove.add(blockKey);
-                }
-            }
-            
-            // Remove all entries that need to be removed
-            playerPlacedBlocks.removeAll(toRemove);
-            
-            // Log cleanup info if significant
-            if (toRemove.size() > 100) {
-                plugin.getLogger().info("Cleaned up " + toRemove.size() + " player-placed block entries");
-            }
-        }, 20 * 60 * 30, 20 * 60 * 30); // Run every 30 minutes
+    public PlacedBlockTracker getPlacedBlockTracker() {
+        return placedBlocks;
+    }
+    
+    /**
+     * Writes the placed block tracker and the crop and sapling indexes into the loaded chunks
+     */
+    public void saveChunkData() {
+        placedBlocks.shutdown();
+        cropIndex.shutdown();
+        saplingIndex.shutdown();
+    }
+    
+    /**
+     * @return The booster that spreads growth boosts over ticks
+     */
+    public BlockBooster getBlockBooster() {
+        return blockBooster;
     }
 
-    // --- OLD SYSTEM: Loading player passives from PlayerDataManager ---
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         loadPlayerPassives(event.getPlayer().getUniqueId());
     }
 
-    private void loadPlayerPassives(Player player) {
-        UUID playerId = player.getUniqueId();
-        Set<String> passives = new HashSet<>();
-
-        // Retrieve skill levels from your PlayerDataManager
-        int miningLevel = plugin.getPlayerDataManager().getSkillLevel(playerId, "mining");
-        int loggingLevel = plugin.getPlayerDataManager().getSkillLevel(playerId, "logging");
-        int farmingLevel = plugin.getPlayerDataManager().getSkillLevel(playerId, "farming");
-        int fightingLevel = plugin.getPlayerDataManager().getSkillLevel(playerId, "fighting");
-
-        // Mining passives - add all based on level
-        if (miningLevel >= 1) {
-            passives.add("miningBasics");
-            miningBasicsPlayers.add(playerId);
-        }
-        if (miningLevel >= 3) {
-            passives.add("stoneEfficiency");
-            stoneEfficiencyPlayers.add(playerId);
-        }
-        if (miningLevel >= 5) {
-            passives.add("doubleOreDrop");
-            doubleOreDropPlayers.add(playerId);
-        }
-        if (miningLevel >= 7) {
-            passives.add("miningXpBoost");
-            miningXpBoostPlayers.add(playerId);
-        }
-        if (miningLevel >= 10) {
-            passives.add("autoSmelt");
-            autoSmeltPlayers.add(playerId);
-        }
-        if (miningLevel >= 12) {
-            passives.add("coalSpecialization");
-            coalSpecializationPlayers.add(playerId);
-        }
-        if (miningLevel >= 14) {
-            passives.add("ironSpecialization");
-            ironSpecializationPlayers.add(playerId);
-        }
-        if (miningLevel >= 15) {
-            passives.add("fortuneBoost");
-            fortuneBoostPlayers.add(playerId);
-        }
-        if (miningLevel >= 17) {
-            passives.add("minersHaste");
-            minersHastePlayers.add(playerId);
-        }
-        if (miningLevel >= 20) {
-            passives.add("autoSmeltUpgrade");
-            autoSmeltUpgradePlayers.add(playerId);
-        }
-        if (miningLevel >= 22) {
-            passives.add("goldSpecialization");
-            goldSpecializationPlayers.add(playerId);
-        }
-        if (miningLevel >= 25) {
-            passives.add("minersNightVision");
-            minersNightVisionPlayers.add(playerId);
-        }
-        if (miningLevel >= 30) {
-            passives.add("tripleOreDrop");
-            tripleOreDropPlayers.add(playerId);
-        }
-        if (miningLevel >= 32) {
-            passives.add("redstoneSpecialization");
-            redstoneSpecializationPlayers.add(playerId);
-        }
-        if (miningLevel >= 34) {
-            passives.add("lapisSpecialization");
-            lapisSpecializationPlayers.add(playerId);
-        }
-        if (miningLevel >= 35) {
-            passives.add("advancedFortune");
-            advancedFortunePlayers.add(playerId);
-        }
-        if (miningLevel >= 37) {
-            passives.add("treasureHunter");
-            treasureHunterPlayers.add(playerId);
-        }
-        if (miningLevel >= 40) {
-            passives.add("minerEfficiency");
-            minerEfficiencyPlayers.add(playerId);
-        }
-        if (miningLevel >= 42) {
-            passives.add("copperSpecialization");
-            copperSpecializationPlayers.add(playerId);
-        }
-        if (miningLevel >= 44) {
-            passives.add("diamondSpecialization");
-            diamondSpecializationPlayers.add(playerId);
-        }
-        if (miningLevel >= 47) {
-            passives.add("unbreakableTools");
-            unbreakableToolsPlayers.add(playerId);
-        }
-        if (miningLevel >= 50) {
-            passives.add("masterSmelter");
-            masterSmelterPlayers.add(playerId);
-        }
-        if (miningLevel >= 52) {
-            passives.add("emeraldSpecialization");
-            emeraldSpecializationPlayers.add(playerId);
-        }
-        if (miningLevel >= 54) {
-            passives.add("oreVeinSensor");
-            oreVeinSensorPlayers.add(playerId);
-        }
-        if (miningLevel >= 55) {
-            passives.add("quadrupleOreDrop");
-            quadrupleOreDropPlayers.add(playerId);
-        }
-        if (miningLevel >= 57) {
-            passives.add("excavation");
-            excavationPlayers.add(playerId);
-        }
-        if (miningLevel >= 60) {
-            passives.add("netherMining");
-            netherMiningPlayers.add(playerId);
-        }
-        if (miningLevel >= 62) {
-            passives.add("advancedHaste");
-            advancedHastePlayers.add(playerId);
-        }
-        if (miningLevel >= 65) {
-            passives.add("masterFortune");
-            masterFortunePlayers.add(playerId);
-        }
-        if (miningLevel >= 74) {
-            passives.add("obsidianSpecialist");
-            obsidianSpecialistPlayers.add(playerId);
-        }
-        if (miningLevel >= 75) {
-            passives.add("deepslateExpert");
-            deepslateExpertPlayers.add(playerId);
-        }
-        if (miningLevel >= 94) {
-            passives.add("legendaryFortune");
-            legendaryFortunePlayers.add(playerId);
-        }
-        if (miningLevel >= 95) {
-            passives.add("ultimateSmelter");
-            ultimateSmelterPlayers.add(playerId);
-        }
-        if (miningLevel >= 97) {
-            passives.add("excavationMaster");
-            excavationMasterPlayers.add(playerId);
-        }
-        if (miningLevel >= 100) {
-            passives.add("masterMiner");
-            masterMinerPlayers.add(playerId);
-        }
-
-        // Logging passives
-        if (loggingLevel >= 5) {
-            passives.add("doubleWoodDrop");
-            doubleWoodDropPlayers.add(playerId);
-        }
-        if (loggingLevel >= 10) {
-            passives.add("treeGrowthBoost");
-            treeGrowthBoostPlayers.add(playerId);
-        }
-        if (loggingLevel >= 15) {
-            passives.add("tripleLogDrop");
-            tripleLogDropPlayers.add(playerId);
-        }
-
-        // Farming passives
-        if (farmingLevel >= 5) {
-            passives.add("doubleCropYield");
-            doubleCropYieldPlayers.add(playerId);
-        }
-        if (farmingLevel >= 10) {
-            passives.add("autoReplant");
-            autoReplantPlayers.add(playerId);
-        }
-        if (farmingLevel >= 15) {
-            passives.add("instantGrowth");
-            instantGrowthPlayers.add(playerId);
-        }
-
-        // Fighting passives
-        if (fightingLevel >= 5) {
-            passives.add("lifesteal");
-            lifestealPlayers.add(playerId);
-        }
-        if (fightingLevel >= 10) {
-            passives.add("damageReduction");
-            damageReductionPlayers.add(playerId);
-        }
-        if (fightingLevel >= 15) {
-            passives.add("healOnKill");
-            healOnKillPlayers.add(playerId);
-        }
+    public boolean hasPassive(UUID playerId, String passive) {
+        PassiveSet passives = activePassives.get(playerId);
+        return passives != null && passives.has(PassiveRegistry.find(passive));
+    }
 
-        activePassives.put(playerId, passives);
+    /**
+     * Gets the highest tier of a tiered passive a player has, e.g. 3 for {@code xpBoost3}
+     * 
+     * @param playerId The player's UUID
+     * @param family The passive name without the tier
+     * @return The highest tier, or 0 if the player has none
+     */
+    public int getHighestTier(UUID playerId, String family) {
+        return getHighestTier(playerId, PassiveRegistry.family(family));
     }
 
-    public boolean hasPassive(UUID playerId, String passive) {
-        return activePassives.containsKey(playerId) && activePassives.get(playerId).contains(passive);
+    /**
+     * Gets the highest tier of a tiered passive a player has
+     * 
+     * @param playerId The player's UUID
+     * @param family The family index, see {@link PassiveRegistry#family(String)}
+     * @return The highest tier, or 0 if the player has none
+     */
+    public int getHighestTier(UUID playerId, int family) {
+        PassiveSet passives = activePassives.get(playerId);
+        return passives != null ? passives.highestTier(family) : 0;
     }
 
     public Set<String> getPlayerPassives(UUID playerId) {
-        return activePassives.getOrDefault(playerId, new HashSet<>());
+        Set<String> names = new HashSet<>();
+        PassiveSet passives = activePassives.get(playerId);
+        if (passives != null) {
+            passives.forEach(ordinal -> names.add(PassiveRegistry.name(ordinal)));
+        }
+        return names;
     }
 
     public void addPassive(UUID playerId, String passive) {
-        activePassives.computeIfAbsent(playerId, k -> new HashSet<>()).add(passive);
+        if (activePassives.computeIfAbsent(playerId, k -> new PassiveSet()).add(PassiveRegistry.ordinal(passive))) {
+            passivesChanged(playerId);
+        }
     }
 
     public void removePassive(UUID playerId, String passive) {
-        if (activePassives.containsKey(playerId)) {
-            activePassives.get(playerId).remove(passive);
+        PassiveSet passives = activePassives.get(playerId);
+        if (passives != null && passives.remove(PassiveRegistry.find(passive))) {
+            passivesChanged(playerId);
         }
     }
 
-    public void updatePassiveEffects(Player player, String skill, int level) {
-        // Configure passive unlocks based on skill levels
-        switch (skill.toLowerCase()) {
-            case "mining":
-                if (level >= 10) {
-                    unlockPassive(player, skill, "doubleOreDrop");
-                }
-                if (level >= 20) {
-                    unlockPassive(player, skill, "autoSmelt");
-                }
-                if (level >= 30) {
-                    unlockPassive(player, skill, "fortuneBoost");
-                }
-                break;
+    private static double tierBonus(double[] bonusPerTier, int tier) {
+        return bonusPerTier[Math.min(tier, bonusPerTier.length - 1)];
+    }
 
-            case "woodcutting":
-                if (level >= 10) {
-                    unlockPassive(player, skill, "doubleWoodDrop");
-                }
-                if (level >= 20) {
-                    unlockPassive(player, skill, "treeGrowthBoost");
-                }
-                if (level >= 30) {
-                    unlockPassive(player, skill, "tripleLogDrop");
-                }
-                break;
+    private boolean hasEffect(UUID playerId, int passive) {
+        PassiveSet effects = passiveEffects.get(playerId);
+        return effects != null && effects.has(passive);
+    }
 
-            case "farming":
-                if (level >= 1) {
-                    unlockPassive(player, skill, "Farming Basics");
-                    farmingBasicsPlayers.add(player.getUniqueId());
-                }
-                if (level >= 3) {
-                    unlockPassive(player, skill, "Seed Saver I");
-                    seedSaverIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 5) {
-                    unlockPassive(player, skill, "Farming XP Boost I");
-                    farmingXpBoostIPlayers.add(player.getUniqueId());
-                    doubleCropYieldPlayers.add(player.getUniqueId()); // Legacy support
-                }
-                if (level >= 7) {
-                    unlockPassive(player, skill, "Harvest Finder");
-                    harvestFinderPlayers.add(player.getUniqueId());
-                }
-                if (level >= 10) {
-                    unlockPassive(player, skill, "Double Crop Yield I");
-                    doubleCropYieldIPlayers.add(player.getUniqueId());
-                    // Legacy support
-                    autoReplantPlayers.add(player.getUniqueId());
-                }
-                if (level >= 12) {
-                    unlockPassive(player, skill, "Wheat Specialist");
-                    wheatSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 15) {
-                    unlockPassive(player, skill, "Growth Speed I");
-                    growthSpeedIPlayers.add(player.getUniqueId());
-                    // Legacy support
-                    instantGrowthPlayers.add(player.getUniqueId());
-                }
-                if (level >= 17) {
-                    unlockPassive(player, skill, "Carrot Specialist");
-                    carrotSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 20) {
-                    unlockPassive(player, skill, "Auto Replant I");
-                    autoReplantIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 22) {
-                    unlockPassive(player, skill, "Farming XP Boost II");
-                    farmingXpBoostIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 25) {
-                    unlockPassive(player, skill, "Seed Saver II");
-                    seedSaverIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 27) {
-                    unlockPassive(player, skill, "Potato Specialist");
-                    potatoSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 30) {
-                    unlockPassive(player, skill, "Fertilizer Master");
-                    fertilizerMasterPlayers.add(player.getUniqueId());
-                }
-                if (level >= 32) {
-                    unlockPassive(player, skill, "Double Crop Yield II");
-                    doubleCropYieldIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 35) {
-                    unlockPassive(player, skill, "Beetroot Specialist");
-                    beetrootSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 37) {
-                    unlockPassive(player, skill, "Growth Speed II");
-                    growthSpeedIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 40) {
-                    unlockPassive(player, skill, "Rare Crop Master I");
-                    rareCropMasterIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 42) {
-                    unlockPassive(player, skill, "Farming XP Boost III");
-                    farmingXpBoostIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 45) {
-                    unlockPassive(player, skill, "Seed Saver III");
-                    seedSaverIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 47) {
-                    unlockPassive(player, skill, "Melon Specialist");
-                    melonSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 50) {
-                    unlockPassive(player, skill, "Auto Replant II");
-                    autoReplantIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 52) {
-                    unlockPassive(player, skill, "Double Crop Yield III");
-                    doubleCropYieldIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 55) {
-                    unlockPassive(player, skill, "Pumpkin Specialist");
-                    pumpkinSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 57) {
-                    unlockPassive(player, skill, "Growth Speed III");
-                    growthSpeedIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 60) {
-                    unlockPassive(player, skill, "Rare Crop Master II");
-                    rareCropMasterIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 62) {
-                    unlockPassive(player, skill, "Farming XP Boost IV");
-                    farmingXpBoostIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 65) {
-                    unlockPassive(player, skill, "Seed Saver IV");
-                    seedSaverIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 67) {
-                    unlockPassive(player, skill, "Nether Wart Specialist");
-                    netherWartSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 70) {
-                    unlockPassive(player, skill, "Soil Enrichment");
-                    soilEnrichmentPlayers.add(player.getUniqueId());
-                }
-                if (level >= 72) {
-                    unlockPassive(player, skill, "Farming XP Boost V");
-                    farmingXpBoostVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 75) {
-                    unlockPassive(player, skill, "Triple Crop Yield");
-                    tripleCropYieldPlayers.add(player.getUniqueId());
-                }
-                if (level >= 77) {
-                    unlockPassive(player, skill, "Cactus Specialist");
-                    cactusSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 80) {
-                    unlockPassive(player, skill, "Auto Replant III");
-                    autoReplantIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 82) {
-                    unlockPassive(player, skill, "Seed Saver V");
-                    seedSaverVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 85) {
-                    unlockPassive(player, skill, "Growth Speed IV");
-                    growthSpeedIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 87) {
-                    unlockPassive(player, skill, "Sugar Cane Specialist");
-                    sugarCaneSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 90) {
-                    unlockPassive(player, skill, "Instant Growth Master");
-                    instantGrowthMasterPlayers.add(player.getUniqueId());
-                }
-                if (level >= 92) {
-                    unlockPassive(player, skill, "Farming XP Boost VI");
-                    farmingXpBoostVIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 95) {
-                    unlockPassive(player, skill, "Legendary Farmer");
-                    legendaryFarmerPlayers.add(player.getUniqueId());
-                }
-                if (level >= 97) {
-                    unlockPassive(player, skill, "Quadruple Crop Yield");
-                    quadrupleCropYieldPlayers.add(player.getUniqueId());
-                }
-                if (level >= 100) {
-                    unlockPassive(player, skill, "Master Farmer");
-                    masterFarmerPlayers.add(player.getUniqueId());
-                }
-                break;
+    private void grantEffect(UUID playerId, int passive) {
+        passiveEffects.computeIfAbsent(playerId, k -> new PassiveSet()).add(passive);
+    }
 
-            case "combat":
-                if (level >= 10) {
-                    unlockPassive(player, skill, "healOnKill");
-                }
-                if (level >= 20) {
-                    unlockPassive(player, skill, "lifesteal");
-                }
-                if (level >= 30) {
-                    unlockPassive(player, skill, "damageReduction");
-                }
-                break;
-                
-            case "fishing":
-                if (level >= 1) {
-                    unlockPassive(player, skill, "Fishing Basics");
-                }
-                if (level >= 3) {
-                    unlockPassive(player, skill, "Bait Saver");
-                }
-                if (level >= 5) {
-                    unlockPassive(player, skill, "XP Boost I");
-                }
-                if (level >= 7) {
-                    unlockPassive(player, skill, "Fish Finder");
-                }
-                if (level >= 10) {
-                    unlockPassive(player, skill, "Treasure Hunter I");
-                }
-                if (level >= 12) {
-                    unlockPassive(player, skill, "Salmon Specialist");
-                }
-                if (level >= 15) {
-                    unlockPassive(player, skill, "Rare Fish Master I");
-                }
-                if (level >= 17) {
-                    unlockPassive(player, skill, "Tropical Fish Specialist");
-                }
-                if (level >= 20) {
-                    unlockPassive(player, skill, "Quick Hook I");
-                }
-                if (level >= 22) {
-                    unlockPassive(player, skill, "XP Boost II");
-                }
-                if (level >= 25) {
-                    unlockPassive(player, skill, "Junk Reducer I");
-                }
-                if (level >= 27) {
-                    unlockPassive(player, skill, "Treasure Hunter II");
-                }
-                if (level >= 30) {
-                    unlockPassive(player, skill, "Water Breathing");
-                }
-                if (level >= 32) {
-                    unlockPassive(player, skill, "Double Catch I");
-                }
-                if (level >= 35) {
-                    unlockPassive(player, skill, "Enchanted Book Fisher I");
-                }
-                if (level >= 37) {
-                    unlockPassive(player, skill, "Quick Hook II");
-                }
-                if (level >= 40) {
-                    unlockPassive(player, skill, "Rare Fish Master II");
-                }
-                if (level >= 42) {
-                    unlockPassive(player, skill, "XP Boost III");
-                }
-                if (level >= 45) {
-                    unlockPassive(player, skill, "Junk Reducer II");
-                }
-                if (level >= 47) {
-                    unlockPassive(player, skill, "Treasure Hunter III");
-                }
-                if (level >= 50) {
-                    unlockPassive(player, skill, "Night Fisher");
-                }
-                if (level >= 52) {
-                    unlockPassive(player, skill, "Double Catch II");
-                }
-                if (level >= 55) {
-                    unlockPassive(player, skill, "Enchanted Book Fisher II");
-                }
-                if (level >= 57) {
-                    unlockPassive(player, skill, "Quick Hook III");
-                }
-                if (level >= 60) {
-                    unlockPassive(player, skill, "XP Boost IV");
-                }
-                if (level >= 62) {
-                    unlockPassive(player, skill, "Junk Reducer III");
-                }
-                if (level >= 65) {
-                    unlockPassive(player, skill, "Treasure Hunter IV");
-                }
-                if (level >= 67) {
-                    unlockPassive(player, skill, "Rain Fisher");
-                }
-                if (level >= 70) {
-                    unlockPassive(player, skill, "Master Angler");
-                }
-                if (level >= 72) {
-                    unlockPassive(player, skill, "XP Boost V");
-                }
-                if (level >= 75) {
-                    unlockPassive(player, skill, "Double Catch III");
-                }
-                if (level >= 77) {
-                    unlockPassive(player, skill, "Enchanted Book Fisher III");
-                }
-                if (level >= 80) {
-                    unlockPassive(player, skill, "Ocean Explorer");
-                }
-                if (level >= 82) {
-                    unlockPassive(player, skill, "Junk Reducer IV");
-                }
-                if (level >= 85) {
-                    unlockPassive(player, skill, "Treasure Hunter V");
-                }
-                if (level >= 87) {
-                    unlockPassive(player, skill, "Quick Hook IV");
-                }
-                if (level >= 90) {
-                    unlockPassive(player, skill, "Triple Catch");
-                }
-                if (level >= 92) {
-                    unlockPassive(player, skill, "XP Boost VI");
-                }
-                if (level >= 95) {
-                    unlockPassive(player, skill, "Legendary Fisher");
-                }
-                if (level >= 97) {
-                    unlockPassive(player, skill, "Ancient Treasures");
-                }
-                if (level >= 100) {
-                    unlockPassive(player, skill, "Master Fisher");
-                }
-                break;
-                
-            case "enchanting":
-                if (level >= 1) {
-                    unlockPassive(player, skill, "Enchanting Basics");
-                    enchantingBasicsPlayers.add(player.getUniqueId());
-                }
-                if (level >= 3) {
-                    unlockPassive(player, skill, "Lapis Saver I");
-                    lapisSaverIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 5) {
-                    unlockPassive(player, skill, "Research Master I");
-                    researchMasterIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 7) {
-                    unlockPassive(player, skill, "Enchanting XP Boost I");
-                    enchantingXpBoostIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 10) {
-                    unlockPassive(player, skill, "Book Upgrade I");
-                    bookUpgradeIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 12) {
-                    unlockPassive(player, skill, "Efficiency Specialist");
-                    efficiencySpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 15) {
-                    unlockPassive(player, skill, "Custom Enchants I");
-                    customEnchantsIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 17) {
-                    unlockPassive(player, skill, "Protection Specialist");
-                    protectionSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 20) {
-                    unlockPassive(player, skill, "Rare Enchant Boost I");
-                    rareEnchantBoostIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 22) {
-                    unlockPassive(player, skill, "Enchanting XP Boost II");
-                    enchantingXpBoostIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 25) {
-                    unlockPassive(player, skill, "Lapis Saver II");
-                    lapisSaverIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 27) {
-                    unlockPassive(player, skill, "Research Master II");
-                    researchMasterIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 30) {
-                    unlockPassive(player, skill, "Sharpness Specialist");
-                    sharpnessSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 32) {
-                    unlockPassive(player, skill, "Book Upgrade II");
-                    bookUpgradeIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 35) {
-                    unlockPassive(player, skill, "Custom Enchants II");
-                    customEnchantsIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 37) {
-                    unlockPassive(player, skill, "Fortune Specialist");
-                    fortuneSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 40) {
-                    unlockPassive(player, skill, "Rare Enchant Boost II");
-                    rareEnchantBoostIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 42) {
-                    unlockPassive(player, skill, "Enchanting XP Boost III");
-                    enchantingXpBoostIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 45) {
-                    unlockPassive(player, skill, "Lapis Saver III");
-                    lapisSaverIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 47) {
-                    unlockPassive(player, skill, "Research Master III");
-                    researchMasterIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 50) {
-                    unlockPassive(player, skill, "Looting Specialist");
-                    lootingSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 52) {
-                    unlockPassive(player, skill, "Book Upgrade III");
-                    bookUpgradeIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 55) {
-                    unlockPassive(player, skill, "Custom Enchants III");
-                    customEnchantsIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 57) {
-                    unlockPassive(player, skill, "Silk Touch Specialist");
-                    silkTouchSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 60) {
-                    unlockPassive(player, skill, "Rare Enchant Boost III");
-                    rareEnchantBoostIIIPlayers.add(player.getUniqueId());
-                }
-                if (level >= 62) {
-                    unlockPassive(player, skill, "Enchanting XP Boost IV");
-                    enchantingXpBoostIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 65) {
-                    unlockPassive(player, skill, "Lapis Saver IV");
-                    lapisSaverIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 67) {
-                    unlockPassive(player, skill, "Research Master IV");
-                    researchMasterIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 70) {
-                    unlockPassive(player, skill, "Power Specialist");
-                    powerSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 72) {
-                    unlockPassive(player, skill, "Book Upgrade IV");
-                    bookUpgradeIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 75) {
-                    unlockPassive(player, skill, "Custom Enchants IV");
-                    customEnchantsIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 77) {
-                    unlockPassive(player, skill, "Mending Specialist");
-                    mendingSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 80) {
-                    unlockPassive(player, skill, "Rare Enchant Boost IV");
-                    rareEnchantBoostIVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 82) {
-                    unlockPassive(player, skill, "Enchanting XP Boost V");
-                    enchantingXpBoostVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 85) {
-                    unlockPassive(player, skill, "Lapis Saver V");
-                    lapisSaverVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 87) {
-                    unlockPassive(player, skill, "Research Master V");
-                    researchMasterVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 90) {
-                    unlockPassive(player, skill, "Unbreaking Specialist");
-                    unbreakingSpecialistPlayers.add(player.getUniqueId());
-                }
-                if (level >= 92) {
-                    unlockPassive(player, skill, "Book Upgrade V");
-                    bookUpgradeVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 95) {
-                    unlockPassive(player, skill, "Legendary Enchanter");
-                    legendaryEnchanterPlayers.add(player.getUniqueId());
-                }
-                if (level >= 97) {
-                    unlockPassive(player, skill, "Custom Enchants V");
-                    customEnchantsVPlayers.add(player.getUniqueId());
-                }
-                if (level >= 100) {
-                    unlockPassive(player, skill, "Master Enchanter");
-                    masterEnchanterPlayers.add(player.getUniqueId());
-                }
-                break;
+    /**
+     * Gets the highest tier of a tiered passive effect a player has
+     * 
+     * @param playerId The player's UUID
+     * @param tier1 The ordinal of any tier of the effect
+     * @return The highest tier, or 0 if the player has none
+     */
+    private int effectTier(UUID playerId, int tier1) {
+        PassiveSet effects = passiveEffects.get(playerId);
+        return effects != null ? effects.highestTier(PassiveRegistry.familyOf(tier1)) : 0;
+    }
 
-            case "excavation":
-                if (level >= 5) {
-                    excavationBasicsPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "excavationBasics");
-                }
-                if (level >= 10) {
-                    doubleDropsPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "doubleDrops");
-                }
-                if (level >= 15) {
-                    archaeologyBasicsPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "archaeologyBasics");
-                }
-                if (level >= 20) {
-                    treasureFinderPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "treasureFinder");
-                }
-                if (level >= 25) {
-                    shovelEfficiencyPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "shovelEfficiency");
-                }
-                if (level >= 30) {
-                    excavationXpBoostPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "excavationXpBoost");
-                }
-                if (level >= 40) {
-                    rareFindPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "rareFind");
-                }
-                if (level >= 50) {
-                    multiBlockPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "multiBlock");
-                }
-                if (level >= 75) {
-                    ancientArtifactsPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "ancientArtifacts");
-                }
-                if (level >= 100) {
-                    masterExcavatorPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "masterExcavator");
-                }
-                break;
+    /**
+     * Applies the passives unlocked by a level-up, i.e. those for the levels in (oldLevel, level]
+     * 
+     * @param player The player
+     * @param skill The skill name
+     * @param oldLevel The level before the level-up
+     * @param level The new level
+     */
+    public void updatePassiveEffects(Player player, String skill, int oldLevel, int level) {
+        PassiveUnlockTable table = unlockTable;
+        int skillOrdinal = SkillRegistry.find(skill.toLowerCase());
+        int from = table.rungAbove(skillOrdinal, oldLevel);
+        int to = table.rungAbove(skillOrdinal, level);
+        if (from >= to) {
+            return;
+        }
 
-            case "repair":
-                if (level >= 5) {
-                    repairBasicsPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "repairBasics");
-                }
-                if (level >= 10) {
-                    materialSaverPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "materialSaver");
-                }
-                if (level >= 15) {
-                    experienceSaverPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "experienceSaver");
-                }
-                if (level >= 20) {
-                    qualityRepairPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "qualityRepair");
-                }
-                if (level >= 25) {
-                    toolExpertPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "toolExpert");
-                }
-                if (level >= 30) {
-                    weaponExpertPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "weaponExpert");
-                }
-                if (level >= 40) {
-                    armorExpertPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "armorExpert");
-                }
-                if (level >= 100) {
-                    masterSmithPlayers.add(player.getUniqueId());
-                    unlockPassive(player, skill, "masterSmith");
+        UUID playerId = player.getUniqueId();
+        for (int rung = from; rung < to; rung++) {
+            for (int effect : table.effects(skillOrdinal, rung)) {
+                grantEffect(playerId, effect);
+            }
+            for (int passive : table.passives(skillOrdinal, rung)) {
+                if (activePassives.computeIfAbsent(playerId, k -> new PassiveSet()).add(passive)) {
+                    passivesChanged(playerId);
                 }
-                break;
+                grantEffect(playerId, passive);
+            }
+            for (String passiveName : table.unlockNames(skillOrdinal, rung)) {
+                unlockPassive(player, skill, passiveName);
+            }
         }
 
         // Notify player of new passive unlocks
-        if (level == 10 || level == 20 || level == 30) {
-            player.sendMessage(ChatColor.GREEN + "✨ You've unlocked new passive abilities for " + skill + "!");
-        }
+        player.sendMessage(ChatColor.GREEN + "✨ You've unlocked new passive abilities for " + skill + "!");
     }
 
     public double getXPMultiplier(Player player, String skill) {
@@ -1520,6 +644,22 @@ public class PassiveSkillManager implements Listener {
                 if (hasPassive(player, skill, "fortuneBoost")) {
                     multiplier += 0.25; // +25% XP
                 }
+                if (hasPassive(playerId, "masterMiner")) {
+                    multiplier += 0.25; // +25% to all mining XP
+                }
+                // Mining XP Boost I-V - Levels 7, 24, 45, 64, 82 (+10% to +30% XP)
+                if (hasPassive(playerId, "miningXpBoost")) {
+                    int tier = 0;
+                    while (tier < MINING_XP_BOOST_LEVELS.length && level >= MINING_XP_BOOST_LEVELS[tier]) {
+                        tier++;
+                    }
+                    multiplier += tierBonus(MINING_XP_BOOST_BONUS, tier);
+                }
+                break;
+
+            case "logging":
+                // xpBoost1-5 (+10% to +30% XP), highest tier only
+                multiplier += tierBonus(LOGGING_XP_BOOST_BONUS, getHighestTier(playerId, LOGGING_XP_BOOST));
                 break;
 
             case "woodcutting":
@@ -1559,29 +699,10 @@ public class PassiveSkillManager implements Listener {
                 break;
                 
             case "fishing":
-                // XP Boost I - Level 5 (+10% XP)
-                if (hasPassive(player, skill, "XP Boost I")) {
-                    multiplier += 0.1;
-                }
-                // XP Boost II - Level 22 (+15% XP)
-                else if (hasPassive(player, skill, "XP Boost II")) {
-                    multiplier += 0.15;
-                }
-                // XP Boost III - Level 42 (+20% XP)
-                else if (hasPassive(player, skill, "XP Boost III")) {
-                    multiplier += 0.2;
-                }
-                // XP Boost IV - Level 60 (+25% XP)
-                else if (hasPassive(player, skill, "XP Boost IV")) {
-                    multiplier += 0.25;
-                }
-                // XP Boost V - Level 72 (+30% XP)
-                else if (hasPassive(player, skill, "XP Boost V")) {
-                    multiplier += 0.3;
-                }
-                // XP Boost VI - Level 92 (+40% XP)
-                else if (hasPassive(player, skill, "XP Boost VI")) {
-                    multiplier += 0.4;
+                // XP Boost I-VI - Levels 5, 22, 42, 60, 72, 92 (+10% to +40% XP), highest tier only
+                PassiveSet unlocked = playerPassives.get(playerId);
+                if (unlocked != null) {
+                    multiplier += tierBonus(FISHING_XP_BOOST_BONUS, unlocked.highestTier(FISHING_XP_BOOST));
                 }
                 
                 // Master Angler - Level 70 (All fishing stats improved by 10%)
@@ -1600,6 +721,12 @@ public class PassiveSkillManager implements Listener {
                 }
                 break;
                 
+            case "enchanting":
+                // Research Master (Level 5, 27, 47, 67, 87) and Enchanting XP Boost (Level 7, 22, 42, 62, 82)
+                multiplier += tierBonus(RESEARCH_MASTER_BY_TIER, effectTier(playerId, RESEARCH_MASTER_I));
+                multiplier += tierBonus(ENCHANTING_XP_BOOST_BY_TIER, effectTier(playerId, ENCHANTING_XP_BOOST_I));
+                break;
+
             case "excavation":
                 if (hasPassive(player, skill, "doubleDrops")) {
                     multiplier += 0.1; // +10% XP
@@ -1773,23 +900,38 @@ public class PassiveSkillManager implements Listener {
     // --- NEW SYSTEM: Unlocking & Saving/Loading passives via config ---
     public void unlockPassive(Player player, String skill, String passiveName) {
         UUID playerId = player.getUniqueId();
-        playerPassives.computeIfAbsent(playerId, k -> new HashMap<>());
-        playerPassives.get(playerId).computeIfAbsent(skill, k -> new HashSet<>());
-        playerPassives.get(playerId).get(skill).add(passiveName);
+        PassiveSet passives = playerPassives.computeIfAbsent(playerId, k -> new PassiveSet());
+        if (passives.add(PassiveRegistry.ordinal(unlockKey(skill, passiveName)))) {
+            DebugTracer tracer = plugin.getDebugTracer();
+            if (tracer.sample(DebugTracer.Category.PASSIVES)) {
+                tracer.trace(DebugTracer.Category.PASSIVES, "unlock", "player", player.getName(),
+                        "skill", skill, "passive", passiveName);
+            }
+            passivesChanged(playerId);
+        }
+    }
+
+    private void passivesChanged(UUID playerUUID) {
+        passiveVersions.merge(playerUUID, 1, Integer::sum);
+    }
+
+    /**
+     * @param playerUUID The player's UUID
+     * @return A counter that changes whenever this player's passives change
+     */
+    public int getPassiveVersion(UUID playerUUID) {
+        return passiveEpoch + passiveVersions.getOrDefault(playerUUID, 0);
     }
 
     public boolean hasPassive(Player player, String skill, String passiveName) {
-        UUID playerId = player.getUniqueId();
-        return playerPassives.containsKey(playerId) &&
-                playerPassives.get(playerId).containsKey(skill) &&
-                playerPassives.get(playerId).get(skill).contains(passiveName);
+        return hasPassive(player.getUniqueId(), skill, passiveName);
     }
 
     public void savePassives() {
         FileConfiguration config = plugin.getConfig();
-        for (Map.Entry<UUID, Map<String, Set<String>>> playerEntry : playerPassives.entrySet()) {
+        for (Map.Entry<UUID, PassiveSet> playerEntry : playerPassives.entrySet()) {
             String playerUUID = playerEntry.getKey().toString();
-            Map<String, Set<String>> playerSkills = playerEntry.getValue();
+            Map<String, Set<String>> playerSkills = toSkillMap(playerEntry.getValue());
             for (Map.Entry<String, Set<String>> skillEntry : playerSkills.entrySet()) {
                 String skill = skillEntry.getKey();
                 Set<String> passives = skillEntry.getValue();
@@ -1802,16 +944,18 @@ public class PassiveSkillManager implements Listener {
     public void loadPassives() {
         FileConfiguration config = plugin.getConfig();
         playerPassives.clear();
+        passiveEpoch++;
         if (config.getConfigurationSection("players") == null) return;
         for (String playerUUID : config.getConfigurationSection("players").getKeys(false)) {
             UUID uuid = UUID.fromString(playerUUID);
-            Map<String, Set<String>> skillMap = new HashMap<>();
+            PassiveSet passives = new PassiveSet();
             ConfigurationSection playerSection = config.getConfigurationSection("players." + playerUUID);
             for (String skill : playerSection.getKeys(false)) {
-                List<String> passives = playerSection.getStringList(skill);
-                skillMap.put(skill, new HashSet<>(passives));
+                for (String passiveName : playerSection.getStringList(skill)) {
+                    passives.add(PassiveRegistry.ordinal(unlockKey(skill, passiveName)));
+                }
             }
-            playerPassives.put(uuid, skillMap);
+            playerPassives.put(uuid, passives);
         }
     }
 
@@ -2149,27 +1293,15 @@ public class PassiveSkillManager implements Listener {
     public void onEnchant(EnchantItemEvent event) {
         Player player = event.getEnchanter();
         int level = xpManager.getPlayerLevel(player, "enchanting");
-        double xpMultiplier = 1.0;
         boolean lapisSaved = false;
         
         // Enchanting Basics (Level 1) - Basic enchanting knowledge
-        if (enchantingBasicsPlayers.contains(player.getUniqueId())) {
+        if (hasEffect(player.getUniqueId(), ENCHANTING_BASICS)) {
             // This is a base passive, no specific effect needed
         }
         
         // Lapis Saver (Level 3, 25, 45, 65, 85) - Chance to not consume lapis
-        double lapisSaveChance = 0.0;
-        if (lapisSaverVPlayers.contains(player.getUniqueId())) {
-            lapisSaveChance = 0.50; // 50% chance at level 85
-        } else if (lapisSaverIVPlayers.contains(player.getUniqueId())) {
-            lapisSaveChance = 0.40; // 40% chance at level 65
-        } else if (lapisSaverIIIPlayers.contains(player.getUniqueId())) {
-            lapisSaveChance = 0.30; // 30% chance at level 45
-        } else if (lapisSaverIIPlayers.contains(player.getUniqueId())) {
-            lapisSaveChance = 0.20; // 20% chance at level 25
-        } else if (lapisSaverIPlayers.contains(player.getUniqueId())) {
-            lapisSaveChance = 0.10; // 10% chance at level 3
-        }
+        double lapisSaveChance = tierBonus(LAPIS_SAVER_BY_TIER, effectTier(player.getUniqueId(), LAPIS_SAVER_I));
         
         if (lapisSaveChance > 0 && Math.random() < lapisSaveChance) {
             // Get the enchanting inventory
@@ -2189,57 +1321,10 @@ public class PassiveSkillManager implements Listener {
             }
         }
         
-        // Research Master (Level 5, 27, 47, 67, 87) - XP boost for enchanting
-        if (researchMasterVPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.45; // 45% XP boost at level 87
-        } else if (researchMasterIVPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.40; // 40% XP boost at level 67
-        } else if (researchMasterIIIPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.35; // 35% XP boost at level 47
-        } else if (researchMasterIIPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.30; // 30% XP boost at level 27
-        } else if (researchMasterIPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.25; // 25% XP boost at level 5
-        }
-        
-        // Enchanting XP Boost (Level 7, 22, 42, 62, 82) - Additional XP from enchanting
-        if (enchantingXpBoostVPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.25; // Additional 25% XP boost at level 82
-        } else if (enchantingXpBoostIVPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.20; // Additional 20% XP boost at level 62
-        } else if (enchantingXpBoostIIIPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.15; // Additional 15% XP boost at level 42
-        } else if (enchantingXpBoostIIPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.10; // Additional 10% XP boost at level 22
-        } else if (enchantingXpBoostIPlayers.contains(player.getUniqueId())) {
-            xpMultiplier += 0.05; // Additional 5% XP boost at level 7
-        }
-        
-        // Apply XP multiplier if it's greater than 1.0
-        if (xpMultiplier > 1.0) {
-            int baseXP = event.getExpLevelCost() * 5; // Base XP from enchanting
-            int bonusXP = (int)Math.round(baseXP * (xpMultiplier - 1.0));
-            
-            if (bonusXP > 0) {
-                // Award the bonus XP directly
-                xpManager.addXP(player, "enchanting", bonusXP);
-                player.sendActionBar(Component.text("+" + (int)((xpMultiplier - 1.0) * 100) + "% Enchanting XP from passives!").color(NamedTextColor.GREEN));
-            }
-        }
+        // Research Master and Enchanting XP Boost apply to every enchanting award through the multiplier engine
 
         // Book Upgrade (Level 10, 32, 52, 72, 92) - Chance to upgrade enchantment levels on books
-        double bookUpgradeChance = 0.0;
-        if (bookUpgradeVPlayers.contains(player.getUniqueId())) {
-            bookUpgradeChance = 0.35; // 35% chance at level 92
-        } else if (bookUpgradeIVPlayers.contains(player.getUniqueId())) {
-            bookUpgradeChance = 0.30; // 30% chance at level 72
-        } else if (bookUpgradeIIIPlayers.contains(player.getUniqueId())) {
-            bookUpgradeChance = 0.25; // 25% chance at level 52
-        } else if (bookUpgradeIIPlayers.contains(player.getUniqueId())) {
-            bookUpgradeChance = 0.20; // 20% chance at level 32
-        } else if (bookUpgradeIPlayers.contains(player.getUniqueId())) {
-            bookUpgradeChance = 0.15; // 15% chance at level 10
-        }
+        double bookUpgradeChance = tierBonus(BOOK_UPGRADE_BY_TIER, effectTier(player.getUniqueId(), BOOK_UPGRADE_I));
         
         if (bookUpgradeChance > 0 && event.getItem().getType() == Material.BOOK && Math.random() < bookUpgradeChance) {
             Map<Enchantment, Integer> enchants = event.getEnchantsToAdd();
@@ -2265,7 +1350,7 @@ public class PassiveSkillManager implements Listener {
         boolean specialistApplied = false;
         
         // Efficiency Specialist (Level 12)
-        if (efficiencySpecialistPlayers.contains(player.getUniqueId()) && 
+        if (hasEffect(player.getUniqueId(), EFFICIENCY_SPECIALIST) && 
             enchants.containsKey(Enchantment.EFFICIENCY)) {
             int currentLevel = enchants.get(Enchantment.EFFICIENCY);
             if (currentLevel < Enchantment.EFFICIENCY.getMaxLevel()) {
@@ -2275,7 +1360,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Protection Specialist (Level 17)
-        if (protectionSpecialistPlayers.contains(player.getUniqueId())) {
+        if (hasEffect(player.getUniqueId(), PROTECTION_SPECIALIST)) {
             for (Enchantment ench : new ArrayList<>(enchants.keySet())) {
                 if (ench.equals(Enchantment.PROTECTION) || 
                     ench.equals(Enchantment.BLAST_PROTECTION) || 
@@ -2293,7 +1378,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Sharpness Specialist (Level 30)
-        if (sharpnessSpecialistPlayers.contains(player.getUniqueId()) && 
+        if (hasEffect(player.getUniqueId(), SHARPNESS_SPECIALIST) && 
             enchants.containsKey(Enchantment.SHARPNESS)) {
             int currentLevel = enchants.get(Enchantment.SHARPNESS);
             if (currentLevel < Enchantment.SHARPNESS.getMaxLevel()) {
@@ -2303,7 +1388,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Fortune Specialist (Level 37)
-        if (fortuneSpecialistPlayers.contains(player.getUniqueId()) && 
+        if (hasEffect(player.getUniqueId(), FORTUNE_SPECIALIST) && 
             enchants.containsKey(Enchantment.FORTUNE)) {
             int currentLevel = enchants.get(Enchantment.FORTUNE);
             if (currentLevel < Enchantment.FORTUNE.getMaxLevel()) {
@@ -2313,7 +1398,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Looting Specialist (Level 50)
-        if (lootingSpecialistPlayers.contains(player.getUniqueId()) && 
+        if (hasEffect(player.getUniqueId(), LOOTING_SPECIALIST) && 
             enchants.containsKey(Enchantment.LOOTING)) {
             int currentLevel = enchants.get(Enchantment.LOOTING);
             if (currentLevel < Enchantment.LOOTING.getMaxLevel()) {
@@ -2323,7 +1408,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Silk Touch Specialist (Level 57)
-        if (silkTouchSpecialistPlayers.contains(player.getUniqueId()) && 
+        if (hasEffect(player.getUniqueId(), SILK_TOUCH_SPECIALIST) && 
             !enchants.containsKey(Enchantment.SILK_TOUCH) && 
             event.getItem().getType().name().contains("PICKAXE")) {
             // Add Silk Touch if it's not already there and item is a pickaxe
@@ -2332,7 +1417,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Power Specialist (Level 70)
-        if (powerSpecialistPlayers.contains(player.getUniqueId()) && 
+        if (hasEffect(player.getUniqueId(), POWER_SPECIALIST) && 
             enchants.containsKey(Enchantment.POWER)) {
             int currentLevel = enchants.get(Enchantment.POWER);
             if (currentLevel < Enchantment.POWER.getMaxLevel()) {
@@ -2342,7 +1427,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Mending Specialist (Level 77)
-        if (mendingSpecialistPlayers.contains(player.getUniqueId()) && 
+        if (hasEffect(player.getUniqueId(), MENDING_SPECIALIST) && 
             !enchants.containsKey(Enchantment.MENDING)) {
             // Add Mending if it's not already there
             enchants.put(Enchantment.MENDING, 1);
@@ -2350,7 +1435,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Unbreaking Specialist (Level 90)
-        if (unbreakingSpecialistPlayers.contains(player.getUniqueId()) && 
+        if (hasEffect(player.getUniqueId(), UNBREAKING_SPECIALIST) && 
             enchants.containsKey(Enchantment.UNBREAKING)) {
             int currentLevel = enchants.get(Enchantment.UNBREAKING);
             if (currentLevel < Enchantment.UNBREAKING.getMaxLevel()) {
@@ -2364,18 +1449,7 @@ public class PassiveSkillManager implements Listener {
         }
 
         // Custom Enchants (Level 15, 35, 55, 75, 97) - Chance to add custom enchantment lore
-        double customEnchantChance = 0.0;
-        if (customEnchantsVPlayers.contains(player.getUniqueId())) {
-            customEnchantChance = 0.30; // 30% chance at level 97
-        } else if (customEnchantsIVPlayers.contains(player.getUniqueId())) {
-            customEnchantChance = 0.25; // 25% chance at level 75
-        } else if (customEnchantsIIIPlayers.contains(player.getUniqueId())) {
-            customEnchantChance = 0.20; // 20% chance at level 55
-        } else if (customEnchantsIIPlayers.contains(player.getUniqueId())) {
-            customEnchantChance = 0.15; // 15% chance at level 35
-        } else if (customEnchantsIPlayers.contains(player.getUniqueId())) {
-            customEnchantChance = 0.10; // 10% chance at level 15
-        }
+        double customEnchantChance = tierBonus(CUSTOM_ENCHANTS_BY_TIER, effectTier(player.getUniqueId(), CUSTOM_ENCHANTS_I));
         
         if (customEnchantChance > 0 && Math.random() < customEnchantChance) {
             // Get the item being enchanted
@@ -2400,16 +1474,7 @@ public class PassiveSkillManager implements Listener {
         }
 
         // Rare Enchant Boost (Level 20, 40, 60, 80) - Chance to add rare enchantment
-        double rareEnchantChance = 0.0;
-        if (rareEnchantBoostIVPlayers.contains(player.getUniqueId())) {
-            rareEnchantChance = 0.35; // 35% chance at level 80
-        } else if (rareEnchantBoostIIIPlayers.contains(player.getUniqueId())) {
-            rareEnchantChance = 0.30; // 30% chance at level 60
-        } else if (rareEnchantBoostIIPlayers.contains(player.getUniqueId())) {
-            rareEnchantChance = 0.25; // 25% chance at level 40
-        } else if (rareEnchantBoostIPlayers.contains(player.getUniqueId())) {
-            rareEnchantChance = 0.20; // 20% chance at level 20
-        }
+        double rareEnchantChance = tierBonus(RARE_ENCHANT_BOOST_BY_TIER, effectTier(player.getUniqueId(), RARE_ENCHANT_BOOST_I));
         
         if (rareEnchantChance > 0 && Math.random() < rareEnchantChance) {
             ItemStack item = event.getItem();
@@ -2425,7 +1490,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Legendary Enchanter (Level 95) - Chance for max level enchantments
-        if (legendaryEnchanterPlayers.contains(player.getUniqueId()) && Math.random() < 0.15) { // 15% chance
+        if (hasEffect(player.getUniqueId(), LEGENDARY_ENCHANTER) && Math.random() < 0.15) { // 15% chance
             boolean maxLevelApplied = false;
             
             for (Map.Entry<Enchantment, Integer> entry : new HashMap<>(enchants).entrySet()) {
@@ -2445,7 +1510,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Master Enchanter (Level 100) - All enchanting abilities enhanced
-        if (masterEnchanterPlayers.contains(player.getUniqueId())) {
+        if (hasEffect(player.getUniqueId(), MASTER_ENCHANTER)) {
             // 10% chance to add an additional enchantment
             if (Math.random() < 0.10) {
                 ItemStack item = event.getItem();
@@ -2567,13 +1632,10 @@ public class PassiveSkillManager implements Listener {
         boolean hasSilkTouch = tool.containsEnchantment(Enchantment.SILK_TOUCH);
         
         // Check if this is a player-placed block - if so, don't give XP but still allow drops
-        if (isPlayerPlaced(block)) {
+        if (placedBlocks.isPlaced(block)) {
             // If it's a player-placed block, we'll still allow normal drops
             // but we won't give any XP or apply special passive effects
             
-            // Remove from tracking set since it's been broken
-            playerPlacedBlocks.remove(getBlockLocationKey(block));
-            
             // For ores, we still want to handle drops manually to be consistent
             if (isOre(block.getType())) {
                 event.setDropItems(false);
@@ -2646,12 +1708,8 @@ public class PassiveSkillManager implements Listener {
             // Drop the items
             block.getWorld().dropItemNaturally(block.getLocation(), new ItemStack(dropType, amount));
             
-            // Apply XP boost for mining stone
-            if (hasPassive(playerId, "miningXpBoost")) {
-                givePlayerMiningXP(player, 2); // Give a small amount of XP
-            } else {
-                givePlayerMiningXP(player, 1); // Give a smaller amount of XP
-            }
+            // Mining stone gives a small amount of XP; Mining XP Boost is applied by the multiplier engine
+            givePlayerMiningXP(player, 1);
             
             // Check for the Treasure Hunter passive
             if (hasPassive(playerId, "treasureHunter") && Math.random() < 0.03) { // 3% chance
@@ -2696,12 +1754,7 @@ public class PassiveSkillManager implements Listener {
             // With silk touch, just drop the ore block itself
             block.getWorld().dropItemNaturally(block.getLocation(), new ItemStack(oreType, 1));
             
-            // Apply XP boost for mining
-            if (hasPassive(playerId, "miningXpBoost")) {
-                givePlayerMiningXP(player, calculateOreXP(block.getType()));
-            } else {
-                givePlayerMiningXP(player, calculateOreXP(block.getType()) * 0.5); // Less XP for silk touch
-            }
+            givePlayerMiningXP(player, calculateOreXP(block.getType()) * 0.5); // Less XP for silk touch
             
             return;
         }
@@ -2836,14 +1889,8 @@ public class PassiveSkillManager implements Listener {
             player.sendActionBar("§6Advanced Haste activated from rare ore!");
         }
         
-        // Apply Mining XP Boost passive
-        if (hasPassive(playerId, "miningXpBoost")) {
-            // Give bonus XP for mining based on ore type
-            givePlayerMiningXP(player, calculateOreXP(block.getType()) * 1.1); // 10% more XP
-        } else {
-            // Standard XP
-            givePlayerMiningXP(player, calculateOreXP(block.getType()));
-        }
+        // XP based on ore type; Mining XP Boost is applied by the multiplier engine
+        givePlayerMiningXP(player, calculateOreXP(block.getType()));
         
         // Apply Miner's Night Vision when below Y=30
         if (hasPassive(playerId, "minersNightVision") && block.getY() < 30) {
@@ -2901,6 +1948,7 @@ public class PassiveSkillManager implements Listener {
     private void excavateArea(Player player, Block centerBlock, int radius) {
         UUID playerId = player.getUniqueId();
         Material targetType = centerBlock.getType();
+        int brokenBlocks = 0;
         
         for (int x = -radius; x <= radius; x++) {
             for (int y = -radius; y <= radius; y++) {
@@ -2915,14 +1963,16 @@ public class PassiveSkillManager implements Listener {
                         // Break the block and drop its item
                         relativeBlock.breakNaturally(player.getInventory().getItemInMainHand());
                         
-                        // Apply XP boost if the player has it
-                        if (hasPassive(playerId, "miningXpBoost")) {
-                            givePlayerMiningXP(player, 1); // Small amount of XP per block
-                        }
+                        brokenBlocks++;
                     }
                 }
             }
         }
+        
+        // Apply XP boost if the player has it, as one award for the whole area
+        if (brokenBlocks > 0 && hasPassive(playerId, "miningXpBoost")) {
+            xpManager.queueXP(player, "mining", brokenBlocks); // Small amount of XP per block
+        }
     }
 
     // Check if a material is stone or a stone variant
@@ -2986,39 +2036,10 @@ public class PassiveSkillManager implements Listener {
         }
     }
 
-    // Give mining XP to the player
+    // Give mining XP to the player at the end of the tick
     private void givePlayerMiningXP(Player player, double amount) {
-        // Calculate any XP multipliers from other passives
-        double multiplier = 1.0;
-        
-        // Apply Master Miner bonus if applicable
-        if (hasPassive(player.getUniqueId(), "masterMiner")) {
-            multiplier *= 1.25; // 25% bonus to all mining XP
-        }
-        
-        // Apply mining XP boost levels
-        if (hasPassive(player.getUniqueId(), "miningXpBoost")) {
-            UUID playerId = player.getUniqueId();
-            int miningLevel = plugin.getPlayerDataManager().getSkillLevel(playerId, "mining");
-            
-            if (miningLevel >= 82) { // XP Boost V
-                multiplier *= 1.3; // +30%
-            } else if (miningLevel >= 64) { // XP Boost IV
-                multiplier *= 1.25; // +25%
-            } else if (miningLevel >= 45) { // XP Boost III
-                multiplier *= 1.2; // +20%
-            } else if (miningLevel >= 24) { // XP Boost II
-                multiplier *= 1.15; // +15%
-            } else if (miningLevel >= 7) { // XP Boost I
-                multiplier *= 1.1; // +10%
-            }
-        }
-        
-        // Calculate final XP amount
-        int finalXp = (int)(amount * multiplier);
-        
-        // Call XP manager to add XP
-        xpManager.addXP(player, "mining", finalXp);
+        // Master Miner and Mining XP Boost are applied by the multiplier engine
+        xpManager.queueXP(player, "mining", (int) amount);
     }
 
     // Helper method to get a custom enchant based on item type
@@ -3077,41 +2098,40 @@ public class PassiveSkillManager implements Listener {
     }
 
     // Implement Tree Growth Boost (runs on a timer)
+    /**
+     * Boosts the saplings around players with the Tree Growth Boost passive every 20 seconds
+     */
     public void startTreeGrowthBooster() {
-        // Schedule a task that runs every 5 minutes (6000 ticks)
         plugin.getServer().getScheduler().scheduleSyncRepeatingTask(plugin, () -> {
-            // For every online player with the Tree Growth Boost passive
             for (Player player : plugin.getServer().getOnlinePlayers()) {
                 if (hasPassive(player.getUniqueId(), "treeGrowthBoost")) {
                     boostNearbySaplings(player);
                 }
             }
-        }, 6000L, 6000L);
+        }, 400L, 400L);
     }
 
     private void boostNearbySaplings(Player player) {
-        int radius = 10; // 10 block radius around player
-        World world = player.getWorld();
         Location playerLoc = player.getLocation();
+        saplingIndex.ensureIndexed(player.getWorld(), playerLoc.getBlockX(), playerLoc.getBlockZ(), 15);
+        long[] saplings = saplingIndex.near(player.getWorld(), playerLoc.getBlockX(), playerLoc.getBlockY(),
+                playerLoc.getBlockZ(), 15, 5);
         
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -radius; y <= radius; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    Location blockLoc = playerLoc.clone().add(x, y, z);
-                    Block block = world.getBlockAt(blockLoc);
-                    
-                    // Check if the block is a sapling
-                    if (block.getType().name().contains("_SAPLING")) {
-                        // 30% chance to apply bonemeal effect
-                        if (Math.random() < 0.3) {
-                            // Apply bonemeal effect (simulate growth)
-                            block.applyBoneMeal(BlockFace.UP);
-                            player.sendActionBar("§6Your Tree Growth Boost passive is working!");
-                        }
-                    }
+        UUID playerId = player.getUniqueId();
+        boolean[] notified = {false};
+        blockBooster.submit(saplingIndex, player.getWorld(), saplings, block -> {
+            // 30% chance to apply bonemeal effect
+            if (Math.random() < 0.3 && block.applyBoneMeal(BlockFace.UP)) {
+                block.getWorld().spawnParticle(Particle.COMPOSTER, block.getLocation().add(0.5, 0.5, 0.5), 5);
+                
+                // Tell the player once per cycle
+                Player online = Bukkit.getPlayer(playerId);
+                if (!notified[0] && online != null) {
+                    online.sendActionBar("§6Your Tree Growth Boost passive is working!");
+                    notified[0] = true;
                 }
             }
-        }
+        });
     }
 
     // Lifesteal passive implementation
@@ -3198,10 +2218,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Check if this is a player-placed block - if so, don't give XP
-        if (isPlayerPlaced(block)) {
-            // Remove from tracking set since it's been broken
-            playerPlacedBlocks.remove(getBlockLocationKey(block));
-            
+        if (placedBlocks.isPlaced(block)) {
             // For crops, we'll still allow normal drops
             return; // Skip the rest of the method to avoid giving XP
         }
@@ -3223,31 +2240,31 @@ public class PassiveSkillManager implements Listener {
         double multiplier = 1.0;
         
         // Check for specialist passive based on crop type
-        if (blockType == Material.WHEAT && wheatSpecialistPlayers.contains(playerId)) {
+        if (blockType == Material.WHEAT && hasEffect(playerId, WHEAT_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
-        } else if (blockType == Material.CARROTS && carrotSpecialistPlayers.contains(playerId)) {
+        } else if (blockType == Material.CARROTS && hasEffect(playerId, CARROT_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
-        } else if (blockType == Material.POTATOES && potatoSpecialistPlayers.contains(playerId)) {
+        } else if (blockType == Material.POTATOES && hasEffect(playerId, POTATO_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
-        } else if (blockType == Material.BEETROOTS && beetrootSpecialistPlayers.contains(playerId)) {
+        } else if (blockType == Material.BEETROOTS && hasEffect(playerId, BEETROOT_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
-        } else if (isMelon(blockType) && melonSpecialistPlayers.contains(playerId)) {
+        } else if (isMelon(blockType) && hasEffect(playerId, MELON_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
-        } else if (isPumpkin(blockType) && pumpkinSpecialistPlayers.contains(playerId)) {
+        } else if (isPumpkin(blockType) && hasEffect(playerId, PUMPKIN_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
-        } else if (blockType == Material.NETHER_WART && netherWartSpecialistPlayers.contains(playerId)) {
+        } else if (blockType == Material.NETHER_WART && hasEffect(playerId, NETHER_WART_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
-        } else if (blockType == Material.CACTUS && cactusSpecialistPlayers.contains(playerId)) {
+        } else if (blockType == Material.CACTUS && hasEffect(playerId, CACTUS_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
-        } else if (blockType == Material.SUGAR_CANE && sugarCaneSpecialistPlayers.contains(playerId)) {
+        } else if (blockType == Material.SUGAR_CANE && hasEffect(playerId, SUGAR_CANE_SPECIALIST)) {
             multiplier += 0.25;
             specialistApplied = true;
         }
@@ -3263,13 +2280,13 @@ public class PassiveSkillManager implements Listener {
         double extraDropChance = 0.0;
         
         // Apply the legendary farmer effect that can double all boosts
-        boolean legendaryEffect = legendaryFarmerPlayers.contains(playerId) && Math.random() < 0.20;
+        boolean legendaryEffect = hasEffect(playerId, LEGENDARY_FARMER) && Math.random() < 0.20;
         
-        if (doubleCropYieldIIIPlayers.contains(playerId)) {
+        if (hasEffect(playerId, DOUBLE_CROP_YIELD_III)) {
             extraDropChance = 0.35; // 35% chance
-        } else if (doubleCropYieldIIPlayers.contains(playerId)) {
+        } else if (hasEffect(playerId, DOUBLE_CROP_YIELD_II)) {
             extraDropChance = 0.25; // 25% chance
-        } else if (doubleCropYieldIPlayers.contains(playerId) || doubleCropYieldPlayers.contains(playerId)) {
+        } else if (hasEffect(playerId, DOUBLE_CROP_YIELD_I) || hasEffect(playerId, DOUBLE_CROP_YIELD)) {
             extraDropChance = 0.15; // 15% chance
         }
         
@@ -3284,7 +2301,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Apply Triple Crop Yield passive
-        if (tripleCropYieldPlayers.contains(playerId)) {
+        if (hasEffect(playerId, TRIPLE_CROP_YIELD)) {
             double tripleChance = 0.15; // 15% chance
             if (legendaryEffect) {
                 tripleChance *= 2; // Double the chance with Legendary Farmer
@@ -3298,7 +2315,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Apply Quadruple Crop Yield passive
-        if (quadrupleCropYieldPlayers.contains(playerId)) {
+        if (hasEffect(playerId, QUADRUPLE_CROP_YIELD)) {
             double quadrupleChance = 0.05; // 5% chance
             if (legendaryEffect) {
                 quadrupleChance *= 2; // Double the chance with Legendary Farmer
@@ -3312,7 +2329,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Apply Master Farmer passive (Level 100)
-        if (masterFarmerPlayers.contains(playerId)) {
+        if (hasEffect(playerId, MASTER_FARMER)) {
             // Master Farmer has a 10% chance to add 1 to the multiplier
             if (Math.random() < 0.10) {
                 multiplier += 1.0;
@@ -3325,13 +2342,7 @@ public class PassiveSkillManager implements Listener {
         
         // Apply Rare Crop Master passive
         boolean rareCropApplied = false;
-        double rareCropChance = 0.0;
-        
-        if (rareCropMasterIIPlayers.contains(playerId)) {
-            rareCropChance = 0.25; // 25% chance
-        } else if (rareCropMasterIPlayers.contains(playerId)) {
-            rareCropChance = 0.15; // 15% chance
-        }
+        double rareCropChance = tierBonus(RARE_CROP_MASTER_BY_TIER, effectTier(playerId, RARE_CROP_MASTER_I));
         
         if (rareCropChance > 0 && Math.random() < rareCropChance) {
             // Add a rare crop variant
@@ -3363,11 +2374,11 @@ public class PassiveSkillManager implements Listener {
         boolean replanted = false;
         double replantChance = 0.0;
         
-        if (autoReplantIIIPlayers.contains(playerId)) {
+        if (hasEffect(playerId, AUTO_REPLANT_III)) {
             replantChance = 0.60; // 60% chance
-        } else if (autoReplantIIPlayers.contains(playerId)) {
+        } else if (hasEffect(playerId, AUTO_REPLANT_II)) {
             replantChance = 0.40; // 40% chance
-        } else if (autoReplantIPlayers.contains(playerId) || autoReplantPlayers.contains(playerId)) {
+        } else if (hasEffect(playerId, AUTO_REPLANT_I) || hasEffect(playerId, AUTO_REPLANT)) {
             replantChance = 0.20; // 20% chance
         }
         
@@ -3446,6 +2457,11 @@ public class PassiveSkillManager implements Listener {
                 crop.setAge(0);
                 block.setBlockData(crop);
             }
+            
+            // Placed without an event, so the crop index has to be told
+            if (isFarmCrop(block.getType())) {
+                cropIndex.add(block);
+            }
         }
     }
     
@@ -3534,23 +2550,11 @@ public class PassiveSkillManager implements Listener {
         
         // Handle seed planting (Seed Saver passive)
         if (isFarmland(clickedBlock.getType()) && isSeed(itemInHand.getType())) {
-            double seedSaveChance = 0.0;
-            
             // Apply the legendary farmer effect that can double all boosts
-            boolean legendaryEffect = legendaryFarmerPlayers.contains(playerId) && Math.random() < 0.20;
+            boolean legendaryEffect = hasEffect(playerId, LEGENDARY_FARMER) && Math.random() < 0.20;
             
             // Check for Seed Saver passives
-            if (seedSaverVPlayers.contains(playerId)) {
-                seedSaveChance = 0.50; // 50% chance
-            } else if (seedSaverIVPlayers.contains(playerId)) {
-                seedSaveChance = 0.40; // 40% chance
-            } else if (seedSaverIIIPlayers.contains(playerId)) {
-                seedSaveChance = 0.30; // 30% chance
-            } else if (seedSaverIIPlayers.contains(playerId)) {
-                seedSaveChance = 0.20; // 20% chance
-            } else if (seedSaverIPlayers.contains(playerId)) {
-                seedSaveChance = 0.10; // 10% chance
-            }
+            double seedSaveChance = tierBonus(SEED_SAVER_BY_TIER, effectTier(playerId, SEED_SAVER_I));
             
             if (legendaryEffect) {
                 seedSaveChance *= 2; // Double the chance with Legendary Farmer (capped at 100%)
@@ -3573,6 +2577,7 @@ public class PassiveSkillManager implements Listener {
                         ageable.setAge(0);
                         targetBlock.setBlockData(ageable);
                     }
+                    cropIndex.add(targetBlock);
                     
                     // Play planting sound and effect
                     player.getWorld().playSound(targetBlock.getLocation(), Sound.ITEM_CROP_PLANT, 1.0F, 1.0F);
@@ -3586,7 +2591,7 @@ public class PassiveSkillManager implements Listener {
         
         // Handle fertilizer master passive when using bone meal
         if (itemInHand.getType() == Material.BONE_MEAL && clickedBlock != null && isFarmCrop(clickedBlock.getType())) {
-            if (fertilizerMasterPlayers.contains(playerId)) {
+            if (hasEffect(playerId, FERTILIZER_MASTER)) {
                 // There's a 35% chance the bone meal will have extra effect
                 if (Math.random() < 0.35) {
                     // Cancel the event to handle it manually
@@ -3665,72 +2670,56 @@ public class PassiveSkillManager implements Listener {
                 UUID playerId = player.getUniqueId();
                 
                 // Skip players without any growth speed passives
-                if (!growthSpeedIPlayers.contains(playerId) && 
-                    !growthSpeedIIPlayers.contains(playerId) && 
-                    !growthSpeedIIIPlayers.contains(playerId) && 
-                    !growthSpeedIVPlayers.contains(playerId)) {
+                int growthSpeedTier = effectTier(playerId, GROWTH_SPEED_I);
+                if (growthSpeedTier == 0) {
                     continue;
                 }
                 
                 // Determine growth speed bonus based on passive level
-                double growthChance = 0.0;
-                if (growthSpeedIVPlayers.contains(playerId)) {
-                    growthChance = 0.40; // 40% chance
-                } else if (growthSpeedIIIPlayers.contains(playerId)) {
-                    growthChance = 0.30; // 30% chance
-                } else if (growthSpeedIIPlayers.contains(playerId)) {
-                    growthChance = 0.20; // 20% chance
-                } else if (growthSpeedIPlayers.contains(playerId)) {
-                    growthChance = 0.10; // 10% chance
-                }
+                double growthChance = tierBonus(GROWTH_SPEED_BY_TIER, growthSpeedTier);
                 
                 // Apply soil enrichment passive (crops within 10 blocks grow 20% faster)
-                if (soilEnrichmentPlayers.contains(playerId)) {
+                if (hasEffect(playerId, SOIL_ENRICHMENT)) {
                     growthChance += 0.20;
                 }
                 
                 // Apply the legendary farmer effect that can double the growth chance
-                if (legendaryFarmerPlayers.contains(playerId) && Math.random() < 0.20) {
+                if (hasEffect(playerId, LEGENDARY_FARMER) && Math.random() < 0.20) {
                     growthChance *= 2; // Double the chance with Legendary Farmer
                 }
                 
                 // Apply master farmer bonus
-                if (masterFarmerPlayers.contains(playerId)) {
+                if (hasEffect(playerId, MASTER_FARMER)) {
                     growthChance += 0.10; // Additional 10% bonus
                 }
                 
-                // Check nearby crops and possibly advance their growth
+                // Queue the known crops nearby; the booster spreads the block reads over ticks
                 if (growthChance > 0) {
                     Location playerLoc = player.getLocation();
-                    int radius = soilEnrichmentPlayers.contains(playerId) ? 10 : 5;
+                    int radius = hasEffect(playerId, SOIL_ENRICHMENT) ? 10 : 5;
+                    cropIndex.ensureIndexed(player.getWorld(), playerLoc.getBlockX(), playerLoc.getBlockZ(), radius);
+                    long[] crops = cropIndex.near(player.getWorld(), playerLoc.getBlockX(), playerLoc.getBlockY(),
+                            playerLoc.getBlockZ(), radius, 3);
                     
-                    // Get all blocks in the radius
-                    for (int x = -radius; x <= radius; x++) {
-                        for (int y = -3; y <= 3; y++) {
-                            for (int z = -radius; z <= radius; z++) {
-                                Block block = playerLoc.getBlock().getRelative(x, y, z);
-                                
-                                // Only process crops
-                                if (isFarmCrop(block.getType())) {
-                                    // Random chance to grow the crop based on player's passive
-                                    if (Math.random() < growthChance) {
-                                        growCrop(block);
-                                    }
-                                    
-                                    // Check for Instant Growth Master (5% chance for instant growth)
-                                    if (instantGrowthMasterPlayers.contains(playerId) && Math.random() < 0.05) {
-                                        // Instantly grow to max age
-                                        Ageable ageable = (Ageable) block.getBlockData();
-                                        ageable.setAge(ageable.getMaximumAge());
-                                        block.setBlockData(ageable);
-                                        
-                                        // Spawn effect
-                                        block.getWorld().spawnParticle(Particle.COMPOSTER, block.getLocation().add(0.5, 0.5, 0.5), 10, 0.3, 0.3, 0.3, 0);
-                                    }
-                                }
-                            }
+                    double chance = growthChance;
+                    boolean instantGrowth = hasEffect(playerId, INSTANT_GROWTH_MASTER);
+                    blockBooster.submit(cropIndex, player.getWorld(), crops, block -> {
+                        // Random chance to grow the crop based on player's passive
+                        if (Math.random() < chance) {
+                            growCrop(block);
                         }
-                    }
+                        
+                        // Check for Instant Growth Master (5% chance for instant growth)
+                        if (instantGrowth && Math.random() < 0.05) {
+                            // Instantly grow to max age
+                            Ageable ageable = (Ageable) block.getBlockData();
+                            ageable.setAge(ageable.getMaximumAge());
+                            block.setBlockData(ageable);
+                            
+                            // Spawn effect
+                            block.getWorld().spawnParticle(Particle.COMPOSTER, block.getLocation().add(0.5, 0.5, 0.5), 10, 0.3, 0.3, 0.3, 0);
+                        }
+                    });
                 }
             }
         }, 1200L, 1200L); // Check every minute (1200 ticks)
@@ -3774,16 +2763,13 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Check if this is a player-placed block - if so, don't give XP
-        if (isPlayerPlaced(block)) {
-            // Remove from tracking set since it's been broken
-            playerPlacedBlocks.remove(getBlockLocationKey(block));
-            
+        if (placedBlocks.isPlaced(block)) {
             // For excavation blocks, we'll still allow normal drops
             return; // Skip the rest of the method to avoid giving XP
         }
         
         // Archaeology basics passive
-        if (plugin.isPassiveEnabled("excavation", "archaeologyBasics") && archaeologyBasicsPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("excavation", "archaeologyBasics") && hasEffect(playerId, ARCHAEOLOGY_BASICS)) {
             double chance = plugin.getPassiveValue("excavation", "archaeologyBasics");
             if (Math.random() < chance) {
                 dropArchaeologyFinds(block.getLocation());
@@ -3792,7 +2778,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Double drops passive
-        if (plugin.isPassiveEnabled("excavation", "doubleDrops") && doubleDropsPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("excavation", "doubleDrops") && hasEffect(playerId, DOUBLE_DROPS)) {
             double chance = plugin.getPassiveValue("excavation", "doubleDrops");
             if (Math.random() < chance) {
                 for (ItemStack drop : block.getDrops(player.getInventory().getItemInMainHand())) {
@@ -3803,7 +2789,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Treasure finder passive
-        if (plugin.isPassiveEnabled("excavation", "treasureFinder") && treasureFinderPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("excavation", "treasureFinder") && hasEffect(playerId, TREASURE_FINDER)) {
             double chance = plugin.getPassiveValue("excavation", "treasureFinder");
             if (Math.random() < chance) {
                 dropRandomTreasure(block.getLocation());
@@ -3812,7 +2798,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Rare find passive
-        if (plugin.isPassiveEnabled("excavation", "rareFind") && rareFindPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("excavation", "rareFind") && hasEffect(playerId, RARE_FIND)) {
             double chance = plugin.getPassiveValue("excavation", "rareFind") / 2; // Make rare finds truly rare
             if (Math.random() < chance) {
                 dropRareItem(block.getLocation());
@@ -3821,7 +2807,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Multi-block excavation passive
-        if (plugin.isPassiveEnabled("excavation", "multiBlock") && multiBlockPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("excavation", "multiBlock") && hasEffect(playerId, MULTI_BLOCK)) {
             double chance = plugin.getPassiveValue("excavation", "multiBlock");
             if (Math.random() < chance) {
                 // Excavate a small area around the broken block
@@ -3831,7 +2817,7 @@ public class PassiveSkillManager implements Listener {
         }
         
         // Ancient artifacts passive
-        if (plugin.isPassiveEnabled("excavation", "ancientArtifacts") && ancientArtifactsPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("excavation", "ancientArtifacts") && hasEffect(playerId, ANCIENT_ARTIFACTS)) {
             double chance = plugin.getPassiveValue("excavation", "ancientArtifacts") / 4; // Very rare
             if (Math.random() < chance) {
                 // Simplified implementation - drop a custom gold ingot
@@ -4052,7 +3038,7 @@ public class PassiveSkillManager implements Listener {
         boolean passiveActivated = false;
 
         // Material Saver passive - chance to not consume materials
-        if (plugin.isPassiveEnabled("repair", "materialSaver") && materialSaverPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("repair", "materialSaver") && hasEffect(playerId, MATERIAL_SAVER)) {
             double chance = plugin.getPassiveValue("repair", "materialSaver");
             if (Math.random() < chance) {
                 // This is tricky to implement directly since the anvil mechanics are handled by Minecraft
@@ -4064,7 +3050,7 @@ public class PassiveSkillManager implements Listener {
         }
 
         // Experience Saver passive - reduce XP cost
-        if (plugin.isPassiveEnabled("repair", "experienceSaver") && experienceSaverPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("repair", "experienceSaver") && hasEffect(playerId, EXPERIENCE_SAVER)) {
             // This is also tricky to implement directly
             // The XP cost is determined by the anvil GUI before this event fires
             // For a proper implementation, we would need to modify the anvil mechanics
@@ -4076,7 +3062,7 @@ public class PassiveSkillManager implements Listener {
         }
 
         // Quality Repair passive - repairs restore more durability
-        if (plugin.isPassiveEnabled("repair", "qualityRepair") && qualityRepairPlayers.contains(playerId)) {
+        if (plugin.isPassiveEnabled("repair", "qualityRepair") && hasEffect(playerId, QUALITY_REPAIR)) {
             // Again, this is difficult to implement directly
             // We would need to modify the durability of the repaired item
             // For now, just notify
@@ -4108,7 +3094,7 @@ public class PassiveSkillManager implements Listener {
                         // Give XP for the broken block
                         int xpGained = plugin.getXpManager().getXPForExcavationMaterial(relativeBlock.getType());
                         if (xpGained > 0) {
-                            plugin.getXpManager().addXP(player, "excavation", xpGained / 2); // Half XP for passive breaks
+                            plugin.getXpManager().queueXP(player, "excavation", xpGained / 2); // Half XP for passive breaks
                         }
                     }
                 }
@@ -4130,34 +3116,8 @@ public class PassiveSkillManager implements Listener {
             blockType == Material.SUGAR_CANE || isPumpkin(blockType) || 
             isMelon(blockType)) {
             
-            // Create a unique identifier for this block location
-            String blockKey = getBlockLocationKey(block);
-            
-            // Add to our tracking set
-            playerPlacedBlocks.add(blockKey);
-            
-            // Schedule removal after a long time (e.g., server restart or chunk unload will handle cleanup)
-            // This prevents the set from growing too large
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                playerPlacedBlocks.remove(blockKey);
-            }, 20 * 60 * 60 * 3); // Remove after 3 hours
+            // Untracked again when broken or after placed_blocks.expire_minutes
+            placedBlocks.add(block);
         }
     }
-    
-    /**
-     * Creates a unique string key for a block location
-     */
-    private String getBlockLocationKey(Block block) {
-        return block.getWorld().getName() + ":" + 
-               block.getX() + ":" + 
-               block.getY() + ":" + 
-               block.getZ();
-    }
-    
-    /**
-     * Checks if a block was placed by a player
-     */
-    private boolean isPlayerPlaced(Block block) {
-        return playerPlacedBlocks.contains(getBlockLocationKey(block));
-    }
 }
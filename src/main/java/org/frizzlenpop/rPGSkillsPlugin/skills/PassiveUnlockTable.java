@@ -0,0 +1,166 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of which passives each skill level unlocks, compiled from
+ * {@code passive_unlocks.yml} into a sorted array of unlock levels per
+ * {@link SkillRegistry} ordinal. The passives between two levels are found with a
+ * binary search, so a level-up only touches the levels it crossed. A reload builds
+ * a new snapshot and swaps it in whole.
+ */
+public final class PassiveUnlockTable {
+    private static final int[] NO_LEVELS = new int[0];
+
+    // Per skill ordinal: the unlock levels ascending, and per level what it unlocks
+    private final int[][] levels;
+    private final String[][][] unlockNames;
+    private final int[][][] unlocks;
+    private final int[][][] effects;
+    private final int[][][] passives;
+
+    private PassiveUnlockTable(int skills) {
+        this.levels = new int[skills][];
+        this.unlockNames = new String[skills][][];
+        this.unlocks = new int[skills][][];
+        this.effects = new int[skills][][];
+        this.passives = new int[skills][][];
+        Arrays.fill(levels, NO_LEVELS);
+    }
+
+    /**
+     * Compiles the table from the unlock config
+     *
+     * @param section The section with one sub-section per skill, keyed by level, may be null
+     * @param logger Receives warnings about entries that do not match anything
+     * @return The compiled table
+     */
+    public static PassiveUnlockTable load(ConfigurationSection section, Logger logger) {
+        if (section == null) {
+            return new PassiveUnlockTable(0);
+        }
+
+        // Register every skill first so the arrays cover all of them
+        for (String key : section.getKeys(false)) {
+            SkillRegistry.ordinal(key.toLowerCase(Locale.ROOT));
+        }
+
+        PassiveUnlockTable table = new PassiveUnlockTable(SkillRegistry.size());
+        for (String key : section.getKeys(false)) {
+            ConfigurationSection skillSection = section.getConfigurationSection(key);
+            if (skillSection == null) {
+                logger.warning("Expected levels under '" + key + "' in passive_unlocks.yml");
+                continue;
+            }
+            table.compile(key.toLowerCase(Locale.ROOT), skillSection, logger);
+        }
+        return table;
+    }
+
+    private void compile(String skill, ConfigurationSection section, Logger logger) {
+        TreeMap<Integer, ConfigurationSection> byLevel = new TreeMap<>();
+        for (String key : section.getKeys(false)) {
+            ConfigurationSection levelSection = section.getConfigurationSection(key);
+            try {
+                int level = Integer.parseInt(key);
+                if (levelSection != null && level > 0) {
+                    byLevel.put(level, levelSection);
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            logger.warning("Invalid level '" + key + "' for " + skill + " in passive_unlocks.yml");
+        }
+
+        int ordinal = SkillRegistry.ordinal(skill);
+        int size = byLevel.size();
+        levels[ordinal] = new int[size];
+        unlockNames[ordinal] = new String[size][];
+        unlocks[ordinal] = new int[size][];
+        effects[ordinal] = new int[size][];
+        passives[ordinal] = new int[size][];
+
+        int rung = 0;
+        for (var entry : byLevel.entrySet()) {
+            List<String> names = entry.getValue().getStringList("unlock");
+            List<String> effectNames = entry.getValue().getStringList("effects");
+            List<String> passiveNames = entry.getValue().getStringList("passives");
+
+            levels[ordinal][rung] = entry.getKey();
+            unlockNames[ordinal][rung] = names.toArray(new String[0]);
+            unlocks[ordinal][rung] = names.stream()
+                    .mapToInt(name -> PassiveRegistry.ordinal(skill + ":" + name)).toArray();
+            effects[ordinal][rung] = effectNames.stream().mapToInt(PassiveRegistry::ordinal).toArray();
+            passives[ordinal][rung] = passiveNames.stream().mapToInt(PassiveRegistry::ordinal).toArray();
+            rung++;
+        }
+    }
+
+    /**
+     * Finds the first unlock level above a level. The levels in (from, to] are the
+     * rungs from {@code rungAbove(skill, from)} up to, not including, {@code rungAbove(skill, to)}.
+     *
+     * @param skill The skill ordinal
+     * @param level The level
+     * @return The index of the first rung whose level is above the given one
+     */
+    public int rungAbove(int skill, int level) {
+        if (skill < 0 || skill >= levels.length) {
+            return 0;
+        }
+        int[] skillLevels = levels[skill];
+        int index = Arrays.binarySearch(skillLevels, level);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * @param skill The skill ordinal
+     * @param rung The rung index
+     * @return The names of the passives unlocked at the rung
+     */
+    public String[] unlockNames(int skill, int rung) {
+        return unlockNames[skill][rung];
+    }
+
+    /**
+     * @param skill The skill ordinal
+     * @param rung The rung index
+     * @return The {@link PassiveRegistry} ordinals of the passives unlocked at the rung, keyed {@code skill:name}
+     */
+    public int[] unlocks(int skill, int rung) {
+        return unlocks[skill][rung];
+    }
+
+    /**
+     * @param skill The skill ordinal
+     * @param rung The rung index
+     * @return The {@link PassiveRegistry} ordinals of the effects granted at the rung
+     */
+    public int[] effects(int skill, int rung) {
+        return effects[skill][rung];
+    }
+
+    /**
+     * @param skill The skill ordinal
+     * @param rung The rung index
+     * @return The {@link PassiveRegistry} ordinals of the active passives gained at the rung,
+     *         each also granted as the effect of the same name
+     */
+    public int[] passives(int skill, int rung) {
+        return passives[skill][rung];
+    }
+
+    /**
+     * @return The number of skill ordinals the table covers; skills beyond it unlock nothing
+     */
+    public int skills() {
+        return levels.length;
+    }
+}
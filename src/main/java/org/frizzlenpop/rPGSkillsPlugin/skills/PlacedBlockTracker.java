@@ -0,0 +1,400 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remembers which blocks were placed by players, so breaking them gives no XP.
+ * Positions are kept per chunk in primitive hash tables and stored in the chunk's
+ * persistent data, so they load and unload with the chunk and survive restarts.
+ * Entries expire after {@code placed_blocks.expire_minutes}; a single timing wheel
+ * with one-minute slots sweeps each chunk when its earliest entry is due, instead
+ * of one scheduled task per block. Main thread only.
+ */
+public class PlacedBlockTracker implements Listener {
+    private static final int WHEEL_SLOTS = 64;
+    private static final long MINUTE_TICKS = 20L * 60;
+
+    private final RPGSkillsPlugin plugin;
+    private final NamespacedKey key;
+    // Loaded chunks with tracked blocks, per world and chunk key
+    private final Map<UUID, Map<Long, ChunkPlacements>> worlds = new HashMap<>();
+    // Chunks by the minute their earliest entry expires; a slot holds every minute congruent to it
+    @SuppressWarnings("unchecked")
+    private final List<ChunkPlacements>[] wheel = new List[WHEEL_SLOTS];
+    private int expireMinutes;
+    private int lastSweptMinute;
+
+    public PlacedBlockTracker(RPGSkillsPlugin plugin) {
+        this.plugin = plugin;
+        this.key = new NamespacedKey(plugin, "placed_blocks");
+        for (int slot = 0; slot < WHEEL_SLOTS; slot++) {
+            wheel[slot] = new ArrayList<>();
+        }
+        this.expireMinutes = Math.max(1, plugin.getConfig().getInt("placed_blocks.expire_minutes", 180));
+        this.lastSweptMinute = currentMinute();
+    }
+
+    /**
+     * Picks up the chunks that are already loaded and starts the expiry sweep
+     */
+    public void start() {
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                load(chunk);
+            }
+        }
+        Bukkit.getScheduler().runTaskTimer(plugin, this::tick, MINUTE_TICKS, MINUTE_TICKS);
+    }
+
+    /**
+     * Re-reads the expiry time; blocks already tracked keep theirs
+     */
+    public void reload() {
+        expireMinutes = Math.max(1, plugin.getConfig().getInt("placed_blocks.expire_minutes", 180));
+    }
+
+    /**
+     * Starts tracking a block placed by a player
+     *
+     * @param block The block
+     */
+    public void add(Block block) {
+        ChunkPlacements chunk = worlds.computeIfAbsent(block.getWorld().getUID(), k -> new HashMap<>())
+                .computeIfAbsent(chunkKey(block.getX() >> 4, block.getZ() >> 4),
+                        k -> new ChunkPlacements(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4));
+        int expiry = currentMinute() + expireMinutes;
+        chunk.put(localPosition(block), expiry);
+        schedule(chunk, expiry);
+    }
+
+    /**
+     * @param block The block
+     * @return True if the block was placed by a player and has not expired yet
+     */
+    public boolean isPlaced(Block block) {
+        ChunkPlacements chunk = chunkOf(block);
+        if (chunk == null) {
+            return false;
+        }
+        int expiry = chunk.get(localPosition(block));
+        return expiry != 0 && expiry > currentMinute();
+    }
+
+    /**
+     * Stops tracking broken blocks once every other handler has checked them
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        ChunkPlacements chunk = chunkOf(event.getBlock());
+        if (chunk != null) {
+            chunk.remove(localPosition(event.getBlock()));
+        }
+    }
+
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent event) {
+        load(event.getChunk());
+    }
+
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        Map<Long, ChunkPlacements> chunks = worlds.get(chunk.getWorld().getUID());
+        ChunkPlacements placements = chunks != null ? chunks.remove(chunkKey(chunk.getX(), chunk.getZ())) : null;
+        if (placements != null) {
+            save(chunk, placements);
+            // The wheel drops it when its slot comes up
+            placements.loaded = false;
+        }
+    }
+
+    /**
+     * Writes changed chunks before the world saves, so a crash loses at most one save interval
+     */
+    @EventHandler
+    public void onWorldSave(WorldSaveEvent event) {
+        saveWorld(event.getWorld());
+    }
+
+    /**
+     * Writes every changed chunk to its persistent data
+     */
+    public void shutdown() {
+        for (World world : Bukkit.getWorlds()) {
+            saveWorld(world);
+        }
+    }
+
+    private void saveWorld(World world) {
+        Map<Long, ChunkPlacements> chunks = worlds.get(world.getUID());
+        if (chunks == null) {
+            return;
+        }
+        for (ChunkPlacements placements : chunks.values()) {
+            if (placements.dirty && world.isChunkLoaded(placements.x, placements.z)) {
+                save(world.getChunkAt(placements.x, placements.z), placements);
+            }
+        }
+    }
+
+    private void load(Chunk chunk) {
+        long[] stored = chunk.getPersistentDataContainer().get(key, PersistentDataType.LONG_ARRAY);
+        if (stored == null) {
+            return;
+        }
+
+        int now = currentMinute();
+        ChunkPlacements placements = new ChunkPlacements(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+        int earliest = Integer.MAX_VALUE;
+        for (long entry : stored) {
+            int expiry = (int) entry;
+            if (expiry > now) {
+                placements.put((int) (entry >>> 32), expiry);
+                earliest = Math.min(earliest, expiry);
+            }
+        }
+        if (placements.size == 0) {
+            chunk.getPersistentDataContainer().remove(key);
+            return;
+        }
+
+        // Entries that expired while the chunk was unloaded are written out on the next save
+        placements.dirty = placements.size != stored.length;
+        worlds.computeIfAbsent(chunk.getWorld().getUID(), k -> new HashMap<>())
+                .put(chunkKey(chunk.getX(), chunk.getZ()), placements);
+        schedule(placements, earliest);
+    }
+
+    private void save(Chunk chunk, ChunkPlacements placements) {
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        if (placements.size == 0) {
+            container.remove(key);
+        } else {
+            container.set(key, PersistentDataType.LONG_ARRAY, placements.toLongArray());
+        }
+        placements.dirty = false;
+    }
+
+    private void schedule(ChunkPlacements chunk, int minute) {
+        if (chunk.scheduledMinute != -1) {
+            if (chunk.scheduledMinute <= minute) {
+                return;
+            }
+            wheel[chunk.scheduledMinute & (WHEEL_SLOTS - 1)].remove(chunk);
+        }
+        chunk.scheduledMinute = minute;
+        wheel[minute & (WHEEL_SLOTS - 1)].add(chunk);
+    }
+
+    /**
+     * Advances the wheel to the current minute, sweeping every chunk that has entries due
+     */
+    private void tick() {
+        int now = currentMinute();
+        int steps = Math.min(now - lastSweptMinute, WHEEL_SLOTS);
+        for (int step = steps - 1; step >= 0; step--) {
+            List<ChunkPlacements> slot = wheel[(now - step) & (WHEEL_SLOTS - 1)];
+            List<ChunkPlacements> due = new ArrayList<>();
+            slot.removeIf(chunk -> {
+                if (!chunk.loaded) {
+                    return true;
+                }
+                if (chunk.scheduledMinute > now) {
+                    return false;
+                }
+                due.add(chunk);
+                return true;
+            });
+
+            for (ChunkPlacements chunk : due) {
+                chunk.scheduledMinute = -1;
+                int earliest = chunk.removeExpired(now);
+                if (chunk.size == 0) {
+                    Map<Long, ChunkPlacements> chunks = worlds.get(chunk.world);
+                    if (chunks != null) {
+                        chunks.remove(chunkKey(chunk.x, chunk.z));
+                    }
+                    // No longer reachable for the world save, so clear the stored entries now
+                    World world = Bukkit.getWorld(chunk.world);
+                    if (world != null && world.isChunkLoaded(chunk.x, chunk.z)) {
+                        save(world.getChunkAt(chunk.x, chunk.z), chunk);
+                    }
+                } else {
+                    schedule(chunk, earliest);
+                }
+            }
+        }
+        lastSweptMinute = now;
+    }
+
+    private ChunkPlacements chunkOf(Block block) {
+        Map<Long, ChunkPlacements> chunks = worlds.get(block.getWorld().getUID());
+        return chunks != null ? chunks.get(chunkKey(block.getX() >> 4, block.getZ() >> 4)) : null;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs a block's position within its chunk: 12 bits of y, then 4 bits each of x and z
+     */
+    private static int localPosition(Block block) {
+        return ((block.getY() & 0xFFF) << 8) | ((block.getX() & 15) << 4) | (block.getZ() & 15);
+    }
+
+    private static int currentMinute() {
+        return (int) (System.currentTimeMillis() / 60_000L);
+    }
+
+    /**
+     * Open-addressing table from local position to expiry minute for one chunk.
+     * Slots hold the position plus one, so 0 marks an empty slot.
+     */
+    private static final class ChunkPlacements {
+        final UUID world;
+        final int x;
+        final int z;
+        int[] positions = new int[16];
+        int[] expiries = new int[16];
+        int size;
+        boolean dirty;
+        boolean loaded = true;
+        int scheduledMinute = -1;
+
+        ChunkPlacements(UUID world, int x, int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        private static int home(int stored, int mask) {
+            int hash = stored * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private int slotOf(int position) {
+            int mask = positions.length - 1;
+            int slot = home(position + 1, mask);
+            while (positions[slot] != 0 && positions[slot] != position + 1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        int get(int position) {
+            int slot = slotOf(position);
+            return positions[slot] != 0 ? expiries[slot] : 0;
+        }
+
+        void put(int position, int expiry) {
+            int slot = slotOf(position);
+            if (positions[slot] == 0) {
+                if ((size + 1) * 4 > positions.length * 3) {
+                    grow();
+                    slot = slotOf(position);
+                }
+                positions[slot] = position + 1;
+                size++;
+            }
+            expiries[slot] = expiry;
+            dirty = true;
+        }
+
+        void remove(int position) {
+            int slot = slotOf(position);
+            if (positions[slot] == 0) {
+                return;
+            }
+            positions[slot] = 0;
+            size--;
+            dirty = true;
+
+            // Shift the rest of the run back so lookups never stop at the hole
+            int mask = positions.length - 1;
+            int hole = slot;
+            for (int next = (slot + 1) & mask; positions[next] != 0; next = (next + 1) & mask) {
+                int home = home(positions[next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    positions[hole] = positions[next];
+                    expiries[hole] = expiries[next];
+                    positions[next] = 0;
+                    hole = next;
+                }
+            }
+        }
+
+        /**
+         * @return The earliest expiry left, or {@link Integer#MAX_VALUE} if none is
+         */
+        int removeExpired(int now) {
+            int[] oldPositions = positions;
+            int[] oldExpiries = expiries;
+            positions = new int[oldPositions.length];
+            expiries = new int[oldExpiries.length];
+            int before = size;
+            size = 0;
+
+            int earliest = Integer.MAX_VALUE;
+            for (int slot = 0; slot < oldPositions.length; slot++) {
+                if (oldPositions[slot] != 0 && oldExpiries[slot] > now) {
+                    int target = slotOf(oldPositions[slot] - 1);
+                    positions[target] = oldPositions[slot];
+                    expiries[target] = oldExpiries[slot];
+                    size++;
+                    earliest = Math.min(earliest, oldExpiries[slot]);
+                }
+            }
+            dirty |= size != before;
+            return earliest;
+        }
+
+        private void grow() {
+            int[] oldPositions = positions;
+            int[] oldExpiries = expiries;
+            positions = new int[oldPositions.length * 2];
+            expiries = new int[oldExpiries.length * 2];
+            for (int slot = 0; slot < oldPositions.length; slot++) {
+                if (oldPositions[slot] != 0) {
+                    int target = slotOf(oldPositions[slot] - 1);
+                    positions[target] = oldPositions[slot];
+                    expiries[target] = oldExpiries[slot];
+                }
+            }
+        }
+
+        /**
+         * @return Every entry as the position in the high and the expiry minute in the low 32 bits
+         */
+        long[] toLongArray() {
+            long[] entries = new long[size];
+            int index = 0;
+            for (int slot = 0; slot < positions.length; slot++) {
+                if (positions[slot] != 0) {
+                    entries[index++] = ((long) (positions[slot] - 1) << 32) | (expiries[slot] & 0xFFFFFFFFL);
+                }
+            }
+            return entries;
+        }
+    }
+}
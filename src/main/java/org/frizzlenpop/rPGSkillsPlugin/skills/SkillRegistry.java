@@ -0,0 +1,95 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every skill a small int ordinal so per-player skill data can live in
+ * flat arrays. The built-in skills have fixed ordinals; names seen later (e.g.
+ * from stored data or addons) are appended on first use.
+ */
+public final class SkillRegistry {
+    public static final int MINING = 0;
+    public static final int LOGGING = 1;
+    public static final int FARMING = 2;
+    public static final int FIGHTING = 3;
+    public static final int FISHING = 4;
+    public static final int ENCHANTING = 5;
+    public static final int EXCAVATION = 6;
+    public static final int REPAIR = 7;
+
+    private static final List<String> DEFAULT_SKILLS = Collections.unmodifiableList(Arrays.asList(
+            "mining", "logging", "farming", "fighting", "fishing", "enchanting", "excavation", "repair"));
+
+    private static final Map<String, Integer> ORDINALS = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0];
+
+    static {
+        for (String skill : DEFAULT_SKILLS) {
+            register(skill);
+        }
+    }
+
+    private SkillRegistry() {
+    }
+
+    /**
+     * @return The built-in skills in ordinal order
+     */
+    public static List<String> defaultSkills() {
+        return DEFAULT_SKILLS;
+    }
+
+    /**
+     * Gets the ordinal of a skill, registering the name if it has not been seen before
+     *
+     * @param skill The skill name
+     * @return The ordinal
+     */
+    public static int ordinal(String skill) {
+        Integer ordinal = ORDINALS.get(skill);
+        return ordinal != null ? ordinal : register(skill);
+    }
+
+    /**
+     * Gets the ordinal of a skill without registering it
+     *
+     * @param skill The skill name
+     * @return The ordinal, or -1 if the skill is unknown
+     */
+    public static int find(String skill) {
+        Integer ordinal = ORDINALS.get(skill);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    private static synchronized int register(String skill) {
+        Integer existing = ORDINALS.get(skill);
+        if (existing != null) {
+            return existing;
+        }
+
+        String[] grown = Arrays.copyOf(names, names.length + 1);
+        grown[names.length] = skill;
+        names = grown;
+        ORDINALS.put(skill, grown.length - 1);
+        return grown.length - 1;
+    }
+
+    /**
+     * @param ordinal The skill ordinal
+     * @return The skill name
+     */
+    public static String name(int ordinal) {
+        return names[ordinal];
+    }
+
+    /**
+     * @return The number of registered skills; every ordinal is below this
+     */
+    public static int size() {
+        return names.length;
+    }
+}
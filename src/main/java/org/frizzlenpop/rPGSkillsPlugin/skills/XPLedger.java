@@ -0,0 +1,140 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collects XP awarded during a tick and applies it once per player and skill.
+ * Area breaks and tree felling award XP for many blocks in the same tick; summing
+ * them first means the multipliers, level-up loop, events and storage write run
+ * once for the total instead of once per block. The sums are applied by a task
+ * scheduled on the first award of a tick, so they land before the next tick's
+ * events. Main thread only.
+ */
+public class XPLedger implements Listener {
+    private final RPGSkillsPlugin plugin;
+    private final XPManager xpManager;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final List<Entry> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    /**
+     * XP waiting to be applied to one player, indexed by skill ordinal
+     */
+    private static final class Entry {
+        private final UUID playerUUID;
+        private boolean queued;
+        private int[] xp = new int[0];
+
+        Entry(UUID playerUUID) {
+            this.playerUUID = playerUUID;
+        }
+    }
+
+    public XPLedger(RPGSkillsPlugin plugin, XPManager xpManager) {
+        this.plugin = plugin;
+        this.xpManager = xpManager;
+    }
+
+    /**
+     * Adds XP to be applied at the end of the tick
+     *
+     * @param player The player
+     * @param skill The skill ordinal
+     * @param xp The base XP before multipliers
+     */
+    public void add(Player player, int skill, int xp) {
+        if (xp <= 0) {
+            return;
+        }
+
+        Entry entry = entries.computeIfAbsent(player.getUniqueId(), Entry::new);
+        if (skill >= entry.xp.length) {
+            entry.xp = Arrays.copyOf(entry.xp, Math.max(skill + 1, SkillRegistry.size()));
+        }
+        entry.xp[skill] += xp;
+
+        if (!entry.queued) {
+            entry.queued = true;
+            pending.add(entry);
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        }
+    }
+
+    /**
+     * Applies everything collected so far
+     */
+    public void flush() {
+        flushScheduled = false;
+        // Awards made while applying (e.g. by event listeners) go to a fresh list
+        Entry[] batch = pending.toArray(new Entry[0]);
+        pending.clear();
+        for (Entry entry : batch) {
+            apply(entry);
+        }
+    }
+
+    /**
+     * Applies a single player's collected XP right away
+     *
+     * @param playerUUID The player's UUID
+     */
+    public void flush(UUID playerUUID) {
+        Entry entry = entries.get(playerUUID);
+        if (entry != null && entry.queued) {
+            pending.remove(entry);
+            apply(entry);
+        }
+    }
+
+    private void apply(Entry entry) {
+        entry.queued = false;
+        Player player = Bukkit.getPlayer(entry.playerUUID);
+        for (int skill = 0; skill < entry.xp.length; skill++) {
+            int xp = entry.xp[skill];
+            if (xp == 0) {
+                continue;
+            }
+
+            entry.xp[skill] = 0;
+            if (player != null) {
+                try {
+                    xpManager.addXP(player, skill, xp);
+                } catch (RuntimeException e) {
+                    plugin.getLogger().severe("Failed to apply " + xp + " " + SkillRegistry.name(skill)
+                            + " XP for " + player.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of players with XP waiting to be applied
+     */
+    public int getPendingPlayers() {
+        return pending.size();
+    }
+
+    // Runs before the player's data is saved and unloaded
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerUUID = event.getPlayer().getUniqueId();
+        flush(playerUUID);
+        entries.remove(playerUUID);
+    }
+}
@@ -0,0 +1,328 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Coalesces XP notifications. XP gains are summed per player and skill and sent as
+ * one merged action bar per player on a short cadence, and level-up chat messages
+ * are merged per skill on a longer one, so a vein mine or tree fell sends one
+ * message instead of one per block. Main thread only.
+ */
+public class XPNotifier implements Listener {
+    private static final int NO_LEVEL = 0;
+
+    private final Map<UUID, Pending> players = new HashMap<>();
+    private final List<Pending> dirty = new ArrayList<>();
+    private final int actionBarInterval;
+    private final int levelUpInterval;
+    private long tick;
+    
+    // Action bar labels by skill ordinal, rebuilt when new skills are registered
+    private String[] xpLabels = new String[0];
+    private String[] skillColors = new String[0];
+
+    /**
+     * Notifications waiting to be sent to one player, indexed by skill ordinal
+     */
+    private static final class Pending {
+        private final UUID playerUUID;
+        private boolean queued;
+        private boolean hasXp;
+        private boolean hasLevels;
+        private int[] baseXp = new int[0];
+        private int[] bonusXp = new int[0];
+        private int[] sharedXp = new int[0];
+        private int[] partyXp = new int[0];
+        private String[] partySource = new String[0];
+        private double[] partyBonus = new double[0];
+        private int[] fromLevel = new int[0];
+        private int[] toLevel = new int[0];
+
+        Pending(UUID playerUUID) {
+            this.playerUUID = playerUUID;
+        }
+
+        void ensureCapacity(int skill) {
+            if (skill < baseXp.length) {
+                return;
+            }
+
+            int size = Math.max(skill + 1, SkillRegistry.size());
+            baseXp = Arrays.copyOf(baseXp, size);
+            bonusXp = Arrays.copyOf(bonusXp, size);
+            sharedXp = Arrays.copyOf(sharedXp, size);
+            partyXp = Arrays.copyOf(partyXp, size);
+            partySource = Arrays.copyOf(partySource, size);
+            partyBonus = Arrays.copyOf(partyBonus, size);
+            fromLevel = Arrays.copyOf(fromLevel, size);
+            toLevel = Arrays.copyOf(toLevel, size);
+        }
+    }
+
+    public XPNotifier(RPGSkillsPlugin plugin) {
+        FileConfiguration config = plugin.getConfig();
+        this.actionBarInterval = Math.max(1, config.getInt("xp.notifications.action_bar_interval_ticks", 2));
+        this.levelUpInterval = Math.max(1, config.getInt("xp.notifications.level_up_interval_ticks", 20));
+        Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    private Pending pending(UUID playerUUID) {
+        Pending pending = players.computeIfAbsent(playerUUID, Pending::new);
+        if (!pending.queued) {
+            pending.queued = true;
+            dirty.add(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * Records XP a player earned themselves
+     *
+     * @param player The player
+     * @param skill The skill ordinal
+     * @param baseXP The XP before multipliers
+     * @param bonusXP The XP added by multipliers
+     * @param sharedXP The XP handed to party members
+     */
+    public void addGain(Player player, int skill, int baseXP, int bonusXP, int sharedXP) {
+        Pending pending = pending(player.getUniqueId());
+        pending.ensureCapacity(skill);
+        pending.baseXp[skill] += baseXP;
+        pending.bonusXp[skill] += bonusXP;
+        pending.sharedXp[skill] += sharedXP;
+        pending.hasXp = true;
+    }
+
+    /**
+     * Records XP a player received from a party member
+     *
+     * @param member The receiving player
+     * @param skill The skill ordinal
+     * @param xp The XP received
+     * @param sourceName The name of the player who earned it
+     * @param bonusPercent The party level bonus included in the amount
+     */
+    public void addPartyGain(Player member, int skill, int xp, String sourceName, double bonusPercent) {
+        Pending pending = pending(member.getUniqueId());
+        pending.ensureCapacity(skill);
+        String previous = pending.partySource[skill];
+        // With several sources in one window the message names the party instead
+        pending.partySource[skill] = previous == null || previous.equals(sourceName) ? sourceName : "";
+        pending.partyXp[skill] += xp;
+        pending.partyBonus[skill] = bonusPercent;
+        pending.hasXp = true;
+    }
+
+    /**
+     * Records a level-up
+     *
+     * @param player The player
+     * @param skill The skill ordinal
+     * @param oldLevel The level before the XP was added
+     * @param level The level reached
+     */
+    public void addLevelUp(Player player, int skill, int oldLevel, int level) {
+        Pending pending = pending(player.getUniqueId());
+        pending.ensureCapacity(skill);
+        if (pending.fromLevel[skill] == NO_LEVEL) {
+            pending.fromLevel[skill] = oldLevel;
+        }
+        pending.toLevel[skill] = level;
+        pending.hasLevels = true;
+    }
+
+    private void tick() {
+        tick++;
+        boolean sendXp = tick % actionBarInterval == 0;
+        boolean sendLevels = tick % levelUpInterval == 0;
+        if (dirty.isEmpty() || (!sendXp && !sendLevels)) {
+            return;
+        }
+
+        for (int i = dirty.size() - 1; i >= 0; i--) {
+            Pending pending = dirty.get(i);
+            Player player = Bukkit.getPlayer(pending.playerUUID);
+            if (sendXp && pending.hasXp) {
+                if (player != null) {
+                    player.sendActionBar(buildActionBar(pending));
+                }
+                clearXp(pending);
+            }
+            if (sendLevels && pending.hasLevels) {
+                if (player != null) {
+                    sendLevelUps(player, pending);
+                }
+                clearLevels(pending);
+            }
+            if (!pending.hasXp && !pending.hasLevels) {
+                pending.queued = false;
+                dirty.remove(i);
+            }
+        }
+    }
+
+    private String buildActionBar(Pending pending) {
+        StringBuilder message = new StringBuilder();
+        for (int skill = 0; skill < pending.baseXp.length; skill++) {
+            int base = pending.baseXp[skill];
+            int bonus = pending.bonusXp[skill];
+            int shared = pending.sharedXp[skill];
+            if (base > 0 || bonus > 0) {
+                separate(message);
+                String label = xpLabel(skill);
+                if (shared > 0) {
+                    message.append(skillColor(skill)).append('+').append(base + bonus - shared).append(label);
+                    if (bonus > 0) {
+                        message.append(" §6(+").append(bonus).append(" Bonus, -").append(shared).append(" Shared)");
+                    } else {
+                        message.append(" §7(-").append(shared).append(" Shared)");
+                    }
+                } else {
+                    message.append(skillColor(skill)).append('+').append(base).append(label);
+                    if (bonus > 0) {
+                        message.append(" §6(+").append(bonus).append(" Bonus XP)");
+                    }
+                }
+            }
+
+            int party = pending.partyXp[skill];
+            if (party > 0) {
+                separate(message);
+                String source = pending.partySource[skill];
+                message.append("§d+").append(party).append(xpLabel(skill))
+                        .append(" §7(from ").append(source.isEmpty() ? "your party" : source);
+                if (pending.partyBonus[skill] > 0) {
+                    message.append(", includes §a+").append(Math.round(pending.partyBonus[skill] * 100))
+                            .append("%§7 party bonus");
+                }
+                message.append(')');
+            }
+        }
+        return message.toString();
+    }
+
+    /**
+     * Gets the precomputed " <Skill> XP" label of a skill
+     */
+    private String xpLabel(int skill) {
+        if (skill >= xpLabels.length) {
+            buildSkillLabels();
+        }
+        return xpLabels[skill];
+    }
+    
+    /**
+     * Gets the precomputed color code of a skill
+     */
+    private String skillColor(int skill) {
+        if (skill >= skillColors.length) {
+            buildSkillLabels();
+        }
+        return skillColors[skill];
+    }
+    
+    /**
+     * Builds the action bar labels and colors for every registered skill
+     */
+    private void buildSkillLabels() {
+        int size = SkillRegistry.size();
+        String[] labels = new String[size];
+        String[] colors = new String[size];
+        for (int i = 0; i < size; i++) {
+            // Format the skill name nicely (capitalize first letter)
+            String skill = SkillRegistry.name(i);
+            labels[i] = " " + skill.substring(0, 1).toUpperCase() + skill.substring(1).toLowerCase() + " XP";
+            colors[i] = getSkillColor(skill);
+        }
+        this.xpLabels = labels;
+        this.skillColors = colors;
+    }
+    
+    /**
+     * Returns the color code for a given skill
+     * 
+     * @param skill The skill name
+     * @return The color code for the skill
+     */
+    private String getSkillColor(String skill) {
+        switch (skill.toLowerCase()) {
+            case "mining":
+                return "§b"; // Aqua
+            case "logging":
+            case "woodcutting":
+                return "§2"; // Dark Green
+            case "farming":
+                return "§a"; // Green
+            case "fighting":
+            case "combat":
+                return "§c"; // Red
+            case "fishing":
+                return "§9"; // Blue
+            case "enchanting":
+                return "§d"; // Light Purple
+            default:
+                return "§e"; // Yellow
+        }
+    }
+
+    private static void separate(StringBuilder message) {
+        if (message.length() > 0) {
+            message.append(" §8| ");
+        }
+    }
+
+    private void sendLevelUps(Player player, Pending pending) {
+        for (int skill = 0; skill < pending.toLevel.length; skill++) {
+            int to = pending.toLevel[skill];
+            if (to == NO_LEVEL) {
+                continue;
+            }
+
+            int gained = to - pending.fromLevel[skill];
+            String skillName = SkillRegistry.name(skill);
+            player.sendMessage("§a✨ Your " + skillName + " skill is now level " + to + "!"
+                    + (gained > 1 ? " §7(+" + gained + " levels)" : ""));
+
+            // Check for ability unlocks at level 15
+            if (pending.fromLevel[skill] < 15 && to >= 15) {
+                player.sendMessage("§6⚔ You've unlocked the active ability for " + skillName + "!");
+            }
+        }
+    }
+
+    private static void clearXp(Pending pending) {
+        Arrays.fill(pending.baseXp, 0);
+        Arrays.fill(pending.bonusXp, 0);
+        Arrays.fill(pending.sharedXp, 0);
+        Arrays.fill(pending.partyXp, 0);
+        Arrays.fill(pending.partySource, null);
+        pending.hasXp = false;
+    }
+
+    private static void clearLevels(Pending pending) {
+        Arrays.fill(pending.fromLevel, NO_LEVEL);
+        Arrays.fill(pending.toLevel, NO_LEVEL);
+        pending.hasLevels = false;
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        Pending pending = players.remove(event.getPlayer().getUniqueId());
+        if (pending != null && pending.queued) {
+            dirty.remove(pending);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.EntityType;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of the XP values for blocks, mobs and catches, compiled
+ * from the {@code xp.values} config into arrays indexed by {@link Material} or
+ * {@link EntityType} ordinal, so every lookup is a single array read. A reload
+ * builds a new snapshot and swaps it in whole.
+ */
+public final class XPTables {
+    private final int[] mining;
+    private final int[] logging;
+    private final int[] farming;
+    private final int[] excavation;
+    private final int[] fishing;
+    private final int[] fighting;
+
+    private XPTables(int[] mining, int[] logging, int[] farming, int[] excavation, int[] fishing, int[] fighting) {
+        this.mining = mining;
+        this.logging = logging;
+        this.farming = farming;
+        this.excavation = excavation;
+        this.fishing = fishing;
+        this.fighting = fighting;
+    }
+
+    /**
+     * Compiles the tables from the {@code xp.values} section
+     *
+     * @param section The section with one sub-section per skill, may be null
+     * @param logger Receives warnings about names that do not match anything
+     * @return The compiled tables
+     */
+    public static XPTables load(ConfigurationSection section, Logger logger) {
+        return new XPTables(
+                materialTable(section, "mining", logger),
+                materialTable(section, "logging", logger),
+                materialTable(section, "farming", logger),
+                materialTable(section, "excavation", logger),
+                catchTable(section, logger),
+                mobTable(section, logger));
+    }
+
+    private static int[] materialTable(ConfigurationSection section, String skill, Logger logger) {
+        int[] table = new int[Material.values().length];
+        for (Map.Entry<String, Integer> entry : entries(section, skill).entrySet()) {
+            Material material = Material.matchMaterial(entry.getKey());
+            if (material == null) {
+                logger.warning("Unknown material '" + entry.getKey() + "' in xp.values." + skill);
+                continue;
+            }
+            table[material.ordinal()] = entry.getValue();
+        }
+        return table;
+    }
+
+    /**
+     * Catches are matched by item type. Items without an entry of their own take
+     * the value of the longest configured name they contain (e.g. COOKED_COD gets
+     * the COD value), resolved once here rather than on every catch.
+     */
+    private static int[] catchTable(ConfigurationSection section, Logger logger) {
+        int[] table = materialTable(section, "fishing", logger);
+        Map<String, Integer> entries = entries(section, "fishing");
+        for (Material material : Material.values()) {
+            if (table[material.ordinal()] == 0) {
+                table[material.ordinal()] = longestContained(material.name(), entries);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Mobs are matched by entity type, with the same partial matching as catches
+     */
+    private static int[] mobTable(ConfigurationSection section, Logger logger) {
+        EntityType[] types = EntityType.values();
+        int[] table = new int[types.length];
+        Map<String, Integer> entries = entries(section, "fighting");
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            try {
+                table[EntityType.valueOf(entry.getKey()).ordinal()] = entry.getValue();
+            } catch (IllegalArgumentException e) {
+                logger.warning("Unknown entity type '" + entry.getKey() + "' in xp.values.fighting");
+            }
+        }
+
+        for (EntityType type : types) {
+            if (table[type.ordinal()] == 0) {
+                table[type.ordinal()] = longestContained(type.name(), entries);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Reads a skill's entries with upper case names
+     */
+    private static Map<String, Integer> entries(ConfigurationSection section, String skill) {
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        ConfigurationSection values = section == null ? null : section.getConfigurationSection(skill);
+        if (values != null) {
+            for (String key : values.getKeys(false)) {
+                entries.put(key.toUpperCase(Locale.ROOT), values.getInt(key));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the value of the longest entry name contained in the given name
+     */
+    private static int longestContained(String name, Map<String, Integer> entries) {
+        String match = null;
+        for (String key : entries.keySet()) {
+            if (name.contains(key) && (match == null || key.length() > match.length())) {
+                match = key;
+            }
+        }
+        return match == null ? 0 : entries.get(match);
+    }
+
+    public int getMiningXP(Material material) {
+        return mining[material.ordinal()];
+    }
+
+    public int getLoggingXP(Material material) {
+        return logging[material.ordinal()];
+    }
+
+    public int getFarmingXP(Material material) {
+        return farming[material.ordinal()];
+    }
+
+    public int getExcavationXP(Material material) {
+        return excavation[material.ordinal()];
+    }
+
+    public int getFishingXP(Material material) {
+        return fishing[material.ordinal()];
+    }
+
+    public int getFightingXP(EntityType type) {
+        return fighting[type.ordinal()];
+    }
+}
@@ -0,0 +1,271 @@
+package org.frizzlenpop.rPGSkillsPlugin.skills;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps levels to XP requirements. The XP needed to reach every level is kept in
+ * a precomputed cumulative table, grown on demand, so requirements are array
+ * reads and the level for an amount of XP is a binary search instead of a
+ * level-by-level loop. Levels start at 1. The table stops at
+ * {@value #MAX_TABLE_LEVEL}; every level past it costs as much as the last one
+ * in it, so those are computed arithmetically.
+ */
+public final class XpCurve {
+    /**
+     * How the value for a level is computed
+     */
+    public enum Type {
+        /** base + increment * (level - 1) */
+        LINEAR,
+        /** base * factor ^ (level - 1) */
+        EXPONENTIAL,
+        /** base * level ^ exponent */
+        POLYNOMIAL,
+        /** Listed values; levels past the end of the list repeat the last one */
+        TABLE
+    }
+
+    private static final int INITIAL_LEVELS = 128;
+    // The table is never grown past this level, however flat the curve
+    private static final int MAX_TABLE_LEVEL = 10_000;
+    // Cumulative totals stop growing here so the table cannot overflow
+    private static final long TOTAL_CAP = Long.MAX_VALUE / 4;
+
+    private final Type type;
+    private final double base;
+    private final double parameter;
+    private final int[] table;
+    private final boolean cumulative;
+
+    // totals[level] is the XP needed to go from level 1 to that level; index 0 is unused
+    private volatile long[] totals = new long[] {0L, 0L};
+
+    private XpCurve(Type type, double base, double parameter, int[] table, boolean cumulative) {
+        this.type = type;
+        this.base = base;
+        this.parameter = parameter;
+        this.table = table;
+        this.cumulative = cumulative;
+        ensureLevel(INITIAL_LEVELS);
+    }
+
+    public static XpCurve linear(double base, double increment) {
+        return new XpCurve(Type.LINEAR, base, increment, null, false);
+    }
+
+    public static XpCurve exponential(double base, double factor) {
+        return new XpCurve(Type.EXPONENTIAL, base, factor, null, false);
+    }
+
+    public static XpCurve polynomial(double base, double exponent) {
+        return new XpCurve(Type.POLYNOMIAL, base, exponent, null, false);
+    }
+
+    public static XpCurve table(int[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("An XP table needs at least one value");
+        }
+        return new XpCurve(Type.TABLE, 0, 0, values.clone(), false);
+    }
+
+    /**
+     * Returns a copy of this curve whose value for a level is the total XP needed
+     * to reach the next level, instead of the XP needed for that level alone
+     *
+     * @return The cumulative curve
+     */
+    public XpCurve cumulative() {
+        return new XpCurve(type, base, parameter, table, true);
+    }
+
+    /**
+     * Loads a curve from a section with a {@code type} and the keys it uses:
+     * {@code base}, {@code increment}, {@code factor}, {@code exponent} or {@code values}.
+     * Missing keys fall back to the given curve.
+     *
+     * @param section The section, may be null
+     * @param defaults The curve to use for missing values
+     * @return The curve
+     */
+    public static XpCurve fromConfig(ConfigurationSection section, XpCurve defaults) {
+        if (section == null) {
+            return defaults;
+        }
+
+        Type type;
+        try {
+            type = Type.valueOf(section.getString("type", defaults.type.name()).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            type = defaults.type;
+        }
+
+        // Only reuse the default's parameter when it has the same meaning
+        double parameter = type == defaults.type ? defaults.parameter : Double.NaN;
+        double base = section.getDouble("base", type == defaults.type ? defaults.base : 100);
+        boolean cumulative = section.getBoolean("cumulative", defaults.cumulative);
+
+        XpCurve curve;
+        switch (type) {
+            case LINEAR:
+                curve = linear(base, section.getDouble("increment", Double.isNaN(parameter) ? base : parameter));
+                break;
+            case EXPONENTIAL:
+                curve = exponential(base, section.getDouble("factor", Double.isNaN(parameter) ? 1.15 : parameter));
+                break;
+            case POLYNOMIAL:
+                curve = polynomial(base, section.getDouble("exponent", Double.isNaN(parameter) ? 1.5 : parameter));
+                break;
+            default:
+                List<Integer> values = section.getIntegerList("values");
+                if (values.isEmpty()) {
+                    return defaults;
+                }
+                curve = table(values.stream().mapToInt(Integer::intValue).toArray());
+                break;
+        }
+        return cumulative ? curve.cumulative() : curve;
+    }
+
+    /**
+     * The raw value of the curve at a level, at least 1
+     */
+    private long value(int level) {
+        double value;
+        switch (type) {
+            case LINEAR:
+                value = base + parameter * (level - 1);
+                break;
+            case EXPONENTIAL:
+                value = base * Math.pow(parameter, level - 1);
+                break;
+            case POLYNOMIAL:
+                value = base * Math.pow(level, parameter);
+                break;
+            default:
+                value = table[Math.min(level, table.length) - 1];
+                break;
+        }
+        return Math.max(1L, Math.min((long) value, TOTAL_CAP));
+    }
+
+    /**
+     * Makes sure the cumulative table covers the given level
+     */
+    private long[] ensureLevel(int level) {
+        level = Math.min(level, MAX_TABLE_LEVEL);
+        long[] current = totals;
+        if (level < current.length) {
+            return current;
+        }
+        synchronized (this) {
+            current = totals;
+            if (level < current.length) {
+                return current;
+            }
+
+            int size = Math.min(Math.max(level + 1, current.length * 2), MAX_TABLE_LEVEL + 1);
+            long[] grown = Arrays.copyOf(current, size);
+            for (int next = current.length; next < size; next++) {
+                long previous = grown[next - 1];
+                long total = cumulative ? Math.max(previous + 1, value(next - 1)) : previous + value(next - 1);
+                grown[next] = Math.min(total, TOTAL_CAP);
+            }
+            totals = grown;
+            return grown;
+        }
+    }
+
+    /**
+     * Gets the XP needed to go from a level to the next one
+     *
+     * @param level The current level
+     * @return The XP required
+     */
+    public int getRequiredXP(int level) {
+        int from = Math.max(1, level);
+        if (from >= MAX_TABLE_LEVEL) {
+            return (int) Math.min(Integer.MAX_VALUE, stepPastTable());
+        }
+        long[] table = ensureLevel(from + 1);
+        return (int) Math.min(Integer.MAX_VALUE, table[from + 1] - table[from]);
+    }
+
+    /**
+     * Gets the total XP needed to go from level 1 to a level
+     *
+     * @param level The target level
+     * @return The total XP required, 0 for level 1 and below
+     */
+    public long getTotalXP(int level) {
+        if (level <= 1) {
+            return 0L;
+        }
+        if (level <= MAX_TABLE_LEVEL) {
+            return ensureLevel(level)[level];
+        }
+
+        long last = ensureLevel(MAX_TABLE_LEVEL)[MAX_TABLE_LEVEL];
+        long levels = level - MAX_TABLE_LEVEL;
+        long step = stepPastTable();
+        if (step > (TOTAL_CAP - last) / levels) {
+            return TOTAL_CAP;
+        }
+        return last + levels * step;
+    }
+
+    /**
+     * The XP each level past the table costs, the same as the last level in it
+     */
+    private long stepPastTable() {
+        long[] table = ensureLevel(MAX_TABLE_LEVEL);
+        return table[MAX_TABLE_LEVEL] - table[MAX_TABLE_LEVEL - 1];
+    }
+
+    /**
+     * Gets the level reached with an amount of XP counted from level 1
+     *
+     * @param totalXP The total XP
+     * @return The level, at least 1
+     */
+    public int getLevel(long totalXP) {
+        if (totalXP <= 0) {
+            return 1;
+        }
+
+        long[] table = totals;
+        while (table[table.length - 1] <= totalXP && table[table.length - 1] < TOTAL_CAP
+                && table.length <= MAX_TABLE_LEVEL) {
+            table = ensureLevel(table.length * 2);
+        }
+
+        // Past the table every level costs the same
+        long last = table[table.length - 1];
+        if (table.length > MAX_TABLE_LEVEL && last <= totalXP) {
+            long step = last - table[MAX_TABLE_LEVEL - 1];
+            if (step > 0) {
+                return (int) Math.min(Integer.MAX_VALUE, MAX_TABLE_LEVEL + (totalXP - last) / step);
+            }
+        }
+
+        // Last level whose total does not exceed the XP
+        int low = 1;
+        int high = table.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (table[mid] <= totalXP) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public Type getType() {
+        return type;
+    }
+}
@@ -2,6 +2,8 @@ package org.frizzlenpop.rPGSkillsPlugin.skilltree;
 
 import org.bukkit.entity.Player;
 import org.frizzlenpop.rPGSkillsPlugin.data.PlayerDataManager;
+import org.frizzlenpop.rPGSkillsPlugin.data.PlayerSkills;
+import org.frizzlenpop.rPGSkillsPlugin.skills.SkillRegistry;
 import org.frizzlenpop.rPGSkillsPlugin.skills.XPManager;
 
 import java.util.Arrays;
@@ -17,10 +19,8 @@ public class PlayerLevel {
     private final PlayerDataManager dataManager;
     private final XPManager xpManager;
     private static final String[] SKILL_TYPES = {"mining", "logging", "farming", "fighting", "fishing", "enchanting"};
-    
-    // Base XP required for each level
-    private static final int BASE_XP_REQUIRED = 100;
-    private static final double XP_SCALING_FACTOR = 1.15;
+    // SKILL_TYPES as SkillRegistry ordinals
+    private static final int[] SKILL_ORDINALS = Arrays.stream(SKILL_TYPES).mapToInt(SkillRegistry::ordinal).toArray();
     
     // Store the total XP and highest level reached for each player
     private final Map<UUID, Integer> playerTotalXP = new ConcurrentHashMap<>();
@@ -35,67 +35,64 @@ public class PlayerLevel {
      * Calculate total XP across all skills for a player
      */
     public int getTotalXP(Player player) {
-        UUID playerUUID = player.getUniqueId();
-        int totalXP = 0;
-        
-        for (String skill : SKILL_TYPES) {
+        PlayerSkills skills = dataManager.getPlayerSkills(player.getUniqueId());
+        return skills != null ? getTotalXP(skills) : 0;
+    }
+    
+    /**
+     * Calculate total XP across all skills from resident skill data
+     */
+    public int getTotalXP(PlayerSkills skills) {
+        long totalXP = 0;
+        for (int skill : SKILL_ORDINALS) {
             // Use total_earned field instead of current XP
-            totalXP += dataManager.getTotalSkillXPEarned(playerUUID, skill);
+            totalXP += skills.getTotalEarned(skill);
         }
-        
-        // No need to store in a map anymore since we're using persistent storage
-        return totalXP;
+        return (int) Math.min(Integer.MAX_VALUE, totalXP);
     }
     
     /**
-     * Get player's overall level based on total XP
+     * Checks whether a skill's XP counts towards the overall level
+     * 
+     * @param skill The {@link SkillRegistry} ordinal
      */
-    public int getPlayerLevel(Player player) {
-        UUID playerUUID = player.getUniqueId();
-        int totalXP = getTotalXP(player);
-        
-        // Start at level 1
-        int calculatedLevel = 1;
-        
-        // Calculate how much total XP is needed for each level until we find the player's level
-        int cumulativeXP = 0;
-        
-        // While the cumulative XP for the next level is less than or equal to the player's total XP
-        while (true) {
-            int xpForNextLevel = getRequiredXPForLevel(calculatedLevel);
-            if (cumulativeXP + xpForNextLevel > totalXP) {
-                // Not enough XP for the next level
-                break;
+    public boolean countsTowardLevel(int skill) {
+        for (int counted : SKILL_ORDINALS) {
+            if (counted == skill) {
+                return true;
             }
-            
-            // Add the XP required for this level to the cumulative total
-            cumulativeXP += xpForNextLevel;
-            
-            // Increase level
-            calculatedLevel++;
         }
-        
-        // Return the calculated level - no need to persist highest level since that's 
+        return false;
+    }
+    
+    /**
+     * Get the overall level reached with an amount of total XP
+     */
+    public int getLevelForXP(long totalXP) {
+        return xpManager.getPlayerLevelCurve().getLevel(totalXP);
+    }
+    
+    /**
+     * Get player's overall level based on total XP
+     */
+    public int getPlayerLevel(Player player) {
+        // Look the level up in the precomputed curve - no need to persist highest level since that's 
         // now handled by the data manager for individual skills
-        return calculatedLevel;
+        return getLevelForXP(getTotalXP(player));
     }
     
     /**
      * Get the XP required for a specific level
      */
     public int getRequiredXPForLevel(int level) {
-        return (int)(BASE_XP_REQUIRED * Math.pow(XP_SCALING_FACTOR, level - 1));
+        return xpManager.getPlayerLevelCurve().getRequiredXP(level);
     }
     
     /**
      * Get the total XP required to reach a specific level from level 1
      */
     public int getTotalXPForLevel(int targetLevel) {
-        int totalXP = 0;
-        for (int level = 1; level < targetLevel; level++) {
-            totalXP += getRequiredXPForLevel(level);
-        }
-        return totalXP;
+        return (int) Math.min(Integer.MAX_VALUE, xpManager.getPlayerLevelCurve().getTotalXP(targetLevel));
     }
     
     /**
@@ -33,6 +33,8 @@ public class SkillTreeManager implements Listener {
     private final Map<String, SkillTreeNode> nodes;
     private final Map<UUID, Set<String>> unlockedNodes;
     private final Map<UUID, Integer> spentPoints;
+    // Bumped whenever unlocked nodes or node definitions change, so cached XP boosts can be dropped
+    private volatile int nodeVersion;
     
     private static final String CONFIG_NODES_PATH = "skill_tree.nodes";
     private static final String PLAYER_DATA_NODES_PATH = "skill_tree.unlocked_nodes";
@@ -125,6 +127,7 @@ public class SkillTreeManager implements Listener {
         playerNodes.clear();
         unlockedNodes.put(playerUUID, playerNodes);
         spentPoints.put(playerUUID, 0);
+        nodeVersion++;
         
         // Save player data
         savePlayerData(player);
@@ -162,6 +165,7 @@ public class SkillTreeManager implements Listener {
         
         // Clear unlocked nodes
         unlockedNodes.put(playerUUID, new HashSet<>());
+        nodeVersion++;
         
         // Save player data
         savePlayerData(player);
@@ -660,6 +664,7 @@ public class SkillTreeManager implements Listener {
         List<String> nodesList = playerData.getStringList(PLAYER_DATA_NODES_PATH);
         Set<String> nodesSet = new HashSet<>(nodesList);
         unlockedNodes.put(playerUUID, nodesSet);
+        nodeVersion++;
         
         // Load spent points
         int points = playerData.getInt(PLAYER_DATA_POINTS_SPENT_PATH, 0);
@@ -805,6 +810,7 @@ public class SkillTreeManager implements Listener {
         Set<String> playerNodes = unlockedNodes.getOrDefault(playerUUID, new HashSet<>());
         playerNodes.add(nodeId);
         unlockedNodes.put(playerUUID, playerNodes);
+        nodeVersion++;
         
         // Check if this is a free base node (first in category)
         String category = getCategoryFromNodeId(nodeId);
@@ -891,6 +897,35 @@ public class SkillTreeManager implements Listener {
         return unlockedNodes.getOrDefault(playerUUID, new HashSet<>());
     }
     
+    /**
+     * Get the total XP boost from the SKILL_XP_BOOST effects of a player's unlocked nodes
+     * @param playerUUID The player's UUID
+     * @param skill The skill name
+     * @return The boost as a fraction, e.g. 0.1 for +10%
+     */
+    public double getSkillXPBoost(UUID playerUUID, String skill) {
+        double boost = 0.0;
+        for (String nodeId : unlockedNodes.getOrDefault(playerUUID, Collections.emptySet())) {
+            SkillTreeNode node = nodes.get(nodeId);
+            if (node == null) {
+                continue;
+            }
+            for (SkillTreeNode.NodeEffect effect : node.getEffects()) {
+                if (effect.getType() == SkillTreeNode.EffectType.SKILL_XP_BOOST && skill.equalsIgnoreCase(effect.getTarget())) {
+                    boost += effect.getValue();
+                }
+            }
+        }
+        return boost;
+    }
+    
+    /**
+     * Gets a counter that changes whenever unlocked nodes or node definitions change
+     */
+    public int getNodeVersion() {
+        return nodeVersion;
+    }
+    
     /**
      * Get a list of nodes that the player can unlock now
      */
@@ -1006,6 +1041,7 @@ public class SkillTreeManager implements Listener {
         
         // Reload nodes from config
         loadSkillTreeConfig();
+        nodeVersion++;
         
         // Reapply effects to online players
         for (Player player : Bukkit.getOnlinePlayers()) {
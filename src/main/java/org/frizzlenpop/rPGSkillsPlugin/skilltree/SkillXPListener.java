@@ -5,16 +5,19 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerExpChangeEvent;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.PlayerSkills;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
 /**
- * Listener for skill XP changes to update the player's overall level
+ * Tracks the player's overall level and announces level ups and skill points.
+ * The XP manager reports every change to a player's lifetime skill XP, so the
+ * level is only recalculated when it can have changed; the total comes from
+ * resident skill data, so nothing is read from storage. Main thread only.
  */
 public class SkillXPListener implements Listener {
     private final RPGSkillsPlugin plugin;
@@ -32,41 +35,75 @@ public class SkillXPListener implements Listener {
         
         // Register this listener
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+    
+    /**
+     * Called after a player's lifetime XP in a skill changed
+     * 
+     * @param player The player
+     * @param skills The player's skill data, already updated
+     * @param skill The skill ordinal
+     * @param earned How much the lifetime XP changed by
+     */
+    public void onSkillXPEarned(Player player, PlayerSkills skills, int skill, int earned) {
+        PlayerLevel playerLevel = skillTreeManager.getPlayerLevel();
         
-        // Schedule a task to check for level changes periodically
-        // This is needed because we don't have direct events for our custom skill XP
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                checkPlayerLevels();
-            }
-        }.runTaskTimer(plugin, 20L, 20L); // Check every second
+        // Skills outside the overall level leave it unchanged
+        if (!playerLevel.countsTowardLevel(skill)) {
+            return;
+        }
+        
+        int totalXP = playerLevel.getTotalXP(skills);
+        int currentLevel = playerLevel.getLevelForXP(totalXP);
+        
+        Integer lastLevel = lastKnownLevel.put(player.getUniqueId(), currentLevel);
+        if (lastLevel == null) {
+            // First change since joining; work out where the player was before it
+            lastLevel = playerLevel.getLevelForXP(Math.max(0L, (long) totalXP - earned));
+        }
+        
+        // Check if player leveled up
+        if (currentLevel > lastLevel) {
+            int levelsGained = currentLevel - lastLevel;
+            playerLevelUp(player, lastLevel, currentLevel, levelsGained);
+        }
     }
     
     /**
-     * Check if any online players have leveled up
+     * Records the overall level before skill data is written directly, unless one
+     * is already known, so {@link #recompute(Player, PlayerSkills)} has something to compare with
+     * 
+     * @param player The player
+     * @param skills The player's skill data, not yet changed
      */
-    private void checkPlayerLevels() {
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            UUID playerUUID = player.getUniqueId();
-            int currentLevel = skillTreeManager.getPlayerLevel(player);
-            
-            // If we have a record of the player's last level
-            if (lastKnownLevel.containsKey(playerUUID)) {
-                int lastLevel = lastKnownLevel.get(playerUUID);
-                
-                // Check if player leveled up
-                if (currentLevel > lastLevel) {
-                    int levelsGained = currentLevel - lastLevel;
-                    playerLevelUp(player, lastLevel, currentLevel, levelsGained);
-                }
-            }
-            
-            // Update the last known level
-            lastKnownLevel.put(playerUUID, currentLevel);
+    public void rememberLevel(Player player, PlayerSkills skills) {
+        PlayerLevel playerLevel = skillTreeManager.getPlayerLevel();
+        lastKnownLevel.putIfAbsent(player.getUniqueId(), playerLevel.getLevelForXP(playerLevel.getTotalXP(skills)));
+    }
+    
+    /**
+     * Called after skill data was written directly rather than earned, e.g. by an
+     * admin command. A higher level is announced like an earned one; a lower level
+     * is only remembered so later gains are compared against it.
+     * 
+     * @param player The player
+     * @param skills The player's skill data, already updated
+     */
+    public void recompute(Player player, PlayerSkills skills) {
+        PlayerLevel playerLevel = skillTreeManager.getPlayerLevel();
+        int currentLevel = playerLevel.getLevelForXP(playerLevel.getTotalXP(skills));
+        
+        Integer lastLevel = lastKnownLevel.put(player.getUniqueId(), currentLevel);
+        if (lastLevel != null && currentLevel > lastLevel) {
+            playerLevelUp(player, lastLevel, currentLevel, currentLevel - lastLevel);
         }
     }
     
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        lastKnownLevel.remove(event.getPlayer().getUniqueId());
+    }
+    
     /**
      * Handle a player leveling up
      */
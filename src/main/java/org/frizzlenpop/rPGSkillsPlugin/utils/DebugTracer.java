@@ -0,0 +1,213 @@
+package org.frizzlenpop.rPGSkillsPlugin.utils;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampled debug tracing with per-category toggles.
+ * Call sites check {@link #sample(Category)} before building a trace, so a
+ * disabled category costs one volatile read. Sampled traces go into a bounded
+ * ring and are formatted and logged by a background thread; when the ring is
+ * full new traces are dropped and counted instead of blocking the caller.
+ */
+public class DebugTracer {
+    /**
+     * Areas that can be traced separately
+     */
+    public enum Category {
+        XP, PASSIVES, MOUNTS, DB;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final RPGSkillsPlugin plugin;
+    private final BlockingQueue<Trace> ring;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    // Bit per enabled category
+    private volatile int enabledMask;
+    private volatile double sampleRate = 1.0;
+    private volatile boolean running = true;
+
+    private static final class Trace {
+        private final long time = System.currentTimeMillis();
+        private final String thread = Thread.currentThread().getName();
+        private final Category category;
+        private final String event;
+        private final Object[] fields;
+
+        Trace(Category category, String event, Object[] fields) {
+            this.category = category;
+            this.event = event;
+            this.fields = fields;
+        }
+    }
+
+    public DebugTracer(RPGSkillsPlugin plugin) {
+        this.plugin = plugin;
+        this.ring = new ArrayBlockingQueue<>(Math.max(64, plugin.getConfig().getInt("debug.trace.buffer_size", 4096)));
+        reload();
+
+        this.writer = new Thread(this::drain, "RPGSkills-Trace");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Reads the enabled categories and sample rate from the config
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfig();
+        int mask = 0;
+        for (String name : config.getStringList("debug.trace.categories")) {
+            Category category = parse(name);
+            if (category != null) {
+                mask |= 1 << category.ordinal();
+            } else if (name.equalsIgnoreCase("all")) {
+                mask = (1 << Category.values().length) - 1;
+            } else {
+                plugin.getLogger().warning("Unknown trace category '" + name + "' in debug.trace.categories");
+            }
+        }
+        this.enabledMask = mask;
+        setSampleRate(config.getDouble("debug.trace.sample_rate", 1.0));
+    }
+
+    /**
+     * Parses a category name
+     *
+     * @param name The name, case insensitive
+     * @return The category, or null if unknown
+     */
+    public static Category parse(String name) {
+        for (Category category : Category.values()) {
+            if (category.name().equalsIgnoreCase(name)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decides whether the current event should be traced
+     *
+     * @param category The category of the event
+     * @return True if the category is enabled and the event was sampled
+     */
+    public boolean sample(Category category) {
+        if ((enabledMask & (1 << category.ordinal())) == 0) {
+            return false;
+        }
+        double rate = sampleRate;
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Records a trace; call only after {@link #sample(Category)} returned true.
+     * Fields are formatted later on another thread, so pass immutable values.
+     *
+     * @param category The category
+     * @param event A short event name
+     * @param fields Alternating field names and values
+     */
+    public void trace(Category category, String event, Object... fields) {
+        if (!running || !ring.offer(new Trace(category, event, fields))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        List<Trace> batch = new ArrayList<>();
+        while (running || !ring.isEmpty()) {
+            try {
+                Trace first = ring.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ring.drainTo(batch, 255);
+                for (Trace trace : batch) {
+                    plugin.getLogger().info(format(trace));
+                }
+                batch.clear();
+
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    plugin.getLogger().warning("Dropped " + lost + " debug traces; lower debug.trace.sample_rate");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                batch.clear();
+                plugin.getLogger().warning("Failed to write debug trace: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String format(Trace trace) {
+        StringBuilder line = new StringBuilder(64)
+                .append("[trace] t=").append(trace.time)
+                .append(" cat=").append(trace.category.key())
+                .append(" event=").append(trace.event)
+                .append(" thread=").append(trace.thread);
+        Object[] fields = trace.fields;
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            line.append(' ').append(fields[i]).append('=').append(fields[i + 1]);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Turns a category on or off until the next reload
+     *
+     * @param category The category
+     * @param enabled Whether to trace it
+     */
+    public void setEnabled(Category category, boolean enabled) {
+        int bit = 1 << category.ordinal();
+        synchronized (this) {
+            enabledMask = enabled ? enabledMask | bit : enabledMask & ~bit;
+        }
+    }
+
+    public boolean isEnabled(Category category) {
+        return (enabledMask & (1 << category.ordinal())) != 0;
+    }
+
+    /**
+     * Sets the fraction of events traced until the next reload
+     *
+     * @param rate The rate, clamped to 0.0 - 1.0
+     */
+    public void setSampleRate(double rate) {
+        this.sampleRate = Math.max(0.0, Math.min(1.0, rate));
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Stops the writer after it has logged the traces already recorded
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(2000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
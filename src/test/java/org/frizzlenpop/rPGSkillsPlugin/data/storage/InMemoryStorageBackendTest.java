@@ -0,0 +1,11 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import java.nio.file.Path;
+
+class InMemoryStorageBackendTest extends StorageBackendContractTest {
+
+    @Override
+    protected StorageBackend createBackend(Path dir) {
+        return new InMemoryStorageBackend();
+    }
+}
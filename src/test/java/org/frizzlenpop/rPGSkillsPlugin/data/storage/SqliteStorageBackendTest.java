@@ -0,0 +1,41 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.frizzlenpop.rPGSkillsPlugin.RPGSkillsPlugin;
+import org.frizzlenpop.rPGSkillsPlugin.data.DatabaseManager;
+
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the contract against a SQLite file in the temp folder, with a plugin stub
+ * that only provides the config defaults, the data folder and a logger
+ */
+class SqliteStorageBackendTest extends StorageBackendContractTest {
+    private DatabaseManager databaseManager;
+
+    @Override
+    protected StorageBackend createBackend(Path dir) {
+        RPGSkillsPlugin plugin = mock(RPGSkillsPlugin.class);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getDataFolder()).thenReturn(dir.toFile());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger(getClass().getName()));
+
+        databaseManager = new DatabaseManager(plugin);
+        return new JdbcStorageBackend(plugin, databaseManager);
+    }
+
+    @Override
+    protected StorageBackend reopen() {
+        databaseManager.close();
+        return createBackend(dir);
+    }
+
+    @Override
+    protected void close() {
+        databaseManager.close();
+    }
+}
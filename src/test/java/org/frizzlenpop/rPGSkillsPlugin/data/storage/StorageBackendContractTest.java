@@ -0,0 +1,178 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The {@link StorageBackend} contract, run against every backend by a subclass
+ */
+abstract class StorageBackendContractTest {
+    @TempDir
+    Path dir;
+
+    protected StorageBackend backend;
+
+    /**
+     * @param dir An empty folder the backend may keep its files in
+     * @return A backend with no stored players
+     */
+    protected abstract StorageBackend createBackend(Path dir) throws Exception;
+
+    /**
+     * Waits until everything written so far is durable, e.g. on disk
+     */
+    protected void settle() {
+    }
+
+    /**
+     * Closes the backend and opens a new one on the same files
+     *
+     * @return The new backend, or null if the backend keeps nothing across a restart
+     */
+    protected StorageBackend reopen() throws Exception {
+        return null;
+    }
+
+    protected void close() {
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        backend = createBackend(dir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        close();
+    }
+
+    private static SkillRecord record(UUID playerUUID, String skill, int level, int xp) {
+        return new SkillRecord(playerUUID, skill, level, xp, xp * 10, level + 1);
+    }
+
+    @Test
+    void absentPlayerLoadsAsNull() {
+        UUID playerUUID = UUID.randomUUID();
+
+        assertNull(backend.loadPlayer(playerUUID).join());
+        assertFalse(backend.hasPlayer(playerUUID).join());
+        assertTrue(backend.takeOfflineXP(playerUUID).join().isEmpty());
+    }
+
+    @Test
+    void savedSkillsLoadBack() {
+        UUID playerUUID = UUID.randomUUID();
+        SkillRecord mining = record(playerUUID, "mining", 12, 340);
+        SkillRecord fishing = record(playerUUID, "fishing", 3, 15);
+
+        backend.saveSkills(List.of(mining, fishing)).join();
+
+        StoredPlayer stored = backend.loadPlayer(playerUUID).join();
+        assertNotNull(stored);
+        assertEquals(mining, stored.getSkills().get("mining"));
+        assertEquals(fishing, stored.getSkills().get("fishing"));
+        assertTrue(backend.hasPlayer(playerUUID).join());
+    }
+
+    @Test
+    void laterSaveReplacesRow() {
+        UUID playerUUID = UUID.randomUUID();
+        backend.saveSkills(List.of(record(playerUUID, "mining", 2, 10))).join();
+        SkillRecord latest = record(playerUUID, "mining", 5, 80);
+
+        backend.saveSkills(List.of(latest)).join();
+
+        StoredPlayer stored = backend.loadPlayer(playerUUID).join();
+        assertEquals(1, stored.getSkills().size());
+        assertEquals(latest, stored.getSkills().get("mining"));
+    }
+
+    @Test
+    void batchCoversManyPlayers() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        backend.saveSkills(List.of(
+                record(first, "mining", 4, 20), record(first, "logging", 6, 30),
+                record(second, "mining", 8, 40), record(third, "farming", 10, 50))).join();
+        settle();
+
+        assertEquals(2, backend.loadPlayer(first).join().getSkills().size());
+        assertEquals(record(second, "mining", 8, 40), backend.loadPlayer(second).join().getSkills().get("mining"));
+        assertEquals(record(third, "farming", 10, 50), backend.loadPlayer(third).join().getSkills().get("farming"));
+        assertEquals(3, backend.countPlayers().join());
+    }
+
+    @Test
+    void passivesAndSettingsLoadBack() {
+        UUID playerUUID = UUID.randomUUID();
+        backend.saveSkills(List.of(record(playerUUID, "mining", 1, 0))).join();
+
+        backend.savePassives(playerUUID, Map.of("mining", Set.of("autoSmelt", "doubleOreDrop"))).join();
+        backend.saveSettings(playerUUID, Map.of("hud_theme", "dark")).join();
+
+        StoredPlayer stored = backend.loadPlayer(playerUUID).join();
+        assertEquals(Set.of("autoSmelt", "doubleOreDrop"), stored.getPassives().get("mining"));
+        assertEquals("dark", stored.getSettings().get("hud_theme"));
+    }
+
+    @Test
+    void deleteRemovesPlayer() {
+        UUID playerUUID = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        backend.saveSkills(List.of(record(playerUUID, "mining", 3, 9), record(other, "mining", 7, 21))).join();
+
+        backend.deletePlayer(playerUUID).join();
+        settle();
+
+        assertNull(backend.loadPlayer(playerUUID).join());
+        assertFalse(backend.hasPlayer(playerUUID).join());
+        assertNotNull(backend.loadPlayer(other).join());
+    }
+
+    @Test
+    void offlineXPIsSummedAndTakenOnce() {
+        UUID playerUUID = UUID.randomUUID();
+
+        backend.appendOfflineXP(List.of(new XPDelta(playerUUID, "mining", 5))).join();
+        backend.appendOfflineXP(List.of(new XPDelta(playerUUID, "mining", 7))).join();
+
+        List<XPDelta> taken = backend.takeOfflineXP(playerUUID).join();
+        assertEquals(12, taken.stream().filter(delta -> delta.getSkill().equals("mining"))
+                .mapToInt(XPDelta::getAmount).sum());
+        assertTrue(backend.takeOfflineXP(playerUUID).join().isEmpty());
+    }
+
+    @Test
+    void savedDataSurvivesReopen() throws Exception {
+        UUID playerUUID = UUID.randomUUID();
+        SkillRecord mining = record(playerUUID, "mining", 20, 500);
+        backend.saveSkills(List.of(mining)).join();
+        backend.savePassives(playerUUID, Map.of("mining", Set.of("autoSmelt"))).join();
+        settle();
+
+        StorageBackend reopened = reopen();
+        assumeTrue(reopened != null, "Backend keeps nothing across a restart");
+        backend = reopened;
+
+        StoredPlayer stored = backend.loadPlayer(playerUUID).join();
+        assertEquals(mining, stored.getSkills().get("mining"));
+        assertEquals(Set.of("autoSmelt"), stored.getPassives().get("mining"));
+    }
+}
@@ -0,0 +1,34 @@
+package org.frizzlenpop.rPGSkillsPlugin.data.storage;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.frizzlenpop.rPGSkillsPlugin.data.ProfileStore;
+
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+class YamlStorageBackendTest extends StorageBackendContractTest {
+    private ProfileStore profiles;
+
+    @Override
+    protected StorageBackend createBackend(Path dir) {
+        profiles = new ProfileStore(Logger.getLogger(getClass().getName()), dir.toFile(), YamlConfiguration::new);
+        return new YamlStorageBackend(profiles);
+    }
+
+    @Override
+    protected void settle() {
+        profiles.flushDirty();
+        profiles.awaitWrites().join();
+    }
+
+    @Override
+    protected StorageBackend reopen() {
+        profiles.shutdown(5);
+        return createBackend(dir);
+    }
+
+    @Override
+    protected void close() {
+        profiles.shutdown(5);
+    }
+}